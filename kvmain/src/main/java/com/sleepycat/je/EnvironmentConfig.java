@@ -327,6 +327,60 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String MAX_MEMORY_PERCENT = "je.maxMemoryPercent";
 
+    /**
+     * Configures the size in bytes of the off-heap cache, a second-level
+     * cache that resides outside the Java heap and holds LNs and BINs that
+     * have been evicted from the main cache. When zero (the default), the
+     * off-heap cache is disabled.
+     *
+     * <p>When the evictor evicts an LN, or a BIN that is not in BIN-delta
+     * form, a serialized copy of the node is placed in the off-heap cache.
+     * When the node is next needed it is materialized from the off-heap cache,
+     * rather than being read from a log file, and it is removed from the
+     * off-heap cache. The off-heap cache is therefore exclusive of the main
+     * cache. When the off-heap cache is full, the least recently stored nodes
+     * are discarded in large chunks (segments) to make room for new ones.</p>
+     *
+     * <p>The off-heap cache makes it possible to use a large amount of
+     * physical memory for caching without a correspondingly large Java heap,
+     * avoiding the garbage collection overhead that a large heap entails.
+     * Although a fetch from the off-heap cache is cheaper than a read from a
+     * log file, it is more expensive than an access to the main cache, since
+     * the node must be deserialized. The main cache should therefore still be
+     * large enough to hold at least all upper INs.</p>
+     *
+     * <p>Off-heap memory is allocated incrementally, as needed, using direct
+     * byte buffers. The JVM limits the total size of direct buffers, and the
+     * {@code -XX:MaxDirectMemorySize} JVM option must normally be specified
+     * and must be larger than the off-heap cache size. If an allocation
+     * fails, the off-heap cache stops growing and continues to operate with
+     * the memory already allocated. The index used to locate nodes in the
+     * off-heap cache resides in the Java heap and its size is proportional to
+     * the number of nodes in the off-heap cache; it is not included in the
+     * main cache budget.</p>
+     *
+     * <p>Each environment has its own off-heap cache, even when {@link
+     * #SHARED_CACHE} is configured.</p>
+     *
+     * <table border="1">
+     * <caption style="display:none">Information about configuration option</caption>
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Long</td>
+     * <td>No</td>
+     * <td>0</td>
+     * <td>0</td>
+     * <td>-none-</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#cacheOffHeap">Cache Statistics:
+     * Off-heap Cache</a>
+     */
+    public static final String OFF_HEAP_CACHE_SIZE = "je.offHeapCacheSize";
+
     /**
      * If true, the shared cache is used by this environment.
      *
@@ -707,6 +761,33 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
     public static final String ENV_RECOVERY_FORCE_NEW_FILE =
         "je.env.recoveryForceNewFile";
 
+    /**
+     * The number of threads used to apply redone LNs to the in-memory tree
+     * during recovery. When greater than one, the log is still read by a
+     * single thread, which dispatches the redo of each LN to one of these
+     * threads according to the LN's database, so that the LNs of each
+     * database are applied in log order while different databases are
+     * applied concurrently. This can reduce recovery time for environments
+     * with many databases, such as those with many partitions. The mapping
+     * tree and the undo passes are always processed by a single thread.
+     *
+     * <table border="1">
+     * <caption style="display:none">Information about configuration option</caption>
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Integer</td>
+     * <td>No</td>
+     * <td>1</td>
+     * <td>1</td>
+     * <td>64</td>
+     * </tr>
+     * </table>
+     */
+    public static final String ENV_RECOVERY_REDO_THREADS =
+        "je.env.recoveryRedoThreads";
+
     /**
      * By default, if a checksum exception is found at the end of the log
      * during Environment startup, JE will assume the checksum is due to
@@ -1503,6 +1584,44 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String LOG_FILE_MAX = "je.log.fileMax";
 
+    /**
+     * The minimum size of the data of a user record for it to be compressed
+     * when it is logged, or zero to disable compression.
+     *
+     * <p>When non-zero, the data portion of each user LN that is at least
+     * this size is compressed using the Deflate algorithm before it is
+     * written to the log, and is decompressed transparently when it is read.
+     * Data that does not get smaller when compressed is logged as is. Keys
+     * and internal log entries (INs, BINs and internal LNs) are never
+     * compressed.</p>
+     *
+     * <p>Compression reduces disk usage, cleaner I/O and the bytes copied
+     * by network restore, at the cost of CPU on the writing thread and when
+     * records are fetched from disk. It is most effective for large, highly
+     * redundant data such as JSON documents. Changing this param only
+     * affects records that are logged after the change; existing log
+     * entries are read correctly whether or not they are compressed.</p>
+     *
+     * <table border="1">
+     * <caption style="display:none">Information about configuration option</caption>
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Integer</td>
+     * <td>No</td>
+     * <td>0</td>
+     * <td>0</td>
+     * <td>-none-</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#logCompression">I/O Statistics: LN
+     * Compression</a>
+     */
+    public static final String LOG_COMPRESS_LN_MIN_SIZE =
+        "je.log.compressLNMinSize";
+
     /**
      * If true, perform a checksum check when reading entries from log.
      *
@@ -1862,6 +1981,43 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String LOG_WRITE_QUEUE_SIZE = "je.log.writeQueueSize";
 
+    /**
+     * If true (default is false), random reads of log entries from log files
+     * that are no longer being written are performed by copying the entry
+     * from a read-only memory mapping of the file, rather than with a file
+     * read system call.
+     * <p>
+     * Only files that precede the current (last) log file are mapped, and a
+     * file is mapped lazily, the first time an entry is fetched from it. A
+     * mapped read avoids the read system call and the per-file
+     * synchronization that serializes concurrent reads of the same file, and
+     * can significantly improve the throughput of cache-miss fetches when the
+     * log files fit in the file system cache. Reads of the current log file,
+     * and sequential reads performed by the cleaner, recovery and the
+     * replication feeders, are not affected.
+     * <p>
+     * Mappings consume virtual address space, but not heap memory. A mapping
+     * is released when its file is closed by the file handle cache (see
+     * {@link #LOG_FILE_CACHE_SIZE}) and the mapping object is garbage
+     * collected. On some platforms the disk space for a deleted log file is
+     * not reclaimed until its mapping has been released.
+     *
+     * <table border="1">
+     * <caption style="display:none">Information about configuration option</caption>
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#logFileAccess">I/O Statistics:
+     * File Access</a>
+     */
+    public static final String LOG_USE_MAPPED_READS = "je.log.useMappedReads";
+
     /**
      * Whether to run the background verifier.
      * <p>
@@ -2423,6 +2579,54 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
     public static final String TREE_COMPACT_MAX_KEY_LENGTH =
         "je.tree.compactMaxKeyLength";
 
+    /**
+     * The restart interval of the front-coded key representation for BINs,
+     * or zero to disable the representation.
+     *
+     * <p>When this is non-zero, a BIN that is not dirty and whose keys fit in
+     * the compact representation (see {@link #TREE_COMPACT_MAX_KEY_LENGTH})
+     * is packed into the front-coded representation when that uses less
+     * memory. Each key is stored as the number of leading bytes it shares
+     * with the previous key in the BIN, followed by its remaining bytes.
+     * This removes much of the redundancy that key prefixing leaves behind,
+     * for example in keys made of several components where only the last
+     * component differs between adjacent records.</p>
+     *
+     * <p>Every interval'th key is stored in full. A search in the BIN does a
+     * binary search over these restart keys and then scans the keys of one
+     * interval, and any other access to a key decodes at most one interval.
+     * A smaller interval makes key access faster, while a larger interval
+     * saves more memory. Values between 8 and 32 are a reasonable choice.</p>
+     *
+     * <p>When a key in a front-coded BIN is inserted, updated or deleted, the
+     * BIN is mutated to the compact representation. It is packed again after
+     * it is no longer dirty, for example after it is logged by a checkpoint
+     * and an LN is evicted from it. To determine how often the front-coded
+     * representation is used in a running application, see {@link
+     * EnvironmentStats#getNBINFrontCodedKey}.</p>
+     *
+     * <table border="1">
+     * <caption style="display:none">Information about configuration option</caption>
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Integer</td>
+     * <td>No</td>
+     * <td>0</td>
+     * <td>0</td>
+     * <td>128</td>
+     * </tr>
+     * </table>
+     *
+     * @see EnvironmentStats#getNBINFrontCodedKey
+     *
+     * @see <a href="EnvironmentStats.html#cacheSizeOptimizations">Cache
+     * Statistics: Size Optimizations</a>
+     */
+    public static final String TREE_KEY_RESTART_INTERVAL =
+        "je.tree.keyRestartInterval";
+
     /**
      * If true (the default), a secondary integrity failure will set the
      * {@link SecondaryDatabase} handle to corrupted, preventing it from being
@@ -2869,6 +3073,41 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
     public static final String CHECKPOINTER_HIGH_PRIORITY =
         "je.checkpointer.highPriority";
 
+    /**
+     * The number of threads used by a checkpoint to flush dirty Btree nodes.
+     *
+     * <p>Nodes are flushed one level at a time, from the bottom of the Btree
+     * up. When this parameter is greater than one, the nodes at each level
+     * are flushed concurrently by this number of threads, the checkpointer
+     * thread and a pool of additional threads created for the duration of
+     * the checkpoint. Nodes with the same parent are still logged under the
+     * parent latch, so the threads mostly work on independent subtrees and
+     * databases.</p>
+     *
+     * <p>A larger value shortens checkpoints for large caches with many dirty
+     * nodes, at the cost of more concurrent I/O and CPU use by the
+     * checkpoint. It also applies to {@link Environment#sync} and {@link
+     * Environment#checkpoint}, but not to {@link Database#sync}.</p>
+     *
+     * <table border="1">
+     * <caption style="display:none">Information about configuration option</caption>
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Integer</td>
+     * <td>Yes</td>
+     * <td>1</td>
+     * <td>1</td>
+     * <td>-none-</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#ckpt">Checkpoint Statistics</a>
+     */
+    public static final String CHECKPOINTER_FLUSH_THREADS =
+        "je.checkpointer.flushThreads";
+
     /**
      * The cleaner will keep the total disk space utilization percentage above
      * this value.
@@ -3292,6 +3531,100 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String CLEANER_THREADS = "je.cleaner.threads";
 
+    /**
+     * If true, the number of cleaner threads that process files concurrently
+     * is adjusted between one and {@link #CLEANER_THREADS}, according to the
+     * cleaning backlog and the observed read latency of application threads.
+     *
+     * <p>Roughly once a second the cleaner compares the predicted minimum
+     * utilization with {@link #CLEANER_MIN_UTILIZATION}. When utilization is
+     * below the minimum, one more thread is allowed to clean, up to
+     * CLEANER_THREADS. When it is not, one less thread is allowed, down to
+     * one. If {@link #CLEANER_FOREGROUND_READ_LATENCY} is exceeded, the
+     * number of threads is reduced and cleaner reads are throttled, whatever
+     * the backlog.</p>
+     *
+     * <p>When false, all CLEANER_THREADS threads may clean concurrently.</p>
+     *
+     * <table border="1">
+     * <caption style="display:none">Information about configuration option</caption>
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>Yes</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#cleanerScheduling">Cleaning
+     * Statistics: Scheduling</a>
+     */
+    public static final String CLEANER_ADAPTIVE_THREADS =
+        "je.cleaner.adaptiveThreads";
+
+    /**
+     * The maximum rate, in bytes per second, at which all cleaner threads
+     * together may read log files. When the budget is exceeded, cleaner
+     * threads sleep before reading further. Zero means that cleaner reads
+     * are not limited, other than by {@link #ENV_BACKGROUND_READ_LIMIT}.
+     * Reads by explicit calls to {@link Environment#cleanLog} are not
+     * limited by the budget.
+     *
+     * <p>The budget may be lowered temporarily by the cleaner when
+     * {@link #CLEANER_FOREGROUND_READ_LATENCY} is exceeded.</p>
+     *
+     * <table border="1">
+     * <caption style="display:none">Information about configuration option</caption>
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Long</td>
+     * <td>Yes</td>
+     * <td>0</td>
+     * <td>0</td>
+     * <td>-none-</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#cleanerScheduling">Cleaning
+     * Statistics: Scheduling</a>
+     */
+    public static final String CLEANER_IO_BUDGET = "je.cleaner.ioBudget";
+
+    /**
+     * The target average latency of log file reads performed by application
+     * threads, which the cleaner tries not to exceed. If the average latency
+     * of these reads over the last second is above the target, the cleaner
+     * halves its read budget and, if {@link #CLEANER_ADAPTIVE_THREADS} is
+     * true, reduces the number of threads cleaning concurrently. The budget
+     * is restored gradually once the latency is below the target. Zero
+     * disables this feature.
+     *
+     * <p>Only reads from the file system are measured. Reads satisfied by
+     * the JE cache, the off-heap cache or a memory-mapped file are not.</p>
+     *
+     * <table border="1">
+     * <caption style="display:none">Information about configuration option</caption>
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td><a href="#timeDuration">Duration</a></td>
+     * <td>Yes</td>
+     * <td>0</td>
+     * <td>0</td>
+     * <td>1 s</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentConfig.html#timeDuration">Time Duration
+     * Properties</a>
+     */
+    public static final String CLEANER_FOREGROUND_READ_LATENCY =
+        "je.cleaner.foregroundReadLatency";
+
     /**
      * The look ahead cache size for cleaning in bytes.  Increasing this value
      * can reduce the number of Btree lookups.
@@ -3338,6 +3671,40 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String LOCK_N_LOCK_TABLES = "je.lock.nLockTables";
 
+    /**
+     * If true, the lock table is striped across a large, power-of-two number
+     * of lock tables, each guarded by its own {@link
+     * java.util.concurrent.locks.ReentrantLock}, rather than across {@link
+     * #LOCK_N_LOCK_TABLES} tables guarded by monitors.
+     *
+     * <p>The number of stripes is the larger of {@link #LOCK_N_LOCK_TABLES}
+     * and four times the number of available processors, rounded up to a
+     * power of two. LSNs are hashed to stripes with a mixing function so
+     * that adjacent records do not share a stripe. Acquiring a stripe first
+     * tries a non-blocking fast path; when that fails the contention is
+     * counted in the {@link EnvironmentStats#getNLockTableContentions lock
+     * statistics}.</p>
+     *
+     * <p>This setting is intended for environments with many concurrent
+     * threads performing read-mostly operations on hot key ranges, where
+     * contention on the lock table monitors limits scalability.</p>
+     *
+     * <table border="1">
+     * <caption style="display:none">Information about configuration option</caption>
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#lock">Lock Statistics</a>
+     */
+    public static final String LOCK_STRIPED_LOCK_TABLES =
+        "je.lock.stripedLockTables";
+
     /**
      * Configures the default lock timeout. It may be overridden on a
      * per-transaction basis by calling
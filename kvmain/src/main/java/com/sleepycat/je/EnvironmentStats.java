@@ -14,7 +14,9 @@
 package com.sleepycat.je;
 
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_ACTIVE_LOG_SIZE;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_ACTIVE_THREADS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_AVAILABLE_LOG_SIZE;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_BACKLOG;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_BIN_DELTAS_CLEANED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_BIN_DELTAS_DEAD;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_BIN_DELTAS_MIGRATED;
@@ -22,10 +24,12 @@ import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_BIN_DELTAS_
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_DELETIONS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_DISK_READS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_ENTRIES_READ;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_FOREGROUND_READ_LATENCY_US;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_INS_CLEANED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_INS_DEAD;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_INS_MIGRATED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_INS_OBSOLETE;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_IO_BUDGET;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNQUEUE_HITS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_CLEANED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_DEAD;
@@ -49,6 +53,7 @@ import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_PROTECTED_L
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_RESERVED_LOG_SIZE;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_REVISAL_RUNS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_RUNS;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_THROTTLE_MS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_TOTAL_LOG_SIZE;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_TWO_PASS_RUNS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_DELETES;
@@ -87,6 +92,7 @@ import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH_MISS;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH_MISS_RATIO;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.CACHED_BINS;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.CACHED_BIN_DELTAS;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.CACHED_BIN_FRONT_CODED_KEY;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.CACHED_IN_COMPACT_KEY;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.CACHED_IN_NO_TARGET;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.CACHED_IN_SPARSE_TARGET;
@@ -106,6 +112,14 @@ import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_SHARED_CACH
 import static com.sleepycat.je.evictor.EvictorStatDefinition.FULL_BIN_MISS;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.LN_FETCH;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.LN_FETCH_MISS;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_ALLOCATED_BYTES;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_BINS_LOADED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_BINS_STORED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_CACHED_NODES;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_LNS_LOADED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_LNS_STORED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_MISSES;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_NODES_DISCARDED;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.PRI1_LRU_SIZE;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.PRI2_LRU_SIZE;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.THREAD_UNAVAILABLE;
@@ -119,12 +133,15 @@ import static com.sleepycat.je.incomp.INCompStatDefinition.INCOMP_QUEUE_SIZE;
 import static com.sleepycat.je.incomp.INCompStatDefinition.INCOMP_SPLIT_BINS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_BYTES_READ_FROM_WRITEQUEUE;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_BYTES_WRITTEN_FROM_WRITEQUEUE;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_MAPS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_OPENS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_95_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_99_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_AVG_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_MAX_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_LOG_FSYNCS;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_MAPPED_READS;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_MAPPED_READ_BYTES;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_OPEN_FILES;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_RANDOM_READS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_RANDOM_READ_BYTES;
@@ -150,6 +167,9 @@ import static com.sleepycat.je.log.LogStatDefinition.LBFP_NO_FREE_BUFFER;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_END_OF_LOG;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_ITEM_BUFFER_POOL_EMPTY;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_ITEM_BUFFER_TOO_SMALL;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LN_COMPRESSED;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LN_COMPRESSED_BYTES_IN;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LN_COMPRESSED_BYTES_OUT;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_REPEAT_FAULT_READS;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_REPEAT_ITERATOR_READS;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_TEMP_BUFFER_WRITES;
@@ -161,9 +181,15 @@ import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_CKPTI
 import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_CKPT_END;
 import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_CKPT_INTERVAL;
 import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_CKPT_START;
+import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_END_MS;
+import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_FLUSH_MS;
+import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_METADATA_FLUSH_MS;
+import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_SELECT_MS;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_OWNERS;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_READ_LOCKS;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_REQUESTS;
+import static com.sleepycat.je.txn.LockStatDefinition.LOCK_TABLE_CONTENTIONS;
+import static com.sleepycat.je.txn.LockStatDefinition.LOCK_TABLE_CONTENTION_WAIT_NANOS;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_TOTAL;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_WAITERS;
 import static com.sleepycat.je.txn.LockStatDefinition.LOCK_WAITS;
@@ -496,11 +522,25 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *   </td></tr>
  * </table>
  *
+ * <p>BINs that are not being updated may also use the {@link
+ * EnvironmentConfig#TREE_KEY_RESTART_INTERVAL front-coded key format}, which
+ * stores each key relative to the previous key. The following stat indicates
+ * the number of BINs using this format:</p>
+ *
+ * <table style="margin-left: 2em" border="">
+ *  <caption style='display:none'>Accessors and definitions</caption>
+ *  <tr><td>{@link #getNBINFrontCodedKey}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#CACHED_BIN_FRONT_CODED_KEY_DESC}
+ *   </td></tr>
+ * </table>
+ *
  * <p>Configuration params impacting key prefixing and the compact key format
  * are:</p>
  * <ul>
  *     <li>{@link DatabaseConfig#setKeyPrefixing(boolean)}</li>
  *     <li>{@link EnvironmentConfig#TREE_COMPACT_MAX_KEY_LENGTH}</li>
+ *     <li>{@link EnvironmentConfig#TREE_KEY_RESTART_INTERVAL}</li>
  * </ul>
  *
  * <p>Enabling key prefixing for all databases is strongly recommended. When
@@ -710,6 +750,58 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * <p>However, note that increasing the number of LRU lists will decrease the
  * accuracy of the LRU.</p>
  *
+ * <h3><a id="cacheOffHeap">Cache Statistics: Off-heap Cache</a></h3>
+ *
+ * <p>When {@link EnvironmentConfig#OFF_HEAP_CACHE_SIZE} is non-zero, LNs and
+ * BINs evicted from the main cache are stored in an off-heap cache, and are
+ * fetched from there rather than from a log file when they are next needed.
+ * A fetch from the off-heap cache is still counted as a fetch miss by the
+ * main cache stats, such as {@link #getNLNsFetchMiss()} and {@link
+ * #getNBINsFetchMiss()}. The following stats describe the off-heap
+ * cache:</p>
+ *
+ * <table style="margin-left: 2em" border="1">
+ *  <caption style='display:none'>Accessors and definitions</caption>
+ *  <tr><td>{@link #getNOffHeapLNsStored()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_LNS_STORED_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNOffHeapBINsStored()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_BINS_STORED_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNOffHeapLNsLoaded()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_LNS_LOADED_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNOffHeapBINsLoaded()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_BINS_LOADED_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNOffHeapMisses()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_MISSES_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNOffHeapNodesDiscarded()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_NODES_DISCARDED_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getOffHeapAllocatedBytes()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_ALLOCATED_BYTES_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getOffHeapCachedNodes()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_CACHED_NODES_DESC}
+ *   </td></tr>
+ * </table>
+ *
+ * <p>The off-heap cache hit rate is {@code (nOffHeapLNsLoaded +
+ * nOffHeapBINsLoaded) / (nOffHeapLNsLoaded + nOffHeapBINsLoaded +
+ * nOffHeapMisses)}. A large {@code nOffHeapNodesDiscarded} value, relative to
+ * the number of nodes stored, indicates that the off-heap cache is too
+ * small to hold the working set that does not fit in the main cache.</p>
+ *
  * <h3><a id="cacheDebugging">Cache Statistics: Debugging</a></h3>
  *
  * <p>The following cache stats are unlikely to be needed for monitoring or
@@ -1366,6 +1458,41 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * #getNCleanerRevisalRuns() revisal runs} is incremented, and the number of
  * {@link #getNCleanerRuns() total runs} is not incremented.
  *
+ * <h3><a id="cleanerScheduling">Cleaning Statistics: Scheduling</a></h3>
+ *
+ * <p>The number of cleaner threads that may process files concurrently,
+ * and the rate at which they read, are controlled by {@link
+ * EnvironmentConfig#CLEANER_ADAPTIVE_THREADS}, {@link
+ * EnvironmentConfig#CLEANER_IO_BUDGET} and {@link
+ * EnvironmentConfig#CLEANER_FOREGROUND_READ_LATENCY}. The following stats
+ * show the decisions made by the cleaner using these params. The first four
+ * are the values as of the last adjustment, which is made roughly once a
+ * second while cleaning.</p>
+ *
+ * <table style="margin-left: 2em" border="1">
+ *  <caption style='display:none'>Accessors and definitions</caption>
+ *  <tr><td>{@link #getCleanerActiveThreads}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_ACTIVE_THREADS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getCleanerIOBudget}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_IO_BUDGET_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getCleanerBacklog}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_BACKLOG_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getForegroundReadLatencyUs}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_FOREGROUND_READ_LATENCY_US_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getCleanerThrottleMs}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_THROTTLE_MS_DESC}
+ *   </td></tr>
+ * </table>
+ *
  * <h3><a id="cleanerDiskSpace">Cleaning Statistics: Disk Space
  * Management</a></h3>
  *
@@ -1530,6 +1657,28 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * Therefore, this stat cannot be used to determine whether the file cache
  * is too small.</p>
  *
+ * <p>When {@link EnvironmentConfig#LOG_USE_MAPPED_READS} is configured, random
+ * reads of log entries from files that are no longer being written are
+ * satisfied from a memory mapping of the file. Such reads are not included
+ * in the random and sequential read stats described further below, and are
+ * instead counted by the following stats:</p>
+ *
+ * <table style="margin-left: 2em" border="1">
+ *  <caption style='display:none'>Accessors and definitions</caption>
+ *  <tr><td>{@link #getNMappedReads()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_MAPPED_READS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNMappedReadBytes()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_MAPPED_READ_BYTES_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNFileMaps()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_MAPS_DESC}
+ *   </td></tr>
+ * </table>
+ *
  * <p>When a file read is performed, it is always possible for the read buffer
  * size to be smaller than the log entry being read. This is because JE's
  * append-only log contains variable sized entries rather than pages. If the
@@ -1868,6 +2017,27 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * increasing {@link EnvironmentConfig#LOG_FAULT_READ_SIZE} or
  * {@link EnvironmentConfig#LOG_ITEM_POOL_SIZE}.</p>
  *
+ * <h3><a id="logCompression">I/O Statistics: LN Compression</a></h3>
+ *
+ * <p>When {@link EnvironmentConfig#LOG_COMPRESS_LN_MIN_SIZE} is non-zero, the
+ * data of user records is compressed before it is logged. The following
+ * stats indicate how many records were compressed and the resulting
+ * savings. The compression ratio is the number of bytes in divided by the
+ * number of bytes out.</p>
+ *
+ * <table style="margin-left: 2em" border="1">
+ *  <caption style='display:none'>Accessors and definitions</caption>
+ *  <tr><td>{@link #getNLNsCompressed()}</td>
+ *   <td>{@value com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNLNCompressionBytesIn()}</td>
+ *   <td>{@value com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_BYTES_IN_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNLNCompressionBytesOut()}</td>
+ *   <td>{@value com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_BYTES_OUT_DESC}
+ *   </td></tr>
+ * </table>
+ *
  * <h3><a id="logWriteQueue">I/O Statistics: The Write Queue</a></h3>
  *
  * <p>JE performs special locking to prevent an fsync and a file write from
@@ -2191,6 +2361,22 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *   <td>
  *    {@value com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_CKPT_END_DESC}
  *   </td></tr>
+ *  <tr><td>{@link #getLastCheckpointSelectMs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_SELECT_MS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getLastCheckpointFlushMs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_FLUSH_MS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getLastCheckpointMetadataFlushMs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_METADATA_FLUSH_MS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getLastCheckpointEndMs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_END_MS_DESC}
+ *   </td></tr>
  * </table>
  *
  * <h2><a id="lock">Lock Statistics</a></h2>
@@ -2233,6 +2419,14 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *   <td>
  *    {@value com.sleepycat.je.txn.LockStatDefinition#LOCK_WAITERS_DESC}
  *   </td></tr>
+ *  <tr><td>{@link #getNLockTableContentions()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.txn.LockStatDefinition#LOCK_TABLE_CONTENTIONS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getLockTableContentionWaitNanos()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.txn.LockStatDefinition#LOCK_TABLE_CONTENTION_WAIT_NANOS_DESC}
+ *   </td></tr>
  * </table>
  *
  * <h2><a id="throughput">Operation Throughput Statistics</a></h2>
@@ -2926,6 +3120,66 @@ public class EnvironmentStats implements Serializable {
         return ckptStats.getLong(CKPT_LAST_CKPT_END);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_SELECT_MS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_SELECT_MS_NAME}</p>
+     *
+     * @see <a href="#ckpt">Checkpoint Statistics</a>
+     */
+    public long getLastCheckpointSelectMs() {
+        return ckptStats.getLong(CKPT_LAST_SELECT_MS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_FLUSH_MS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_FLUSH_MS_NAME}</p>
+     *
+     * @see <a href="#ckpt">Checkpoint Statistics</a>
+     */
+    public long getLastCheckpointFlushMs() {
+        return ckptStats.getLong(CKPT_LAST_FLUSH_MS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_METADATA_FLUSH_MS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_METADATA_FLUSH_MS_NAME}</p>
+     *
+     * @see <a href="#ckpt">Checkpoint Statistics</a>
+     */
+    public long getLastCheckpointMetadataFlushMs() {
+        return ckptStats.getLong(CKPT_LAST_METADATA_FLUSH_MS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_END_MS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.recovery.CheckpointStatDefinition#CKPT_LAST_END_MS_NAME}</p>
+     *
+     * @see <a href="#ckpt">Checkpoint Statistics</a>
+     */
+    public long getLastCheckpointEndMs() {
+        return ckptStats.getLong(CKPT_LAST_END_MS);
+    }
+
     /* Cleaner stats. */
 
     /**
@@ -3105,6 +3359,81 @@ public class EnvironmentStats implements Serializable {
         return cleanerStats.getLong(CLEANER_DISK_READS);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_ACTIVE_THREADS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_ACTIVE_THREADS_NAME}</p>
+     *
+     * @see <a href="#cleanerScheduling">Cleaning Statistics: Scheduling</a>
+     */
+    public int getCleanerActiveThreads() {
+        return cleanerStats.getInt(CLEANER_ACTIVE_THREADS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_IO_BUDGET_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_IO_BUDGET_NAME}</p>
+     *
+     * @see <a href="#cleanerScheduling">Cleaning Statistics: Scheduling</a>
+     */
+    public long getCleanerIOBudget() {
+        return cleanerStats.getLong(CLEANER_IO_BUDGET);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_BACKLOG_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_BACKLOG_NAME}</p>
+     *
+     * @see <a href="#cleanerScheduling">Cleaning Statistics: Scheduling</a>
+     */
+    public int getCleanerBacklog() {
+        return cleanerStats.getInt(CLEANER_BACKLOG);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_FOREGROUND_READ_LATENCY_US_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_FOREGROUND_READ_LATENCY_US_NAME}</p>
+     *
+     * @see <a href="#cleanerScheduling">Cleaning Statistics: Scheduling</a>
+     */
+    public long getForegroundReadLatencyUs() {
+        return cleanerStats.getLong(CLEANER_FOREGROUND_READ_LATENCY_US);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_THROTTLE_MS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_THROTTLE_MS_NAME}</p>
+     *
+     * @see <a href="#cleanerScheduling">Cleaning Statistics: Scheduling</a>
+     */
+    public long getCleanerThrottleMs() {
+        return cleanerStats.getLong(CLEANER_THROTTLE_MS);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_ENTRIES_READ_DESC}</p>
@@ -4196,6 +4525,51 @@ public class EnvironmentStats implements Serializable {
         return logStats.getInt(FILEMGR_FILE_OPENS);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_MAPPED_READS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_MAPPED_READS_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     */
+    public long getNMappedReads() {
+        return logStats.getLong(FILEMGR_MAPPED_READS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_MAPPED_READ_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_MAPPED_READ_BYTES_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     */
+    public long getNMappedReadBytes() {
+        return logStats.getLong(FILEMGR_MAPPED_READ_BYTES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_MAPS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_MAPS_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     */
+    public long getNFileMaps() {
+        return logStats.getLong(FILEMGR_FILE_MAPS);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.log.LogStatDefinition#FILEMGR_OPEN_FILES_DESC}</p>
@@ -4241,6 +4615,51 @@ public class EnvironmentStats implements Serializable {
         return logStats.getLong(LOGMGR_ITEM_BUFFER_POOL_EMPTY);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_NAME}</p>
+     *
+     * @see <a href="#logCompression">I/O Statistics: LN Compression</a>
+     */
+    public long getNLNsCompressed() {
+        return logStats.getLong(LOGMGR_LN_COMPRESSED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_BYTES_IN_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_BYTES_IN_NAME}</p>
+     *
+     * @see <a href="#logCompression">I/O Statistics: LN Compression</a>
+     */
+    public long getNLNCompressionBytesIn() {
+        return logStats.getLong(LOGMGR_LN_COMPRESSED_BYTES_IN);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_BYTES_OUT_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_BYTES_OUT_NAME}</p>
+     *
+     * @see <a href="#logCompression">I/O Statistics: LN Compression</a>
+     */
+    public long getNLNCompressionBytesOut() {
+        return logStats.getLong(LOGMGR_LN_COMPRESSED_BYTES_OUT);
+    }
+
     /* Return Evictor stats. */
 
     /**
@@ -4607,6 +5026,126 @@ public class EnvironmentStats implements Serializable {
         return cacheStats.getAtomicLong(BIN_FETCH_MISS);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_LNS_STORED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_LNS_STORED_NAME}</p>
+     *
+     * @see <a href="#cacheOffHeap">Cache Statistics: Off-heap Cache</a>
+     */
+    public long getNOffHeapLNsStored() {
+        return cacheStats.getLong(OFFHEAP_LNS_STORED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_BINS_STORED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_BINS_STORED_NAME}</p>
+     *
+     * @see <a href="#cacheOffHeap">Cache Statistics: Off-heap Cache</a>
+     */
+    public long getNOffHeapBINsStored() {
+        return cacheStats.getLong(OFFHEAP_BINS_STORED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_LNS_LOADED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_LNS_LOADED_NAME}</p>
+     *
+     * @see <a href="#cacheOffHeap">Cache Statistics: Off-heap Cache</a>
+     */
+    public long getNOffHeapLNsLoaded() {
+        return cacheStats.getLong(OFFHEAP_LNS_LOADED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_BINS_LOADED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_BINS_LOADED_NAME}</p>
+     *
+     * @see <a href="#cacheOffHeap">Cache Statistics: Off-heap Cache</a>
+     */
+    public long getNOffHeapBINsLoaded() {
+        return cacheStats.getLong(OFFHEAP_BINS_LOADED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_MISSES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_MISSES_NAME}</p>
+     *
+     * @see <a href="#cacheOffHeap">Cache Statistics: Off-heap Cache</a>
+     */
+    public long getNOffHeapMisses() {
+        return cacheStats.getLong(OFFHEAP_MISSES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_NODES_DISCARDED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_NODES_DISCARDED_NAME}</p>
+     *
+     * @see <a href="#cacheOffHeap">Cache Statistics: Off-heap Cache</a>
+     */
+    public long getNOffHeapNodesDiscarded() {
+        return cacheStats.getLong(OFFHEAP_NODES_DISCARDED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_ALLOCATED_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_ALLOCATED_BYTES_NAME}</p>
+     *
+     * @see <a href="#cacheOffHeap">Cache Statistics: Off-heap Cache</a>
+     */
+    public long getOffHeapAllocatedBytes() {
+        return cacheStats.getLong(OFFHEAP_ALLOCATED_BYTES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_CACHED_NODES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#OFFHEAP_CACHED_NODES_NAME}</p>
+     *
+     * @see <a href="#cacheOffHeap">Cache Statistics: Off-heap Cache</a>
+     */
+    public long getOffHeapCachedNodes() {
+        return cacheStats.getLong(OFFHEAP_CACHED_NODES);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.evictor.EvictorStatDefinition#BIN_DELTA_FETCH_MISS_DESC}</p>
@@ -4810,6 +5349,24 @@ public class EnvironmentStats implements Serializable {
         return cacheStats.getLong(CACHED_IN_COMPACT_KEY);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#CACHED_BIN_FRONT_CODED_KEY_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#CACHED_BIN_FRONT_CODED_KEY_NAME}</p>
+     *
+     * @see <a href="#cacheSizeOptimizations">Cache Statistics: Size
+     * Optimizations</a>
+     *
+     * @see EnvironmentConfig#TREE_KEY_RESTART_INTERVAL
+     */
+    public long getNBINFrontCodedKey() {
+        return cacheStats.getLong(CACHED_BIN_FRONT_CODED_KEY);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.evictor.EvictorStatDefinition#PRI2_LRU_SIZE_DESC}</p>
@@ -5260,6 +5817,38 @@ public class EnvironmentStats implements Serializable {
         return lockStats.getLong(LOCK_WAITS);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.txn.LockStatDefinition#LOCK_TABLE_CONTENTIONS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.txn.LockStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.txn.LockStatDefinition#LOCK_TABLE_CONTENTIONS_NAME}</p>
+     *
+     * @see <a href="#lock">Lock Statistics</a>
+     * @see EnvironmentConfig#LOCK_STRIPED_LOCK_TABLES
+     */
+    public long getNLockTableContentions() {
+        return lockStats.getLong(LOCK_TABLE_CONTENTIONS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.txn.LockStatDefinition#LOCK_TABLE_CONTENTION_WAIT_NANOS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.txn.LockStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.txn.LockStatDefinition#LOCK_TABLE_CONTENTION_WAIT_NANOS_NAME}</p>
+     *
+     * @see <a href="#lock">Lock Statistics</a>
+     * @see EnvironmentConfig#LOCK_STRIPED_LOCK_TABLES
+     */
+    public long getLockTableContentionWaitNanos() {
+        return lockStats.getLong(LOCK_TABLE_CONTENTION_WAIT_NANOS);
+    }
+
     /* Throughput stats. */
 
     /**
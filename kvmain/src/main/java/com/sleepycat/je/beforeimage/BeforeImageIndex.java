@@ -15,10 +15,14 @@ package com.sleepycat.je.beforeimage;
 
 import java.util.concurrent.TimeUnit;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import com.sleepycat.bind.tuple.LongBinding;
+import com.sleepycat.je.CacheMode;
 import com.sleepycat.je.Cursor;
 import com.sleepycat.je.CursorConfig;
 import com.sleepycat.je.DatabaseConfig;
@@ -32,9 +36,11 @@ import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationResult;
 import com.sleepycat.je.OperationStatus;
 import com.sleepycat.je.Put;
+import com.sleepycat.je.ReadOptions;
 import com.sleepycat.je.StatsConfig;
 import com.sleepycat.je.TransactionConfig;
 import com.sleepycat.je.WriteOptions;
+import com.sleepycat.je.config.EnvironmentParams;
 import com.sleepycat.je.dbi.DatabaseImpl;
 import com.sleepycat.je.dbi.DbTree;
 import com.sleepycat.je.dbi.DbType;
@@ -43,6 +49,8 @@ import com.sleepycat.je.log.LogUtils;
 import com.sleepycat.je.txn.BasicLocker;
 import com.sleepycat.je.txn.Locker;
 import com.sleepycat.je.txn.Txn;
+import com.sleepycat.je.utilint.AtomicLongStat;
+import com.sleepycat.je.utilint.FloatStat;
 import com.sleepycat.je.utilint.IntStat;
 import com.sleepycat.je.utilint.LoggerUtils;
 import com.sleepycat.je.utilint.LongStat;
@@ -83,6 +91,25 @@ public class BeforeImageIndex {
 
     private IntStat nBImgByTombs;
 
+    private final AtomicLongStat nBatchFetches;
+
+    private final AtomicLongStat nBatchFetched;
+
+    private final FloatStat cacheHitRatio;
+
+    /*
+     * The cache of before images read by streams, or null if it is disabled.
+     */
+    private final BeforeImageIndexCache cache;
+
+    /*
+     * The before image LNs are evicted from the main JE cache after they are
+     * read, since a before image is normally read once by each stream, and
+     * repeated reads are served by the before image cache.
+     */
+    private static final ReadOptions READ_OPTIONS =
+        new ReadOptions().setCacheMode(CacheMode.EVICT_LN);
+
     private static TestHook<?> beforeImageHook;
 
     public static class DBEntry {
@@ -248,7 +275,17 @@ public class BeforeImageIndex {
                 BeforeImageIndexStatDefinition.N_BIMG_RECORDS_BY_DELETES);
         nBImgByTombs = new IntStat(statistics,
                 BeforeImageIndexStatDefinition.N_BIMG_RECORDS_BY_TOMBSTONES);
-
+        nBatchFetches = new AtomicLongStat(statistics,
+                BeforeImageIndexStatDefinition.N_BIMG_BATCH_FETCHES);
+        nBatchFetched = new AtomicLongStat(statistics,
+                BeforeImageIndexStatDefinition.N_BIMG_BATCH_FETCHED);
+        cacheHitRatio = new FloatStat(statistics,
+                BeforeImageIndexStatDefinition.BIMG_CACHE_HIT_RATIO);
+
+        final long cacheSize = envImpl.getConfigManager().getLong(
+                EnvironmentParams.BEFORE_IMAGE_CACHE_SIZE);
+        cache = (cacheSize > 0) ?
+            new BeforeImageIndexCache(cacheSize, statistics) : null;
     }
 
     public static void setBeforeImageHook(TestHook<?> hook) {
@@ -262,6 +299,9 @@ public class BeforeImageIndex {
      */
 
     public StatGroup getStats(StatsConfig config) {
+        if (cache != null) {
+            cacheHitRatio.set(cache.getHitRatio());
+        }
         return statistics.cloneGroup(config.getClear());
     }
 
@@ -391,7 +431,7 @@ public class BeforeImageIndex {
         }
         Cursor c = makeCursor(lck);
         try {
-            OperationResult res = c.get(key, data, Get.SEARCH, null);
+            OperationResult res = c.get(key, data, Get.SEARCH, READ_OPTIONS);
             if (res != null) {
                 return data;
             }
@@ -406,6 +446,103 @@ public class BeforeImageIndex {
         }
     }
 
+    /**
+     * Returns the before image stored under the abortLsn, using the before
+     * image cache if it is enabled.
+     *
+     * @param abortLsn the key to search for in beforeimage database
+     * @return the before image, or {@code null} if no abortLsn exists.
+     */
+    public byte[] getBeforeImage(long abortLsn) {
+        if (cache != null) {
+            final byte[] cached = cache.get(abortLsn);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final DatabaseEntry data = get(abortLsn, null);
+        if (data == null) {
+            return null;
+        }
+        if (cache != null) {
+            cache.put(abortLsn, data.getData());
+        }
+        return data.getData();
+    }
+
+    /**
+     * Returns the before images stored under a batch of abortLsns. The images
+     * that are not cached are read using a single locker and cursor, in the
+     * order of their abortLsns, which is also the order of the keys in the
+     * before image database, so that the BINs and the log are read
+     * sequentially rather than at random.
+     *
+     * @param abortLsns the keys to search for in beforeimage database, which
+     *                  may contain duplicates
+     * @return the before images, in the order of the abortLsns, with
+     * {@code null} for each abortLsn that does not exist.
+     */
+    public byte[][] getBeforeImages(long[] abortLsns) {
+        final byte[][] images = new byte[abortLsns.length][];
+        final long[] missing = new long[abortLsns.length];
+        int nMissing = 0;
+        for (int i = 0; i < abortLsns.length; i++) {
+            if (cache != null) {
+                images[i] = cache.get(abortLsns[i]);
+            }
+            if (images[i] == null) {
+                missing[nMissing++] = abortLsns[i];
+            }
+        }
+        if (nMissing == 0) {
+            return images;
+        }
+
+        if (beforeImageDbImpl == null) {
+            throw EnvironmentFailureException
+                .unexpectedState("No BeforeImage Database Exists ");
+        }
+
+        /*
+         * An LSN is a file number followed by a file offset, so ascending
+         * LSNs are in file and offset order.
+         */
+        Arrays.sort(missing, 0, nMissing);
+        final Map<Long, byte[]> fetched = new HashMap<>();
+        final DatabaseEntry key = new DatabaseEntry();
+        final Locker lck =
+            Txn.createLocalAutoTxn(envImpl, new TransactionConfig());
+        final Cursor c = makeCursor(lck);
+        try {
+            for (int i = 0; i < nMissing; i++) {
+                final long abortLsn = missing[i];
+                if (i > 0 && abortLsn == missing[i - 1]) {
+                    continue;
+                }
+                final DatabaseEntry data = new DatabaseEntry();
+                LongBinding.longToEntry(abortLsn, key);
+                if (c.get(key, data, Get.SEARCH, READ_OPTIONS) != null) {
+                    fetched.put(abortLsn, data.getData());
+                    if (cache != null) {
+                        cache.put(abortLsn, data.getData());
+                    }
+                }
+            }
+        } finally {
+            c.close();
+            lck.operationEnd(true);
+        }
+        nBatchFetches.increment();
+        nBatchFetched.add(fetched.size());
+
+        for (int i = 0; i < abortLsns.length; i++) {
+            if (images[i] == null) {
+                images[i] = fetched.get(abortLsns[i]);
+            }
+        }
+        return images;
+    }
+
     /* close the database */
     public void close() throws DatabaseException {
         if (beforeImageDbImpl != null) {
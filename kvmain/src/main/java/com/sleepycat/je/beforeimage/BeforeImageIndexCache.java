@@ -13,72 +13,119 @@
 
 package com.sleepycat.je.beforeimage;
 
+import java.util.ArrayDeque;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicInteger;
 
+import com.sleepycat.je.utilint.AtomicLongStat;
+import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.StatGroup;
 
-/*
- * A ThreadSafe Cache for the Before Image Entries 
- * K -> abortLSN 
- * V -> DatabaseEntry 
- * TODO Currently Unused because 
- * although the modification times of current record provides a temporal locality
- * in the beforeimage database and can cache next configurable number of entries.
- * As the KV table can span multiple databases, the cache might have a smaller
- * number of hits. But it can be used in mini-envs as table span single database.
+/**
+ * A size bounded cache of before images, keyed by the abortLSN under which
+ * they are stored in the before image database.
+ *
+ * <p>The cache has its own memory budget, je.beforeImage.cacheSize, and is
+ * not part of the main JE cache. The before image LNs read by the index are
+ * evicted from the main cache after they are read, so streams with before
+ * images enabled do not displace the application's working set, and repeated
+ * lookups of the same before image, for example by the feeders of several
+ * subscribers of the same table, are served from this cache instead.</p>
+ *
+ * <p>Before images are evicted in the order they were added once the total
+ * size of the cached images exceeds the budget. Streams read the before
+ * images in roughly the order they were written, so this retains the images
+ * that trailing streams are about to read. Lookups do not block, while
+ * additions and evictions are synchronized.</p>
  */
+public class BeforeImageIndexCache {
 
-public class BeforeImageIndexCache<K, V> {
-    private final int maxSize;
-    private final ConcurrentHashMap<K,V> cacheMap;
-    private final ConcurrentLinkedQueue<K> keysQueue;
-    private final AtomicInteger currentSize;
+    /*
+     * The approximate memory used by a cached image in addition to its data:
+     * the map node, the boxed key, and the reference in the eviction queue.
+     */
+    private static final int ENTRY_OVERHEAD = 96;
 
-    public BeforeImageIndexCache(int maxSize) {
-         this.maxSize = maxSize;
-         this.cacheMap = new ConcurrentHashMap<>();
-         this.keysQueue = new ConcurrentLinkedQueue<>();
-         this.currentSize = new AtomicInteger(0);
-    }
+    private final long maxBytes;
 
-    private void evictOldest(int n) {
-        int actualEvicted = 0;
-        for (int i = 0; i < n; i++) {
-             K oldestKey = keysQueue.poll();
-             if (oldestKey != null) {
-                 cacheMap.remove(oldestKey);
-                 actualEvicted++;
-             } else {
-                 break;
-             }
-        }
-        currentSize.addAndGet(-actualEvicted);
-    }
+    private final ConcurrentHashMap<Long, byte[]> images =
+        new ConcurrentHashMap<>();
+
+    /* The cached keys in the order they were added. Guarded by this. */
+    private final ArrayDeque<Long> addOrder = new ArrayDeque<>();
+
+    /* The memory used by the cached images. Guarded by this. */
+    private long totalBytes;
 
-    public V get(K key) {
-        return cacheMap.get(key);
+    private final AtomicLongStat nHits;
+    private final AtomicLongStat nMisses;
+
+    /* Updated while synchronized. */
+    private final LongStat nEvictions;
+    private final LongStat cacheBytes;
+
+    /**
+     * @param maxBytes the memory budget of the cache in bytes
+     * @param statGroup the statsGroup to which this cache adds its stats
+     */
+    public BeforeImageIndexCache(long maxBytes, StatGroup statGroup) {
+        this.maxBytes = maxBytes;
+        nHits = new AtomicLongStat(
+            statGroup, BeforeImageIndexStatDefinition.N_BIMG_CACHE_HITS);
+        nMisses = new AtomicLongStat(
+            statGroup, BeforeImageIndexStatDefinition.N_BIMG_CACHE_MISSES);
+        nEvictions = new LongStat(
+            statGroup, BeforeImageIndexStatDefinition.N_BIMG_CACHE_EVICTIONS);
+        cacheBytes = new LongStat(
+            statGroup, BeforeImageIndexStatDefinition.BIMG_CACHE_BYTES);
     }
 
-    public boolean containsKey(K key) {
-        return cacheMap.containsKey(key);
+    /**
+     * Returns the cached before image for the abortLsn, or null if it is not
+     * cached.
+     */
+    public byte[] get(long abortLsn) {
+        final byte[] data = images.get(abortLsn);
+        if (data == null) {
+            nMisses.increment();
+            return null;
+        }
+        nHits.increment();
+        return data;
     }
 
-    /* Each update might not be atomic because we need to sync two structures
-     * But thats ok, because if there is a cache miss, we will just fetch from
-     * disk. 
-     */ 
-    public void put(K key, V value) {
-        if (cacheMap.putIfAbsent(key, value) == null) {
-            keysQueue.offer(key);
-            //FIFO evict Policy
-            currentSize.incrementAndGet();
-            //handle cases where lot of puts concurrently instead of 1 
-            //TODO can we optimize on number of gets or remove multiple  
-            int evictCount = currentSize.get() - maxSize;
-            if (evictCount > 0) {
-                evictOldest(evictCount);
+    /**
+     * Adds a before image, evicting the oldest images if the cache is full.
+     * The data must not be modified after it is added.
+     */
+    public void put(long abortLsn, byte[] data) {
+        final long entryBytes = data.length + ENTRY_OVERHEAD;
+        if (entryBytes > maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            if (images.putIfAbsent(abortLsn, data) != null) {
+                /* Another thread added it first. */
+                return;
             }
+            addOrder.addLast(abortLsn);
+            totalBytes += entryBytes;
+            while (totalBytes > maxBytes) {
+                final Long oldest = addOrder.removeFirst();
+                final byte[] evicted = images.remove(oldest);
+                totalBytes -= evicted.length + ENTRY_OVERHEAD;
+                nEvictions.increment();
+            }
+            cacheBytes.set(totalBytes);
         }
     }
+
+    /**
+     * Returns the fraction of lookups that were hits since the stats were
+     * last cleared.
+     */
+    float getHitRatio() {
+        final float hits = nHits.get();
+        final float lookups = hits + nMisses.get();
+        return (lookups > 0) ? (hits / lookups) : 0;
+    }
 }
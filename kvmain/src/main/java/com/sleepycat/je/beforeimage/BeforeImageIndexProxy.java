@@ -40,6 +40,11 @@ public class BeforeImageIndexProxy extends BeforeImageIndex {
         return null;
     }
 
+    @Override
+    public byte[][] getBeforeImages(long[] abortLsns) {
+        return new byte[abortLsns.length][];
+    }
+
     @Override
     public void close()
         throws DatabaseException {
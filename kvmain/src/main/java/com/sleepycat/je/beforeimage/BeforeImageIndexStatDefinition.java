@@ -14,6 +14,7 @@
 package com.sleepycat.je.beforeimage;
 
 import com.sleepycat.je.utilint.StatDefinition;
+import com.sleepycat.je.utilint.StatDefinition.StatType;
 
 public class BeforeImageIndexStatDefinition {
     public static final String GROUP_NAME = "BeforeImageIndex";
@@ -45,4 +46,40 @@ public class BeforeImageIndexStatDefinition {
     public static final StatDefinition N_BIMG_RECORDS_BY_TOMBSTONES = new StatDefinition(
             N_BIMG_RECORDS_BY_TOMBSTONES_NAME,
             N_BIMG_RECORDS_BY_TOMBSTONES_DESC);
+
+    public static final String N_BIMG_CACHE_HITS_NAME = "nBImgCacheHits";
+    public static final String N_BIMG_CACHE_HITS_DESC = "Number of before image lookups satisfied by the before image cache";
+    public static final StatDefinition N_BIMG_CACHE_HITS = new StatDefinition(
+            N_BIMG_CACHE_HITS_NAME, N_BIMG_CACHE_HITS_DESC);
+
+    public static final String N_BIMG_CACHE_MISSES_NAME = "nBImgCacheMisses";
+    public static final String N_BIMG_CACHE_MISSES_DESC = "Number of before image lookups that read the before image index";
+    public static final StatDefinition N_BIMG_CACHE_MISSES = new StatDefinition(
+            N_BIMG_CACHE_MISSES_NAME, N_BIMG_CACHE_MISSES_DESC);
+
+    public static final String BIMG_CACHE_HIT_RATIO_NAME = "bImgCacheHitRatio";
+    public static final String BIMG_CACHE_HIT_RATIO_DESC = "The before image cache hit ratio (nBImgCacheHits / (nBImgCacheHits + nBImgCacheMisses))";
+    public static final StatDefinition BIMG_CACHE_HIT_RATIO = new StatDefinition(
+            BIMG_CACHE_HIT_RATIO_NAME, BIMG_CACHE_HIT_RATIO_DESC,
+            StatType.CUMULATIVE);
+
+    public static final String N_BIMG_CACHE_EVICTIONS_NAME = "nBImgCacheEvictions";
+    public static final String N_BIMG_CACHE_EVICTIONS_DESC = "Number of before images evicted from the before image cache";
+    public static final StatDefinition N_BIMG_CACHE_EVICTIONS = new StatDefinition(
+            N_BIMG_CACHE_EVICTIONS_NAME, N_BIMG_CACHE_EVICTIONS_DESC);
+
+    public static final String BIMG_CACHE_BYTES_NAME = "bImgCacheBytes";
+    public static final String BIMG_CACHE_BYTES_DESC = "Amount of memory used by the before image cache";
+    public static final StatDefinition BIMG_CACHE_BYTES = new StatDefinition(
+            BIMG_CACHE_BYTES_NAME, BIMG_CACHE_BYTES_DESC, StatType.CUMULATIVE);
+
+    public static final String N_BIMG_BATCH_FETCHES_NAME = "nBImgBatchFetches";
+    public static final String N_BIMG_BATCH_FETCHES_DESC = "Number of batched before image fetches";
+    public static final StatDefinition N_BIMG_BATCH_FETCHES = new StatDefinition(
+            N_BIMG_BATCH_FETCHES_NAME, N_BIMG_BATCH_FETCHES_DESC);
+
+    public static final String N_BIMG_BATCH_FETCHED_NAME = "nBImgBatchFetched";
+    public static final String N_BIMG_BATCH_FETCHED_DESC = "Number of before images read from the before image index by batched fetches";
+    public static final StatDefinition N_BIMG_BATCH_FETCHED = new StatDefinition(
+            N_BIMG_BATCH_FETCHED_NAME, N_BIMG_BATCH_FETCHED_DESC);
 }
@@ -15,9 +15,10 @@ package com.sleepycat.je.beforeimage;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
-import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.EnvironmentFailureException;
 import com.sleepycat.je.dbi.EnvironmentImpl;
@@ -25,9 +26,11 @@ import com.sleepycat.je.log.LogEntryHeader;
 import com.sleepycat.je.log.LogEntryType;
 import com.sleepycat.je.log.LogItem;
 import com.sleepycat.je.log.LogUtils;
+import com.sleepycat.je.log.entry.LogEntry;
 import com.sleepycat.je.log.entry.ReplicableLogEntry;
 import com.sleepycat.je.rep.stream.OutputWireRecord;
 import com.sleepycat.je.rep.stream.InputWireRecord;
+import com.sleepycat.je.utilint.DbLsn;
 
 /**
  * Format for log entries sent across the wire while replicating records with
@@ -49,7 +52,7 @@ public class BeforeImageOutputWireRecord extends OutputWireRecord {
             logEntry = logItem.cachedEntry;
             if (logEntry != null) {
                 bImgData = logItem.getBeforeImageData();
-                if (bImgData != null) {
+                if (logItem.isBeforeImageFetched()) {
                     return logEntry;
                 }
             }
@@ -73,12 +76,9 @@ public class BeforeImageOutputWireRecord extends OutputWireRecord {
             logItem.cachedEntry = logEntry;
         }
 		if (envImpl.getBeforeImageIndex() != null) {
-			DatabaseEntry bImgEntry = envImpl.getBeforeImageIndex()
-					.get(entry.getAbortLsn(), null);
-			if (bImgEntry != null) {
-				bImgData = bImgEntry.getData();
-			}
-			if (logItem != null) {
+			bImgData = envImpl.getBeforeImageIndex()
+					.getBeforeImage(entry.getAbortLsn());
+			if (logItem != null && bImgData != null) {
 				logItem.setBeforeImageData(bImgData);
 			}
 		}
@@ -108,6 +108,69 @@ public class BeforeImageOutputWireRecord extends OutputWireRecord {
                                 final LogItem logItem) {
         super(envImpl, logItem);
         this.bImgData = logItem.getBeforeImageData();
+        if (logEntry == null) {
+            /* Materialized when the before image was attached. */
+            logEntry = logItem.cachedEntry;
+        }
+    }
+
+    /**
+     * Fetches the before images of a batch of log items with a single
+     * batched lookup of the before image index, and attaches them to the
+     * items, so that records created from the items do not look up the
+     * before images one at a time. Items that have no abortLsn are marked as
+     * having none. Items whose before image is not found are left unchanged,
+     * since the writer of the entry may not have stored the before image yet,
+     * and marking them would make every feeder send them without one. Items
+     * that are not before image entries, or whose before image was already
+     * fetched, are ignored.
+     *
+     * @param envImpl the environment
+     * @param logItems the log items, in use by the caller
+     * @return whether the before images were looked up, which is false if
+     * the environment has no before image index
+     */
+    public static boolean fetchBeforeImages(final EnvironmentImpl envImpl,
+                                            final List<LogItem> logItems) {
+        final BeforeImageIndex index = envImpl.getBeforeImageIndex();
+        if (index == null) {
+            return false;
+        }
+        final List<LogItem> pending = new ArrayList<>(logItems.size());
+        final long[] abortLsns = new long[logItems.size()];
+        for (final LogItem logItem : logItems) {
+            if (!LogEntryType.isBeforeImageType(logItem.header.getType()) ||
+                logItem.isBeforeImageFetched()) {
+                continue;
+            }
+            ReplicableLogEntry entry = logItem.cachedEntry;
+            if (entry == null) {
+                final LogEntry newEntry = LogEntryType
+                    .findType(logItem.header.getType()).getNewLogEntry();
+                newEntry.readEntry(
+                    envImpl, logItem.header, logItem.getBuffer().slice());
+                entry = (ReplicableLogEntry) newEntry;
+                logItem.cachedEntry = entry;
+            }
+            final long abortLsn = ((BeforeImageLNLogEntry) entry).getAbortLsn();
+            if (abortLsn == DbLsn.NULL_LSN) {
+                logItem.setNoBeforeImage();
+                continue;
+            }
+            abortLsns[pending.size()] = abortLsn;
+            pending.add(logItem);
+        }
+        if (pending.isEmpty()) {
+            return true;
+        }
+        final byte[][] images = index.getBeforeImages(
+            Arrays.copyOf(abortLsns, pending.size()));
+        for (int i = 0; i < images.length; i++) {
+            if (images[i] != null) {
+                pending.get(i).setBeforeImageData(images[i]);
+            }
+        }
+        return true;
     }
 
     /* For unit test support. */
@@ -205,13 +205,9 @@ public abstract class BaseUtilizationTracker {
         DbFileSummaryMap dbFileSummaries,
         long mapLnLsn) {
 
-        for (Map.Entry<Long, DbFileSummary> entry :
-            dbFileSummaries.entrySet()) {
-
-            Long fileNum = entry.getKey();
+        dbFileSummaries.forEach((fileNum, dbFileSummary) -> {
 
             if (isFileUncounted(fileNum, mapLnLsn)) {
-                DbFileSummary dbFileSummary = entry.getValue();
                 TrackedFileSummary fileSummary = getFileSummary(fileNum);
 
                 /*
@@ -250,7 +246,7 @@ public abstract class BaseUtilizationTracker {
                  * will call this method to update the per-file utilization.
                  */
             }
-        }
+        });
     }
 
     boolean isEmpty() {
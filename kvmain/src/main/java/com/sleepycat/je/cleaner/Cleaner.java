@@ -89,6 +89,7 @@ import com.sleepycat.je.dbi.DbTree;
 import com.sleepycat.je.dbi.EnvConfigObserver;
 import com.sleepycat.je.dbi.EnvironmentFailureReason;
 import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.evictor.OffHeapCache;
 import com.sleepycat.je.log.FileManager;
 import com.sleepycat.je.log.FileManager.FIOStatsCollector;
 import com.sleepycat.je.log.LogItem;
@@ -289,6 +290,7 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
     private final ExpirationProfile expirationProfile;
     private final UtilizationCalculator calculator;
     private final FileSelector fileSelector;
+    private final CleanerScheduler scheduler;
     private FileProcessor[] threads;
 
     private final Logger logger;
@@ -357,6 +359,7 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
         expirationProfile = new ExpirationProfile(env);
         calculator = new UtilizationCalculator(env, this);
         fileSelector = new FileSelector();
+        scheduler = new CleanerScheduler(env, this, calculator);
         threads = new FileProcessor[0];
         logger = LoggerUtils.getLogger(getClass());
         totalRuns = new AtomicLong(0);
@@ -472,6 +475,12 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
                 cleanerBytesInterval, MAX_CLEANER_BYTES_INTERVAL);
         }
 
+        scheduler.configure(
+            nThreads,
+            cm.getBoolean(EnvironmentParams.CLEANER_ADAPTIVE_THREADS),
+            cm.getLong(EnvironmentParams.CLEANER_IO_BUDGET),
+            cm.getDuration(EnvironmentParams.CLEANER_FOREGROUND_READ_LATENCY));
+
         final int wakeupInterval =
             cm.getDuration(EnvironmentParams.CLEANER_WAKEUP_INTERVAL);
 
@@ -546,6 +555,10 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
         return fileSelector;
     }
 
+    CleanerScheduler getScheduler() {
+        return scheduler;
+    }
+
     public boolean getFetchObsoleteSize(DatabaseImpl db) {
         return fetchObsoleteSize && !db.isLNImmediatelyObsolete();
     }
@@ -705,6 +718,8 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
             stats, CLEANER_PENDING_DB_QUEUE_SIZE,
             pendingQueueSizes.second());
 
+        scheduler.addStats(stats, config.getClear());
+
         /*
          * Synchronize on statGroup while adding log size stats, to return a
          * consistent set of values.
@@ -1181,6 +1196,7 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
                 profile.deleteReservedFileRecord(file);
                 nCleanerDeletions.increment();
                 deletedFiles.add(file);
+                discardOffHeapNodes(file);
             }
 
         } finally {
@@ -1250,6 +1266,7 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
             if (deleteFile(file)) {
                 profile.deleteReservedFileRecord(file);
                 nCleanerDeletions.increment();
+                discardOffHeapNodes(file);
                 deleted = true;
             } else {
                 /* Sometimes files cannot be deleted on Windows. */
@@ -1268,6 +1285,17 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
 
     }
 
+    /**
+     * Discards nodes for a deleted file from the off-heap cache, since their
+     * LSNs may no longer be fetched.
+     */
+    private void discardOffHeapNodes(final Long file) {
+        final OffHeapCache offHeapCache = env.getOffHeapCache();
+        if (offHeapCache != null) {
+            offHeapCache.removeFile(file);
+        }
+    }
+
     /**
      * Attempts to delete the file and returns whether it has been deleted.
      */
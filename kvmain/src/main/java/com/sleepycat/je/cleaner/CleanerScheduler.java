@@ -0,0 +1,294 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.cleaner;
+
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_ACTIVE_THREADS;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_BACKLOG;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_FOREGROUND_READ_LATENCY_US;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_IO_BUDGET;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_THROTTLE_MS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.log.FileManager;
+import com.sleepycat.je.utilint.IntStat;
+import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.StatGroup;
+
+/**
+ * Decides how many cleaner threads may process files concurrently, and
+ * limits the rate at which they read log files.
+ *
+ * The FileSelector gives each cleaner thread a different file, so files are
+ * always processed independently. A thread must call {@link #startFile}
+ * before selecting each file, and must call {@link #stopCleaning} when it
+ * stops selecting files. At most {@link #activeThreads} threads are allowed
+ * to clean at once. When {@link
+ * com.sleepycat.je.EnvironmentConfig#CLEANER_ADAPTIVE_THREADS} is false this
+ * is the number of cleaner threads; otherwise it is adjusted once per
+ * interval according to the cleaning backlog and foreground read latency.
+ * Adjustments are made by whichever of startFile and throttle is called
+ * first after the interval elapses, so they continue while a thread is
+ * cleaning a single large file.
+ *
+ * Reads by cleaner daemon threads are paced by {@link #throttle}, which is
+ * called with the number of bytes read after each read and sleeps as needed
+ * to keep the cleaner's read rate within the current budget. Explicit calls
+ * to cleanLog are not throttled. The budget is {@link
+ * com.sleepycat.je.EnvironmentConfig#CLEANER_IO_BUDGET}, but is halved each
+ * interval in which the average latency of application reads exceeds {@link
+ * com.sleepycat.je.EnvironmentConfig#CLEANER_FOREGROUND_READ_LATENCY}, and is
+ * restored gradually once the latency is below the target again.
+ */
+class CleanerScheduler {
+
+    /* Interval between adjustments of the thread count and budget. */
+    private static final long ADJUST_INTERVAL_NANOS =
+        TimeUnit.SECONDS.toNanos(1);
+
+    /* The budget is never reduced below 1 MB/s by the latency target. */
+    static final long MIN_IO_BUDGET = 1L << 20;
+
+    /* The budget allows bursts of up to 100 ms of reading. */
+    private static final long MAX_BURST_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final EnvironmentImpl envImpl;
+    private final Cleaner cleaner;
+    private final UtilizationCalculator calculator;
+
+    /* Mutable config params. */
+    private boolean adaptiveThreads;
+    private int maxThreads;
+    private long configuredBudget;
+    private long latencyTargetNanos;
+
+    /* Threads allowed to clean concurrently, and threads cleaning. */
+    private int activeThreads;
+    private int runningThreads;
+
+    /* Current read budget in bytes per second, or zero if unlimited. */
+    private long ioBudget;
+
+    /* Time at which the budget allows the next read. */
+    private long nextReadNanos;
+
+    /* State sampled by adjust. */
+    private long lastAdjustNanos;
+    private long lastForegroundReads;
+    private long lastForegroundReadNanos;
+    private long bytesReadSinceAdjust;
+    private int backlog;
+    private long foregroundReadLatencyNanos;
+
+    private final AtomicLong throttleNanos = new AtomicLong();
+
+    CleanerScheduler(EnvironmentImpl envImpl,
+                     Cleaner cleaner,
+                     UtilizationCalculator calculator) {
+        this.envImpl = envImpl;
+        this.cleaner = cleaner;
+        this.calculator = calculator;
+        lastAdjustNanos = System.nanoTime();
+    }
+
+    /**
+     * Applies the current config params. Called at startup and whenever a
+     * mutable param changes.
+     */
+    synchronized void configure(int nThreads,
+                                boolean adaptive,
+                                long budget,
+                                long latencyTargetMs) {
+        maxThreads = nThreads;
+        adaptiveThreads = adaptive;
+        configuredBudget = budget;
+        latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMs);
+        ioBudget = budget;
+
+        activeThreads = adaptive ?
+            Math.max(1, Math.min(activeThreads, nThreads)) :
+            nThreads;
+    }
+
+    /**
+     * Called by a cleaner thread before selecting a file to clean. Returns
+     * whether the thread may clean another file. If false is returned, the
+     * thread must stop cleaning and must not call {@link #stopCleaning}.
+     *
+     * @param cleaning whether the thread has already been allowed to clean
+     * a file and has not yet called stopCleaning.
+     */
+    boolean startFile(boolean cleaning) {
+        final boolean increased;
+        final boolean allowed;
+        synchronized (this) {
+            increased = adjustIfDue();
+            if (cleaning) {
+                allowed = (runningThreads <= activeThreads);
+            } else {
+                allowed = (runningThreads < activeThreads);
+                if (allowed) {
+                    runningThreads += 1;
+                }
+            }
+            if (cleaning && !allowed) {
+                runningThreads -= 1;
+            }
+        }
+
+        /* Wake idle threads so that the new thread count is used. */
+        if (increased) {
+            cleaner.wakeupActivate();
+        }
+        return allowed;
+    }
+
+    /**
+     * Called by a cleaner thread that was allowed to clean by {@link
+     * #startFile} when it stops selecting files.
+     */
+    synchronized void stopCleaning() {
+        runningThreads -= 1;
+    }
+
+    /**
+     * Called by a cleaner thread after reading the given number of bytes from
+     * a log file. Sleeps if needed to stay within the read budget.
+     */
+    void throttle(long bytes) {
+        final boolean increased;
+        long sleepNanos = 0;
+        synchronized (this) {
+            bytesReadSinceAdjust += bytes;
+
+            /*
+             * Adjust here as well as in startFile, so that latency changes
+             * are acted on while a large file is being cleaned.
+             */
+            increased = adjustIfDue();
+
+            if (ioBudget > 0) {
+                final long now = System.nanoTime();
+                nextReadNanos =
+                    Math.max(nextReadNanos, now - MAX_BURST_NANOS) +
+                    (bytes * TimeUnit.SECONDS.toNanos(1)) / ioBudget;
+                sleepNanos = nextReadNanos - now;
+            }
+        }
+
+        if (increased) {
+            cleaner.wakeupActivate();
+        }
+        if (sleepNanos < TimeUnit.MILLISECONDS.toNanos(1)) {
+            return;
+        }
+        throttleNanos.addAndGet(sleepNanos);
+        try {
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adjusts the thread count and budget if the interval has elapsed.
+     * Returns whether the number of active threads was increased.
+     */
+    private boolean adjustIfDue() {
+
+        final long now = System.nanoTime();
+        final long elapsed = now - lastAdjustNanos;
+        if (elapsed < ADJUST_INTERVAL_NANOS) {
+            return false;
+        }
+        lastAdjustNanos = now;
+
+        /* Average latency of application reads since the last adjustment. */
+        final FileManager fileManager = envImpl.getFileManager();
+        final long nReads = fileManager.getNForegroundReads();
+        final long readNanos = fileManager.getForegroundReadNanos();
+        final long deltaReads = nReads - lastForegroundReads;
+        foregroundReadLatencyNanos = (deltaReads > 0) ?
+            ((readNanos - lastForegroundReadNanos) / deltaReads) : 0;
+        lastForegroundReads = nReads;
+        lastForegroundReadNanos = readNanos;
+
+        /* Rate at which the cleaner actually read. */
+        final long readRate =
+            (bytesReadSinceAdjust * TimeUnit.SECONDS.toNanos(1)) / elapsed;
+        bytesReadSinceAdjust = 0;
+
+        backlog = Math.max(
+            0,
+            cleaner.minUtilization - calculator.getPredictedMinUtilization());
+
+        final int prevActiveThreads = activeThreads;
+
+        if (latencyTargetNanos > 0 &&
+            foregroundReadLatencyNanos > latencyTargetNanos) {
+
+            /* Back off, whatever the backlog. */
+            final long current = (ioBudget > 0) ? ioBudget : readRate;
+            ioBudget = Math.max(MIN_IO_BUDGET, current / 2);
+
+            if (adaptiveThreads && activeThreads > 1) {
+                activeThreads -= 1;
+            }
+        } else {
+            /*
+             * Restore the budget by 25% per interval. An unlimited budget is
+             * restored as soon as the cleaner uses less than half of the
+             * reduced budget, since the budget is no longer a constraint.
+             */
+            if (ioBudget != configuredBudget) {
+                final long raised = ioBudget + (ioBudget / 4);
+                if (configuredBudget == 0) {
+                    ioBudget = (readRate < ioBudget / 2) ? 0 : raised;
+                } else {
+                    ioBudget = Math.min(configuredBudget, raised);
+                }
+            }
+
+            if (adaptiveThreads) {
+                if (backlog > 0) {
+                    if (activeThreads < maxThreads) {
+                        activeThreads += 1;
+                    }
+                } else if (activeThreads > 1) {
+                    activeThreads -= 1;
+                }
+            }
+        }
+
+        return activeThreads > prevActiveThreads;
+    }
+
+    synchronized void addStats(StatGroup stats, boolean clear) {
+        new IntStat(stats, CLEANER_ACTIVE_THREADS, activeThreads);
+        new LongStat(stats, CLEANER_IO_BUDGET, ioBudget);
+        new IntStat(stats, CLEANER_BACKLOG, backlog);
+        new LongStat(
+            stats, CLEANER_FOREGROUND_READ_LATENCY_US,
+            TimeUnit.NANOSECONDS.toMicros(foregroundReadLatencyNanos));
+
+        final long throttled = clear ?
+            throttleNanos.getAndSet(0) : throttleNanos.get();
+        new LongStat(
+            stats, CLEANER_THROTTLE_MS,
+            TimeUnit.NANOSECONDS.toMillis(throttled));
+    }
+}
@@ -391,4 +391,59 @@ public class CleanerStatDefinition {
             CLEANER_PREDICTED_MAX_UTILIZATION_NAME,
             CLEANER_PREDICTED_MAX_UTILIZATION_DESC,
             StatType.CUMULATIVE);
+
+    public static final String CLEANER_ACTIVE_THREADS_NAME =
+        "cleanerActiveThreads";
+    public static final String CLEANER_ACTIVE_THREADS_DESC =
+        "Number of cleaner threads currently allowed to process files " +
+            "concurrently.";
+    public static final StatDefinition CLEANER_ACTIVE_THREADS =
+        new StatDefinition(
+            CLEANER_ACTIVE_THREADS_NAME,
+            CLEANER_ACTIVE_THREADS_DESC,
+            StatType.CUMULATIVE);
+
+    public static final String CLEANER_IO_BUDGET_NAME =
+        "cleanerIOBudget";
+    public static final String CLEANER_IO_BUDGET_DESC =
+        "Current limit on the rate of cleaner reads in bytes per second, " +
+            "or zero if cleaner reads are not limited.";
+    public static final StatDefinition CLEANER_IO_BUDGET =
+        new StatDefinition(
+            CLEANER_IO_BUDGET_NAME,
+            CLEANER_IO_BUDGET_DESC,
+            StatType.CUMULATIVE);
+
+    public static final String CLEANER_BACKLOG_NAME =
+        "cleanerBacklog";
+    public static final String CLEANER_BACKLOG_DESC =
+        "Percentage by which predicted minimum utilization is below the " +
+            "je.cleaner.minUtilization target, or zero if it is not below " +
+            "the target.";
+    public static final StatDefinition CLEANER_BACKLOG =
+        new StatDefinition(
+            CLEANER_BACKLOG_NAME,
+            CLEANER_BACKLOG_DESC,
+            StatType.CUMULATIVE);
+
+    public static final String CLEANER_THROTTLE_MS_NAME =
+        "cleanerThrottleMs";
+    public static final String CLEANER_THROTTLE_MS_DESC =
+        "Time in milliseconds that cleaner threads slept to stay within the " +
+            "cleaner read budget.";
+    public static final StatDefinition CLEANER_THROTTLE_MS =
+        new StatDefinition(
+            CLEANER_THROTTLE_MS_NAME,
+            CLEANER_THROTTLE_MS_DESC);
+
+    public static final String CLEANER_FOREGROUND_READ_LATENCY_US_NAME =
+        "foregroundReadLatencyUs";
+    public static final String CLEANER_FOREGROUND_READ_LATENCY_US_DESC =
+        "Average latency in microseconds of log file reads by application " +
+            "threads, as last observed by the cleaner scheduler.";
+    public static final StatDefinition CLEANER_FOREGROUND_READ_LATENCY_US =
+        new StatDefinition(
+            CLEANER_FOREGROUND_READ_LATENCY_US_NAME,
+            CLEANER_FOREGROUND_READ_LATENCY_US_DESC,
+            StatType.CUMULATIVE);
 }
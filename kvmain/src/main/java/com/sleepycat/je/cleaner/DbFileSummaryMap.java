@@ -13,19 +13,17 @@
 
 package com.sleepycat.je.cleaner;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import com.sleepycat.je.utilint.LongHashMap;
 
 public class DbFileSummaryMap {
 
-    private Map<Long, DbFileSummary> map;
+    private final LongHashMap<DbFileSummary> map;
 
     /**
-     * Creates a map of Long file number to DbFileSummary.
+     * Creates a map of long file number to DbFileSummary.
      */
     public DbFileSummaryMap() {
-        map = new HashMap<>();
+        map = new LongHashMap<>();
     }
 
     /**
@@ -36,19 +34,15 @@ public class DbFileSummaryMap {
      *
      * @param fileNum the file identifying the summary.
      */
-    public DbFileSummary get(Long fileNum) {
-
-        DbFileSummary summary = map.get(fileNum);
-        if (summary == null) {
-            summary = new DbFileSummary();
-            Object oldVal = map.put(fileNum, summary);
-            assert oldVal == null;
-        }
-        return summary;
+    public DbFileSummary get(long fileNum) {
+        return map.computeIfAbsent(fileNum, k -> new DbFileSummary());
     }
 
-    public Set<Map.Entry<Long,DbFileSummary>> entrySet() {
-        return map.entrySet();
+    /**
+     * Calls the visitor with the file number and summary of each file.
+     */
+    public void forEach(LongHashMap.EntryVisitor<DbFileSummary> visitor) {
+        map.forEach(visitor);
     }
 
     @Override
@@ -93,6 +93,9 @@ public class FileProcessor extends DaemonThread {
     private volatile boolean activate = false;
     private long lastWakeupLsn = 0;
 
+    /* Whether the CleanerScheduler has allowed this thread to clean. */
+    private boolean scheduled = false;
+
     /* Log version for the target file. */
     private int fileLogVersion;
 
@@ -311,7 +314,9 @@ public class FileProcessor extends DaemonThread {
      * successfully cleaned files. May be called by the daemon thread or
      * programatically.
      *
-     * @param invokedFromDaemon currently has no effect.
+     * @param invokedFromDaemon is true if called by the daemon thread, in
+     * which case the CleanerScheduler determines whether this thread may
+     * clean, and the rate at which it reads.
      *
      * @param cleanMultipleFiles is true to clean until we're under budget,
      * or false to clean at most one file.
@@ -327,6 +332,22 @@ public class FileProcessor extends DaemonThread {
         boolean cleanMultipleFiles,
         boolean forceCleaning) {
 
+        try {
+            return cleanFiles(
+                invokedFromDaemon, cleanMultipleFiles, forceCleaning);
+        } finally {
+            if (scheduled) {
+                cleaner.getScheduler().stopCleaning();
+                scheduled = false;
+            }
+        }
+    }
+
+    private int cleanFiles(
+        boolean invokedFromDaemon,
+        boolean cleanMultipleFiles,
+        boolean forceCleaning) {
+
         if (envImpl.isClosed()) {
             return 0;
         }
@@ -395,6 +416,18 @@ public class FileProcessor extends DaemonThread {
                     profile.getFileSummaryMap(true /*includeTrackedFiles*/);
             }
 
+            /*
+             * Stop if the scheduler does not allow this thread to clean
+             * another file, because the number of concurrently cleaning
+             * threads has been reduced.
+             */
+            if (invokedFromDaemon) {
+                scheduled = cleaner.getScheduler().startFile(scheduled);
+                if (!scheduled) {
+                    break;
+                }
+            }
+
             /*
              * Select the next file for cleaning and update the Cleaner's
              * read-only file collections.
@@ -446,7 +479,7 @@ public class FileProcessor extends DaemonThread {
                             PERMIT_TIME_TO_HOLD_MS, TimeUnit.MILLISECONDS,
                             handler))) {
                         processFile(fileNum, recalcSummary, new INSummary(),
-                            expTracker);
+                            expTracker, invokedFromDaemon);
                     }
 
                     final int expiredSize =
@@ -513,7 +546,8 @@ public class FileProcessor extends DaemonThread {
                         handler))) {
                     /* Process all log entries in the file. */
                     if (!processFile(
-                        fileNum, recalculatedFileSummary, inSummary, null)) {
+                        fileNum, recalculatedFileSummary, inSummary, null,
+                        invokedFromDaemon)) {
                         return nFilesCleaned;
                     }
                 }
@@ -642,7 +676,8 @@ public class FileProcessor extends DaemonThread {
 
         try {
             final boolean result = processFile(
-                fileNum, new FileSummary(), new INSummary(), tracker);
+                fileNum, new FileSummary(), new INSummary(), tracker,
+                false /*invokedFromDaemon*/);
 
             assert result;
 
@@ -693,13 +728,17 @@ public class FileProcessor extends DaemonThread {
      *
      * @param expTracker if non-null, enables countOnly mode.
      *
+     * @param invokedFromDaemon is true if called by the daemon thread, in
+     * which case reads are paced by the CleanerScheduler.
+     *
      * @return false if we aborted file processing because the environment is
      * being closed.
      */
     private boolean processFile(Long fileNum,
                                 FileSummary fileSummary,
                                 INSummary inSummary,
-                                ExpirationTracker expTracker)
+                                ExpirationTracker expTracker,
+                                boolean invokedFromDaemon)
         throws IOException {
 
         final boolean countOnly = (expTracker != null);
@@ -761,6 +800,7 @@ public class FileProcessor extends DaemonThread {
                 if (nReads > 0) {
                     cleaner.nDiskReads.add(nReads);
                 }
+                final long nBytesRead = reader.getAndResetNBytesRead();
 
                 long logLsn = reader.getLastLsn();
                 long fileOffset = DbLsn.getFileOffset(logLsn);
@@ -794,6 +834,11 @@ public class FileProcessor extends DaemonThread {
                 /* Update background reads. */
                 if (nReads > 0) {
                     envImpl.updateBackgroundReads(nReads);
+
+                    /* Stay within the cleaner's read budget. */
+                    if (invokedFromDaemon) {
+                        cleaner.getScheduler().throttle(nBytesRead);
+                    }
                 }
 
                 /* Sleep if background read/write limit was exceeded. */
@@ -61,6 +61,14 @@ public class EnvironmentParams {
                            true,            // mutable
                            false);          // forReplication
 
+    public static final LongConfigParam OFF_HEAP_CACHE_SIZE =
+        new LongConfigParam(EnvironmentConfig.OFF_HEAP_CACHE_SIZE,
+                            0L,             // min
+                            null,           // max
+                            0L,             // default (disabled)
+                            false,          // mutable
+                            false);         // forReplication
+
     public static final BooleanConfigParam ENV_SHARED_CACHE =
         new BooleanConfigParam(EnvironmentConfig.SHARED_CACHE,
                                false,         // default
@@ -135,6 +143,14 @@ public class EnvironmentParams {
                                false,         // mutable
                                false);        // forReplication
 
+    public static final IntConfigParam ENV_RECOVERY_REDO_THREADS =
+        new IntConfigParam(EnvironmentConfig.ENV_RECOVERY_REDO_THREADS,
+                           1,             // min
+                           64,            // max
+                           1,             // default
+                           false,         // mutable
+                           false);        // forReplication
+
     public static final BooleanConfigParam
         HALT_ON_COMMIT_AFTER_CHECKSUMEXCEPTION =
             new BooleanConfigParam(
@@ -544,6 +560,15 @@ public class EnvironmentParams {
                             false,       // mutable
                             false);      // forReplication
 
+    public static final IntConfigParam LOG_COMPRESS_LN_MIN_SIZE =
+        new IntConfigParam(
+            EnvironmentConfig.LOG_COMPRESS_LN_MIN_SIZE,
+            0,        // min
+            null,     // max
+            0,        // default
+            false,    // mutable
+            false);   // forReplication
+
     public static final BooleanConfigParam LOG_CHECKSUM_READ =
         new BooleanConfigParam(EnvironmentConfig.LOG_CHECKSUM_READ,
                                true,               // default
@@ -835,6 +860,15 @@ public class EnvironmentParams {
                            false,      // mutable
                            false);     // forReplication
 
+    /*
+     * @see EnvironmentConfig#LOG_USE_MAPPED_READS
+     */
+    public static final BooleanConfigParam LOG_USE_MAPPED_READS =
+        new BooleanConfigParam(EnvironmentConfig.LOG_USE_MAPPED_READS,
+                               false,          // default
+                               false,          // mutable
+                               false);         // forReplication
+
     /*
      * @see EnvironmentConfig#ENV_RUN_VERIFIER
      */
@@ -1023,6 +1057,14 @@ public class EnvironmentParams {
                            false,  // mutable
                            false); // forReplication
 
+    public static final IntConfigParam TREE_KEY_RESTART_INTERVAL =
+        new IntConfigParam(EnvironmentConfig.TREE_KEY_RESTART_INTERVAL,
+                           0,      // min
+                           128,    // max
+                           0,      // default
+                           false,  // mutable
+                           false); // forReplication
+
     public static final BooleanConfigParam TREE_SECONDARY_INTEGRITY_FATAL =
         new BooleanConfigParam(EnvironmentConfig.TREE_SECONDARY_INTEGRITY_FATAL,
                                true,         // default
@@ -1173,6 +1215,14 @@ public class EnvironmentParams {
                                true,  // mutable
                                false);// forReplication
 
+    public static final IntConfigParam CHECKPOINTER_FLUSH_THREADS =
+        new IntConfigParam(EnvironmentConfig.CHECKPOINTER_FLUSH_THREADS,
+                           1,      // min
+                           null,   // max
+                           1,      // default
+                           true,   // mutable
+                           false); // forReplication
+
     /*
      * Cleaner
      */
@@ -1420,6 +1470,29 @@ public class EnvironmentParams {
                            true,   // mutable
                            false); // forReplication
 
+    public static final BooleanConfigParam CLEANER_ADAPTIVE_THREADS =
+        new BooleanConfigParam(EnvironmentConfig.CLEANER_ADAPTIVE_THREADS,
+                               false, // default
+                               true,  // mutable
+                               false);// forReplication
+
+    public static final LongConfigParam CLEANER_IO_BUDGET =
+        new LongConfigParam(EnvironmentConfig.CLEANER_IO_BUDGET,
+                            0L,             // min
+                            Long.MAX_VALUE, // max
+                            0L,             // default
+                            true,           // mutable
+                            false);         // forReplication
+
+    public static final DurationConfigParam CLEANER_FOREGROUND_READ_LATENCY =
+        new DurationConfigParam(
+            EnvironmentConfig.CLEANER_FOREGROUND_READ_LATENCY,
+            "0",           // min
+            "1 s",         // max
+            "0",           // default
+            true,          // mutable
+            false);        // forReplication
+
     public static final IntConfigParam CLEANER_LOOK_AHEAD_CACHE_SIZE =
         new IntConfigParam(EnvironmentConfig.CLEANER_LOOK_AHEAD_CACHE_SIZE,
                            0,      // min
@@ -1517,6 +1590,12 @@ public class EnvironmentParams {
                            false,  // mutable
                            false); // forReplication
 
+    public static final BooleanConfigParam LOCK_STRIPED_LOCK_TABLES =
+        new BooleanConfigParam(EnvironmentConfig.LOCK_STRIPED_LOCK_TABLES,
+                               false,  // default
+                               false,  // mutable
+                               false); // forReplication
+
     public static final DurationConfigParam LOCK_TIMEOUT =
         new DurationConfigParam(EnvironmentConfig.LOCK_TIMEOUT,
                                 null,              // min
@@ -1824,6 +1903,20 @@ public class EnvironmentParams {
                                    true,         // mutable
                                    false);        // forReplication
 
+    /*
+     * The memory budget, in bytes, of the cache of before images used by
+     * streams with before images enabled. The cache is not part of the main
+     * JE cache and is not counted in je.maxMemory. Zero, the default,
+     * disables the cache. Not exposed in the API.
+     */
+    public static final LongConfigParam BEFORE_IMAGE_CACHE_SIZE =
+        new LongConfigParam("je.beforeImage.cacheSize",
+                            0L,                // min
+                            null,              // max
+                            0L,                // default
+                            false,             // mutable
+                            false);            // forReplication
+
     /*
      * Replication params are in com.sleepycat.je.rep.impl.RepParams
      */
@@ -1411,15 +1411,12 @@ public class DatabaseImpl implements Loggable, Cloneable {
         }
         sb.append(">");
         if (dbFileSummaries != null) {
-            for (Map.Entry<Long, DbFileSummary> entry :
-                    dbFileSummaries.entrySet()) {
-                Long fileNum = entry.getKey();
-                DbFileSummary summary = entry.getValue();
+            dbFileSummaries.forEach((fileNum, summary) -> {
                 sb.append("<file file=\"").append(fileNum);
                 sb.append("\">");
                 sb.append(summary);
                 sb.append("/file>");
-            }
+            });
         }
         sb.append("</database>");
         return sb.toString();
@@ -1566,15 +1563,12 @@ public class DatabaseImpl implements Loggable, Cloneable {
         tree.dumpLog(sb, verbose);
         if (verbose && dbFileSummaries != null) {
 
-            for (Map.Entry<Long, DbFileSummary> entry :
-                    dbFileSummaries.entrySet()) {
-                Long fileNum = entry.getKey();
-                DbFileSummary summary = entry.getValue();
+            dbFileSummaries.forEach((fileNum, summary) -> {
                 sb.append("<file file=\"").append(fileNum);
                 sb.append("\">");
                 sb.append(summary);
                 sb.append("</file>");
-            }
+            });
         }
         TriggerUtils.dumpTriggers(sb, triggerBytes, getTriggers());
         sb.append("</database>");
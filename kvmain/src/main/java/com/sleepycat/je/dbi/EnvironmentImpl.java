@@ -111,6 +111,7 @@ import com.sleepycat.je.cleaner.UtilizationTracker;
 import com.sleepycat.je.config.EnvironmentParams;
 import com.sleepycat.je.dbi.StartupTracker.Phase;
 import com.sleepycat.je.evictor.Evictor;
+import com.sleepycat.je.evictor.OffHeapCache;
 import com.sleepycat.je.incomp.INCompressor;
 import com.sleepycat.je.latch.Latch;
 import com.sleepycat.je.latch.LatchFactory;
@@ -245,6 +246,7 @@ public class EnvironmentImpl implements EnvConfigObserver {
     private final TxnManager txnManager;
     private final TaskCoordinator taskCoordinator;
     private BeforeImageIndex beforeImageIndex;
+    private final OffHeapCache offHeapCache;
     protected final StatManager statManager;
 
     /* Daemons */
@@ -463,6 +465,9 @@ public class EnvironmentImpl implements EnvConfigObserver {
     /* EnvironmentConfig.TREE_COMPACT_MAX_KEY_LENGTH. */
     private int compactMaxKeyLength;
 
+    /* EnvironmentConfig.TREE_KEY_RESTART_INTERVAL. */
+    private int keyRestartInterval;
+
     /* EnvironmentParams.ENV_LATCH_TIMEOUT. */
     private int latchTimeoutMs;
 
@@ -657,6 +662,11 @@ public class EnvironmentImpl implements EnvConfigObserver {
                 evictor = new Evictor(this);
             }
 
+            final long offHeapCacheSize = configManager.getLong(
+                EnvironmentParams.OFF_HEAP_CACHE_SIZE);
+            offHeapCache = (offHeapCacheSize > 0 && !isMemOnly) ?
+                new OffHeapCache(this, offHeapCacheSize) : null;
+
             long bytePeriod = configManager.getLong
                 (EnvironmentParams.CHECKPOINTER_BYTES_INTERVAL);
 
@@ -806,6 +816,9 @@ public class EnvironmentImpl implements EnvConfigObserver {
         compactMaxKeyLength = configManager.getInt(
             EnvironmentParams.TREE_COMPACT_MAX_KEY_LENGTH);
 
+        keyRestartInterval = configManager.getInt(
+            EnvironmentParams.TREE_KEY_RESTART_INTERVAL);
+
         latchTimeoutMs = configManager.getDuration(
             EnvironmentParams.ENV_LATCH_TIMEOUT);
 
@@ -1233,6 +1246,13 @@ public class EnvironmentImpl implements EnvConfigObserver {
         return compactMaxKeyLength;
     }
 
+    /**
+     * Returns EnvironmentConfig.TREE_KEY_RESTART_INTERVAL.
+     */
+    public int getKeyRestartInterval() {
+        return keyRestartInterval;
+    }
+
     /**
      * Returns EnvironmentConfig.ENV_LATCH_TIMEOUT.
      */
@@ -1962,6 +1982,10 @@ public class EnvironmentImpl implements EnvConfigObserver {
             dbMapTree.close();
             inMemoryINs.clear();
 
+            if (offHeapCache != null) {
+                offHeapCache.clear();
+            }
+
             closeHandlers();
 
             if (!isAbnormalClose &&
@@ -2710,8 +2734,12 @@ public class EnvironmentImpl implements EnvConfigObserver {
             stats.setCkptStats(checkpointer.loadStats(config));
             stats.setCleanerStats(cleaner.loadStats(config));
             stats.setLogStats(logManager.loadStats(config));
+            final StatGroup evictorStats = evictor.loadStats(config);
+            if (offHeapCache != null) {
+                evictorStats.addAll(offHeapCache.loadStats(config));
+            }
             stats.setMBAndEvictorStats(
-                memoryBudget.loadStats(), evictor.loadStats(config));
+                memoryBudget.loadStats(), evictorStats);
             stats.setLockStats(txnManager.loadStats(config));
             stats.setEnvStats(envStats);
             stats.setBackupStats(backupStats);
@@ -3153,6 +3181,13 @@ public class EnvironmentImpl implements EnvConfigObserver {
         return evictor;
     }
 
+    /**
+     * Returns the off-heap cache, or null if it is not configured.
+     */
+    public OffHeapCache getOffHeapCache() {
+        return offHeapCache;
+    }
+
     /**
      * Wake up the eviction threads when the cache is full or close to full.
      */
@@ -170,6 +170,10 @@ public class MemoryBudget implements EnvConfigObserver {
     private final static int DEFAULT_KEYVALS_OVERHEAD_64 = 24;
     private final static int DEFAULT_KEYVALS_OVERHEAD_OOPS = 16;
 
+    // 60
+    private final static int FRONT_CODED_KEYVALS_OVERHEAD_64 = 48;
+    private final static int FRONT_CODED_KEYVALS_OVERHEAD_OOPS = 32;
+
     // 52
     private final static int DEFAULT_LONG_REP_OVERHEAD_64 = 32;
     private final static int DEFAULT_LONG_REP_OVERHEAD_OOPS = 24;
@@ -264,6 +268,7 @@ public class MemoryBudget implements EnvConfigObserver {
     public final static int DEFAULT_TARGET_ENTRY_OVERHEAD;
     public final static int DEFAULT_KEYVALS_OVERHEAD;
     public final static int MAX_KEY_SIZE_KEYVALS_OVERHEAD;
+    public final static int FRONT_CODED_KEYVALS_OVERHEAD;
     public final static int DEFAULT_LONG_REP_OVERHEAD;
     public final static int SPARSE_LONG_REP_OVERHEAD;
     public final static int IN_FIXED_OVERHEAD;
@@ -330,6 +335,8 @@ public class MemoryBudget implements EnvConfigObserver {
             DEFAULT_KEYVALS_OVERHEAD = DEFAULT_KEYVALS_OVERHEAD_OOPS;
             MAX_KEY_SIZE_KEYVALS_OVERHEAD =
                 MAX_KEY_SIZE_KEYVALS_OVERHEAD_OOPS;
+            FRONT_CODED_KEYVALS_OVERHEAD =
+                FRONT_CODED_KEYVALS_OVERHEAD_OOPS;
             DEFAULT_LONG_REP_OVERHEAD = DEFAULT_LONG_REP_OVERHEAD_OOPS;
             SPARSE_LONG_REP_OVERHEAD = SPARSE_LONG_REP_OVERHEAD_OOPS;
             IN_FIXED_OVERHEAD = IN_FIXED_OVERHEAD_OOPS;
@@ -373,6 +380,8 @@ public class MemoryBudget implements EnvConfigObserver {
             DEFAULT_KEYVALS_OVERHEAD = DEFAULT_KEYVALS_OVERHEAD_64;
             MAX_KEY_SIZE_KEYVALS_OVERHEAD =
                 MAX_KEY_SIZE_KEYVALS_OVERHEAD_64;
+            FRONT_CODED_KEYVALS_OVERHEAD =
+                FRONT_CODED_KEYVALS_OVERHEAD_64;
             DEFAULT_LONG_REP_OVERHEAD = DEFAULT_LONG_REP_OVERHEAD_64;
             SPARSE_LONG_REP_OVERHEAD = SPARSE_LONG_REP_OVERHEAD_64;
             TREEMAP_ENTRY_OVERHEAD = TREEMAP_ENTRY_OVERHEAD_64;
@@ -393,6 +402,16 @@ public class MemoryBudget implements EnvConfigObserver {
         }
     }
 
+    /*
+     * The cost of an entry in a LongHashMap, which has a key slot and a value
+     * slot per entry and no entry object, divided by the average occupancy
+     * of its table. A table that becomes 3/4 full is doubled, leaving it 3/8
+     * full, so it is 9/16 full on average.
+     */
+    public final static int LONG_HASHMAP_ENTRY_OVERHEAD =
+        ((PRIMITIVE_LONG_ARRAY_ITEM_OVERHEAD + OBJECT_ARRAY_ITEM_OVERHEAD) *
+         16) / 9;
+
     /* public for unit tests. */
     public final static long MIN_MAX_MEMORY_SIZE = 96 * 1024;
     public final static String MIN_MAX_MEMORY_SIZE_STRING =
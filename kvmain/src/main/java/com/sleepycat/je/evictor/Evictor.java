@@ -19,6 +19,7 @@ import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_DELTA_FETCH_MIS
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH_MISS;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH_MISS_RATIO;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.CACHED_BIN_FRONT_CODED_KEY;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.CACHED_IN_COMPACT_KEY;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.CACHED_IN_NO_TARGET;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.CACHED_IN_SPARSE_TARGET;
@@ -1579,6 +1580,7 @@ public class Evictor implements EnvConfigObserver {
     private final AtomicLong nINSparseTarget;
     private final AtomicLong nINNoTarget;
     private final AtomicLong nINCompactKey;
+    private final AtomicLong nBINFrontCodedKey;
 
     /* Number of envs sharing the cache. */
     private final IntStat sharedCacheEnvs;
@@ -1638,6 +1640,7 @@ public class Evictor implements EnvConfigObserver {
         nINSparseTarget = new AtomicLong(0);
         nINNoTarget = new AtomicLong(0);
         nINCompactKey = new AtomicLong(0);
+        nBINFrontCodedKey = new AtomicLong(0);
 
         sharedCacheEnvs = new IntStat(stats, EVICTOR_SHARED_CACHE_ENVS);
 
@@ -2984,6 +2987,12 @@ public class Evictor implements EnvConfigObserver {
 
         parent.detachNode(index, logged /*updateLsn*/, loggedLsn);
 
+        /* The target is no longer dirty, and its LSN is in the parent. */
+        final OffHeapCache offHeapCache = dbEnv.getOffHeapCache();
+        if (offHeapCache != null && target.isBIN()) {
+            offHeapCache.storeBIN((BIN) target, parent.getLsn(index));
+        }
+
         nNodesEvicted.increment();
 
         if (logged) {
@@ -3094,6 +3103,8 @@ public class Evictor implements EnvConfigObserver {
         new LongStat(copy, CACHED_IN_SPARSE_TARGET, nINSparseTarget.get());
         new LongStat(copy, CACHED_IN_NO_TARGET, nINNoTarget.get());
         new LongStat(copy, CACHED_IN_COMPACT_KEY, nINCompactKey.get());
+        new LongStat(
+            copy, CACHED_BIN_FRONT_CODED_KEY, nBINFrontCodedKey.get());
 
         new LongStat(copy, PRI1_LRU_SIZE, getPri1LRUSize());
         new LongStat(copy, PRI2_LRU_SIZE, getPri2LRUSize());
@@ -3184,6 +3195,10 @@ public class Evictor implements EnvConfigObserver {
         return nINCompactKey;
     }
 
+    public AtomicLong getNBINFrontCodedKey() {
+        return nBINFrontCodedKey;
+    }
+
 
     static class ReentrancyGuard {
         private final ConcurrentHashMap<Thread, Thread> activeThreads;
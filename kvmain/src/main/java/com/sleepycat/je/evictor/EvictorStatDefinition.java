@@ -385,6 +385,18 @@ public class EvictorStatDefinition {
             CACHED_IN_COMPACT_KEY_DESC,
             StatType.CUMULATIVE);
 
+    public static final String CACHED_BIN_FRONT_CODED_KEY_NAME =
+        "nBINFrontCodedKey";
+    public static final String CACHED_BIN_FRONT_CODED_KEY_DESC =
+        "Number of BINs that use a front-coded key representation, where " +
+            "each key only stores the bytes following its common prefix " +
+            "with the previous key.";
+    public static final StatDefinition CACHED_BIN_FRONT_CODED_KEY =
+        new StatDefinition(
+            CACHED_BIN_FRONT_CODED_KEY_NAME,
+            CACHED_BIN_FRONT_CODED_KEY_DESC,
+            StatType.CUMULATIVE);
+
     public static final String PRI1_LRU_SIZE_NAME =
         "lruMixedSize";
     public static final String PRI1_LRU_SIZE_DESC =
@@ -404,4 +416,87 @@ public class EvictorStatDefinition {
             PRI2_LRU_SIZE_NAME,
             PRI2_LRU_SIZE_DESC,
             StatType.CUMULATIVE);
+
+    public static final String OFFHEAP_LNS_STORED_NAME =
+        "nOffHeapLNsStored";
+    public static final String OFFHEAP_LNS_STORED_DESC =
+        "Number of LNs evicted from the main cache that were stored " +
+            "in the off-heap cache.";
+    public static final StatDefinition OFFHEAP_LNS_STORED =
+        new StatDefinition(
+            OFFHEAP_LNS_STORED_NAME,
+            OFFHEAP_LNS_STORED_DESC);
+
+    public static final String OFFHEAP_BINS_STORED_NAME =
+        "nOffHeapBINsStored";
+    public static final String OFFHEAP_BINS_STORED_DESC =
+        "Number of BINs evicted from the main cache that were stored " +
+            "in the off-heap cache.";
+    public static final StatDefinition OFFHEAP_BINS_STORED =
+        new StatDefinition(
+            OFFHEAP_BINS_STORED_NAME,
+            OFFHEAP_BINS_STORED_DESC);
+
+    public static final String OFFHEAP_LNS_LOADED_NAME =
+        "nOffHeapLNsLoaded";
+    public static final String OFFHEAP_LNS_LOADED_DESC =
+        "Number of LNs fetched from the off-heap cache rather than " +
+            "from a log file.";
+    public static final StatDefinition OFFHEAP_LNS_LOADED =
+        new StatDefinition(
+            OFFHEAP_LNS_LOADED_NAME,
+            OFFHEAP_LNS_LOADED_DESC);
+
+    public static final String OFFHEAP_BINS_LOADED_NAME =
+        "nOffHeapBINsLoaded";
+    public static final String OFFHEAP_BINS_LOADED_DESC =
+        "Number of BINs fetched from the off-heap cache rather than " +
+            "from a log file.";
+    public static final StatDefinition OFFHEAP_BINS_LOADED =
+        new StatDefinition(
+            OFFHEAP_BINS_LOADED_NAME,
+            OFFHEAP_BINS_LOADED_DESC);
+
+    public static final String OFFHEAP_MISSES_NAME =
+        "nOffHeapMisses";
+    public static final String OFFHEAP_MISSES_DESC =
+        "Number of LN and BIN fetches that were not found in the " +
+            "off-heap cache and were read from a log file.";
+    public static final StatDefinition OFFHEAP_MISSES =
+        new StatDefinition(
+            OFFHEAP_MISSES_NAME,
+            OFFHEAP_MISSES_DESC);
+
+    public static final String OFFHEAP_NODES_DISCARDED_NAME =
+        "nOffHeapNodesDiscarded";
+    public static final String OFFHEAP_NODES_DISCARDED_DESC =
+        "Number of LNs and BINs discarded from the off-heap cache to " +
+            "make room for newly evicted nodes, or because their log file " +
+            "was deleted.";
+    public static final StatDefinition OFFHEAP_NODES_DISCARDED =
+        new StatDefinition(
+            OFFHEAP_NODES_DISCARDED_NAME,
+            OFFHEAP_NODES_DISCARDED_DESC);
+
+    public static final String OFFHEAP_ALLOCATED_BYTES_NAME =
+        "offHeapAllocatedBytes";
+    public static final String OFFHEAP_ALLOCATED_BYTES_DESC =
+        "Number of bytes of off-heap memory allocated for the " +
+            "off-heap cache.";
+    public static final StatDefinition OFFHEAP_ALLOCATED_BYTES =
+        new StatDefinition(
+            OFFHEAP_ALLOCATED_BYTES_NAME,
+            OFFHEAP_ALLOCATED_BYTES_DESC,
+            StatType.CUMULATIVE);
+
+    public static final String OFFHEAP_CACHED_NODES_NAME =
+        "offHeapCachedNodes";
+    public static final String OFFHEAP_CACHED_NODES_DESC =
+        "Number of LNs and BINs currently stored in the off-heap " +
+            "cache.";
+    public static final StatDefinition OFFHEAP_CACHED_NODES =
+        new StatDefinition(
+            OFFHEAP_CACHED_NODES_NAME,
+            OFFHEAP_CACHED_NODES_DESC,
+            StatType.CUMULATIVE);
 }
@@ -0,0 +1,559 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.evictor;
+
+import static com.sleepycat.je.evictor.EvictorStatDefinition.GROUP_DESC;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.GROUP_NAME;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_ALLOCATED_BYTES;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_BINS_LOADED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_BINS_STORED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_CACHED_NODES;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_LNS_LOADED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_LNS_STORED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_MISSES;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.OFFHEAP_NODES_DISCARDED;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import com.sleepycat.je.EnvironmentFailureException;
+import com.sleepycat.je.StatsConfig;
+import com.sleepycat.je.dbi.DatabaseImpl;
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.log.LogEntryType;
+import com.sleepycat.je.tree.BIN;
+import com.sleepycat.je.tree.IN;
+import com.sleepycat.je.tree.LN;
+import com.sleepycat.je.utilint.AtomicLongStat;
+import com.sleepycat.je.utilint.DbLsn;
+import com.sleepycat.je.utilint.LoggerUtils;
+import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.StatGroup;
+
+/**
+ * A second-level cache, residing outside the Java heap, for LNs and BINs
+ * that are evicted from the main cache. See {@link
+ * com.sleepycat.je.EnvironmentConfig#OFF_HEAP_CACHE_SIZE}.
+ *
+ * <p>A node is stored when it is evicted from the main cache, and is removed
+ * when it is loaded back into the main cache by a fetch; the two caches are
+ * therefore exclusive. Only non-dirty nodes are stored, and a node is
+ * identified by its LSN, i.e., the LSN in its parent slot. Because a given
+ * LSN always identifies the same logged content, a stored node never needs
+ * to be invalidated when the Btree changes: if the node is modified after
+ * being fetched, or is logged again, its parent slot will contain a new LSN
+ * and the stale stored copy is never referenced again.</p>
+ *
+ * <p>Storage is divided into fixed size segments, each a direct ByteBuffer
+ * that is allocated when first needed. Nodes are serialized and appended to
+ * the current segment. When the current segment is full, the next segment
+ * in circular order becomes current and the nodes it holds are discarded.
+ * Eviction from the off-heap cache is therefore in the order that nodes were
+ * evicted from the main cache, which approximates LRU. Space occupied by
+ * nodes that were loaded is reclaimed when their segment is reused.</p>
+ *
+ * <p>The index maps a file number to a map of LSN to location, so that all
+ * nodes in a deleted file can be discarded at once. A location is the
+ * segment number in the high order 32 bits and the offset in the segment in
+ * the low order 32 bits.</p>
+ *
+ * <p>Concurrency: space is reserved in the current segment while
+ * synchronized on the cache. Each segment has a read-write lock. The read
+ * lock is held while copying a node to or from the segment, and the write
+ * lock is held while the segment's nodes are discarded prior to reusing it.
+ * A reserved location is added to the index, and a location taken from the
+ * index is checked again, while holding the read lock, so a location in the
+ * index always refers to valid data.</p>
+ */
+public class OffHeapCache {
+
+    /* The segment size is the smaller of this and 1/MIN_SEGMENTS of max. */
+    private static final int MAX_SEGMENT_SIZE = 32 << 20;
+    private static final int MIN_SEGMENTS = 4;
+
+    /* Node types, stored in the first byte of each node. */
+    private static final byte LN_TYPE = 1;
+    private static final byte BIN_TYPE = 2;
+
+    /* Node header: type (1) and item size (4). */
+    private static final int NODE_HEADER_SIZE = 5;
+
+    /* LN item header: VLSN (8) and modification time (8). */
+    private static final int LN_HEADER_SIZE = 16;
+
+    /*
+     * BIN item header: last full LSN (8) and size (4), and last delta LSN (8)
+     * and size (4).
+     */
+    private static final int BIN_HEADER_SIZE = 24;
+
+    private final EnvironmentImpl envImpl;
+    private final int segmentSize;
+    private final Segment[] segments;
+
+    /* Allocation state, guarded by this object. */
+    private int currentSegment;
+    private boolean allocationFailed;
+
+    private final Map<Long, Map<Long, Long>> fileIndex =
+        new ConcurrentHashMap<>();
+
+    /* Files deleted by the cleaner, for which nodes must not be returned. */
+    private final Set<Long> deletedFiles = ConcurrentHashMap.newKeySet();
+
+    private final StatGroup stats;
+    private final AtomicLongStat nLNsStored;
+    private final AtomicLongStat nBINsStored;
+    private final AtomicLongStat nLNsLoaded;
+    private final AtomicLongStat nBINsLoaded;
+    private final AtomicLongStat nMisses;
+    private final AtomicLongStat nNodesDiscarded;
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong cachedNodes = new AtomicLong();
+
+    public OffHeapCache(EnvironmentImpl envImpl, long maxBytes) {
+
+        this.envImpl = envImpl;
+
+        segmentSize = (int) Math.max(
+            1, Math.min(MAX_SEGMENT_SIZE, maxBytes / MIN_SEGMENTS));
+
+        segments = new Segment[(int) Math.max(1, maxBytes / segmentSize)];
+
+        stats = new StatGroup(GROUP_NAME, GROUP_DESC);
+        nLNsStored = new AtomicLongStat(stats, OFFHEAP_LNS_STORED);
+        nBINsStored = new AtomicLongStat(stats, OFFHEAP_BINS_STORED);
+        nLNsLoaded = new AtomicLongStat(stats, OFFHEAP_LNS_LOADED);
+        nBINsLoaded = new AtomicLongStat(stats, OFFHEAP_BINS_LOADED);
+        nMisses = new AtomicLongStat(stats, OFFHEAP_MISSES);
+        nNodesDiscarded = new AtomicLongStat(stats, OFFHEAP_NODES_DISCARDED);
+    }
+
+    /**
+     * Stores an LN that is being evicted from the given BIN slot. The BIN must
+     * be latched exclusively.
+     */
+    public void storeLN(BIN bin, int idx, LN ln) {
+
+        final long lsn = bin.getLsn(idx);
+        final DatabaseImpl dbImpl = bin.getDatabase();
+
+        if (lsn == DbLsn.NULL_LSN ||
+            bin.isEmbeddedLN(idx) ||
+            ln.isDeleted() ||
+            dbImpl.isInternalDb() ||
+            dbImpl.isLNImmediatelyObsolete()) {
+            return;
+        }
+
+        final byte[] data = ln.getData();
+        final ByteBuffer header = ByteBuffer.allocate(LN_HEADER_SIZE);
+        header.putLong(ln.getVLSNSequence());
+        header.putLong(ln.getModificationTime());
+
+        if (store(lsn, LN_TYPE, header.array(), data)) {
+            nLNsStored.increment();
+        }
+    }
+
+    /**
+     * Loads and removes the LN with the given LSN, or returns null if it is
+     * not present. The returned LN has not been initialized or attached.
+     */
+    public LN loadLN(long lsn) {
+
+        final LN ln = load(lsn, LN_TYPE, buf -> {
+            final long vlsn = buf.getLong();
+            final long modificationTime = buf.getLong();
+            final byte[] data = new byte[buf.remaining()];
+            buf.get(data);
+            final LN newLN = LN.makeLN(envImpl, data);
+            newLN.setVLSNSequence(vlsn);
+            newLN.setModificationTime(modificationTime);
+            return newLN;
+        });
+
+        if (ln != null) {
+            nLNsLoaded.increment();
+        }
+        return ln;
+    }
+
+    /**
+     * Stores a BIN that is being evicted, given the LSN in its parent slot.
+     * The BIN must be latched exclusively and must not be dirty. BIN-deltas
+     * are not stored, since a BIN is normally mutated to a delta only to
+     * reduce its footprint in the main cache.
+     */
+    public void storeBIN(BIN bin, long lsn) {
+
+        if (lsn == DbLsn.NULL_LSN ||
+            bin.getDirty() ||
+            bin.isBINDelta()) {
+            return;
+        }
+
+        final byte[] item = new byte[bin.getLogSize()];
+        bin.serialize(
+            ByteBuffer.wrap(item), false /*deltasOnly*/,
+            false /*clearDirtyBits*/);
+
+        final ByteBuffer header = ByteBuffer.allocate(BIN_HEADER_SIZE);
+        header.putLong(bin.getLastFullLsn());
+        header.putInt(bin.getLastFullLogSize());
+        header.putLong(bin.getLastDeltaLsn());
+        header.putInt(bin.getLastDeltaLogSize());
+
+        if (store(lsn, BIN_TYPE, header.array(), item)) {
+            nBINsStored.increment();
+        }
+    }
+
+    /**
+     * Loads and removes the BIN with the given LSN, or returns null if it is
+     * not present. The returned BIN has not been initialized or attached; the
+     * caller must call {@link IN#postLoadInit}.
+     */
+    public BIN loadBIN(long lsn) {
+
+        final ByteBuffer buf = load(lsn, BIN_TYPE, src -> {
+            final byte[] copy = new byte[src.remaining()];
+            src.get(copy);
+            return ByteBuffer.wrap(copy);
+        });
+
+        if (buf == null) {
+            return null;
+        }
+
+        final long lastFullLsn = buf.getLong();
+        final int lastFullLogSize = buf.getInt();
+        final long lastDeltaLsn = buf.getLong();
+        final int lastDeltaLogSize = buf.getInt();
+
+        final BIN bin = new BIN();
+        bin.materialize(
+            envImpl, buf.slice(), LogEntryType.LOG_VERSION,
+            false /*deltasOnly*/, true /*clearDirtyBits*/);
+        bin.setLastFullLsnAndSize(lastFullLsn, lastFullLogSize);
+        bin.setLastDeltaLsnAndSize(lastDeltaLsn, lastDeltaLogSize);
+
+        nBINsLoaded.increment();
+        return bin;
+    }
+
+    /**
+     * Discards all nodes in the given file, after it has been deleted.
+     */
+    public void removeFile(long fileNum) {
+
+        deletedFiles.add(fileNum);
+
+        final Map<Long, Long> index = fileIndex.remove(fileNum);
+        if (index != null) {
+            final int n = index.size();
+            cachedNodes.addAndGet(-n);
+            nNodesDiscarded.add(n);
+        }
+    }
+
+    /**
+     * Releases all memory when the environment is closed. The direct buffers
+     * are released when they are garbage collected.
+     */
+    public synchronized void clear() {
+
+        fileIndex.clear();
+        cachedNodes.set(0);
+
+        for (int i = 0; i < segments.length; i += 1) {
+            segments[i] = null;
+        }
+        allocatedBytes.set(0);
+    }
+
+    public StatGroup loadStats(StatsConfig config) {
+
+        final StatGroup copy = stats.cloneGroup(config.getClear());
+
+        /* These stats represent the current state and are not cleared. */
+        new LongStat(copy, OFFHEAP_ALLOCATED_BYTES, allocatedBytes.get());
+        new LongStat(copy, OFFHEAP_CACHED_NODES, cachedNodes.get());
+
+        return copy;
+    }
+
+    /**
+     * Copies a node to the current segment and adds it to the index.
+     *
+     * @return false if the node is too large, no memory could be allocated,
+     * or its file has been deleted.
+     */
+    private boolean store(long lsn,
+                          byte type,
+                          byte[] header,
+                          byte[] body) {
+
+        final long fileNum = DbLsn.getFileNumber(lsn);
+        if (deletedFiles.contains(fileNum)) {
+            return false;
+        }
+
+        final int bodyLen = (body != null) ? body.length : 0;
+        final int itemSize = header.length + bodyLen;
+        final int size = NODE_HEADER_SIZE + itemSize;
+
+        if (size > segmentSize) {
+            return false;
+        }
+
+        /* On return, the segment's read lock is held. */
+        final long loc = reserve(lsn, size);
+        if (loc < 0) {
+            return false;
+        }
+
+        final Segment seg = segments[getSegment(loc)];
+        try {
+            final ByteBuffer buf = seg.buffer.duplicate();
+            buf.position(getOffset(loc));
+            buf.put(type);
+            buf.putInt(itemSize);
+            buf.put(header);
+            if (body != null) {
+                buf.put(body);
+            }
+
+            final Long prev = fileIndex.computeIfAbsent(
+                fileNum, k -> new ConcurrentHashMap<>()).put(lsn, loc);
+
+            if (prev == null) {
+                cachedNodes.incrementAndGet();
+            }
+        } finally {
+            seg.lock.readLock().unlock();
+        }
+
+        /* Handle a file deletion concurrent with the store. */
+        if (deletedFiles.contains(fileNum)) {
+            removeFile(fileNum);
+        }
+
+        return true;
+    }
+
+    /**
+     * Reserves space in the current segment, moving to the next segment and
+     * allocating or reusing it if necessary.
+     *
+     * @return the location, or -1 if no memory is available. If a location
+     * is returned, the read lock for its segment is held.
+     */
+    private synchronized long reserve(long lsn, int size) {
+
+        Segment seg = segments[currentSegment];
+
+        if (seg == null || seg.used + size > segmentSize) {
+            seg = nextSegment();
+            if (seg == null) {
+                return -1;
+            }
+        }
+
+        final int offset = seg.used;
+        seg.used += size;
+        seg.addNode(lsn, offset);
+        seg.lock.readLock().lock();
+
+        return makeLocation(seg.id, offset);
+    }
+
+    /**
+     * Makes the next segment current, allocating it if it has not been
+     * allocated, or else discarding its nodes.
+     *
+     * @return the new current segment, or null if no segment could be
+     * allocated.
+     */
+    private Segment nextSegment() {
+
+        assert Thread.holdsLock(this);
+
+        int next = (segments[currentSegment] == null) ?
+            currentSegment : (currentSegment + 1);
+
+        if (next < segments.length &&
+            segments[next] == null &&
+            !allocationFailed) {
+
+            try {
+                segments[next] = new Segment(
+                    next, ByteBuffer.allocateDirect(segmentSize));
+                allocatedBytes.addAndGet(segmentSize);
+                currentSegment = next;
+                return segments[next];
+
+            } catch (OutOfMemoryError e) {
+                allocationFailed = true;
+                LoggerUtils.warning(
+                    envImpl.getLogger(), envImpl,
+                    "Off-heap cache unable to allocate memory, limiting " +
+                    "its size to " + allocatedBytes.get() + " bytes: " + e);
+            }
+        }
+
+        if (next >= segments.length || segments[next] == null) {
+            next = 0;
+        }
+
+        final Segment seg = segments[next];
+        if (seg == null) {
+            return null;
+        }
+
+        discardNodes(seg);
+        currentSegment = next;
+        return seg;
+    }
+
+    /**
+     * Removes the nodes in a segment from the index so it can be reused.
+     */
+    private void discardNodes(Segment seg) {
+
+        seg.lock.writeLock().lock();
+        try {
+            long nDiscarded = 0;
+
+            for (int i = 0; i < seg.nNodes; i += 1) {
+                final long lsn = seg.lsns[i];
+                final Map<Long, Long> index =
+                    fileIndex.get(DbLsn.getFileNumber(lsn));
+
+                if (index != null &&
+                    index.remove(lsn, makeLocation(seg.id, seg.offsets[i]))) {
+                    nDiscarded += 1;
+                }
+            }
+
+            cachedNodes.addAndGet(-nDiscarded);
+            nNodesDiscarded.add(nDiscarded);
+            seg.used = 0;
+            seg.nNodes = 0;
+        } finally {
+            seg.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads and removes a node. The reader is called with the segment's read
+     * lock held, and a buffer positioned at the start of the item.
+     */
+    private <T> T load(long lsn,
+                       byte type,
+                       Function<ByteBuffer, T> reader) {
+
+        final long fileNum = DbLsn.getFileNumber(lsn);
+        final Map<Long, Long> index = fileIndex.get(fileNum);
+        final Long loc = (index != null) ? index.get(lsn) : null;
+
+        if (loc == null || deletedFiles.contains(fileNum)) {
+            nMisses.increment();
+            return null;
+        }
+
+        final Segment seg = segments[getSegment(loc)];
+        if (seg == null) {
+            /* Cache was cleared. */
+            nMisses.increment();
+            return null;
+        }
+
+        seg.lock.readLock().lock();
+        try {
+            /* Check again, now that the segment cannot be reused. */
+            if (!index.remove(lsn, loc)) {
+                nMisses.increment();
+                return null;
+            }
+            cachedNodes.decrementAndGet();
+
+            final ByteBuffer buf = seg.buffer.duplicate();
+            buf.position(getOffset(loc));
+
+            if (buf.get() != type) {
+                throw EnvironmentFailureException.unexpectedState(
+                    envImpl, "Wrong off-heap node type for LSN: " +
+                    DbLsn.getNoFormatString(lsn));
+            }
+
+            final int itemSize = buf.getInt();
+            buf.limit(buf.position() + itemSize);
+
+            return reader.apply(buf);
+        } finally {
+            seg.lock.readLock().unlock();
+        }
+    }
+
+    private static long makeLocation(int segment, int offset) {
+        return (((long) segment) << 32) | offset;
+    }
+
+    private static int getSegment(long loc) {
+        return (int) (loc >>> 32);
+    }
+
+    private static int getOffset(long loc) {
+        return (int) loc;
+    }
+
+    /**
+     * A fixed size region of off-heap memory, and the LSNs and offsets of the
+     * nodes stored in it, in the order they were stored.
+     */
+    private static class Segment {
+
+        final int id;
+        final ByteBuffer buffer;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /* Guarded by the OffHeapCache. */
+        int used;
+        int nNodes;
+        long[] lsns = new long[256];
+        int[] offsets = new int[256];
+
+        Segment(int id, ByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+
+        void addNode(long lsn, int offset) {
+            if (nNodes == lsns.length) {
+                lsns = Arrays.copyOf(lsns, nNodes * 2);
+                offsets = Arrays.copyOf(offsets, nNodes * 2);
+            }
+            lsns[nNodes] = lsn;
+            offsets[nNodes] = offset;
+            nNodes += 1;
+        }
+    }
+}
@@ -15,6 +15,7 @@ package com.sleepycat.je.log;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
 
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.dbi.EnvironmentImpl;
@@ -30,6 +31,13 @@ public class FileHandle {
     private int logVersion;
     private long fileNum;
 
+    /*
+     * Read-only mapping of the file, or null if the file has not been mapped.
+     * Only set for cached handles of immutable files, with the handle
+     * latched; see FileManager.readFromMappedFile.
+     */
+    private volatile MappedByteBuffer mappedBuffer;
+
     /**
      * Creates a new handle but does not initialize it.  The init method must
      * be called before using the handle to access the file.
@@ -61,6 +69,14 @@ public class FileHandle {
         return logVersion;
     }
 
+    MappedByteBuffer getMappedBuffer() {
+        return mappedBuffer;
+    }
+
+    void setMappedBuffer(MappedByteBuffer mappedBuffer) {
+        this.mappedBuffer = mappedBuffer;
+    }
+
     boolean isOldHeaderVersion() {
         return logVersion < LogEntryType.LOG_VERSION;
     }
@@ -86,6 +102,12 @@ public class FileHandle {
     void close()
         throws IOException {
 
+        /*
+         * There is no way to explicitly unmap a file; the mapping is released
+         * when it is garbage collected.
+         */
+        mappedBuffer = null;
+
         if (file != null) {
             try {
                 file.close();
@@ -13,6 +13,8 @@
 
 package com.sleepycat.je.log;
 
+import java.nio.ByteBuffer;
+
 import com.sleepycat.je.DatabaseException;
 
 /**
@@ -21,12 +23,27 @@ import com.sleepycat.je.DatabaseException;
 class FileHandleSource extends FileSource {
 
     private FileHandle fileHandle;
+    private final FileManager fileManager;
 
     FileHandleSource(FileHandle fileHandle,
                      FileManager fileManager) {
         super(fileHandle.getFile(), fileManager,
               fileHandle.getFileNum(), fileHandle.getLogVersion());
         this.fileHandle = fileHandle;
+        this.fileManager = fileManager;
+    }
+
+    /**
+     * Reads from a memory mapping of the file when possible, since the
+     * handle is latched for the duration of the read.
+     */
+    @Override
+    void readFromFile(ByteBuffer destBuf, long fileOffset)
+        throws DatabaseException {
+
+        if (!fileManager.readFromMappedFile(fileHandle, destBuf, fileOffset)) {
+            super.readFromFile(destBuf, fileOffset);
+        }
     }
 
     /**
@@ -15,12 +15,15 @@ package com.sleepycat.je.log;
 
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_BYTES_READ_FROM_WRITEQUEUE;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_BYTES_WRITTEN_FROM_WRITEQUEUE;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_MAPS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_OPENS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_95_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_99_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_AVG_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_MAX_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_LOG_FSYNCS;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_MAPPED_READS;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_MAPPED_READ_BYTES;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_OPEN_FILES;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_RANDOM_READS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_RANDOM_READ_BYTES;
@@ -40,6 +43,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
@@ -48,13 +52,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Hashtable;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.sleepycat.je.DatabaseException;
@@ -71,6 +76,9 @@ import com.sleepycat.je.log.entry.FileHeaderEntry;
 import com.sleepycat.je.log.entry.LogEntry;
 import com.sleepycat.je.rep.impl.RepImpl;
 import com.sleepycat.je.util.TimeSupplier;
+import com.sleepycat.je.utilint.AtomicLongStat;
+import com.sleepycat.je.utilint.ConcurrentLongHashMap;
+import com.sleepycat.je.utilint.DaemonThread;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.FIOStatsCollectingThread;
 import com.sleepycat.je.utilint.HexFormatter;
@@ -83,6 +91,7 @@ import com.sleepycat.je.utilint.LongStat;
 import com.sleepycat.je.utilint.RelatchRequiredException;
 import com.sleepycat.je.utilint.StatDefinition;
 import com.sleepycat.je.utilint.StatGroup;
+import com.sleepycat.je.utilint.StoppableThread;
 import com.sleepycat.je.utilint.Timestamp;
 import com.sleepycat.je.utilint.VLSN;
 import com.sleepycat.je.utilint.TestHook;
@@ -225,6 +234,13 @@ public class FileManager {
     /* The starting size of the Write Queue. */
     private final int writeQueueSize;
 
+    /*
+     * True if random reads of immutable files should be satisfied from a
+     * memory mapping of the file. Cleared if a mapping cannot be created, so
+     * that we fall back to file reads without retrying the mapping.
+     */
+    private volatile boolean useMappedReads;
+
     /*
      * Use O_DSYNC to open JE log files.
      */
@@ -291,6 +307,18 @@ public class FileManager {
     final LongStat nRandomWriteBytes;
     final LongStat nSequentialReadBytes;
     final LongStat nSequentialWriteBytes;
+    /* Mapped reads are not serialized, so atomic stats are used. */
+    final AtomicLongStat nMappedReads;
+    final AtomicLongStat nMappedReadBytes;
+    final AtomicLongStat nFileMaps;
+
+    /*
+     * Number and total duration of file reads by application threads, i.e.,
+     * threads that are not JE daemon or pool threads. These are sampled by
+     * the cleaner to detect when cleaning slows application reads.
+     */
+    private final AtomicLong nForegroundReads = new AtomicLong();
+    private final AtomicLong foregroundReadNanos = new AtomicLong();
 
 
 
@@ -348,6 +376,9 @@ public class FileManager {
             new LongStat(stats, FILEMGR_SEQUENTIAL_READ_BYTES);
         nSequentialWriteBytes =
             new LongStat(stats, FILEMGR_SEQUENTIAL_WRITE_BYTES);
+        nMappedReads = new AtomicLongStat(stats, FILEMGR_MAPPED_READS);
+        nMappedReadBytes = new AtomicLongStat(stats, FILEMGR_MAPPED_READ_BYTES);
+        nFileMaps = new AtomicLongStat(stats, FILEMGR_FILE_MAPS);
         for (String comp : FIOStatsComponents.getComponents()) {
             readWriteStats.put(comp, new ReadWriteStats(stats, comp));
         }
@@ -388,6 +419,10 @@ public class FileManager {
             useODSYNC = configManager.getBoolean(
                 EnvironmentParams.LOG_USE_ODSYNC);
 
+            useMappedReads = !envImpl.isMemOnly() &&
+                configManager.getBoolean(
+                    EnvironmentParams.LOG_USE_MAPPED_READS);
+
             VERIFY_CHECKSUMS = configManager.getBoolean(
                 EnvironmentParams.LOG_VERIFY_CHECKSUMS);
 
@@ -1870,12 +1905,20 @@ public class FileManager {
                 nRandomReadBytes.add(size);
             }
 
+            final boolean foreground = isForegroundThread();
+            final long startNanos = foreground ? System.nanoTime() : 0;
+
             file.seek(offset);
 
             int bytesRead = file.read(readBuffer.array(),
                                       pos + readBuffer.arrayOffset(),
                                       size);
 
+            if (foreground) {
+                nForegroundReads.incrementAndGet();
+                foregroundReadNanos.addAndGet(System.nanoTime() - startNanos);
+            }
+
             FIOStatsCollectingThread.collectIf(true, bytesRead,
                                                miscStatsCollector);
             if (bytesRead > 0) {
@@ -1887,6 +1930,153 @@ public class FileManager {
         }
     }
 
+    /**
+     * Reads a buffer from a memory mapping of the file at the given offset,
+     * if mapped reads are configured and the file is immutable, i.e., it
+     * precedes the file currently being written. The file is mapped lazily,
+     * on the first read, and the mapping is retained by the cached file
+     * handle until the handle is closed.
+     *
+     * <p>The bytes are copied from the mapping into the read buffer, since
+     * log entries are deserialized from array-backed buffers. Compared to
+     * readFromFile, this avoids the read system call and the synchronization
+     * on the file object, which serializes all reads of a given file.</p>
+     *
+     * <p>The handle must be latched by the caller. Only the cached handle for
+     * a file is mapped; for a temporary handle, opened because the cached
+     * handle was in use, false is returned unless the cached handle already
+     * has a mapping.</p>
+     *
+     * @return true if the read was satisfied from the mapping, or false if
+     * the caller should read from the file instead.
+     */
+    boolean readFromMappedFile(FileHandle fileHandle,
+                               ByteBuffer readBuffer,
+                               long offset)
+        throws DatabaseException {
+
+        if (!useMappedReads) {
+            return false;
+        }
+
+        final long fileNum = fileHandle.getFileNum();
+        if (fileNum >= currentFileNum) {
+            return false;
+        }
+
+        /*
+         * The file is immutable, but its last entries may not yet have been
+         * written from the write queue.
+         */
+        if (useWriteQueue &&
+            endOfLog.checkWriteCache(readBuffer, offset, fileNum)) {
+            return true;
+        }
+
+        final int pos = readBuffer.position();
+        final int size = readBuffer.limit() - pos;
+
+        MappedByteBuffer mapping = getMapping(fileHandle);
+
+        if (mapping == null || offset + size > mapping.capacity()) {
+
+            /*
+             * The file may have been mapped before its last entries were
+             * written, so remap if the file has grown. The last entry in the
+             * file may also be read with a size that extends beyond the end
+             * of the file, in which case a partial read is performed, as in
+             * readFromFileInternal.
+             */
+            try {
+                final RandomAccessFile file = fileHandle.getFile();
+                if (file == null) {
+                    return false;
+                }
+                if (mapping == null || file.length() > mapping.capacity()) {
+                    mapping = mapFile(fileHandle);
+                }
+            } catch (IOException e) {
+                throw new EnvironmentFailureException
+                    (envImpl, EnvironmentFailureReason.LOG_READ, e);
+            }
+            if (mapping == null || offset >= mapping.capacity()) {
+                return false;
+            }
+        }
+
+        final int bytesToRead =
+            (int) Math.min(size, mapping.capacity() - offset);
+
+        final ByteBuffer src = mapping.duplicate();
+        src.position((int) offset);
+        src.limit((int) offset + bytesToRead);
+        readBuffer.put(src);
+
+        nMappedReads.increment();
+        nMappedReadBytes.add(bytesToRead);
+        FIOStatsCollectingThread.collectIf(true, bytesToRead,
+                                           miscStatsCollector);
+        return true;
+    }
+
+    /**
+     * Returns the mapping for the given handle, or the mapping of the cached
+     * handle for the same file if the given handle is a temporary handle.
+     */
+    private MappedByteBuffer getMapping(FileHandle fileHandle) {
+        final MappedByteBuffer mapping = fileHandle.getMappedBuffer();
+        if (mapping != null) {
+            return mapping;
+        }
+        final FileHandle cachedHandle =
+            fileCache.get(fileHandle.getFileNum());
+        return (cachedHandle != null) ? cachedHandle.getMappedBuffer() : null;
+    }
+
+    /**
+     * Creates a read-only mapping of the entire file and attaches it to the
+     * given handle, if the handle is the cached handle for the file.
+     *
+     * A separate RandomAccessFile is used to create the mapping, because
+     * FileChannel operations are interruptible and an interrupt closes the
+     * channel, which would also close the file used by the handle. The
+     * mapping remains valid after the separate file is closed.
+     *
+     * @return the new mapping, or null if the file could not be mapped.
+     */
+    private MappedByteBuffer mapFile(FileHandle fileHandle) {
+
+        final long fileNum = fileHandle.getFileNum();
+        if (fileCache.get(fileNum) != fileHandle) {
+            return null;
+        }
+
+        final String fileName = getFullFileName(fileNum);
+        try (RandomAccessFile mapFile = new RandomAccessFile(fileName, "r")) {
+            final FileChannel channel = mapFile.getChannel();
+            final MappedByteBuffer mapping = channel.map(
+                FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            fileHandle.setMappedBuffer(mapping);
+            nFileMaps.increment();
+            return mapping;
+        } catch (ClosedChannelException e) {
+            /* Interrupted, fall back to a file read. */
+            return null;
+        } catch (IOException e) {
+            /*
+             * Mapping may fail, for example, due to exhaustion of virtual
+             * address space. Reads will continue to be performed with file
+             * reads.
+             */
+            useMappedReads = false;
+            LoggerUtils.warning(
+                envImpl.getLogger(), envImpl,
+                "Disabling mapped reads after failure to map " + fileName +
+                ": " + e);
+            return null;
+        }
+    }
+
     private void printLogBuffer(ByteBuffer entryBuffer, long lsn) {
 
         int curPos = entryBuffer.position();
@@ -2260,6 +2450,12 @@ public class FileManager {
         throws IOException, DatabaseException {
 
         try {
+            /*
+             * Discard any cached handle and its mapping, since accessing a
+             * mapping beyond the truncated end of the file is not permitted.
+             */
+            clearFileCache(fileNum);
+
             FileHandle handle =
                 makeFileHandle(fileNum, getAppropriateReadWriteMode());
             RandomAccessFile file = handle.getFile();
@@ -2582,6 +2778,36 @@ public class FileManager {
         return miscStatsCollector;
     }
 
+    /**
+     * Returns whether the current thread is an application thread, for the
+     * purpose of counting foreground reads. JE daemon threads run in a
+     * DaemonThread.FileStatsCollectingThread and JE pool threads are
+     * StoppableThreads. This does not check for
+     * FIOStatsCollectingThread, since some application threads, such as KV
+     * request handler threads, implement it to collect APP stats.
+     */
+    private static boolean isForegroundThread() {
+        final Thread thread = Thread.currentThread();
+        return !(thread instanceof DaemonThread.FileStatsCollectingThread) &&
+            !(thread instanceof StoppableThread);
+    }
+
+    /**
+     * Returns the number of file reads by application threads. Reads from
+     * memory-mapped files and from the write queue are not included.
+     */
+    public long getNForegroundReads() {
+        return nForegroundReads.get();
+    }
+
+    /**
+     * Returns the total duration in nanoseconds of the reads counted by
+     * {@link #getNForegroundReads}.
+     */
+    public long getForegroundReadNanos() {
+        return foregroundReadNanos.get();
+    }
+
     public FIOStatsCollector getAppStatsCollector() {
         return readWriteStats.get(FIOStatsComponents.APP);
     }
@@ -2617,14 +2843,18 @@ public class FileManager {
 
     /*
      * The file cache keeps N RandomAccessFile objects cached for file
-     * access. The cache consists of two parts: a Hashtable that doesn't
-     * require extra synchronization, for the most common access, and a linked
-     * list of files to support cache administration. Looking up a file from
+     * access. The cache consists of two parts: a ConcurrentLongHashMap that
+     * doesn't require extra synchronization, for the most common access, and
+     * a linked list of files to support cache administration. Looking up a file from
      * the hash table doesn't require extra latching, but adding or deleting a
      * file does.
      */
     private static class FileCache {
-        private final Map<Long, FileHandle> fileMap;            // Long->file
+
+        /* Number of fileMap segments, to reduce contention on lookups. */
+        private static final int FILE_MAP_SEGMENTS = 16;
+
+        private final ConcurrentLongHashMap<FileHandle> fileMap;
         private final List<Long> fileList;    // list of file numbers
         private final int fileCacheSize;
 
@@ -2635,7 +2865,7 @@ public class FileManager {
              * latch). The fileList is a list of Longs to determine which files
              * to eject out of the file cache if it's too small.
              */
-            fileMap = new Hashtable<>();
+            fileMap = new ConcurrentLongHashMap<>(FILE_MAP_SEGMENTS);
             fileList = new LinkedList<>();
             fileCacheSize =
                 configManager.getInt(EnvironmentParams.LOG_FILE_CACHE_SIZE);
@@ -2718,13 +2948,15 @@ public class FileManager {
         private void clear()
             throws IOException, DatabaseException {
 
-            Iterator<FileHandle> iter = fileMap.values().iterator();
-            while (iter.hasNext()) {
-                FileHandle fileHandle = iter.next();
+            for (final long fileNum : fileMap.keys()) {
+                FileHandle fileHandle = fileMap.get(fileNum);
+                if (fileHandle == null) {
+                    continue;
+                }
                 try {
                     fileHandle.latch();
                     fileHandle.close();
-                    iter.remove();
+                    fileMap.remove(fileNum);
                 } finally {
                     fileHandle.release();
                 }
@@ -2734,7 +2966,11 @@ public class FileManager {
         }
 
         private Set<Long> getCacheKeys() {
-            return fileMap.keySet();
+            final Set<Long> keys = new HashSet<>();
+            for (final long fileNum : fileMap.keys()) {
+                keys.add(fileNum);
+            }
+            return keys;
         }
 
         private int size() {
@@ -913,6 +913,14 @@ public abstract class FileReader {
         return window.getAndResetNReads();
     }
 
+    /**
+     * Returns the number of bytes read since the last time this method was
+     * called.
+     */
+    public long getAndResetNBytesRead() {
+        return window.getAndResetNBytesRead();
+    }
+
     /**
      * This method is called by readNextEntry() after the header of the current
      * logrec has been de-serialized, but not the body. Based on header info
@@ -1027,6 +1035,12 @@ public abstract class FileReader {
         /* Number of reads since the last time getAndResetNReads was called. */
         private int nReadOperations;
 
+        /*
+         * Number of bytes read since the last time getAndResetNBytesRead was
+         * called.
+         */
+        private long nBytesRead;
+
         protected ReadWindow(int readBufferSize, EnvironmentImpl envImpl) {
             DbConfigManager configManager = envImpl.getConfigManager();
             maxReadBufferSize =
@@ -1223,6 +1237,7 @@ public abstract class FileReader {
                                          false /* dataKnownToBeInFile */)) {
                 foundData = true;
                 nReadOperations += 1;
+                nBytesRead += readBuffer.position();
                 /*
                  * Ensure that fileNum and logVersion are in sync.  setFileNum
                  * handles changes in the file number.  But we must also update
@@ -1312,6 +1327,16 @@ public abstract class FileReader {
             return tmp;
         }
 
+        /**
+         * Returns the number of bytes read since the last time this method
+         * was called.
+         */
+        long getAndResetNBytesRead() {
+            long tmp = nBytesRead;
+            nBytesRead = 0;
+            return tmp;
+        }
+
         long getNRepeatIteratorReads() {
             return nRepeatIteratorReads;
         }
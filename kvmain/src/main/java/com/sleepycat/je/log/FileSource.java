@@ -68,7 +68,7 @@ class FileSource implements LogSource {
         }
 
         /* Fill up buffer from file. */
-        fileManager.readFromFile(file, destBuf, fileOffset, fileNum);
+        readFromFile(destBuf, fileOffset);
 
         assert EnvironmentImpl.maybeForceYield();
 
@@ -76,6 +76,16 @@ class FileSource implements LogSource {
         return destBuf;
     }
 
+    /**
+     * Fills the buffer with bytes read from the file at the given offset.
+     * Overridden by subclasses that can satisfy the read by other means.
+     */
+    void readFromFile(ByteBuffer destBuf, long fileOffset)
+        throws DatabaseException {
+
+        fileManager.readFromFile(file, destBuf, fileOffset, fileNum);
+    }
+
     @Override
     public int getLogVersion() {
         return logVersion;
@@ -0,0 +1,175 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.log;
+
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LN_COMPRESSED;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LN_COMPRESSED_BYTES_IN;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LN_COMPRESSED_BYTES_OUT;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.sleepycat.je.EnvironmentFailureException;
+import com.sleepycat.je.utilint.AtomicLongStat;
+import com.sleepycat.je.utilint.StatGroup;
+
+/**
+ * Compresses the data of user LNs before they are logged, and decompresses
+ * it when the LN is read back from the log.
+ *
+ * <p>Compression is applied per log entry rather than per log buffer, so that
+ * an LSN continues to be the physical file offset of its entry. This means
+ * that all log readers (FileReaders, the cleaner and cache-miss fetches)
+ * handle compressed entries without an offset mapping: the LNLogEntry simply
+ * inflates the data as it is deserialized. See
+ * {@link LogEntryType#LOG_VERSION_COMPRESSED_LN}.</p>
+ *
+ * <p>The Deflate algorithm is used at {@link Deflater#BEST_SPEED}, since the
+ * compression is done by the application thread that performs the write,
+ * although outside the log write latch. Data smaller than the configured
+ * minimum size, or that does not get smaller when compressed, is logged
+ * without compression.</p>
+ *
+ * <p>Deflaters and Inflaters hold native memory and are expensive to create,
+ * so one of each is cached per thread.</p>
+ */
+public class LNDataCompressor {
+
+    private static final ThreadLocal<Deflater> threadDeflater =
+        ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+
+    private static final ThreadLocal<Inflater> threadInflater =
+        ThreadLocal.withInitial(Inflater::new);
+
+    /* LN data smaller than this is not compressed. */
+    private final int minSize;
+
+    /* Stats */
+    private final AtomicLongStat nCompressed;
+    private final AtomicLongStat nBytesIn;
+    private final AtomicLongStat nBytesOut;
+
+    /**
+     * @param minSize is the minimum size of LN data that will be compressed,
+     * and must be greater than zero.
+     *
+     * @param stats is the LogManager stat group to which the compression
+     * stats are added.
+     */
+    LNDataCompressor(final int minSize, final StatGroup stats) {
+        assert minSize > 0;
+        this.minSize = minSize;
+        nCompressed = new AtomicLongStat(stats, LOGMGR_LN_COMPRESSED);
+        nBytesIn = new AtomicLongStat(stats, LOGMGR_LN_COMPRESSED_BYTES_IN);
+        nBytesOut = new AtomicLongStat(stats, LOGMGR_LN_COMPRESSED_BYTES_OUT);
+    }
+
+    /**
+     * Returns the compressed form of the given data, or null if the data is
+     * too small to compress or compression would not reduce its size.
+     */
+    public byte[] compress(final byte[] data, final int off, final int len) {
+
+        if (len < minSize) {
+            return null;
+        }
+
+        /*
+         * The output buffer is one byte smaller than the input, so that
+         * finished() is false when compression does not save any space.
+         */
+        final byte[] buf = new byte[len - 1];
+        final Deflater deflater = threadDeflater.get();
+        final int compressedLen;
+        try {
+            deflater.setInput(data, off, len);
+            deflater.finish();
+            compressedLen = deflater.deflate(buf);
+            if (!deflater.finished()) {
+                return null;
+            }
+        } finally {
+            deflater.reset();
+        }
+
+        nCompressed.increment();
+        nBytesIn.add(len);
+        nBytesOut.add(compressedLen);
+
+        return Arrays.copyOf(buf, compressedLen);
+    }
+
+    /**
+     * Returns the serialized size of the compressed data, as written by
+     * {@link #writeCompressed}.
+     */
+    public static int getCompressedLogSize(final int uncompressedLen,
+                                           final byte[] compressed) {
+        return LogUtils.getPackedIntLogSize(uncompressedLen) +
+            LogUtils.getByteArrayLogSize(compressed);
+    }
+
+    /**
+     * Writes the uncompressed length followed by the compressed data.
+     */
+    public static void writeCompressed(final ByteBuffer logBuffer,
+                                       final int uncompressedLen,
+                                       final byte[] compressed) {
+        LogUtils.writePackedInt(logBuffer, uncompressedLen);
+        LogUtils.writeByteArray(logBuffer, compressed);
+    }
+
+    /**
+     * Reads data that was written by {@link #writeCompressed} and returns it
+     * in uncompressed form.
+     */
+    public static byte[] readCompressed(final ByteBuffer logBuffer) {
+
+        final int uncompressedLen = LogUtils.readPackedInt(logBuffer);
+        final int compressedLen = LogUtils.readPackedInt(logBuffer);
+
+        final byte[] data = new byte[uncompressedLen];
+        final Inflater inflater = threadInflater.get();
+        try {
+            if (logBuffer.hasArray()) {
+                inflater.setInput(
+                    logBuffer.array(),
+                    logBuffer.arrayOffset() + logBuffer.position(),
+                    compressedLen);
+                logBuffer.position(logBuffer.position() + compressedLen);
+            } else {
+                inflater.setInput(
+                    LogUtils.readBytesNoLength(logBuffer, compressedLen));
+            }
+
+            final int len = inflater.inflate(data);
+
+            if (len != uncompressedLen || !inflater.finished()) {
+                throw EnvironmentFailureException.unexpectedState(
+                    "Compressed LN data length mismatch, expected=" +
+                    uncompressedLen + " actual=" + len);
+            }
+        } catch (DataFormatException e) {
+            throw EnvironmentFailureException.unexpectedException(
+                "Invalid compressed LN data", e);
+        } finally {
+            inflater.reset();
+        }
+
+        return data;
+    }
+}
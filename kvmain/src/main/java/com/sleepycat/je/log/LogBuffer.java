@@ -36,7 +36,9 @@ import com.sleepycat.je.utilint.VLSN;
  * is zero.
  *
  * The pin count is incremented under the readLatch. The
- * pin count is decremented without holding the latch.
+ * pin count is decremented without holding the latch, and
+ * the data is copied into the segment without holding the
+ * latch, so that writers fill their segments concurrently.
  * Holding the readLatch will prevent the pin count from
  * being incremented.
  *
@@ -291,10 +293,15 @@ public class LogBuffer implements LogSource {
      *
      * @param size of buffer to allocate
      *
+     * @param vlsn the VLSN of the entry that will be copied into the
+     * segment, or an invalid or null VLSN. The highestVLSN is updated here,
+     * rather than when the entry is copied, because the copy is done
+     * without holding the readLatch.
+     *
      * @return null if not enough room, otherwise a
      *         LogBufferSegment for the data.
      */
-    public LogBufferSegment allocate(int size) {
+    public LogBufferSegment allocate(int size, long vlsn) {
         assert readLatch.isExclusiveOwner();
 
         if (hasRoom(size)) {
@@ -303,6 +310,7 @@ public class LogBuffer implements LogSource {
             buf.limit(limit);
             buffer.position(limit);
             writePinCount.incrementAndGet();
+            setHighestVLSN(vlsn);
             return new LogBufferSegment(this, buf);
         }
         return null;
@@ -383,6 +391,9 @@ public class LogBuffer implements LogSource {
         return highestVLSN;
     }
 
+    /**
+     * The readLatch must be held.
+     */
     public void setHighestVLSN(long vlsn) {
         if (vlsn >= highestVLSN &&
             vlsn != VLSN.INVALID_VLSN &&
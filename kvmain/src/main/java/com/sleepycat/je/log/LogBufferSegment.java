@@ -31,22 +31,19 @@ class LogBufferSegment {
     /**
      * Copies the data into the underlying LogBuffer
      * and decrements the LogBuffer pin count.
+     *
+     * The log buffer latch is not held, so that threads can copy into
+     * their segments of the same buffer concurrently, and concurrently with
+     * the next allocation under the LWL. Segments are disjoint, and
+     * decrementing the pin count, an atomic write, happens-before the
+     * buffer is read or written by a thread that has waited for the pin
+     * count to be zero.
+     *
      * @param dataToCopy data to copy into the underlying
      *        LogBuffer.
-     * @param highestVLSN highestVLSN in data
      */
-    void put(ByteBuffer dataToCopy, long highestVLSN) {
-
-        /*
-         * The acquisition of the log buffer latch is
-         * done to guarantee the java happens-before
-         * semantic. There is no other reason to take the
-         * latch here.
-         */
-        logBuffer.latchForWrite();
+    void put(ByteBuffer dataToCopy) {
         data.put(dataToCopy);
-        logBuffer.setHighestVLSN(highestVLSN);
-        logBuffer.release();
         logBuffer.free();
     }
 }
@@ -284,8 +284,13 @@ public class LogEntryType {
      * -----------------------
      *  [KVSTORE-2302] Add support for Before Images
      *
+     *  Version 26 (in JE 25.1)
+     * -----------------------
+     *  Optional compression of user LN data. A new flags2 bit in LNLogEntry
+     *  indicates that the LN data is stored in compressed form.
+     *
      */
-    public static final int LOG_VERSION = 25;
+    public static final int LOG_VERSION = 26;
 
     /**
      * The latest log version for which the replicated log format of any
@@ -296,7 +301,7 @@ public class LogEntryType {
      * non-replicable entries, or only to the local, not replicated, form of
      * replicable entries, the as was the case for log versions 9, 10, and 11.
      */
-    public static final int LOG_VERSION_HIGHEST_REPLICABLE = 25;
+    public static final int LOG_VERSION_HIGHEST_REPLICABLE = 26;
 
     /**
      * Log versions prior to 8 (JE 5.0) are no longer supported as of JE 20.1.
@@ -335,6 +340,11 @@ public class LogEntryType {
      */
     public static final int LOG_VERSION_CKPT_SCAN_IDS = 23;
 
+    /*
+     * The log version that introduced compressed data in user LN log entries.
+     */
+    public static final int LOG_VERSION_COMPRESSED_LN = 26;
+
     /**
      * Should be used for reading the entry header of the file header, since
      * the actual version is not known until the FileHeader item is read.
@@ -65,15 +65,56 @@ public class LogItem {
      */
     ByteBuffer nonCachedBuffer = null;
 
-    byte[] bImgData = null;
+    /*
+     * The before image of the entry, set by the writer of the entry or by a
+     * feeder that found it in the before image index. Volatile because the
+     * item is shared by the feeders, which read it without synchronization.
+     */
+    private volatile byte[] bImgData = null;
+
+    /*
+     * Whether the before image is known, so that a null bImgData means that
+     * the entry has no before image rather than that it has not been looked
+     * up. Only set when the absence does not depend on timing, see
+     * setNoBeforeImage, since a feeder can look up the before image of an
+     * entry before its writer has stored it.
+     */
+    private volatile boolean bImgFetched = false;
 
     public ByteBuffer getBuffer() {
         return (cachedBuffer != null) ?
             cachedBuffer.getBuffer() : nonCachedBuffer;
     }
 
-    public void setBeforeImageData(byte[] bImgData) {
-        this.bImgData = bImgData;
+    /**
+     * Sets the before image of the entry, unless it was already set. A
+     * feeder that did not find the before image must not call this method,
+     * since the writer of the entry may not have stored it yet.
+     */
+    public synchronized void setBeforeImageData(byte[] bImgData) {
+        assert bImgData != null;
+        if (this.bImgData == null) {
+            this.bImgData = bImgData;
+            bImgFetched = true;
+        }
+    }
+
+    /**
+     * Records that the entry has no before image because it has no abortLsn,
+     * so that the before image is not looked up.
+     */
+    public synchronized void setNoBeforeImage() {
+        if (bImgData == null) {
+            bImgFetched = true;
+        }
+    }
+
+    /**
+     * Returns whether the before image is known, possibly to be absent, see
+     * {@link #setBeforeImageData} and {@link #setNoBeforeImage}.
+     */
+    public boolean isBeforeImageFetched() {
+        return bImgFetched;
     }
 
     public byte[] getBeforeImageData() {
@@ -122,6 +122,9 @@ public class LogManager {
     private final LongStat nItemBufTooSmall;
     private final LongStat nItemBufPoolEmpty;
 
+    /* Compresses user LN data, or null if compression is disabled. */
+    private final LNDataCompressor lnDataCompressor;
+
     /*
      * Used to determine if we switched log buffers. For
      * NOSYNC durability, if we switched log buffers,
@@ -195,6 +198,12 @@ public class LogManager {
         nItemBufTooSmall = new LongStat(stats, LOGMGR_ITEM_BUFFER_TOO_SMALL);
         nItemBufPoolEmpty = new LongStat(stats, LOGMGR_ITEM_BUFFER_POOL_EMPTY);
 
+        final int compressMinSize =
+            configManager.getInt(EnvironmentParams.LOG_COMPRESS_LN_MIN_SIZE);
+        lnDataCompressor = (compressMinSize > 0) ?
+            new LNDataCompressor(compressMinSize, stats) :
+            null;
+
         threadItemBuffer = configManager.getBoolean(
                 EnvironmentParams.LOG_ITEM_THREAD_LOCAL) ?
             ThreadLocal.withInitial(() ->
@@ -220,6 +229,14 @@ public class LogManager {
         return itemBufferSize;
     }
 
+    /**
+     * Returns the compressor for user LN data, or null if LN compression is
+     * not configured.
+     */
+    public LNDataCompressor getLNDataCompressor() {
+        return lnDataCompressor;
+    }
+
     public long getLastLsnAtRecovery() {
         return lastLsnAtRecovery;
     }
@@ -420,7 +437,9 @@ public class LogManager {
             marshallIntoBuffer(item, params, inRepStream);
         }
 
+        params.repContext.awaitLogTurn();
         serialLog(item, params);
+        params.repContext.noteLogged();
 
         if (params.segment != null) {
 
@@ -428,8 +447,12 @@ public class LogManager {
             item.header.addPostMarshallingInfo(
                 params.buffer, params.prevOffset, params.vlsn);
 
-            /* Copy entry buffer into the log buffer. */
-            params.segment.put(params.buffer, params.vlsn);
+            /*
+             * Copy entry buffer into the log buffer. This is done without
+             * holding the LWL or the log buffer latch, so concurrent writers
+             * copy into their own segments in parallel.
+             */
+            params.segment.put(params.buffer);
         }
 
         updateObsolete(params);
@@ -718,7 +741,7 @@ public class LogManager {
 
         lastLogBuffer.latchForWrite();
         try {
-            bufferSegment = lastLogBuffer.allocate(entrySize);
+            bufferSegment = lastLogBuffer.allocate(entrySize, vlsn);
 
             if (bufferSegment != null) {
                 /* Register the lsn while holding the buffer latch. */
@@ -738,7 +761,7 @@ public class LogManager {
                     params.flushRequired && !params.fsyncRequired;
 
                 fileManager.writeLogBuffer(
-                    new LogBuffer(params.buffer, currentLsn, params.vlsn),
+                    new LogBuffer(params.buffer, currentLsn, vlsn),
                     flushWriteQueue);
 
                 assert lastLogBuffer.getDataBuffer().position() == 0;
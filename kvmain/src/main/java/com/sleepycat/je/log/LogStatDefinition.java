@@ -125,6 +125,34 @@ public class LogStatDefinition {
             FILEMGR_SEQUENTIAL_WRITE_BYTES_NAME,
             FILEMGR_SEQUENTIAL_WRITE_BYTES_DESC);
 
+    public static final String FILEMGR_MAPPED_READS_NAME =
+        "nMappedReads";
+    public static final String FILEMGR_MAPPED_READS_DESC =
+        "Number of log entry reads that were satisfied from a memory " +
+            "mapping of a log file, rather than by a file read system call.";
+    public static final StatDefinition FILEMGR_MAPPED_READS =
+        new StatDefinition(
+            FILEMGR_MAPPED_READS_NAME,
+            FILEMGR_MAPPED_READS_DESC);
+
+    public static final String FILEMGR_MAPPED_READ_BYTES_NAME =
+        "nMappedReadBytes";
+    public static final String FILEMGR_MAPPED_READ_BYTES_DESC =
+        "Number of bytes read from memory mappings of log files.";
+    public static final StatDefinition FILEMGR_MAPPED_READ_BYTES =
+        new StatDefinition(
+            FILEMGR_MAPPED_READ_BYTES_NAME,
+            FILEMGR_MAPPED_READ_BYTES_DESC);
+
+    public static final String FILEMGR_FILE_MAPS_NAME =
+        "nFileMaps";
+    public static final String FILEMGR_FILE_MAPS_DESC =
+        "Number of times a log file has been memory mapped.";
+    public static final StatDefinition FILEMGR_FILE_MAPS =
+        new StatDefinition(
+            FILEMGR_FILE_MAPS_NAME,
+            FILEMGR_FILE_MAPS_DESC);
+
     public static final String FILEMGR_FILE_OPENS_NAME =
         "nFileOpens";
     public static final String FILEMGR_FILE_OPENS_DESC =
@@ -328,6 +356,33 @@ public class LogStatDefinition {
             LOGMGR_ITEM_BUFFER_POOL_EMPTY_NAME,
             LOGMGR_ITEM_BUFFER_POOL_EMPTY_DESC);
 
+    public static final String LOGMGR_LN_COMPRESSED_NAME =
+        "nLNsCompressed";
+    public static final String LOGMGR_LN_COMPRESSED_DESC =
+        "Number of LNs whose data was compressed before being logged.";
+    public static final StatDefinition LOGMGR_LN_COMPRESSED =
+        new StatDefinition(
+            LOGMGR_LN_COMPRESSED_NAME,
+            LOGMGR_LN_COMPRESSED_DESC);
+
+    public static final String LOGMGR_LN_COMPRESSED_BYTES_IN_NAME =
+        "nLNCompressionBytesIn";
+    public static final String LOGMGR_LN_COMPRESSED_BYTES_IN_DESC =
+        "Number of LN data bytes that were compressed, before compression.";
+    public static final StatDefinition LOGMGR_LN_COMPRESSED_BYTES_IN =
+        new StatDefinition(
+            LOGMGR_LN_COMPRESSED_BYTES_IN_NAME,
+            LOGMGR_LN_COMPRESSED_BYTES_IN_DESC);
+
+    public static final String LOGMGR_LN_COMPRESSED_BYTES_OUT_NAME =
+        "nLNCompressionBytesOut";
+    public static final String LOGMGR_LN_COMPRESSED_BYTES_OUT_DESC =
+        "Number of LN data bytes that were compressed, after compression.";
+    public static final StatDefinition LOGMGR_LN_COMPRESSED_BYTES_OUT =
+        new StatDefinition(
+            LOGMGR_LN_COMPRESSED_BYTES_OUT_NAME,
+            LOGMGR_LN_COMPRESSED_BYTES_OUT_DESC);
+
     public static final String LOGMGR_END_OF_LOG_NAME =
         "endOfLog";
     public static final String LOGMGR_END_OF_LOG_DESC =
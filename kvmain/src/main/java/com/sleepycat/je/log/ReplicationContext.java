@@ -121,6 +121,22 @@ public class ReplicationContext {
         return (inReplicationStream && (clientVLSN == INVALID_VLSN));
     }
 
+    /**
+     * Called before the entry is assigned an LSN. Replica entries that are
+     * applied concurrently use this to wait until the entries preceding them
+     * in the replication stream have been logged, so that the log remains in
+     * VLSN order. Does nothing by default.
+     */
+    public void awaitLogTurn() {
+    }
+
+    /**
+     * Called after the entry has been assigned an LSN. Does nothing by
+     * default.
+     */
+    public void noteLogged() {
+    }
+
     /**
      * @return the type of database operation in progress. For the default
      * case, we return DbOperationType.NONE.
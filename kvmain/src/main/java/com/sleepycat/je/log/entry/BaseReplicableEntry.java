@@ -71,4 +71,11 @@ abstract class BaseReplicableEntry<T extends VersionedWriteLoggable>
                                                  final int destVersion) {
         return false;
     }
+
+    @Override
+    public boolean isOldFormatRequired(final ByteBuffer logBuffer,
+                                       final int srcVersion,
+                                       final int destVersion) {
+        return false;
+    }
 }
@@ -28,6 +28,7 @@ import com.sleepycat.je.dbi.DatabaseImpl;
 import com.sleepycat.je.dbi.DupKeyData;
 import com.sleepycat.je.dbi.EnvironmentImpl;
 import com.sleepycat.je.dbi.TTL;
+import com.sleepycat.je.log.LNDataCompressor;
 import com.sleepycat.je.log.LogEntryHeader;
 import com.sleepycat.je.log.LogEntryType;
 import com.sleepycat.je.log.LogUtils;
@@ -233,6 +234,22 @@ import com.sleepycat.je.utilint.VLSN;
  *     havePriorSize, priorSize, havePriorFile, priorFile,
  *     haveAbortModificationTime, abortModificationTime, abortTombstone.
  *
+ * {@literal
+ * 26 <= version :
+ *
+ *   Same as version 25, plus:
+ *
+ *   1-byte flags2
+ *     haveCompressedData                                       << new
+ *
+ *   When haveCompressedData is set, the LN data field is replaced by:
+ *     uncompressed data length
+ *     compressed data (byte array)
+ * }
+ *
+ *   The haveCompressedData flag is also used in forReplication mode, since
+ *   it is needed to read the data.
+ *
  * NOTE: LNLogEntry is sub-classed by NameLNLogEntry, which adds some extra
  * fields after the fields shown above.  NameLNLogEntry never has a
  * Before Image.
@@ -256,6 +273,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
     private static final byte HAVE_ABORT_MODIFICATION_TIME_MASK = 0x10;
     private static final byte BLIND_DELETION_MASK = 0x20;
     private static final byte ENABLE_BEFORE_IMAGE_MASK = 0x40;
+    private static final byte HAVE_COMPRESSED_DATA_MASK = (byte) 0x80;
 
     /**
      * Used for computing the minimum log space used by an LNLogEntry.
@@ -271,6 +289,12 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
      * made (including any changes to the format of the underlying LN and other
      * loggables).
      *
+     * <p>The compressed data format added in {@link
+     * LogEntryType#LOG_VERSION_COMPRESSED_LN} is not counted here, because
+     * it is only used by entries with the haveCompressedData flag. Such
+     * entries are identified by {@link #isOldFormatRequired}, so that other
+     * entries are not re-serialized for older replicas.
+     *
      * @see #getLastFormatChange
      */
     private static final int LAST_FORMAT_CHANGE = 19;
@@ -388,6 +412,12 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
      */
     private boolean haveExpiration;
 
+    /*
+     * True if the logrec stores the LN data in compressed form. Is only used
+     * when reading, since the data is decompressed as it is read.
+     */
+    private boolean haveCompressedData;
+
     /*
      * True if the logrec stores the size of the obsolete prior version.
      * Used to count the prior version obsolete during recovery.
@@ -449,6 +479,13 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
     /* Transient field for getUserKeyData. Is null if status is unknown. */
     private Boolean dupStatus;
 
+    /*
+     * Transient field containing the compressed LN data when writing, or
+     * null if the data is not to be compressed. Is written in place of the
+     * LN data when the log version supports compression.
+     */
+    private byte[] compressedData;
+
     /**
      * Creates an instance to read an entry.
      *
@@ -573,8 +610,10 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
         blindDeletion = false;
         priorSize = 0;
         priorFile = DbLsn.MAX_FILE_NUM;
+        haveCompressedData = false;
 
         dupStatus = null;
+        compressedData = null;
     }
 
     /**
@@ -610,9 +649,12 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
      * incur the costs (mainly memory allocations) of fully instantiating
      * it.</p>
      *
-     * <p>Note that {@link LNEntryInfo#key} and {@link LNEntryInfo#data}
-     * are both set to the {@link ByteBuffer#array()} of the {@code buffer}
-     * parameter value.</p>
+     * <p>Note that {@link LNEntryInfo#key} is set to the {@link
+     * ByteBuffer#array()} of the {@code buffer} parameter value. {@link
+     * LNEntryInfo#data} is also set to that array, unless the entry stores
+     * compressed data (log version 26 and later). In that case the data is
+     * inflated into a newly allocated array and {@link
+     * LNEntryInfo#dataOffset} is zero.</p>
      *
      * @since 19.5
      */
@@ -651,12 +693,19 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
              */
             buffer.position(buffer.position() + lnInfo.keyLength);
 
-            int size = LogUtils.readPackedInt(buffer);
-            if (size >= 0) {
-                lnInfo.data = buffer.array();
-                lnInfo.dataLength = size;
-                lnInfo.dataOffset = buffer.position() + buffer.arrayOffset();
-                buffer.position(buffer.position() + size);
+            if (flag.haveCompressedData) {
+                lnInfo.data = LNDataCompressor.readCompressed(buffer);
+                lnInfo.dataLength = lnInfo.data.length;
+                lnInfo.dataOffset = 0;
+            } else {
+                int size = LogUtils.readPackedInt(buffer);
+                if (size >= 0) {
+                    lnInfo.data = buffer.array();
+                    lnInfo.dataLength = size;
+                    lnInfo.dataOffset =
+                        buffer.position() + buffer.arrayOffset();
+                    buffer.position(buffer.position() + size);
+                }
             }
         }
 
@@ -760,6 +809,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
         boolean havePriorSize = false;
         boolean havePriorFile = false;
         boolean tombstone = false;
+        boolean haveCompressedData = false;
 
         public void setFlags(byte flags, byte flags2) {
             haveExpiration = ((flags & HAVE_EXPIRATION_MASK) != 0);
@@ -776,6 +826,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             enableBeforeImage =
                     ((flags2 & ENABLE_BEFORE_IMAGE_MASK) != 0);
             tombstone = ((flags2 & TOMBSTONE_MASK) != 0);
+            haveCompressedData = ((flags2 & HAVE_COMPRESSED_DATA_MASK) != 0);
         }
     }
 
@@ -841,7 +892,11 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             }
             modificationTime = LogUtils.readPackedLong(entryBuffer);
             key = LogUtils.readByteArray(entryBuffer);
-            ln.readFromLog(envImpl, entryBuffer, logVersion);
+            if (haveCompressedData) {
+                ln.modify(LNDataCompressor.readCompressed(entryBuffer));
+            } else {
+                ln.readFromLog(envImpl, entryBuffer, logVersion);
+            }
         }
 
         if (entryType.isTransactional()) {
@@ -960,6 +1015,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             ((flags2 & HAVE_ABORT_MODIFICATION_TIME_MASK) != 0);
         enableBeforeImage =
                 ((flags2 & ENABLE_BEFORE_IMAGE_MASK) != 0);
+        haveCompressedData = ((flags2 & HAVE_COMPRESSED_DATA_MASK) != 0);
     }
 
     @Override
@@ -1007,6 +1063,26 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             (HAVE_ABORT_KEY_MASK | HAVE_ABORT_DATA_MASK)) != 0;
     }
 
+    /**
+     * Returns true if the entry stores its LN data in compressed form and the
+     * destination version predates compression, so the entry must be
+     * re-serialized with uncompressed data.
+     */
+    @Override
+    public boolean isOldFormatRequired(final ByteBuffer logBuffer,
+                                       final int srcVersion,
+                                       final int destVersion) {
+
+        if (srcVersion < LogEntryType.LOG_VERSION_COMPRESSED_LN ||
+            destVersion >= LogEntryType.LOG_VERSION_COMPRESSED_LN) {
+            return false;
+        }
+
+        /* flags2 immediately follows flags in versions >= 16. */
+        final byte flags2 = logBuffer.get(1);
+        return (flags2 & HAVE_COMPRESSED_DATA_MASK) != 0;
+    }
+
     @Override
     public StringBuilder dumpEntry(StringBuilder sb, boolean verbose) {
 
@@ -1027,6 +1103,10 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             sb.append("<blindDeletion/>");
         }
 
+        if (haveCompressedData) {
+            sb.append("<compressedData/>");
+        }
+
         if (modificationTime != 0) {
             sb.append("<modTime val=\"");
             sb.append(StatUtils.getDate(modificationTime));
@@ -1159,7 +1239,10 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
         final boolean keyIsLastSerializedField,
         final boolean forReplication) {
 
-        int size = ln.getLogSize(logVersion, forReplication) +
+        int size = (isDataCompressed(logVersion) ?
+                    LNDataCompressor.getCompressedLogSize(
+                        ln.getDataSize(), compressedData) :
+                    ln.getLogSize(logVersion, forReplication)) +
             dbId.getLogSize(logVersion, forReplication) +
             key.length;
 
@@ -1231,6 +1314,52 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
         return size;
     }
 
+    /**
+     * Compresses the data of a user LN, so that it is written in compressed
+     * form by subsequent calls to {@link #writeEntry}. Must be called before
+     * the entry is sized for logging. The data is left uncompressed if it is
+     * too small or does not get smaller when compressed.
+     */
+    public void compressData(final LNDataCompressor compressor) {
+
+        if (!entryType.isUserLNType() || ln.isDeleted()) {
+            return;
+        }
+
+        compressedData = compressor.compress(
+            ln.getData(), ln.getDataOffset(), ln.getDataSize());
+    }
+
+    /**
+     * Returns a copy of this entry with the LN data replaced by the given
+     * data. Used by feeder filters that rewrite the data of the entries they
+     * pass, for example to send only some fields of a record to a
+     * subscriber. All other fields are shared with this entry, which is not
+     * modified.
+     */
+    @SuppressWarnings("unchecked")
+    public LNLogEntry<T> cloneWithData(final EnvironmentImpl envImpl,
+                                       final byte[] data) {
+
+        /* Subclasses add fields that may depend on the data. */
+        assert getClass() == LNLogEntry.class;
+
+        final LNLogEntry<T> copy = (LNLogEntry<T>) clone();
+        copy.ln = LN.makeLN(envImpl, data);
+        copy.compressedData = null;
+        copy.haveCompressedData = false;
+        return copy;
+    }
+
+    /**
+     * Returns whether the LN data is written in compressed form for the
+     * given log version.
+     */
+    private boolean isDataCompressed(final int logVersion) {
+        return compressedData != null &&
+            logVersion >= LogEntryType.LOG_VERSION_COMPRESSED_LN;
+    }
+
     @Override
     public void writeEntry(final ByteBuffer destBuffer,
                            final int logVersion,
@@ -1332,6 +1461,11 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             }
         }
 
+        final boolean writeCompressedData = isDataCompressed(logVersion);
+        if (writeCompressedData) {
+            flags2 |= HAVE_COMPRESSED_DATA_MASK;
+        }
+
         if (logVersion >= 12) {
             if (haveExpiration) {
                 flags |= HAVE_EXPIRATION_MASK;
@@ -1353,7 +1487,12 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             }
             LogUtils.writePackedLong(destBuffer, modificationTime);
             LogUtils.writeByteArray(destBuffer, key);
-            ln.writeToLog(destBuffer, logVersion, forReplication);
+            if (writeCompressedData) {
+                LNDataCompressor.writeCompressed(
+                    destBuffer, ln.getDataSize(), compressedData);
+            } else {
+                ln.writeToLog(destBuffer, logVersion, forReplication);
+            }
         }
 
         if (entryType.isTransactional()) {
@@ -136,4 +136,25 @@ public interface ReplicableLogEntry extends LogEntry {
     boolean isReplicationFormatWorthwhile(ByteBuffer logBuffer,
                                           int srcVersion,
                                           int destVersion);
+
+    /**
+     * Returns whether a log entry must be re-serialized to be read at the
+     * specified version because of an optional feature used by this
+     * particular entry, even though the entry class's format has not changed
+     * since {@code destVersion} as reported by {@link #getLastFormatChange}.
+     * Implementations should check efficiently, without instantiating the
+     * log entry object. Most implementations will simply return false.
+     *
+     * <p>WARNING: The logBuffer position must not be changed by this method.
+     *
+     * <p>WARNING: The shared LogEntry object is used for calling this method,
+     * and this method must not change any of the fields in the object.
+     *
+     * @param logBuffer contains the entry that would be re-serialized.
+     * @param srcVersion the log version of entry in logBuffer.
+     * @param destVersion the version that would be used for re-serialization.
+     */
+    boolean isOldFormatRequired(ByteBuffer logBuffer,
+                                int srcVersion,
+                                int destVersion);
 }
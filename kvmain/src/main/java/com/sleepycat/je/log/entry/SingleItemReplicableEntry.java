@@ -83,4 +83,11 @@ abstract class SingleItemReplicableEntry<T extends VersionedWriteLoggable>
         return newInstanceOfType().isReplicationFormatWorthwhile(
             logBuffer, srcVersion, destVersion);
     }
+
+    @Override
+    public boolean isOldFormatRequired(final ByteBuffer logBuffer,
+                                       final int srcVersion,
+                                       final int destVersion) {
+        return false;
+    }
 }
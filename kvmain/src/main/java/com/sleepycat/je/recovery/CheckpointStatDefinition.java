@@ -101,4 +101,49 @@ public class CheckpointStatDefinition {
             CKPT_LAST_CKPT_END_NAME,
             CKPT_LAST_CKPT_END_DESC,
             StatType.CUMULATIVE);
+
+    public static final String CKPT_LAST_SELECT_MS_NAME =
+        "lastCheckpointSelectMs";
+    public static final String CKPT_LAST_SELECT_MS_DESC =
+        "Time in milliseconds taken by the last checkpoint to select " +
+            "the dirty Btree nodes to be flushed.";
+    public static final StatDefinition CKPT_LAST_SELECT_MS =
+        new StatDefinition(
+            CKPT_LAST_SELECT_MS_NAME,
+            CKPT_LAST_SELECT_MS_DESC,
+            StatType.CUMULATIVE);
+
+    public static final String CKPT_LAST_FLUSH_MS_NAME =
+        "lastCheckpointFlushMs";
+    public static final String CKPT_LAST_FLUSH_MS_DESC =
+        "Time in milliseconds taken by the last checkpoint to flush " +
+            "dirty Btree nodes.";
+    public static final StatDefinition CKPT_LAST_FLUSH_MS =
+        new StatDefinition(
+            CKPT_LAST_FLUSH_MS_NAME,
+            CKPT_LAST_FLUSH_MS_DESC,
+            StatType.CUMULATIVE);
+
+    public static final String CKPT_LAST_METADATA_FLUSH_MS_NAME =
+        "lastCheckpointMetadataFlushMs";
+    public static final String CKPT_LAST_METADATA_FLUSH_MS_DESC =
+        "Time in milliseconds taken by the last checkpoint to flush " +
+            "database, replication and utilization metadata after " +
+            "flushing Btree nodes.";
+    public static final StatDefinition CKPT_LAST_METADATA_FLUSH_MS =
+        new StatDefinition(
+            CKPT_LAST_METADATA_FLUSH_MS_NAME,
+            CKPT_LAST_METADATA_FLUSH_MS_DESC,
+            StatType.CUMULATIVE);
+
+    public static final String CKPT_LAST_END_MS_NAME =
+        "lastCheckpointEndMs";
+    public static final String CKPT_LAST_END_MS_DESC =
+        "Time in milliseconds taken by the last checkpoint to log and " +
+            "fsync the checkpoint end entry.";
+    public static final StatDefinition CKPT_LAST_END_MS =
+        new StatDefinition(
+            CKPT_LAST_END_MS_NAME,
+            CKPT_LAST_END_MS_DESC,
+            StatType.CUMULATIVE);
 }
@@ -21,6 +21,10 @@ import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_CKPTI
 import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_CKPT_END;
 import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_CKPT_INTERVAL;
 import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_CKPT_START;
+import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_END_MS;
+import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_FLUSH_MS;
+import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_METADATA_FLUSH_MS;
+import static com.sleepycat.je.recovery.CheckpointStatDefinition.CKPT_LAST_SELECT_MS;
 import static com.sleepycat.je.recovery.CheckpointStatDefinition.GROUP_DESC;
 import static com.sleepycat.je.recovery.CheckpointStatDefinition.GROUP_NAME;
 import static com.sleepycat.je.utilint.JETaskCoordinator.JE_CHECKPOINTER_TASK;
@@ -31,6 +35,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.logging.Level;
@@ -42,6 +52,7 @@ import com.sleepycat.je.DiskLimitException;
 import com.sleepycat.je.EnvironmentFailureException;
 import com.sleepycat.je.EnvironmentMutableConfig;
 import com.sleepycat.je.StatsConfig;
+import com.sleepycat.je.ThreadInterruptedException;
 import com.sleepycat.je.cleaner.Cleaner;
 import com.sleepycat.je.cleaner.DataEraser;
 import com.sleepycat.je.cleaner.ExtinctionScanner;
@@ -65,12 +76,14 @@ import com.sleepycat.je.tree.IN;
 import com.sleepycat.je.tree.SearchResult;
 import com.sleepycat.je.tree.Tree;
 import com.sleepycat.je.tree.WithRootLatched;
+import com.sleepycat.je.util.TimeSupplier;
 import com.sleepycat.je.utilint.DaemonThread;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.LSNStat;
 import com.sleepycat.je.utilint.LoggerUtils;
 import com.sleepycat.je.utilint.LongStat;
 import com.sleepycat.je.utilint.StatGroup;
+import com.sleepycat.je.utilint.StoppableThreadFactory;
 import com.sleepycat.je.utilint.TaskCoordinator.Permit;
 import com.sleepycat.je.utilint.TestHook;
 import com.sleepycat.je.utilint.TestHookExecute;
@@ -404,6 +417,16 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
     /* Configured to true to minimize checkpoint duration. */
     private boolean highPriority;
 
+    /* Number of threads used to flush dirty nodes. */
+    private volatile int nFlushThreads;
+
+    /*
+     * Pool of the threads that flush dirty nodes along with the checkpointer
+     * thread, sized to nFlushThreads-1. Its threads are only started by the
+     * first checkpoint that uses them, and stopped by shutdown().
+     */
+    private final ThreadPoolExecutor flushPool;
+
     private long nCheckpoints;
     private long lastCheckpointStart;
     private long lastCheckpointEnd;
@@ -411,6 +434,12 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
     private volatile long lastCheckpointFirstActiveLsn;
     private final FlushStats flushStats;
 
+    /* Duration of each phase of the last checkpoint. */
+    private long lastCheckpointSelectMs;
+    private long lastCheckpointFlushMs;
+    private long lastCheckpointMetadataFlushMs;
+    private long lastCheckpointEndMs;
+
     /**
      * The DirtyINMap for checkpointing is created once and is reset after each
      * checkpoint is complete.  Access to this object is synchronized so that
@@ -432,6 +461,12 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
 
         checkpointDirtyMap = new DirtyINMap(envImpl);
 
+        flushPool = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            new StoppableThreadFactory(
+                envImpl, "JECheckpointFlush", envImpl.getLogger(),
+                envImpl.getFileManager().getCheckpointerStatsCollector()));
+
         /* Initialize mutable properties and register for notifications. */
         envConfigUpdate(envImpl.getConfigManager(), null);
         envImpl.addConfigObserver(this);
@@ -445,6 +480,29 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
                                 EnvironmentMutableConfig ignore) {
         highPriority = cm.getBoolean
             (EnvironmentParams.CHECKPOINTER_HIGH_PRIORITY);
+        nFlushThreads = cm.getInt
+            (EnvironmentParams.CHECKPOINTER_FLUSH_THREADS);
+
+        /* The core size may not exceed the maximum size. */
+        final int poolSize = Math.max(1, nFlushThreads - 1);
+        synchronized (flushPool) {
+            if (poolSize > flushPool.getMaximumPoolSize()) {
+                flushPool.setMaximumPoolSize(poolSize);
+                flushPool.setCorePoolSize(poolSize);
+            } else {
+                flushPool.setCorePoolSize(poolSize);
+                flushPool.setMaximumPoolSize(poolSize);
+            }
+        }
+    }
+
+    /**
+     * Stops the checkpointer thread and the flush threads.
+     */
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        flushPool.shutdownNow();
     }
 
     /**
@@ -520,6 +578,11 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
         new LongStat(stats, CKPT_FULL_IN_FLUSH, flushStats.nFullINFlush);
         new LongStat(stats, CKPT_FULL_BIN_FLUSH, flushStats.nFullBINFlush);
         new LongStat(stats, CKPT_DELTA_IN_FLUSH, flushStats.nDeltaINFlush);
+        new LongStat(stats, CKPT_LAST_SELECT_MS, lastCheckpointSelectMs);
+        new LongStat(stats, CKPT_LAST_FLUSH_MS, lastCheckpointFlushMs);
+        new LongStat(
+            stats, CKPT_LAST_METADATA_FLUSH_MS, lastCheckpointMetadataFlushMs);
+        new LongStat(stats, CKPT_LAST_END_MS, lastCheckpointEndMs);
 
         if (config.getClear()) {
             nCheckpoints = 0;
@@ -793,15 +856,23 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
             envImpl.awaitVLSNConsistency();
 
             /* Find the set of dirty INs that must be logged. */
+            long phaseStart = TimeSupplier.currentTimeMillis();
             checkpointDirtyMap.selectDirtyINsForCheckpoint();
+            long phaseEnd = TimeSupplier.currentTimeMillis();
+            lastCheckpointSelectMs = phaseEnd - phaseStart;
 
             /* Call hook after dirty map creation and before flushing. */
             TestHookExecute.doHookIfSet(beforeFlushHook);
 
             /* Flush IN nodes. */
+            phaseStart = phaseEnd;
+            final int nThreads = nFlushThreads;
             flushDirtyNodes(
                 envImpl, checkpointDirtyMap, checkpointStart, highPriority,
-                flushStats);
+                (nThreads > 1) ? flushPool : null, nThreads, flushStats);
+            phaseEnd = TimeSupplier.currentTimeMillis();
+            lastCheckpointFlushMs = phaseEnd - phaseStart;
+            phaseStart = phaseEnd;
 
             if (DirtyINMap.DIRTY_SET_DEBUG_TRACE) {
                 LoggerUtils.logMsg(
@@ -840,6 +911,10 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
             envImpl.getUtilizationProfile().flushFileUtilization
                 (envImpl.getUtilizationTracker().getTrackedFiles());
 
+            phaseEnd = TimeSupplier.currentTimeMillis();
+            lastCheckpointMetadataFlushMs = phaseEnd - phaseStart;
+            phaseStart = phaseEnd;
+
             final DbTree dbTree = envImpl.getDbTree();
             final boolean willDeleteFiles = !cleanerState.isEmpty();
 
@@ -880,6 +955,7 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
             lastCheckpointEnd = logManager.logForceFlush(
                 endEntry, true /*fsyncRequired*/,
                 ReplicationContext.NO_REPLICATE);
+            lastCheckpointEndMs = TimeSupplier.currentTimeMillis() - phaseStart;
 
             lastCheckpointStart = checkpointStart;
             lastCheckpointFirstActiveLsn = firstActiveLsn;
@@ -961,7 +1037,8 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
                 /* Write all dirtyINs out.*/
                 flushDirtyNodes(
                     envImpl, dirtyMap, DbLsn.NULL_LSN  /*ckptStart*/,
-                    false /*highPriority*/, fstats);
+                    false /*highPriority*/, null /*flushPool*/,
+                    1 /*nFlushThreads*/, fstats);
 
                 /* Make changes durable. [#15254] */
                 if (flushLog) {
@@ -1004,94 +1081,183 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
      * Note that all but the top level INs are logged provisionally. That's
      * because we don't need to process lower INs during recovery because the
      * higher INs will end up pointing at them.
+     *
+     * When flushPool is not null, the nodes at each level are flushed
+     * concurrently by the calling thread and nFlushThreads-1 pool threads,
+     * each taking nodes from the dirty map until it is empty. This is safe
+     * because flushIN logs a node only while holding its parent's latch, and
+     * re-adds the parent to the dirty map after the search that latched it,
+     * so a parent flushed by one thread while another is logging one of its
+     * children is always flushed again later. The next level is not started
+     * until all threads have finished the current one.
      */
     private static void flushDirtyNodes(EnvironmentImpl envImpl,
                                         DirtyINMap dirtyMap,
                                         long checkpointStart,
                                         boolean highPriority,
+                                        ExecutorService flushPool,
+                                        int nFlushThreads,
                                         FlushStats fstats) {
 
+        while (dirtyMap.getNumLevels() > 0) {
+
+            /*
+             * Work on one level's worth of nodes in ascending level order.
+             */
+            final Integer currentLevel = dirtyMap.getLowestLevelSet();
+            final int currentLevelVal = currentLevel;
+
+            /*
+             * Flush MapLNs just prior to flushing the first level of the
+             * mapping tree.  Only flush a database if it has not already
+             * been flushed since checkpoint start.
+             */
+            if (currentLevelVal == IN.DBMAP_LEVEL) {
+                dirtyMap.flushMapLNs(checkpointStart);
+            }
+
+            /* Flush the nodes at the current level. */
+            if (flushPool == null) {
+                flushLevel(
+                    envImpl, dirtyMap, currentLevel, highPriority, fstats);
+            } else {
+                flushLevelInParallel(
+                    envImpl, dirtyMap, currentLevel, highPriority,
+                    flushPool, nFlushThreads, fstats);
+            }
+
+            /* We're done with this level. */
+            dirtyMap.removeLevel(currentLevel);
+        }
+
+        /*
+         * Do not flush FileSummaryLNs/MapLNs (do not call
+         * UtilizationProfile.flushLocalTracker) here because that flushing is
+         * already done by the checkpoint.
+         */
+    }
+
+    /**
+     * Flushes nodes at the given level until none remain in the dirty map.
+     * May be called by multiple threads concurrently for the same level, each
+     * with its own FlushStats.
+     */
+    private static void flushLevel(EnvironmentImpl envImpl,
+                                   DirtyINMap dirtyMap,
+                                   Integer currentLevel,
+                                   boolean highPriority,
+                                   FlushStats fstats) {
+
         final DbTree dbTree = envImpl.getDbTree();
         final Map<DatabaseId, DatabaseImpl> dbCache = new HashMap<>();
+        final int currentLevelVal = currentLevel;
 
         try {
-            while (dirtyMap.getNumLevels() > 0) {
+            while (true) {
+                final CheckpointReference targetRef =
+                    dirtyMap.removeNextNode(currentLevel);
 
-                /*
-                 * Work on one level's worth of nodes in ascending level order.
-                 */
-                final Integer currentLevel = dirtyMap.getLowestLevelSet();
-                final int currentLevelVal = currentLevel;
-
-                /*
-                 * Flush MapLNs just prior to flushing the first level of the
-                 * mapping tree.  Only flush a database if it has not already
-                 * been flushed since checkpoint start.
-                 */
-                if (currentLevelVal == IN.DBMAP_LEVEL) {
-                    dirtyMap.flushMapLNs(checkpointStart);
+                if (targetRef == null) {
+                    break;
                 }
 
-                /* Flush the nodes at the current level. */
-                while (true) {
-                    final CheckpointReference targetRef =
-                        dirtyMap.removeNextNode(currentLevel);
-
-                    if (targetRef == null) {
-                        break;
-                    }
-
-                    envImpl.checkDiskLimitViolation();
+                envImpl.checkDiskLimitViolation();
 
-                    /*
-                     * Check to make sure the DB was not deleted after putting
-                     * it in the dirty map, and prevent the DB from being
-                     * deleted while we're working with it.
-                     */
-                    final DatabaseImpl db = dbTree.getDb(
-                        targetRef.dbId, dbCache);
+                /*
+                 * Check to make sure the DB was not deleted after putting it
+                 * in the dirty map, and prevent the DB from being deleted
+                 * while we're working with it.
+                 */
+                final DatabaseImpl db = dbTree.getDb(targetRef.dbId, dbCache);
 
-                    if (db != null) {
+                if (db != null) {
 
-                        /* Flush if we're below maxFlushLevel. */
-                        final int maxFlushLevel =
-                            dirtyMap.getHighestFlushLevel(db);
+                    /* Flush if we're below maxFlushLevel. */
+                    final int maxFlushLevel =
+                        dirtyMap.getHighestFlushLevel(db);
 
-                        if (currentLevelVal <= maxFlushLevel) {
+                    if (currentLevelVal <= maxFlushLevel) {
 
-                            flushIN(
-                                db, targetRef, dirtyMap, maxFlushLevel,
-                                highPriority, fstats, true /*allowLogSubtree*/);
+                        flushIN(
+                            db, targetRef, dirtyMap, maxFlushLevel,
+                            highPriority, fstats, true /*allowLogSubtree*/);
 
-                            /*
-                             * Sleep if background read/write limit was
-                             * exceeded.
-                             */
-                            envImpl.sleepAfterBackgroundIO();
-                        }
+                        /*
+                         * Sleep if background read/write limit was exceeded.
+                         */
+                        envImpl.sleepAfterBackgroundIO();
                     }
-
-                    /*
-                     * If the environment was invalidated by other activity,
-                     * get out of this loop, and re-throw the invalidating
-                     * exception to indicate that the checkpoint did not
-                     * succeed.
-                     */
-                    envImpl.checkIfInvalid();
                 }
 
-                /* We're done with this level. */
-                dirtyMap.removeLevel(currentLevel);
+                /*
+                 * If the environment was invalidated by other activity, get
+                 * out of this loop, and re-throw the invalidating exception to
+                 * indicate that the checkpoint did not succeed.
+                 */
+                envImpl.checkIfInvalid();
             }
         } finally {
             dbTree.releaseDbs(dbCache);
         }
+    }
 
-        /*
-         * Do not flush FileSummaryLNs/MapLNs (do not call
-         * UtilizationProfile.flushLocalTracker) here because that flushing is
-         * already done by the checkpoint.
-         */
+    /**
+     * Flushes nodes at the given level using the calling thread and
+     * nFlushThreads-1 pool threads, and waits for all of them to finish.
+     * Per-thread flush stats are added to fstats. If any thread fails, the
+     * first failure is rethrown after all threads have finished.
+     */
+    private static void flushLevelInParallel(EnvironmentImpl envImpl,
+                                             DirtyINMap dirtyMap,
+                                             Integer currentLevel,
+                                             boolean highPriority,
+                                             ExecutorService flushPool,
+                                             int nFlushThreads,
+                                             FlushStats fstats) {
+
+        final List<Future<FlushStats>> futures = new ArrayList<>();
+
+        for (int i = 1; i < nFlushThreads; i += 1) {
+            futures.add(flushPool.submit(() -> {
+                final FlushStats threadStats = new FlushStats();
+                flushLevel(
+                    envImpl, dirtyMap, currentLevel, highPriority,
+                    threadStats);
+                return threadStats;
+            }));
+        }
+
+        RuntimeException failure = null;
+        try {
+            flushLevel(envImpl, dirtyMap, currentLevel, highPriority, fstats);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        for (final Future<FlushStats> future : futures) {
+            try {
+                fstats.add(future.get());
+            } catch (InterruptedException e) {
+                throw new ThreadInterruptedException(envImpl, e);
+            } catch (ExecutionException e) {
+                if (failure != null) {
+                    continue;
+                }
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    failure = (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else {
+                    failure = EnvironmentFailureException.unexpectedException(
+                        envImpl, (Exception) cause);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
     }
 
     /**
@@ -1573,6 +1739,16 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
            private int nAlreadyEvictedThisRun;
         */
 
+        /* Add the counters of a flush thread. */
+        void add(FlushStats other) {
+            nFullINFlush += other.nFullINFlush;
+            nFullBINFlush += other.nFullBINFlush;
+            nDeltaINFlush += other.nDeltaINFlush;
+            nFullINFlushThisRun += other.nFullINFlushThisRun;
+            nFullBINFlushThisRun += other.nFullBINFlushThisRun;
+            nDeltaINFlushThisRun += other.nDeltaINFlushThisRun;
+        }
+
         /* Reset per-run counters. */
         void resetPerRunCounters() {
             nFullINFlushThisRun = 0;
@@ -16,7 +16,6 @@ package com.sleepycat.je.recovery;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -36,6 +35,7 @@ import com.sleepycat.je.tree.MapLN;
 import com.sleepycat.je.tree.Tree;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.LoggerUtils;
+import com.sleepycat.je.utilint.LongHashMap;
 import com.sleepycat.je.utilint.TestHookExecute;
 
 /**
@@ -64,7 +64,8 @@ class DirtyINMap {
     static final boolean DIRTY_SET_DEBUG_TRACE = false;
 
     private final EnvironmentImpl envImpl;
-    private final SortedMap<Integer, Map<Long, CheckpointReference>> levelMap;
+    private final SortedMap<Integer, LongHashMap<CheckpointReference>>
+        levelMap;
     private int numEntries;
     private final Set<DatabaseId> mapLNsToFlush;
     private final Map<DatabaseImpl, Integer> highestFlushLevels;
@@ -553,13 +554,14 @@ class DirtyINMap {
         final boolean isRoot = in.isRoot();
         final boolean isBin = in.isBIN();
 
-        Map<Long, CheckpointReference> lsnMap = levelMap.get(level);
+        LongHashMap<CheckpointReference> lsnMap = levelMap.get(level);
         if (lsnMap == null) {
             /*
-             * We use TreeMap rather than HashMap because HashMap.iterator() is
-             * a slow way of getting the first element (see removeNextNode).
+             * We use LongHashMap rather than HashMap because it does not box
+             * the LSN or allocate a node per entry, and because its removeAny
+             * method is a fast way of draining the map (see removeNextNode).
              */
-            lsnMap = new TreeMap<>();
+            lsnMap = new LongHashMap<>();
             levelMap.put(level, lsnMap);
         }
 
@@ -614,7 +616,7 @@ class DirtyINMap {
             return null;
         }
 
-        final Map<Long, CheckpointReference> lsnMap = levelMap.get(level);
+        final LongHashMap<CheckpointReference> lsnMap = levelMap.get(level);
         if (lsnMap == null) {
             return null;
         }
@@ -624,19 +626,13 @@ class DirtyINMap {
 
     synchronized CheckpointReference removeNextNode(Integer level) {
 
-        final Map<Long, CheckpointReference> lsnMap = levelMap.get(level);
+        final LongHashMap<CheckpointReference> lsnMap = levelMap.get(level);
 
-        if (lsnMap == null || lsnMap.isEmpty()) {
+        if (lsnMap == null) {
             return null;
         }
 
-        final Iterator<Map.Entry<Long, CheckpointReference>> iter =
-            lsnMap.entrySet().iterator();
-
-        assert iter.hasNext();
-        final CheckpointReference ref = iter.next().getValue();
-        iter.remove();
-        return ref;
+        return lsnMap.removeAny();
     }
 
     /**
@@ -754,7 +750,7 @@ class DirtyINMap {
 
         for (final Integer level : levelMap.keySet()) {
 
-            final Map<Long, CheckpointReference> lsnMap =
+            final LongHashMap<CheckpointReference> lsnMap =
                 levelMap.get(level);
 
             sb.append("\nlevel = 0x").append(Integer.toHexString(level));
@@ -0,0 +1,254 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.recovery;
+
+import static com.sleepycat.je.recovery.RecoveryRedoStatDefinition.GROUP_DESC;
+import static com.sleepycat.je.recovery.RecoveryRedoStatDefinition.GROUP_NAME;
+import static com.sleepycat.je.recovery.RecoveryRedoStatDefinition.REDO_DISPATCHED;
+import static com.sleepycat.je.recovery.RecoveryRedoStatDefinition.REDO_DISPATCH_WAIT_MS;
+import static com.sleepycat.je.recovery.RecoveryRedoStatDefinition.REDO_SERIAL;
+import static com.sleepycat.je.recovery.RecoveryRedoStatDefinition.REDO_THREADS;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.sleepycat.je.EnvironmentFailureException;
+import com.sleepycat.je.ThreadInterruptedException;
+import com.sleepycat.je.dbi.DatabaseImpl;
+import com.sleepycat.je.dbi.DbTree;
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.tree.TreeLocation;
+import com.sleepycat.je.utilint.IntStat;
+import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.StatGroup;
+import com.sleepycat.je.utilint.StoppableThreadFactory;
+
+/**
+ * Applies redone LNs to the Btree using a fixed set of redo threads, while the
+ * recovery thread continues reading the log.
+ *
+ * Each redo thread has its own queue, and all LNs of a database are
+ * dispatched to the same queue, so the LNs of a database are applied in log
+ * order. This is required because the outcome of applying an LN depends on
+ * the LNs for the same record that precede it in the log. LNs of different
+ * databases are applied concurrently, and the usual latching of the Btree
+ * makes this safe.
+ *
+ * Everything other than the Btree update -- redo eligibility, relocking of
+ * resurrected txns, utilization counting and tracking of NameLN operations --
+ * is still done by the recovery thread, since the data structures involved
+ * are not thread safe and do not depend on the result of the update.
+ *
+ * The caller must call {@link #finish} after the last LN is dispatched, and
+ * {@link #close} in a finally block.
+ */
+class ParallelRedo {
+
+    /* Number of redo tasks that may be queued for each redo thread. */
+    private static final int QUEUE_SIZE = 1000;
+
+    private final DbTree dbTree;
+    private final EnvironmentImpl envImpl;
+    private final BlockingQueue<RedoTask>[] queues;
+    private final ExecutorService pool;
+
+    /* Tasks that have been dispatched but not yet completed. */
+    private final AtomicInteger nPending = new AtomicInteger();
+
+    /* The first exception thrown by a redo task. */
+    private volatile Throwable failure;
+
+    /* Set by close to cause queued tasks to be skipped. */
+    private volatile boolean closed;
+
+    /* Stats, only updated by the recovery thread. */
+    private long nDispatched;
+    private long nSerial;
+    private long dispatchWaitNanos;
+
+    /* A redo task and the database it applies to. */
+    private static class RedoTask {
+        final DatabaseImpl db;
+        final Consumer<TreeLocation> redo;
+
+        RedoTask(DatabaseImpl db, Consumer<TreeLocation> redo) {
+            this.db = db;
+            this.redo = redo;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ParallelRedo(EnvironmentImpl envImpl, int nThreads) {
+        this.envImpl = envImpl;
+        dbTree = envImpl.getDbTree();
+        queues = new BlockingQueue[nThreads];
+        pool = Executors.newFixedThreadPool(
+            nThreads,
+            new StoppableThreadFactory(
+                envImpl, "JERecoveryRedo", envImpl.getLogger(),
+                envImpl.getFileManager().getMiscStatsCollector()));
+
+        for (int i = 0; i < nThreads; i += 1) {
+            final BlockingQueue<RedoTask> queue =
+                new ArrayBlockingQueue<>(QUEUE_SIZE);
+            queues[i] = queue;
+            pool.execute(() -> runRedoThread(queue));
+        }
+    }
+
+    /**
+     * Queues the redo for the given database. The redo is called with a
+     * TreeLocation owned by the redo thread. If this method returns normally,
+     * the caller's use of the database is transferred to this object, which
+     * releases the database after the redo is done. If it throws, the caller
+     * must release the database.
+     */
+    void dispatch(DatabaseImpl db, Consumer<TreeLocation> redo) {
+
+        nPending.incrementAndGet();
+        boolean queued = false;
+        try {
+            checkFailure();
+
+            final RedoTask task = new RedoTask(db, redo);
+            final BlockingQueue<RedoTask> queue = queues[
+                (int) Math.floorMod(db.getId().getId(), (long) queues.length)];
+
+            if (!queue.offer(task)) {
+                final long start = System.nanoTime();
+                queue.put(task);
+                dispatchWaitNanos += System.nanoTime() - start;
+            }
+            queued = true;
+            nDispatched += 1;
+
+        } catch (InterruptedException e) {
+            throw new ThreadInterruptedException(envImpl, e);
+        } finally {
+            if (!queued) {
+                taskDone();
+            }
+        }
+    }
+
+    /**
+     * Waits for all dispatched redo tasks to complete, so that the caller can
+     * apply an LN itself.
+     */
+    void drainForSerialRedo() {
+        waitForPendingTasks();
+        checkFailure();
+        nSerial += 1;
+    }
+
+    /**
+     * Waits for all dispatched redo tasks to complete and throws the first
+     * exception thrown by a redo task, if any.
+     */
+    void finish() {
+        waitForPendingTasks();
+        checkFailure();
+    }
+
+    /**
+     * Skips any tasks that are still queued, waits for running tasks to
+     * complete, and stops the redo threads. Redo threads are not interrupted
+     * while applying an LN, since an interrupt could close a log file channel.
+     */
+    void close() {
+        closed = true;
+        waitForPendingTasks();
+        pool.shutdownNow();
+        try {
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new ThreadInterruptedException(envImpl, e);
+        }
+    }
+
+    StatGroup getStats() {
+        final StatGroup stats = new StatGroup(GROUP_NAME, GROUP_DESC);
+        new IntStat(stats, REDO_THREADS, queues.length);
+        new LongStat(stats, REDO_DISPATCHED, nDispatched);
+        new LongStat(stats, REDO_SERIAL, nSerial);
+        new LongStat(stats, REDO_DISPATCH_WAIT_MS,
+                     TimeUnit.NANOSECONDS.toMillis(dispatchWaitNanos));
+        return stats;
+    }
+
+    private void runRedoThread(BlockingQueue<RedoTask> queue) {
+        final TreeLocation location = new TreeLocation();
+        while (true) {
+            final RedoTask task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                /* Interrupted by close. */
+                return;
+            }
+            try {
+                if (failure == null && !closed) {
+                    task.redo.accept(location);
+                }
+            } catch (Throwable e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            } finally {
+                dbTree.releaseDb(task.db);
+                taskDone();
+            }
+        }
+    }
+
+    private void taskDone() {
+        if (nPending.decrementAndGet() == 0) {
+            synchronized (nPending) {
+                nPending.notifyAll();
+            }
+        }
+    }
+
+    private void waitForPendingTasks() {
+        synchronized (nPending) {
+            while (nPending.get() > 0) {
+                try {
+                    nPending.wait();
+                } catch (InterruptedException e) {
+                    throw new ThreadInterruptedException(envImpl, e);
+                }
+            }
+        }
+    }
+
+    private void checkFailure() {
+        final Throwable e = failure;
+        if (e == null) {
+            return;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw EnvironmentFailureException.unexpectedException(
+            envImpl, (Exception) e);
+    }
+}
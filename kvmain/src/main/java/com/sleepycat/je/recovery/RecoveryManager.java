@@ -269,6 +269,9 @@ public class RecoveryManager {
     private final StartupTracker startupTracker;
     private final Logger logger;
 
+    /* Number of threads used to apply LNs in the RedoLNs phase. */
+    private final int redoThreads;
+
     /* Used to recalc disk usage to prevent eviction from violating limits. */
     private int nOpsSinceDiskLimitRecalc = 0;
 
@@ -282,6 +285,7 @@ public class RecoveryManager {
         DbConfigManager cm = env.getConfigManager();
         readBufferSize =
             cm.getInt(EnvironmentParams.LOG_ITERATOR_READ_SIZE);
+        redoThreads = cm.getInt(EnvironmentParams.ENV_RECOVERY_REDO_THREADS);
         committedTxnIds = new HashMap<>();
         abortedTxnIds = new HashSet<>();
         resurrectedLsns = new HashSet<>();
@@ -889,7 +893,8 @@ public class RecoveryManager {
             Set<LogEntryType> mapLNSet = new HashSet<>();
             mapLNSet.add(LogEntryType.LOG_MAPLN);
 
-            redoLNs(mapLNSet, startupTracker.getCounter(Phase.REDO_MAP_LNS));
+            redoLNs(mapLNSet, startupTracker.getCounter(Phase.REDO_MAP_LNS),
+                    null /*parallelRedo*/);
 
             startupTracker.stop(Phase.REDO_MAP_LNS);
 
@@ -946,7 +951,22 @@ public class RecoveryManager {
                 }
             }
 
-            redoLNs(lnSet, startupTracker.getCounter(Phase.REDO_LNS));
+            /*
+             * The mapping tree is complete, so LNs of different databases may
+             * be applied concurrently.
+             */
+            final ParallelRedo parallelRedo = (redoThreads > 1) ?
+                new ParallelRedo(envImpl, redoThreads) : null;
+            try {
+                redoLNs(lnSet, startupTracker.getCounter(Phase.REDO_LNS),
+                        parallelRedo);
+            } finally {
+                if (parallelRedo != null) {
+                    parallelRedo.close();
+                    startupTracker.setStats(
+                        Phase.REDO_LNS, parallelRedo.getStats());
+                }
+            }
 
             startupTracker.stop(Phase.REDO_LNS);
 
@@ -2175,10 +2195,14 @@ public class RecoveryManager {
      *  - all committed LNs
      *  - all prepared LNs
      *  - all uncommitted, replicated LNs on a replicated node.
+     *
+     * @param parallelRedo if non-null, LNs are applied to the tree by its
+     * redo threads; this is only allowed after the mapping tree is complete.
      */
     private void redoLNs(
         Set<LogEntryType> lnTypes,
-        StartupTracker.Counter counter)
+        StartupTracker.Counter counter,
+        ParallelRedo parallelRedo)
         throws DatabaseException {
 
         long endOfFileLsn = info.nextAvailableLsn;
@@ -2258,19 +2282,28 @@ public class RecoveryManager {
                     continue;
                 }
 
+                boolean dispatched = false;
                 try {
                     LNLogEntry<?> logrec = reader.getLNLogEntry();
                     logrec.postFetchInit(db);
 
                     counter.incNumProcessed();
 
-                    redoOneLN(
-                        reader, logrec, logrecLsn, dbId, db, eligible, location);
+                    dispatched = redoOneLN(
+                        reader, logrec, logrecLsn, dbId, db, eligible, location,
+                        parallelRedo);
                 } finally {
-                    dbMapTree.releaseDb(db);
+                    /* A dispatched redo releases the db when it is done. */
+                    if (!dispatched) {
+                        dbMapTree.releaseDb(db);
+                    }
                 }
             }
 
+            if (parallelRedo != null) {
+                parallelRedo.finish();
+            }
+
             counter.setRepeatIteratorReads(reader.getNRepeatIteratorReads());
 
         } catch (Exception e) {
@@ -2381,15 +2414,22 @@ public class RecoveryManager {
      * Redo the LN and utilization info. LNs from prepared and replay txns are
      * "resurrected" and also need to re-establish its write locks and undo
      * information.
+     *
+     * If parallelRedo is non-null, the tree is updated by a redo thread and
+     * true is returned, unless the tree LSN is needed here for utilization
+     * counting of an older log version. In that case the pending redos are
+     * drained and the tree is updated by this thread, as it is when
+     * parallelRedo is null, and false is returned.
      */
-    private void redoOneLN(
+    private boolean redoOneLN(
         LNFileReader reader,
         LNLogEntry<?> logrec,
         long logrecLsn,
         DatabaseId dbId,
         DatabaseImpl db,
         RedoEligible eligible,
-        TreeLocation location)
+        TreeLocation location,
+        ParallelRedo parallelRedo)
         throws DatabaseException {
 
         int logrecSize = reader.getLastEntrySize();
@@ -2408,8 +2448,18 @@ public class RecoveryManager {
             relock(eligible.resurrectTxn, logrecLsn, logrec, db);
         }
 
-        long treeLsn = redo(
-            db, location, logrec, logrecLsn, logrecSize, eligible, logVersion);
+        final boolean dispatch = (parallelRedo != null && logVersion >= 16);
+        long treeLsn = DbLsn.NULL_LSN;
+
+        if (!dispatch) {
+            if (parallelRedo != null) {
+                /* Earlier LNs of this DB must be applied first. */
+                parallelRedo.drainForSerialRedo();
+            }
+            treeLsn = redo(
+                db, location, logrec, logrecLsn, logrecSize, eligible,
+                logVersion);
+        }
 
         /*
          * Add any db that we encounter LN's for because they'll be part of the
@@ -2492,6 +2542,21 @@ public class RecoveryManager {
                 eligible.commitLsn, eligible.isCommitted(), db);
 
         }
+
+        if (dispatch) {
+            /*
+             * The reader reuses its logrec for the next entry of the same
+             * type, so give the redo thread a copy. A shallow copy is enough
+             * because reading an entry replaces, rather than modifies, the
+             * key and LN.
+             */
+            final LNLogEntry<?> logrecCopy = (LNLogEntry<?>) logrec.clone();
+            parallelRedo.dispatch(
+                db, redoLocation -> redo(
+                    db, redoLocation, logrecCopy, logrecLsn, logrecSize,
+                    eligible, logVersion));
+        }
+        return dispatch;
     }
 
     /*
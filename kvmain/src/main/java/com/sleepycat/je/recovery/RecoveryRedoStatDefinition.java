@@ -0,0 +1,65 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.recovery;
+
+import com.sleepycat.je.utilint.StatDefinition;
+
+/**
+ * Per-stat Metadata for the parallel redo of LNs during recovery. These stats
+ * are reported by the StartupTracker for the RedoLNs phase.
+ */
+public class RecoveryRedoStatDefinition {
+    public static final String GROUP_NAME = "RecoveryRedo";
+    public static final String GROUP_DESC =
+        "LNs redone by recovery are applied to the Btree by redo threads.";
+
+    public static final String REDO_THREADS_NAME =
+        "nRedoThreads";
+    public static final String REDO_THREADS_DESC =
+        "Number of threads used to apply redone LNs.";
+    public static final StatDefinition REDO_THREADS =
+        new StatDefinition(
+            REDO_THREADS_NAME,
+            REDO_THREADS_DESC);
+
+    public static final String REDO_DISPATCHED_NAME =
+        "nRedoDispatched";
+    public static final String REDO_DISPATCHED_DESC =
+        "Number of LNs applied by redo threads.";
+    public static final StatDefinition REDO_DISPATCHED =
+        new StatDefinition(
+            REDO_DISPATCHED_NAME,
+            REDO_DISPATCHED_DESC);
+
+    public static final String REDO_SERIAL_NAME =
+        "nRedoSerial";
+    public static final String REDO_SERIAL_DESC =
+        "Number of LNs applied by the reading thread after waiting for the " +
+            "redo threads to finish, because they have a log version that " +
+            "requires the tree LSN for utilization counting.";
+    public static final StatDefinition REDO_SERIAL =
+        new StatDefinition(
+            REDO_SERIAL_NAME,
+            REDO_SERIAL_DESC);
+
+    public static final String REDO_DISPATCH_WAIT_MS_NAME =
+        "redoDispatchWaitMs";
+    public static final String REDO_DISPATCH_WAIT_MS_DESC =
+        "Time in milliseconds that the reading thread waited for space in " +
+            "the queue of a redo thread.";
+    public static final StatDefinition REDO_DISPATCH_WAIT_MS =
+        new StatDefinition(
+            REDO_DISPATCH_WAIT_MS_NAME,
+            REDO_DISPATCH_WAIT_MS_DESC);
+}
@@ -293,6 +293,34 @@ public class RepParams {
                                 false,                       // mutable
                                 true);                       // forReplication
 
+    /*
+     * The size of the array used by the master to find the transactions that
+     * are awaiting replica acknowledgments by their txn id. A transaction
+     * whose slot is already in use is kept in a HashMap instead, so the size
+     * should exceed the number of commits that can await acks at one time,
+     * which is large when async acks let a few request threads keep many
+     * writes in flight. Must be a power of two.
+     */
+    public static final IntConfigParam FEEDER_TXN_MAP_SIZE =
+        new IntConfigParam(EnvironmentParams.REP_PARAM_PREFIX +
+                           "feederTxnMapSize",
+                           Integer.valueOf(16),       // min
+                           Integer.valueOf(1 << 20),  // max
+                           Integer.valueOf(4096),     // default
+                           false,                     // mutable
+                           true) {                    // forReplication
+
+            @Override
+            public void validateValue(String value) {
+                super.validateValue(value);
+                if (Integer.bitCount(Integer.parseInt(value)) != 1) {
+                    throw new IllegalArgumentException
+                        (getName() + ": " + value +
+                         " is not a power of two");
+                }
+            }
+        };
+
     /**
      * Internal parameter enable use of the group ack message. It's on by
      * default since protocol version 6.
@@ -605,6 +633,23 @@ public class RepParams {
                            true,                              // mutable
                            true);                             // forReplication
 
+    /**
+     * Internal parameter that determines whether the batches of messages
+     * written by a feeder, whose size is bounded by FEEDER_BATCH_BUFF_KB, are
+     * compressed before being sent over the network. A replica asks for
+     * compression during the feeder-replica handshake when the parameter is
+     * set on the replica, and the feeder agrees when it is also set on the
+     * feeder and the replica supports protocol version 16. Compression trades
+     * feeder and replica CPU for network bandwidth, so it's mainly useful for
+     * groups that span WAN links.
+     */
+    public static final BooleanConfigParam FEEDER_BATCH_COMPRESSION =
+        new BooleanConfigParam(EnvironmentParams.REP_PARAM_PREFIX +
+                               "feederBatchCompression",
+                               false,            // default
+                               false,            // mutable
+                               true);            // forReplication
+
     /**
      * @see ReplicationMutableConfig#ELECTABLE_GROUP_SIZE_OVERRIDE
      */
@@ -856,6 +901,54 @@ public class RepParams {
          false,                   // mutable
          true);                   // forReplication
 
+    /*
+     * The capacity in bytes of the log read cache shared by all the feeders
+     * on the master. Entries read from the log by a feeder are retained, so
+     * that feeders for other replicas and subscribers that are behind by a
+     * similar amount do not read them from the log again. This is useful when
+     * several feeders lag the master, e.g. after a network partition. The
+     * cache is disabled by default, since its memory is not accounted for by
+     * the JE cache budget.
+     */
+    /*
+     * The number of the most recent VLSNs whose exact LSNs are held in memory
+     * by the VLSNIndex, so that feeders and syncup can find them without
+     * searching the VLSN buckets or scanning the log. Each VLSN takes 16
+     * bytes. The size must be a power of two, or zero to disable the index.
+     */
+    public static final IntConfigParam VLSN_TAIL_INDEX_SIZE =
+        new IntConfigParam
+        (EnvironmentParams.REP_PARAM_PREFIX + "vlsn.tailIndexSize",
+         Integer.valueOf(0),      // min
+         Integer.valueOf(1<<24),  // max
+         Integer.valueOf(1<<14),  // default
+         false,                   // mutable
+         true);                   // forReplication
+
+    public static final LongConfigParam FEEDER_READ_CACHE_SIZE =
+        new LongConfigParam
+        (EnvironmentParams.REP_PARAM_PREFIX + "vlsn.feederReadCacheSize",
+         Long.valueOf(0),         // min
+         null,                    // max
+         Long.valueOf(0),         // default
+         false,                   // mutable
+         true);                   // forReplication
+
+    /*
+     * The max number of entries in the log item cache, starting with the
+     * entry being fed, whose before images are fetched together by a feeder
+     * of a stream with before images enabled. A value of 1 fetches each
+     * before image separately.
+     */
+    public static final IntConfigParam FEEDER_BEFORE_IMAGE_BATCH_SIZE =
+        new IntConfigParam
+        (EnvironmentParams.REP_PARAM_PREFIX + "feederBeforeImageBatchSize",
+         Integer.valueOf(1),      // min
+         Integer.valueOf(1024),   // max
+         Integer.valueOf(64),     // default
+         false,                   // mutable
+         true);                   // forReplication
+
     /*
      * Whether optimizing for size of replicated entries is more important
      * than the extra memory allocation required to do so. Due to the priority
@@ -895,6 +988,22 @@ public class RepParams {
          false,  // mutable
          true);  // forReplication
 
+    /*
+     * Number of applier threads used to apply replicated LNs in parallel, by
+     * database, while commits are still replayed in VLSN order by the replay
+     * thread. Zero, the default, disables parallel replay and all entries are
+     * applied by the replay thread. This is not exposed in the API until its
+     * benefit has been measured for a range of workloads.
+     */
+    public static final IntConfigParam REPLAY_APPLIER_THREADS =
+        new IntConfigParam
+        (EnvironmentParams.REP_PARAM_PREFIX + "replayApplierThreads",
+         0,      // min
+         64,     // max
+         0,      // default
+         false,  // mutable
+         true);  // forReplication
+
     /*
      * The socket timeout value used by a Replica when it opens a new
      * connection to establish a replication stream with a feeder.
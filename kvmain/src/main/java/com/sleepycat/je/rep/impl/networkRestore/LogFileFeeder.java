@@ -19,18 +19,22 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.logging.Logger;
+import java.util.zip.CRC32C;
 
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.EnvironmentFailureException;
 import com.sleepycat.je.dbi.EnvironmentFailureReason;
 import com.sleepycat.je.log.FileManager;
+import com.sleepycat.je.rep.impl.networkRestore.Protocol.FileChunkReq;
 import com.sleepycat.je.rep.impl.networkRestore.Protocol.FileInfoReq;
 import com.sleepycat.je.rep.impl.networkRestore.Protocol.FileInfoResp;
 import com.sleepycat.je.rep.impl.networkRestore.Protocol.FileReq;
+import com.sleepycat.je.rep.net.DataChannel;
 import com.sleepycat.je.rep.utilint.BinaryProtocol.ProtocolException;
 import com.sleepycat.je.rep.utilint.NamedChannel;
 import com.sleepycat.je.rep.utilint.RepUtils;
@@ -196,6 +200,9 @@ public class LogFileFeeder extends StoppableThread {
      *
      *  FileStart <file byte stream> FileEnd
      *
+     * and the response sequence to a FileChunkReq looks like:
+     *
+     *  FileChunkStart [<chunk byte stream> ChunkEnd]* FileEnd
      */
     private void sendRequestedFiles()
         throws IOException, ProtocolException, DatabaseException {
@@ -245,6 +252,14 @@ public class LogFileFeeder extends StoppableThread {
                     }
                     resp = protocol.new FileInfoResp
                         (fileName, length, lastModified, digest);
+                } else if (fileReq instanceof FileChunkReq) {
+                    sendFileChunks(file, length, lastModified,
+                                   ((FileChunkReq) fileReq).
+                                   getChunkChecksums());
+                    /* The chunk checksums take the place of the digest. */
+                    digest = new byte[0];
+                    resp = protocol.new FileEnd
+                        (fileName, length, lastModified, digest);
                 } else {
                     protocol.write(protocol.new FileStart
                                    (fileName, length, lastModified),
@@ -377,6 +392,188 @@ public class LogFileFeeder extends StoppableThread {
         return messageDigest.digest();
     }
 
+    /**
+     * Sends the chunks of the file following the ones the client already
+     * has, each followed by its checksum. Like sendFileContents, it relies on
+     * the promised file size rather than EOF detection.
+     *
+     * The whole file is read and verified, since the LogVerifier must start
+     * at the beginning of the file, and the chunks the client has must be
+     * checksummed to find the first one it needs. When the channel is not
+     * secure, the chunks are sent directly from the file with transferTo,
+     * which avoids copying the file contents through the JVM heap and into
+     * the socket buffers.
+     *
+     * @param file the log file to be sent.
+     * @param length the number of bytes to send
+     * @param lastModified the last modified time of the file
+     * @param clientChecksums the checksums of the chunks the client has
+     */
+    private void sendFileChunks(final File file,
+                                final long length,
+                                final long lastModified,
+                                final long[] clientChecksums)
+        throws IOException {
+
+        final LogVerifier verifier =
+            new LogVerifier(feederManager.getEnvImpl(), file.getName(), -1L);
+        final CRC32C crc = new CRC32C();
+        final ByteBuffer buffer = ByteBuffer.allocate(READ_FILE_BYTES);
+        final DataChannel dataChannel = namedChannel.getChannel();
+        final boolean zeroCopy =
+            !dataChannel.isSecure() && dataChannel.isBlocking();
+        long startOffset = -1;
+        long transmitBytes = 0;
+
+        try (FileInputStream fileStream = new FileInputStream(file)) {
+            final FileChannel fileChannel = fileStream.getChannel();
+
+            for (long chunkStart = 0; chunkStart < length;
+                 chunkStart += Protocol.CHUNK_BYTES) {
+
+                final int chunkLength =
+                    (int) Math.min(Protocol.CHUNK_BYTES, length - chunkStart);
+                final int chunk = (int) (chunkStart / Protocol.CHUNK_BYTES);
+                crc.reset();
+
+                if ((startOffset < 0) &&
+                    (chunkLength == Protocol.CHUNK_BYTES) &&
+                    (chunk < clientChecksums.length)) {
+
+                    readChunk(fileChannel, file, chunkStart, chunkLength,
+                              buffer, verifier, crc, null);
+                    if (clientChecksums[chunk] == crc.getValue()) {
+                        /* The client already has this chunk. */
+                        continue;
+                    }
+                    startOffset = chunkStart;
+                    protocol.write(protocol.new FileChunkStart
+                                   (file.getName(), length, lastModified,
+                                    startOffset),
+                                   namedChannel);
+
+                    /* Send the chunk that was just verified. */
+                    transmitBytes += zeroCopy ?
+                        transferChunk(fileChannel, chunkStart, chunkLength,
+                                      dataChannel.getSocketChannel()) :
+                        readChunk(fileChannel, file, chunkStart, chunkLength,
+                                  buffer, null, null, dataChannel);
+                } else {
+                    if (startOffset < 0) {
+                        startOffset = chunkStart;
+                        protocol.write(protocol.new FileChunkStart
+                                       (file.getName(), length, lastModified,
+                                        startOffset),
+                                       namedChannel);
+                    }
+                    if (zeroCopy) {
+                        readChunk(fileChannel, file, chunkStart, chunkLength,
+                                  buffer, verifier, crc, null);
+                        transmitBytes += transferChunk(
+                            fileChannel, chunkStart, chunkLength,
+                            dataChannel.getSocketChannel());
+                    } else {
+                        transmitBytes += readChunk(
+                            fileChannel, file, chunkStart, chunkLength,
+                            buffer, verifier, crc, dataChannel);
+                    }
+                }
+                protocol.write(protocol.new ChunkEnd(crc.getValue()),
+                               namedChannel);
+            }
+
+            if (startOffset < 0) {
+                /* The client has all of the file. */
+                startOffset = length;
+                protocol.write(protocol.new FileChunkStart
+                               (file.getName(), length, lastModified,
+                                startOffset),
+                               namedChannel);
+            }
+            verifier.verifyAtEof();
+        }
+
+        if (transmitBytes != (length - startOffset)) {
+            throw new IllegalStateException(
+                "File length:" + length + " from offset:" + startOffset +
+                " does not match the number of bytes that were" +
+                " transmitted:" + transmitBytes);
+        }
+
+        final String msg =
+            String.format("LogFileFeeder " + id  + " :sent file: %s" +
+                          " Length:%,d bytes from offset:%,d" +
+                          " zeroCopy:%b to client:%d",
+                          file, length, startOffset, zeroCopy, clientId);
+        LoggerUtils.info(logger, feederManager.getEnvImpl(), msg);
+    }
+
+    /**
+     * Reads a chunk of the file, passing its contents to the verifier and
+     * checksum, and writing them to the channel, if they are not null.
+     *
+     * @return the number of bytes written to the channel
+     */
+    private static long readChunk(final FileChannel fileChannel,
+                                  final File file,
+                                  final long chunkStart,
+                                  final int chunkLength,
+                                  final ByteBuffer buffer,
+                                  final LogVerifier verifier,
+                                  final CRC32C crc,
+                                  final DataChannel channel)
+        throws IOException {
+
+        long writtenBytes = 0;
+        for (int pos = 0; pos < chunkLength; ) {
+            buffer.clear();
+            buffer.limit(Math.min(buffer.capacity(), chunkLength - pos));
+            final int readBytes = fileChannel.read(buffer, chunkStart + pos);
+            if (readBytes < 0) {
+                throw new IOException("Premature EOF in file: " + file +
+                                      " at offset: " + (chunkStart + pos));
+            }
+            if (verifier != null) {
+                verifier.verify(buffer.array(), 0, readBytes);
+            }
+            if (crc != null) {
+                crc.update(buffer.array(), 0, readBytes);
+            }
+            if (channel != null) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    writtenBytes += channel.write(buffer);
+                }
+            }
+            pos += readBytes;
+        }
+        return writtenBytes;
+    }
+
+    /**
+     * Sends a chunk directly from the file to the socket.
+     */
+    private static long transferChunk(final FileChannel fileChannel,
+                                      final long chunkStart,
+                                      final int chunkLength,
+                                      final SocketChannel socketChannel)
+        throws IOException {
+
+        long transferred = 0;
+        while (transferred < chunkLength) {
+            final long bytes = fileChannel.transferTo(
+                chunkStart + transferred, chunkLength - transferred,
+                socketChannel);
+            if (bytes <= 0) {
+                throw new IOException(
+                    "Unable to transfer file contents at offset: " +
+                    (chunkStart + transferred));
+            }
+            transferred += bytes;
+        }
+        return transferred;
+    }
+
     /**
      * Sets up the channel to facilitate efficient transfer of large log files.
      */
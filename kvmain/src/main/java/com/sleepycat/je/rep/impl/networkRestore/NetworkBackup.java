@@ -14,9 +14,12 @@
 package com.sleepycat.je.rep.impl.networkRestore;
 
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.BACKUP_FILE_COUNT;
+import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.CHUNK_MISMATCH_COUNT;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.DISPOSED_COUNT;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.EXPECTED_BYTES;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.FETCH_COUNT;
+import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.REMAINING_SECONDS;
+import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.RESUMED_BYTES;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.SKIP_COUNT;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.TRANSFERRED_BYTES;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.TRANSFER_RATE;
@@ -26,6 +29,7 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
@@ -48,6 +52,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32C;
 
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.EnvironmentFailureException;
@@ -59,7 +64,9 @@ import com.sleepycat.je.log.LogManager;
 import com.sleepycat.je.log.RestoreMarker;
 import com.sleepycat.je.log.entry.RestoreRequired;
 import com.sleepycat.je.rep.impl.RepImpl;
+import com.sleepycat.je.rep.impl.networkRestore.Protocol.ChunkEnd;
 import com.sleepycat.je.rep.impl.networkRestore.Protocol.FeederInfoResp;
+import com.sleepycat.je.rep.impl.networkRestore.Protocol.FileChunkStart;
 import com.sleepycat.je.rep.impl.networkRestore.Protocol.FileEnd;
 import com.sleepycat.je.rep.impl.networkRestore.Protocol.FileInfoResp;
 import com.sleepycat.je.rep.impl.networkRestore.Protocol.FileListResp;
@@ -204,6 +211,9 @@ public class NetworkBackup {
     private final AtomicLongStat expectedBytes;
     private final AtomicLongStat transferredBytes;
     private final LongAvgRateStat transferRate;
+    private final AtomicLongStat resumedBytes;
+    private final AtomicIntStat chunkMismatchCount;
+    private final AtomicLongStat remainingSeconds;
 
     private final Logger logger;
 
@@ -349,6 +359,11 @@ public class NetworkBackup {
             statistics, TRANSFERRED_BYTES);
         transferRate = new LongAvgRateStat(
             statistics, TRANSFER_RATE, 10000, SECONDS);
+        resumedBytes = new AtomicLongStat(statistics, RESUMED_BYTES);
+        chunkMismatchCount =
+            new AtomicIntStat(statistics, CHUNK_MISMATCH_COUNT);
+        remainingSeconds =
+            new AtomicLongStat(statistics, REMAINING_SECONDS);
 
         this.exceptionProperties = exceptionProperties;
         restoreMarker = new RestoreMarker(fileManager, logManager, true);
@@ -824,6 +839,11 @@ public class NetworkBackup {
         throws IOException, ProtocolException, DigestException,
                 RestoreMarker.FileCreationException {
 
+        if (protocol.getVersion() >= Protocol.VERSION_5) {
+            getFileChunks(file, channel, protocol);
+            return;
+        }
+
         LoggerUtils.fine(logger, repImpl, "Requesting file: " + file);
         protocol.write(protocol.new FileReq(file.getName()), channel);
         final FileStart fileResp =
@@ -885,8 +905,7 @@ public class NetworkBackup {
 
                 /* Update the transfer rate at interval and last time */
                 if (((++count % rateInterval) == 0) || (bytes <= 0)) {
-                    transferRate.add(
-                        transferredBytes.get(), TimeSupplier.currentTimeMillis());
+                    updateTransferRate();
                 }
             }
 
@@ -916,6 +935,196 @@ public class NetworkBackup {
             throw new DigestException();
         }
 
+        installFile(file, tmpFile);
+    }
+
+    /**
+     * Requests and obtains the specific log file from the server in chunks,
+     * using the VERSION_5 protocol. The chunks are written to the tmp file,
+     * which is renamed to the log file once all chunks have been verified.
+     *
+     * The tmp file is retained when the transfer fails, and the chunks that
+     * were written to it are offered to the server when the file is
+     * requested again, so that only the chunks that the server does not
+     * confirm are transferred again. The server confirms a chunk only if its
+     * own copy has the same checksum, so chunks are never mixed across
+     * servers, whose log files are different.
+     */
+    private void getFileChunks(final File file,
+                               final DataChannel channel,
+                               final Protocol protocol)
+        throws IOException, ProtocolException, DigestException,
+               RestoreMarker.FileCreationException {
+
+        final File tmpFile = new File(
+            fileManager.getFullFileName(file.getName()) +
+                FileManager.TMP_SUFFIX);
+        final CRC32C crc = new CRC32C();
+        final ByteBuffer buffer =
+            ByteBuffer.allocateDirect(LogFileFeeder.TRANSFER_BYTES);
+
+        try (RandomAccessFile raf = new RandomAccessFile(tmpFile, "rw")) {
+            final FileChannel fileChannel = raf.getChannel();
+
+            final long[] checksums =
+                getChunkChecksums(fileChannel, buffer, crc);
+            LoggerUtils.fine(logger, repImpl,
+                "Requesting file: " + file + " with " + checksums.length +
+                " chunks present");
+            protocol.write(
+                protocol.new FileChunkReq(file.getName(), checksums),
+                channel);
+            final FileChunkStart fileResp =
+                protocol.read(channel, Protocol.FileChunkStart.class);
+            final long length = fileResp.getFileLength();
+            final long startOffset = fileResp.getStartOffset();
+
+            /* Discard the chunks that the server did not confirm. */
+            fileChannel.truncate(startOffset);
+            fileChannel.position(startOffset);
+            if (startOffset > 0) {
+                resumedBytes.add(startOffset);
+                expectedBytes.add(-startOffset);
+            }
+
+            /*
+             * After a mismatch the remaining chunks are read but not written,
+             * to keep the channel positioned at the next message.
+             */
+            long mismatchOffset = -1;
+            final int rateInterval = 0x100000 / LogFileFeeder.TRANSFER_BYTES;
+            int count = 0;
+
+            for (long chunkStart = startOffset; chunkStart < length;
+                 chunkStart += Protocol.CHUNK_BYTES) {
+
+                final long chunkLength =
+                    Math.min(Protocol.CHUNK_BYTES, length - chunkStart);
+                crc.reset();
+
+                for (long bytes = chunkLength; bytes > 0;) {
+                    final int readSize =
+                        (int) Math.min(LogFileFeeder.TRANSFER_BYTES, bytes);
+                    buffer.clear();
+                    buffer.limit(readSize);
+                    final int actualBytes = channel.read(buffer);
+                    if (actualBytes == -1) {
+                        throw new IOException("Premature EOF. Was expecting:"
+                                              + readSize);
+                    }
+                    bytes -= actualBytes;
+
+                    buffer.flip();
+                    crc.update(buffer);
+                    if (mismatchOffset < 0) {
+                        buffer.rewind();
+                        while (buffer.hasRemaining()) {
+                            fileChannel.write(buffer);
+                        }
+                    }
+                    transferredBytes.add(actualBytes);
+
+                    if ((++count % rateInterval) == 0) {
+                        updateTransferRate();
+                    }
+                }
+
+                final ChunkEnd chunkEnd =
+                    protocol.read(channel, Protocol.ChunkEnd.class);
+                if ((mismatchOffset < 0) &&
+                    (chunkEnd.getChecksum() != crc.getValue())) {
+                    mismatchOffset = chunkStart;
+                    chunkMismatchCount.increment();
+                }
+            }
+            updateTransferRate();
+
+            protocol.read(channel, Protocol.FileEnd.class);
+
+            if (mismatchOffset >= 0) {
+                /* Retain the chunks preceding the mismatch for the retry. */
+                fileChannel.truncate(mismatchOffset);
+                LoggerUtils.warning(logger, repImpl,
+                    "checksum mismatch on file: " + file +
+                    " at offset: " + mismatchOffset);
+                throw new DigestException();
+            }
+            fileChannel.force(false);
+
+            if (logger.isLoggable(Level.INFO)) {
+                LoggerUtils.info(logger, repImpl,
+                    String.format(
+                        "Fetched log file: %s, size: %,d bytes," +
+                        " resumed at: %,d bytes," +
+                        " %s bytes," +
+                        " %s bytes," +
+                        " %s bytes/second," +
+                        " %s seconds remaining",
+                        file.getName(),
+                        length,
+                        startOffset,
+                        transferredBytes,
+                        expectedBytes,
+                        transferRate,
+                        remainingSeconds));
+            }
+        }
+
+        installFile(file, tmpFile);
+    }
+
+    /**
+     * Returns the checksums of the complete chunks in the tmp file.
+     */
+    private static long[] getChunkChecksums(final FileChannel fileChannel,
+                                            final ByteBuffer buffer,
+                                            final CRC32C crc)
+        throws IOException {
+
+        final int nChunks = (int) (fileChannel.size() / Protocol.CHUNK_BYTES);
+        final long[] checksums = new long[nChunks];
+        for (int i = 0; i < nChunks; i++) {
+            final long chunkStart = (long) i * Protocol.CHUNK_BYTES;
+            crc.reset();
+            for (int pos = 0; pos < Protocol.CHUNK_BYTES; ) {
+                buffer.clear();
+                buffer.limit(
+                    Math.min(buffer.capacity(), Protocol.CHUNK_BYTES - pos));
+                final int readBytes =
+                    fileChannel.read(buffer, chunkStart + pos);
+                if (readBytes < 0) {
+                    throw new IOException("Premature EOF in tmp file at: " +
+                                          (chunkStart + pos));
+                }
+                buffer.flip();
+                crc.update(buffer);
+                pos += readBytes;
+            }
+            checksums[i] = crc.getValue();
+        }
+        return checksums;
+    }
+
+    /**
+     * Updates the transfer rate, and the estimate of the time needed to
+     * transfer the remaining bytes at that rate.
+     */
+    private void updateTransferRate() {
+        transferRate.add(
+            transferredBytes.get(), TimeSupplier.currentTimeMillis());
+        final long rate = transferRate.get();
+        final long remainingBytes = expectedBytes.get() - transferredBytes.get();
+        remainingSeconds.set(
+            ((rate > 0) && (remainingBytes > 0)) ? (remainingBytes / rate) : 0);
+    }
+
+    /**
+     * Renames the tmp file, whose contents have been verified, to the log
+     * file.
+     */
+    private void installFile(final File file, final File tmpFile)
+        throws RestoreMarker.FileCreationException {
+
         /*
          * We're about to alter the files that exist in the log, either by
          * deleting file N.jdb, or by renaming N.jdb.tmp -> N, and thereby
@@ -65,4 +65,25 @@ public class NetworkBackupStatDefinition {
             "transferRate",
             "The moving average of the rate, in bytes per second, at which" +
             " bytes have been transferred so far.");
+
+    public static StatDefinition RESUMED_BYTES =
+        new StatDefinition(
+            "resumedBytes",
+            "The number of bytes of partially transferred files that were" +
+            " retained from an earlier attempt, and were not transferred" +
+            " again.",
+            CUMULATIVE);
+
+    public static StatDefinition CHUNK_MISMATCH_COUNT =
+        new StatDefinition
+        ("chunkMismatchCount",
+         "The number of file chunks whose checksum did not match the" +
+         " checksum computed by the server, and were transferred again.");
+
+    public static StatDefinition REMAINING_SECONDS =
+        new StatDefinition(
+            "remainingSeconds",
+            "The estimated number of seconds needed to transfer the" +
+            " remaining bytes at the current transfer rate.",
+            CUMULATIVE);
 }
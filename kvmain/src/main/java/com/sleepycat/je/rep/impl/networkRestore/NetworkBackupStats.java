@@ -14,9 +14,12 @@
 package com.sleepycat.je.rep.impl.networkRestore;
 
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.BACKUP_FILE_COUNT;
+import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.CHUNK_MISMATCH_COUNT;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.DISPOSED_COUNT;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.EXPECTED_BYTES;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.FETCH_COUNT;
+import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.REMAINING_SECONDS;
+import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.RESUMED_BYTES;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.SKIP_COUNT;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.TRANSFERRED_BYTES;
 import static com.sleepycat.je.rep.impl.networkRestore.NetworkBackupStatDefinition.TRANSFER_RATE;
@@ -70,6 +73,18 @@ public class NetworkBackupStats implements Serializable {
         return (stat == null) ? 0 : stat.get();
     }
 
+    public long getResumedBytes() {
+        return statGroup.getLong(RESUMED_BYTES);
+    }
+
+    public int getChunkMismatchCount() {
+        return statGroup.getInt(CHUNK_MISMATCH_COUNT);
+    }
+
+    public long getRemainingSeconds() {
+        return statGroup.getLong(REMAINING_SECONDS);
+    }
+
     @Override
     public String toString() {
         return statGroup.toString();
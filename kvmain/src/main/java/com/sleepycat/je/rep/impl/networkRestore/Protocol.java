@@ -37,12 +37,14 @@ import com.sleepycat.je.rep.utilint.BinaryProtocol;
  *
  *      FileReq -> FileStart <byte stream> FileEnd
  *
+ *      FileChunkReq -> FileChunkStart [<chunk byte stream> ChunkEnd]* FileEnd
+ *
  *      Done
  * }
  *
  * So a complete sequence of successful request messages looks like:
  *
- * FeederInfoReq FileListReq [[FileInfoReq] [FileReq] ]+ Done
+ * FeederInfoReq FileListReq [[FileInfoReq] [FileReq | FileChunkReq] ]+ Done
  *
  * A response sequence would look like:
  *
@@ -81,11 +83,25 @@ public class Protocol extends BinaryProtocol {
      */
     public static final int VERSION_4 = 4;
 
+    /**
+     * JE 25.1.11
+     * - add FileChunkReq, FileChunkStart and ChunkEnd, so that files are
+     *   transferred in chunks with a checksum each, and a partially
+     *   transferred file is resumed at the first chunk that does not match
+     */
+    public static final int VERSION_5 = 5;
+
     /* The minimum version we're willing to interact with. */
     static public final int MIN_VERSION = VERSION_2;
 
     /* The default (highest) version supported by the Protocol code. */
-    public static final int MAX_VERSION = VERSION_4;
+    public static final int MAX_VERSION = VERSION_5;
+
+    /*
+     * The size of the chunks in which files are transferred by FileChunkReq,
+     * the last chunk of a file may be smaller.
+     */
+    static final int CHUNK_BYTES = 0x400000;
 
     /* The messages defined by this class. */
     public final MessageOp FEEDER_INFO_REQ =
@@ -143,6 +159,22 @@ public class Protocol extends BinaryProtocol {
                 return new ThreadCount(buffer);
             });
 
+    public final MessageOp FILE_CHUNK_REQ =
+        new MessageOp((short)12, FileChunkReq.class, (ByteBuffer buffer) -> {
+            return new FileChunkReq(buffer);
+        });
+
+    public final MessageOp FILE_CHUNK_START =
+        new MessageOp((short)13, FileChunkStart.class,
+                      (ByteBuffer buffer) -> {
+            return new FileChunkStart(buffer);
+        });
+
+    public final MessageOp CHUNK_END =
+        new MessageOp((short)14, ChunkEnd.class, (ByteBuffer buffer) -> {
+            return new ChunkEnd(buffer);
+        });
+
     public Protocol(NameIdPair nameIdPair,
                     NameIdPair remoteNameIdPair,
                     int configuredVersion,
@@ -161,7 +193,10 @@ public class Protocol extends BinaryProtocol {
                               FILE_START,
                               FILE_END,
                               DONE,
-                              THREAD_COUNT});
+                              THREAD_COUNT,
+                              FILE_CHUNK_REQ,
+                              FILE_CHUNK_START,
+                              CHUNK_END});
     }
 
     /*
@@ -433,6 +468,127 @@ public class Protocol extends BinaryProtocol {
         }
     }
 
+    /**
+     * Requests that a specific file be sent to the client in chunks. If the
+     * client has a partial copy of the file from an earlier attempt, it sends
+     * the checksums of the complete chunks in its copy, and the server only
+     * sends the chunks following the ones that match.
+     */
+    public class FileChunkReq extends FileReq {
+
+        /* The checksums of the chunks the client has, 8 bytes each. */
+        private final byte[] chunkChecksums;
+
+        public FileChunkReq(String fileName, long[] chunkChecksums) {
+            super(fileName);
+            final ByteBuffer buffer =
+                ByteBuffer.allocate(chunkChecksums.length * 8);
+            for (long checksum : chunkChecksums) {
+                buffer.putLong(checksum);
+            }
+            this.chunkChecksums = buffer.array();
+        }
+
+        /** Called using reflection. */
+        @SuppressWarnings("unused")
+        public FileChunkReq(ByteBuffer buffer) {
+            super(buffer);
+            chunkChecksums = getByteArray(buffer);
+        }
+
+        @Override
+        public MessageOp getOp() {
+            return FILE_CHUNK_REQ;
+        }
+
+        @Override
+        public ByteBuffer wireFormat() {
+            return super.wireFormat(fileName, chunkChecksums);
+        }
+
+        public long[] getChunkChecksums() {
+            final ByteBuffer buffer = ByteBuffer.wrap(chunkChecksums);
+            final long[] checksums = new long[chunkChecksums.length / 8];
+            for (int i = 0; i < checksums.length; i++) {
+                checksums[i] = buffer.getLong();
+            }
+            return checksums;
+        }
+    }
+
+    /**
+     * The message starting the response to a FileChunkReq:
+     *
+     * FileChunkStart [<i>chunk byte stream</i> ChunkEnd]* FileEnd
+     *
+     * The chunks start at the start offset, the bytes preceding it are the
+     * ones the client already has.
+     */
+    public class FileChunkStart extends FileStart {
+
+        private final long startOffset;
+
+        public FileChunkStart(String fileName,
+                              long fileLength,
+                              long lastModifiedTime,
+                              long startOffset) {
+            super(fileName, fileLength, lastModifiedTime);
+            this.startOffset = startOffset;
+        }
+
+        public FileChunkStart(ByteBuffer buffer) {
+            super(buffer);
+            startOffset = LogUtils.readLong(buffer);
+        }
+
+        @Override
+        public MessageOp getOp() {
+            return FILE_CHUNK_START;
+        }
+
+        @Override
+        public ByteBuffer wireFormat() {
+            return wireFormat(fileName, fileLength, lastModifiedTime,
+                              startOffset);
+        }
+
+        public long getStartOffset() {
+            return startOffset;
+        }
+    }
+
+    /**
+     * Follows the bytes of each chunk, with the CRC32C checksum of the chunk
+     * as computed by the server.
+     */
+    public class ChunkEnd extends SimpleMessage {
+
+        private final long checksum;
+
+        public ChunkEnd(long checksum) {
+            super();
+            this.checksum = checksum;
+        }
+
+        public ChunkEnd(ByteBuffer buffer) {
+            checksum = LogUtils.readLong(buffer);
+        }
+
+        @Override
+        public MessageOp getOp() {
+            return CHUNK_END;
+        }
+
+        @Override
+        public ByteBuffer wireFormat() {
+            return wireFormat(checksum);
+        }
+
+        public long getChecksum() {
+            return checksum;
+        }
+    }
+
     /**
      * The message starting the response triple:
      *
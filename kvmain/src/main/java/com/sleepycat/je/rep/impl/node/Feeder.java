@@ -315,6 +315,12 @@ final public class Feeder {
      */
     private volatile int streamLogVersion = 0;
 
+    /**
+     * Whether the message batches sent by the log thread are compressed, as
+     * agreed during the handshake.
+     */
+    private volatile boolean batchCompression;
+
     /** The JE version of the replica, or null if not known. */
     private volatile JEVersion replicaJEVersion = null;
 
@@ -473,6 +479,15 @@ final public class Feeder {
                                               replicaNameIdPair,
                                               startVLSN);
 
+        /*
+         * Share log reads with the other feeders. Subscription clients and
+         * other external nodes are accounted for separately from replicas.
+         */
+        if (replicaNode != null) {
+            ((MasterFeederSource) feederSource).useFeederReadCache(
+                replicaNode.getType().name());
+        }
+
         /*
          * at this time both replica node type and feeder filter have been set,
          * set feeder source if feeder requires to stream durable entries
@@ -824,6 +839,7 @@ final public class Feeder {
                 protocolVersion = protocol.getVersion();
                 replicaNameIdPair = handshake.getReplicaNameIdPair();
                 streamLogVersion = handshake.getStreamLogVersion();
+                batchCompression = handshake.getBatchCompression();
                 replicaJEVersion = handshake.getReplicaJEVersion();
                 replicaNode = handshake.getReplicaNode();
 
@@ -1503,6 +1519,7 @@ final public class Feeder {
                 Protocol.get(repNode, replicaNameIdPair,
                              protocolVersion, protocolVersion,
                              streamLogVersion);
+            protocol.setBatchCompression(batchCompression);
             Thread.currentThread().setName
                 ("Log Thread for " + getReplicaNameIdPair().getName());
             {
@@ -1715,7 +1732,9 @@ final public class Feeder {
                             break;
                         }
 
-                        if (feederFilter.execute(record, repImpl) == null) {
+                        final OutputWireRecord filtered =
+                            feederFilter.execute(record, repImpl);
+                        if (filtered == null) {
                             /* skip the record, go to the next VLSN */
                             feederVLSN = VLSN.getNext(feederVLSN);
                             nowNs = System.nanoTime();
@@ -1725,6 +1744,16 @@ final public class Feeder {
                             }
                             continue;
                         }
+                        if (filtered != record) {
+                            /*
+                             * The filter rewrote the entry, send the new
+                             * record after releasing the original one.
+                             */
+                            if (envImpl.isValid()) {
+                                record.decrementUse();
+                            }
+                            record = filtered;
+                        }
                     }
 
                     if (commitToNetwork && txnId != 0) {
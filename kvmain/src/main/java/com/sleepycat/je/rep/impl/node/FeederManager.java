@@ -40,6 +40,7 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -479,6 +480,77 @@ final public class FeederManager {
         return ackFeeders.get();
     }
 
+    /**
+     * Returns the number of VLSNs by which the acknowledgments needed to
+     * satisfy the ack policy trail the latest commit or abort on the master,
+     * that is, the lag of the replica with the n'th smallest lag among the
+     * active replicas whose acks qualify, where n is the number of acks
+     * required. A replica's lag is based on the latest commit VLSN that it
+     * acknowledged or reported in a heartbeat response, so it includes the
+     * entries that its feeder has yet to send as well as those the replica
+     * has yet to replay. It is cheap enough to be checked for every write.
+     *
+     * <p>Replicas that have not yet acknowledged or reported a commit since
+     * their feeder started are ignored, since their position is not known.
+     * Treating them as lagging by the whole stream would shed every write
+     * each time a replica reconnects.</p>
+     *
+     * <p>Returns 0 if no acks are required, or if there are too few active
+     * replicas with a known position to satisfy the policy. Too few active
+     * replicas is detected when a transaction begins.</p>
+     */
+    public long getAckQuorumVLSNLag(ReplicaAckPolicy ackPolicy) {
+        final DurabilityQuorum durabilityQuorum = repNode.getDurabilityQuorum();
+        final int requiredAcks =
+            durabilityQuorum.getCurrentRequiredAckCount(ackPolicy);
+        if (requiredAcks <= 0) {
+            return 0;
+        }
+        final long[] replicaVLSNs = new long[activeFeeders.size()];
+        int nReplicas = 0;
+        for (final Feeder feeder : activeFeeders.values()) {
+            final RepNodeImpl replica = feeder.getReplicaNode();
+            if ((nReplicas == replicaVLSNs.length) || (replica == null) ||
+                !durabilityQuorum.replicaAcksQualify(replica)) {
+                continue;
+            }
+            replicaVLSNs[nReplicas++] = feeder.getReplicaTxnEndVLSN();
+        }
+        return getQuorumVLSNLag(repNode.getCurrentTxnEndVLSN(),
+                                replicaVLSNs, nReplicas, requiredAcks);
+    }
+
+    /**
+     * Returns the lag of the replica with the requiredAcks'th smallest lag
+     * behind txnEndVLSN, given the latest commit VLSN acknowledged by each
+     * qualifying replica in the first nReplicas entries of replicaVLSNs.
+     * Entries equal to NULL_VLSN, for replicas that have not acknowledged
+     * anything yet, are ignored. Returns 0 if there are fewer than
+     * requiredAcks other entries. The array is used to sort the lags, so its
+     * contents are overwritten. Public for testing.
+     */
+    public static long getQuorumVLSNLag(long txnEndVLSN,
+                                        long[] replicaVLSNs,
+                                        int nReplicas,
+                                        int requiredAcks) {
+        if (requiredAcks <= 0) {
+            return 0;
+        }
+        int nLags = 0;
+        for (int i = 0; i < nReplicas; i++) {
+            final long vlsn = replicaVLSNs[i];
+            if (vlsn == NULL_VLSN) {
+                continue;
+            }
+            replicaVLSNs[nLags++] = Math.max(0, txnEndVLSN - vlsn);
+        }
+        if (nLags < requiredAcks) {
+            return 0;
+        }
+        Arrays.sort(replicaVLSNs, 0, nLags);
+        return replicaVLSNs[requiredAcks - 1];
+    }
+
     public int activeAckArbiterCount() {
         return arbiterFeeders.get();
     }
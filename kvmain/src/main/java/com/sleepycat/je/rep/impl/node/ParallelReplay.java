@@ -0,0 +1,362 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.rep.impl.node;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import com.sleepycat.je.EnvironmentFailureException;
+import com.sleepycat.je.ThreadInterruptedException;
+import com.sleepycat.je.dbi.EnvironmentFailureReason;
+import com.sleepycat.je.log.ReplicationContext;
+import com.sleepycat.je.rep.impl.RepImpl;
+import com.sleepycat.je.utilint.LoggerUtils;
+import com.sleepycat.je.utilint.LongAvgStat;
+import com.sleepycat.je.utilint.LongHashMap;
+import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.StoppableThreadFactory;
+
+/**
+ * Applies replicated LNs on a pool of applier threads, so that the Btree
+ * work for LNs in different databases is done concurrently, while the
+ * replay thread continues to replay commits, aborts and database operations
+ * in VLSN order.
+ *
+ * <p>Each database is assigned to an applier by its id, so all LNs for a
+ * database are applied in VLSN order by a single thread, and LNs for
+ * different databases, which never share a BIN, are applied in parallel. In
+ * KVS every partition is a separate database, so the replication stream
+ * normally spreads across all appliers.</p>
+ *
+ * <p>A ReplayTxn must only be used by one thread at a time. All of a txn's
+ * LNs for one database go to the same applier, but when a txn writes to
+ * databases assigned to different appliers, the replay thread waits for the
+ * txn's earlier LNs to be applied before dispatching the next one. These
+ * waits are counted as serialized conflicts. Likewise, before the replay
+ * thread itself replays an entry for a txn (a commit, an abort, or an LN
+ * that cannot be applied in parallel), it waits for the txn's dispatched LNs
+ * to be applied, and before a NameLN it waits for all of them.</p>
+ *
+ * <p>Log entries must still be written in VLSN order, since feeders, syncup
+ * and the VLSN index read the log sequentially. Appliers therefore do the
+ * Btree search, locking and marshalling in parallel, but wait their turn,
+ * via the {@link ReplicationContext#awaitLogTurn} hook, before the LN is
+ * assigned an LSN. This also means commits are logged in VLSN order. Every
+ * such wait is for an entry with a smaller VLSN, so waits cannot form a
+ * cycle: appliers never wait for each other's latches because they work on
+ * different databases, and a replay txn can only wait for a record lock
+ * held by a txn whose commit or abort precedes the waiting LN in the stream,
+ * and which was therefore replayed before the LN was dispatched.</p>
+ *
+ * <p>An instance is created when the replay thread starts and is shut down
+ * by {@link #shutdown} when it exits, so no LN is being applied when the
+ * replay thread is not running, e.g., during syncup and rollback.</p>
+ *
+ * <p>Any failure in an applier invalidates the environment. No entry is
+ * logged after the failed LN, which ensures that the log, and the VLSN
+ * range recovered from it, have no gap.</p>
+ */
+class ParallelReplay {
+
+    /* The max number of LNs queued to an applier before dispatch waits. */
+    private static final int MAX_APPLIER_BACKLOG = 1000;
+
+    /* The interval at which waiting threads check for a failure. */
+    private static final long WAIT_MS = 100;
+
+    private final RepImpl repImpl;
+    private final Logger logger;
+    private final Applier[] appliers;
+
+    /*
+     * The VLSNs of dispatched LNs that have not yet been logged, in
+     * ascending order. Guarded by this object.
+     */
+    private final ArrayDeque<Long> unlogged = new ArrayDeque<>();
+
+    /* The number of dispatched LNs not yet applied. Guarded by this object. */
+    private int nInFlight;
+
+    /*
+     * The applier and ticket of the last LN dispatched for each txn. Only
+     * accessed by the replay thread.
+     */
+    private final LongHashMap<TxnState> txnStates = new LongHashMap<>();
+
+    /* The first failure in an applier, which invalidated the environment. */
+    private volatile EnvironmentFailureException failure;
+
+    /* Stats, owned by Replay and updated by the replay thread. */
+    private final LongStat nParallelLNs;
+    private final LongStat nSerializedConflicts;
+    private final LongAvgStat avgInFlight;
+
+    ParallelReplay(RepImpl repImpl,
+                   Logger logger,
+                   int nAppliers,
+                   LongStat nParallelLNs,
+                   LongStat nSerializedConflicts,
+                   LongAvgStat avgInFlight) {
+        this.repImpl = repImpl;
+        this.logger = logger;
+        this.nParallelLNs = nParallelLNs;
+        this.nSerializedConflicts = nSerializedConflicts;
+        this.avgInFlight = avgInFlight;
+
+        appliers = new Applier[nAppliers];
+        for (int i = 0; i < nAppliers; i++) {
+            appliers[i] = new Applier();
+        }
+    }
+
+    /**
+     * Dispatches an LN to the applier for its database. The op is called
+     * by the applier with the ReplicationContext that must be used to log
+     * the LN.
+     */
+    void dispatch(long txnId,
+                  long vlsn,
+                  long dbId,
+                  Consumer<ReplicationContext> op) {
+
+        checkFailure();
+
+        final int applierIndex = Math.floorMod(dbId, appliers.length);
+        final Applier applier = appliers[applierIndex];
+
+        TxnState state = txnStates.get(txnId);
+        if (state == null) {
+            state = new TxnState();
+            txnStates.put(txnId, state);
+        } else if (state.applier != applierIndex) {
+            synchronized (this) {
+                final Applier prev = appliers[state.applier];
+                if (prev.nApplied < state.ticket) {
+                    nSerializedConflicts.increment();
+                    while (prev.nApplied < state.ticket) {
+                        waitForChange();
+                    }
+                }
+            }
+        }
+
+        synchronized (this) {
+            while (applier.nDispatched - applier.nApplied >=
+                   MAX_APPLIER_BACKLOG) {
+                waitForChange();
+            }
+            unlogged.addLast(vlsn);
+            nInFlight++;
+            avgInFlight.add(nInFlight);
+            applier.nDispatched++;
+        }
+
+        state.applier = applierIndex;
+        state.ticket = applier.nDispatched;
+        nParallelLNs.increment();
+
+        applier.executor.execute(() -> apply(applier, vlsn, op));
+    }
+
+    /**
+     * Waits until the LNs dispatched for the txn have been applied and all
+     * dispatched LNs have been logged, so that the replay thread can use the
+     * txn and log the entry with the given VLSN.
+     *
+     * @param txnEnd is true if the entry is the txn's commit or abort, in
+     * which case the txn's state is discarded.
+     */
+    void awaitTxn(long txnId, long vlsn, boolean txnEnd) {
+        final TxnState state =
+            txnEnd ? txnStates.remove(txnId) : txnStates.get(txnId);
+        synchronized (this) {
+            if (state != null) {
+                final Applier applier = appliers[state.applier];
+                while (applier.nApplied < state.ticket) {
+                    waitForChange();
+                }
+            }
+            awaitTurn(vlsn);
+        }
+    }
+
+    /**
+     * Waits until all dispatched LNs have been applied, before the replay
+     * thread replays a database operation.
+     */
+    void awaitAll(long vlsn) {
+        synchronized (this) {
+            while (nInFlight > 0) {
+                waitForChange();
+            }
+            awaitTurn(vlsn);
+        }
+    }
+
+    /**
+     * Stops the applier threads after the LNs already dispatched have been
+     * applied.
+     */
+    void shutdown() {
+        for (final Applier applier : appliers) {
+            applier.executor.shutdown();
+        }
+        for (final Applier applier : appliers) {
+            try {
+                if (!applier.executor.awaitTermination(
+                        repImpl.getReplicaFeederChannelTimeoutMillis(),
+                        TimeUnit.MILLISECONDS)) {
+                    LoggerUtils.warning(logger, repImpl,
+                                        "Replay applier did not terminate" +
+                                        " in time, interrupting it");
+                    applier.executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                applier.executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        txnStates.clear();
+    }
+
+    private void apply(Applier applier,
+                       long vlsn,
+                       Consumer<ReplicationContext> op) {
+        final SequencedContext repContext = new SequencedContext(vlsn);
+        try {
+            if (failure == null) {
+                op.accept(repContext);
+            }
+        } catch (Throwable t) {
+            noteFailure(t);
+        } finally {
+            synchronized (this) {
+                if (!repContext.logged) {
+                    /* No entry was logged, let the following LNs proceed. */
+                    unlogged.remove(vlsn);
+                }
+                applier.nApplied++;
+                nInFlight--;
+                notifyAll();
+            }
+        }
+    }
+
+    private void noteFailure(Throwable t) {
+        final EnvironmentFailureException efe =
+            (t instanceof EnvironmentFailureException) ?
+            (EnvironmentFailureException) t :
+            new EnvironmentFailureException(
+                repImpl, EnvironmentFailureReason.UNEXPECTED_EXCEPTION_FATAL,
+                "Parallel replay failed", t);
+        synchronized (this) {
+            if (failure == null) {
+                failure = efe;
+            }
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Waits until every dispatched LN with a smaller VLSN has been logged.
+     */
+    private synchronized void awaitTurn(long vlsn) {
+        while (true) {
+            checkFailure();
+            final Long first = unlogged.peekFirst();
+            if (first == null || first >= vlsn) {
+                return;
+            }
+            waitForChange();
+        }
+    }
+
+    private synchronized void noteLogged(SequencedContext repContext) {
+        if (!repContext.logged) {
+            repContext.logged = true;
+            unlogged.remove(repContext.getClientVLSN());
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits for an LN to be applied or logged. Must be called while
+     * synchronized on this object.
+     */
+    private void waitForChange() {
+        checkFailure();
+        try {
+            wait(WAIT_MS);
+        } catch (InterruptedException e) {
+            throw new ThreadInterruptedException(repImpl, e);
+        }
+    }
+
+    /**
+     * The context used to log an LN applied by an applier thread, which
+     * waits for its turn before the LN is assigned an LSN.
+     */
+    private class SequencedContext extends ReplicationContext {
+
+        /* Guarded by the enclosing ParallelReplay. */
+        private boolean logged;
+
+        SequencedContext(long vlsn) {
+            super(vlsn);
+        }
+
+        @Override
+        public void awaitLogTurn() {
+            awaitTurn(getClientVLSN());
+        }
+
+        @Override
+        public void noteLogged() {
+            ParallelReplay.this.noteLogged(this);
+        }
+    }
+
+    private class Applier {
+
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            new StoppableThreadFactory(
+                repImpl, "JEReplayApplier", logger,
+                repImpl.getFileManager().getReplayStatsCollector()));
+
+        /* Updated by the replay thread while synchronized on ParallelReplay. */
+        long nDispatched;
+
+        /* Guarded by ParallelReplay. */
+        long nApplied;
+    }
+
+    private static class TxnState {
+
+        /* The applier of the txn's last dispatched LN. */
+        int applier;
+
+        /* The applier's nDispatched value after the txn's last LN. */
+        long ticket;
+    }
+}
@@ -27,13 +27,17 @@ import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_COMMIT_WRITE
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_LNS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_NAME_LNS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_NOT_PREPROCESSED;
+import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_PARALLEL_LNS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_PREPROCESS_MISS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_REPLAY_QUEUE_AVG_SIZE;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_REPLAY_QUEUE_OVERFLOWS;
+import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_SERIALIZED_CONFLICTS;
+import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_SERIALIZED_LNS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.OUTPUT_QUEUE_95_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.OUTPUT_QUEUE_99_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.OUTPUT_QUEUE_AVG_DELAY_NS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.OUTPUT_QUEUE_MAX_DELAY_NS;
+import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.PARALLEL_REPLAY_AVG_IN_FLIGHT;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.REPLAY_QUEUE_95_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.REPLAY_QUEUE_99_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.REPLAY_QUEUE_AVG_DELAY_NS;
@@ -122,6 +126,7 @@ import com.sleepycat.je.txn.TxnCommit;
 import com.sleepycat.je.txn.GroupCommitReplica;
 import com.sleepycat.je.txn.TxnEnd;
 import com.sleepycat.je.util.TimeSupplier;
+import com.sleepycat.je.utilint.AtomicLongStat;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.LatencyPercentileStat;
 import com.sleepycat.je.utilint.LoggerUtils;
@@ -288,8 +293,12 @@ public class Replay {
     private final LongStat nAborts;
     private final LongStat nNameLNs;
     private final LongStat nLNs;
-    private final LongStat nNotPreprocessed;
-    private final LongStat nPreprocessMiss;
+    private final AtomicLongStat nNotPreprocessed;
+    private final AtomicLongStat nPreprocessMiss;
+    private final LongStat nParallelLNs;
+    private final LongStat nSerializedLNs;
+    private final LongStat nSerializedConflicts;
+    private final LongAvgStat parallelReplayAvgInFlight;
     private final LongStat nReplayQueueOverflows;
     private final LongAvgStat nReplayQueueAvgSize;
     private final LongStat latestCommitLagMs;
@@ -319,6 +328,15 @@ public class Replay {
     /** Cached current master. Set when the ReplayThread starts to run. */
     private volatile NameIdPair currMaster;
 
+    /** The RepParams.REPLAY_APPLIER_THREADS configured thread count. */
+    private final int nApplierThreads;
+
+    /**
+     * Applies LNs in parallel when nApplierThreads is non-zero. Created when
+     * the ReplayThread starts and shut down when it exits.
+     */
+    private volatile ParallelReplay parallelReplay;
+
     /** Hook to stall ouputqueue. */
     static public com.sleepycat.je.utilint.TestHook<Void> softShutdownHook;
 
@@ -385,8 +403,14 @@ public class Replay {
             new LongStat(statistics, N_REPLAY_QUEUE_OVERFLOWS);
         nReplayQueueAvgSize =
             new LongAvgStat(statistics, N_REPLAY_QUEUE_AVG_SIZE);
-        nNotPreprocessed = new LongStat(statistics, N_NOT_PREPROCESSED);
-        nPreprocessMiss = new LongStat(statistics, N_PREPROCESS_MISS);
+        nNotPreprocessed = new AtomicLongStat(statistics, N_NOT_PREPROCESSED);
+        nPreprocessMiss = new AtomicLongStat(statistics, N_PREPROCESS_MISS);
+        nParallelLNs = new LongStat(statistics, N_PARALLEL_LNS);
+        nSerializedLNs = new LongStat(statistics, N_SERIALIZED_LNS);
+        nSerializedConflicts =
+            new LongStat(statistics, N_SERIALIZED_CONFLICTS);
+        parallelReplayAvgInFlight =
+            new LongAvgStat(statistics, PARALLEL_REPLAY_AVG_IN_FLIGHT);
         latestCommitLagMs = new LongStat(statistics, LATEST_COMMIT_LAG_MS);
 
         replayQueueAvgDelayNs =
@@ -416,6 +440,9 @@ public class Replay {
 
         replayLoggingThresholdNs = MILLISECONDS.toNanos(configManager.
            getDuration(RepParams.REPLAY_LOGGING_THRESHOLD));
+
+        nApplierThreads =
+            configManager.getInt(RepParams.REPLAY_APPLIER_THREADS);
     }
 
     /**
@@ -428,6 +455,24 @@ public class Replay {
             repImpl.getRepNode().getMasterStatus();
         currTerm = masterStatus.getNodeMasterIdTerm().term;
         currMaster = masterStatus.getNodeMasterNameId();
+
+        if (nApplierThreads > 0) {
+            parallelReplay = new ParallelReplay(
+                repImpl, logger, nApplierThreads, nParallelLNs,
+                nSerializedConflicts, parallelReplayAvgInFlight);
+        }
+    }
+
+    /**
+     * Marks that the replay thread is exiting. Waits for LNs being applied
+     * in parallel, so that none is applied while the thread is not running.
+     */
+    public void markReplayThreadExit() {
+        final ParallelReplay pr = parallelReplay;
+        if (pr != null) {
+            parallelReplay = null;
+            pr.shutdown();
+        }
     }
 
     /**
@@ -733,6 +778,7 @@ public class Replay {
             final long txnId = repTxn.getId();
 
             if (LOG_TXN_COMMIT.equalsType(entryType)) {
+                awaitParallelReplay(repTxn, true /*txnEnd*/);
                 Protocol.Commit commitEntry = (Protocol.Commit) entry;
 
                 final boolean needsAck = commitEntry.getNeedsAck();
@@ -822,6 +868,7 @@ public class Replay {
 
             } else if (LOG_TXN_ABORT.equalsType(entryType)) {
 
+                awaitParallelReplay(repTxn, true /*txnEnd*/);
                 nAborts.increment();
                 final TxnAbort abort = (TxnAbort) logEntry.getMainItem();
                 final ReplicationContext abortContext =
@@ -850,6 +897,9 @@ public class Replay {
 
             } else if (LOG_NAMELN_TRANSACTIONAL.equalsType(entryType)) {
 
+                if (parallelReplay != null) {
+                    parallelReplay.awaitAll(lastReplayedVLSN);
+                }
                 repImpl.getRepNode().getReplica().clearDbTreeCache();
                 nNameLNs.increment();
                 applyNameLN(repTxn, wireRecord);
@@ -858,7 +908,9 @@ public class Replay {
                 nLNs.increment();
                 /* A data operation. */
                 assert wireRecord.getLogEntry() instanceof LNLogEntry;
-                applyLN(repTxn, wireRecord);
+                if (!dispatchLN(repTxn, wireRecord)) {
+                    applyLN(repTxn, wireRecord);
+                }
             }
 
             /* Remember the last VLSN applied by this txn. */
@@ -1212,6 +1264,100 @@ public class Replay {
         }
     }
 
+    /**
+     * When parallel replay is enabled, waits until this thread can replay
+     * the entry at lastReplayedVLSN for the given txn.
+     *
+     * @see ParallelReplay#awaitTxn
+     */
+    private void awaitParallelReplay(ReplayTxn repTxn, boolean txnEnd) {
+        if (parallelReplay != null) {
+            parallelReplay.awaitTxn(repTxn.getId(), lastReplayedVLSN, txnEnd);
+        }
+    }
+
+    /**
+     * When parallel replay is enabled, dispatches the LN to an applier
+     * thread if it can be applied concurrently with other LNs, and returns
+     * true. Otherwise, waits until the LN can be applied by this thread and
+     * returns false.
+     *
+     * LNs for the rep group db, DBs with triggers and duplicates DBs are
+     * not dispatched, because their replay has side effects or relies on
+     * state that is only accessed by this thread. Extinction scans are
+     * queued by this thread after applying the LN.
+     */
+    private boolean dispatchLN(final ReplayTxn repTxn,
+                               final InputWireRecord wireRecord) {
+
+        final ParallelReplay pr = parallelReplay;
+        if (pr == null) {
+            return false;
+        }
+
+        final LNLogEntry<?> lnEntry = (LNLogEntry<?>) wireRecord.getLogEntry();
+        final DatabaseId dbId = lnEntry.getDbId();
+
+        boolean serial = (dbId.getId() == RepGroupDB.DB_ID) ||
+            LogEntryType.LOG_EXTINCT_SCAN_LN_TRANSACTIONAL.equalsType(
+                wireRecord.getEntryType());
+
+        if (!serial) {
+            final DatabaseImpl dbImpl = repImpl.getRepNode().getReplica().
+                getDbCache().get(dbId, repTxn);
+            serial = dbImpl.getSortedDuplicates() ||
+                dbImpl.getTriggers() != null;
+        }
+
+        if (serial) {
+            nSerializedLNs.increment();
+            awaitParallelReplay(repTxn, false /*txnEnd*/);
+            return false;
+        }
+
+        /*
+         * The applier takes ownership of the preprocessor, since the replay
+         * thread closes the preprocessor of each message after replaying it.
+         */
+        final ReplayPreprocessor preprocessor = wireRecord.getPreprocessor();
+        wireRecord.setPreprocessor(null);
+
+        pr.dispatch(repTxn.getId(), wireRecord.getVLSN(), dbId.getId(),
+                    repContext -> applyDispatchedLN(
+                        repTxn, wireRecord, preprocessor, repContext));
+        return true;
+    }
+
+    /**
+     * Applies an LN in a parallel replay applier thread. The DB is pinned
+     * directly, since the DbCache is only used by the replay thread.
+     */
+    private void applyDispatchedLN(
+        final ReplayTxn repTxn,
+        final InputWireRecord wireRecord,
+        final ReplayPreprocessor preprocessor,
+        final ReplicationContext repContext) {
+
+        final LNLogEntry<?> lnEntry = (LNLogEntry<?>) wireRecord.getLogEntry();
+        final DatabaseImpl dbImpl =
+            repImpl.getDbTree().getDb(lnEntry.getDbId());
+        try {
+            if (dbImpl == null) {
+                throw EnvironmentFailureException.unexpectedState(
+                    repImpl,
+                    "Database Id: " + lnEntry.getDbId() +
+                    " not found on the Replica. " + wireRecord);
+            }
+            applyLN(repTxn, wireRecord, dbImpl, preprocessor, repContext,
+                    new DatabaseEntry(), new DatabaseEntry());
+        } finally {
+            repImpl.getDbTree().releaseDb(dbImpl);
+            if (preprocessor != null) {
+                preprocessor.close();
+            }
+        }
+    }
+
     private void applyLN(
         final ReplayTxn repTxn,
         final InputWireRecord wireRecord)
@@ -1231,12 +1377,41 @@ public class Replay {
         final DatabaseImpl dbImpl =
             repImpl.getRepNode().getReplica().getDbCache().get(dbId, repTxn);
 
-        lnEntry.postFetchInit(dbImpl);
+        applyLN(repTxn, wireRecord, dbImpl, wireRecord.getPreprocessor(),
+                new ReplicationContext(wireRecord.getVLSN()),
+                replayKeyEntry, replayDataEntry);
+
+        /*
+         * Queue new extinct scans for later processing. Must be done after
+         * applying the LN so the record is present in the Btree when the
+         * extinct scanner thread tries to read it.
+         */
+        if (lnEntry.getLogType().equals(
+            LogEntryType.LOG_EXTINCT_SCAN_LN_TRANSACTIONAL)) {
 
-        final ReplicationContext repContext =
-            new ReplicationContext(wireRecord.getVLSN());
+            repImpl.getExtinctionScanner().replay(
+                lnEntry.getKey(), lnEntry.getData());
+        }
+    }
+
+    /**
+     * Applies the LN using the given DB, preprocessor, context and entries,
+     * which are owned by the calling thread.
+     */
+    private void applyLN(
+        final ReplayTxn repTxn,
+        final InputWireRecord wireRecord,
+        final DatabaseImpl dbImpl,
+        ReplayPreprocessor preprocessor,
+        final ReplicationContext repContext,
+        final DatabaseEntry keyEntry,
+        final DatabaseEntry dataEntry)
+        throws DatabaseException {
+
+        final LNLogEntry<?> lnEntry = (LNLogEntry<?>) wireRecord.getLogEntry();
+
+        lnEntry.postFetchInit(dbImpl);
 
-        ReplayPreprocessor preprocessor = wireRecord.getPreprocessor();
         if (preprocessor != null) {
             preprocessor = preprocessor.takeForReplay();
             if (preprocessor == null) {
@@ -1263,7 +1438,7 @@ public class Replay {
             }
 
             if (ln.isDeleted()) {
-                replayKeyEntry.setData(lnEntry.getKey());
+                keyEntry.setData(lnEntry.getKey());
                 
                 /**
                  * Before Image Support for replication
@@ -1277,7 +1452,7 @@ public class Replay {
                              .isBeforeImageExpirationInHours());
 
                      result = DbInternal.searchAndDelete(
-                             cursor, replayKeyEntry, preprocessor,
+                             cursor, keyEntry, preprocessor,
                              lnEntry.getModificationTime(),
                              lnEntry.getExpirationTime(), repContext,
                              null /*cacheMode*/, true /*allowBlindDelete*/,
@@ -1285,7 +1460,7 @@ public class Replay {
         
                 } else {
                     result = DbInternal.searchAndDelete(
-                            cursor, replayKeyEntry, preprocessor,
+                            cursor, keyEntry, preprocessor,
                             lnEntry.getModificationTime(),
                             lnEntry.getExpirationTime(), repContext,
                             null /*cacheMode*/, true /*allowBlindDelete*/,
@@ -1297,11 +1472,11 @@ public class Replay {
                         dbImpl, cursor, lnEntry, wireRecord, repContext);
                 }
             } else {
-                replayKeyEntry.setData(lnEntry.getKey());
-                replayDataEntry.setData(ln.getData());
+                keyEntry.setData(lnEntry.getKey());
+                dataEntry.setData(ln.getData());
 
                 final OperationResult result = DbInternal.putForReplay(
-                    cursor, replayKeyEntry, replayDataEntry, lnEntry,
+                    cursor, keyEntry, dataEntry, lnEntry,
                     preprocessor, PutMode.OVERWRITE, repContext);
 
                 /*
@@ -1315,18 +1490,6 @@ public class Replay {
                 }
             }
         }
-
-        /*
-         * Queue new extinct scans for later processing. Must be done after
-         * applying the LN so the record is present in the Btree when the
-         * extinct scanner thread tries to read it.
-         */
-        if (lnEntry.getLogType().equals(
-            LogEntryType.LOG_EXTINCT_SCAN_LN_TRANSACTIONAL)) {
-
-            repImpl.getExtinctionScanner().replay(
-                lnEntry.getKey(), lnEntry.getData());
-        }
     }
 
     /**
@@ -182,6 +182,51 @@ public class ReplayStatDefinition {
             N_PREPROCESS_MISS_NAME,
             N_PREPROCESS_MISS_DESC);
 
+    public static final String N_PARALLEL_LNS_NAME =
+        "nParallelLNs";
+    public static final String N_PARALLEL_LNS_DESC =
+        "Number of LNs applied by parallel replay applier threads, rather " +
+            "than by the replay thread.";
+    public static final StatDefinition N_PARALLEL_LNS =
+        new StatDefinition(
+            N_PARALLEL_LNS_NAME,
+            N_PARALLEL_LNS_DESC);
+
+    public static final String N_SERIALIZED_LNS_NAME =
+        "nSerializedLNs";
+    public static final String N_SERIALIZED_LNS_DESC =
+        "Number of LNs applied by the replay thread while parallel replay " +
+            "was enabled, because their database has triggers or " +
+            "duplicates, or is the replication group database, or the LN " +
+            "starts an extinction scan.";
+    public static final StatDefinition N_SERIALIZED_LNS =
+        new StatDefinition(
+            N_SERIALIZED_LNS_NAME,
+            N_SERIALIZED_LNS_DESC);
+
+    public static final String N_SERIALIZED_CONFLICTS_NAME =
+        "nSerializedConflicts";
+    public static final String N_SERIALIZED_CONFLICTS_DESC =
+        "Number of times parallel replay waited for a transaction's LNs to " +
+            "be applied by one applier thread before dispatching its next " +
+            "LN to another, because the transaction writes to databases " +
+            "assigned to different appliers.";
+    public static final StatDefinition N_SERIALIZED_CONFLICTS =
+        new StatDefinition(
+            N_SERIALIZED_CONFLICTS_NAME,
+            N_SERIALIZED_CONFLICTS_DESC);
+
+    public static final String PARALLEL_REPLAY_AVG_IN_FLIGHT_NAME =
+        "parallelReplayAvgInFlight";
+    public static final String PARALLEL_REPLAY_AVG_IN_FLIGHT_DESC =
+        "Average number of LNs dispatched to parallel replay applier " +
+            "threads and not yet applied, sampled as each LN is dispatched; " +
+            "it represents the parallelism achieved by replay.";
+    public static final StatDefinition PARALLEL_REPLAY_AVG_IN_FLIGHT =
+        new StatDefinition(
+            PARALLEL_REPLAY_AVG_IN_FLIGHT_NAME,
+            PARALLEL_REPLAY_AVG_IN_FLIGHT_DESC);
+
     public static final String LATEST_COMMIT_LAG_MS_NAME =
         "latestCommitLagMs";
     public static final String LATEST_COMMIT_LAG_MS_DESC =
@@ -13,6 +13,8 @@
 
 package com.sleepycat.je.rep.impl.node;
 
+import static com.sleepycat.je.rep.impl.node.ReplicaStatDefinition.AVG_ASYNC_CONSISTENCY_WAIT_MS;
+import static com.sleepycat.je.rep.impl.node.ReplicaStatDefinition.N_ASYNC_CONSISTENCY_WAITS;
 import static com.sleepycat.je.rep.impl.node.ReplicaStatDefinition.N_LAG_CONSISTENCY_WAITS;
 import static com.sleepycat.je.rep.impl.node.ReplicaStatDefinition.N_LAG_CONSISTENCY_WAIT_MS;
 import static com.sleepycat.je.rep.impl.node.ReplicaStatDefinition.N_VLSN_CONSISTENCY_WAITS;
@@ -28,6 +30,7 @@ import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -1440,6 +1443,7 @@ public class Replica {
                                  replicaFeederChannel);
                 RepUtils.shutdownChannel(replicaFeederChannel);
             } finally {
+                replay.markReplayThreadExit();
                 LoggerUtils.info(logger, repImpl, "Replay thread exiting" +
                     " at txn:" + ReplayTxn.logString(replay.getLastReplayedTxn()) +
                     ((exception != null) ?
@@ -1528,6 +1532,12 @@ public class Replica {
         private final LongStat replicaLocalVLSNLag =
             new LongStat(stats, REPLICA_LOCAL_VLSN_LAG);
 
+        private final LongStat nAsyncConsistencyWaits =
+            new LongStat(stats, N_ASYNC_CONSISTENCY_WAITS);
+
+        private final LongAvgStat avgAsyncConsistencyWaitMs =
+            new LongAvgStat(stats, AVG_ASYNC_CONSISTENCY_WAIT_MS);
+
         private final OrderedLatches vlsnLatches =
             new OrderedLatches(repNode.getRepImpl()) {
 
@@ -1549,6 +1559,26 @@ public class Replica {
                 }
             };
 
+        /*
+         * The futures used by requests that wait for consistency without
+         * blocking a thread. They are keyed and tripped like the latches
+         * above, except that the VLSN futures are only tripped by commits and
+         * aborts, since they are used for commit point consistency.
+         */
+        private final OrderedFutures txnVLSNFutures = new OrderedFutures() {
+                @Override
+                boolean tripPredicate(long keyVLSN, long tripVLSN) {
+                    return keyVLSN <= tripVLSN;
+                }
+            };
+
+        private final OrderedFutures lagFutures = new OrderedFutures() {
+                @Override
+                boolean tripPredicate(long keyLag, long currentLag) {
+                    return currentLag <= keyLag;
+                }
+            };
+
         /* The commit time lag tracker. */
         private final TxnEndTimeLagTracker txnEndTimeLagTracker;
 
@@ -1664,6 +1694,8 @@ public class Replica {
             assert (exception != null);
             vlsnLatches.trip(Long.MAX_VALUE, exception);
             lagLatches.trip(0, exception);
+            txnVLSNFutures.trip(Long.MAX_VALUE, exception);
+            lagFutures.trip(0, exception);
         }
 
         /**
@@ -1692,8 +1724,10 @@ public class Replica {
              * latches in both sets.
              */
             vlsnLatches.trip(lastReplayedTxnVLSN, null);
+            txnVLSNFutures.trip(lastReplayedTxnVLSN, null);
             final long lagMillis = currentLag();
             lagLatches.trip(lagMillis, null);
+            lagFutures.trip(lagMillis, null);
             txnEndTimeLagTracker.observe(
                 TimeUnit.MILLISECONDS.toNanos(lagMillis),
                 currTimeNanos, entry);
@@ -1712,6 +1746,7 @@ public class Replica {
             /* Trip just the time lag latches. */
             final long lagMillis = currentLag();
             lagLatches.trip(lagMillis, null);
+            lagFutures.trip(lagMillis, null);
             txnEndTimeLagTracker.observe(
                 TimeUnit.MILLISECONDS.toNanos(lagMillis), currTimeNanos);
         }
@@ -1764,6 +1799,69 @@ public class Replica {
             nVLSNConsistencyWaitMs.add(TimeSupplier.currentTimeMillis() - waitStart);
         }
 
+        /**
+         * Returns a future that is completed when the transaction with the
+         * given commit VLSN has been replayed. It is the asynchronous form
+         * of the wait done for a {@link CommitPointConsistencyPolicy}, for
+         * callers that must not block a thread while the replica catches up.
+         *
+         * <p>The future has no timeout: the caller is expected to apply its
+         * own, by completing the future. It is completed exceptionally if the
+         * replica is shut down. Dependent actions may be run by the replay
+         * thread, so they must not block.</p>
+         */
+        public CompletableFuture<Void> awaitTxnVLSNAsync(long vlsn) {
+            synchronized (this) {
+                if (vlsn <= lastReplayedTxnVLSN) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                return newWaiter(txnVLSNFutures.getOrCreate(vlsn));
+            }
+        }
+
+        /**
+         * Returns a future that is completed when the replica's lag is within
+         * the permissible lag of the time consistency policy. It is the
+         * asynchronous form of {@link #lagAwait}.
+         *
+         * @see #awaitTxnVLSNAsync
+         */
+        public CompletableFuture<Void> lagAwaitAsync(
+            TimeConsistencyPolicy consistencyPolicy) {
+
+            final long lag =
+                consistencyPolicy.getPermissibleLag(TimeUnit.MILLISECONDS);
+            synchronized (this) {
+                if (currentLag() <= lag) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                return newWaiter(lagFutures.getOrCreate(lag));
+            }
+        }
+
+        /**
+         * Returns a future for a single waiter that is completed with the
+         * shared future for its key. The wait is only included in the stats
+         * if the shared future completes before the waiter's own timeout.
+         */
+        private CompletableFuture<Void> newWaiter(
+            CompletableFuture<Void> sharedFuture) {
+
+            assert Thread.holdsLock(this);
+            nAsyncConsistencyWaits.increment();
+            final long waitStart = TimeSupplier.currentTimeMillis();
+            final CompletableFuture<Void> waiter = new CompletableFuture<>();
+            sharedFuture.whenComplete((v, e) -> {
+                if (e != null) {
+                    waiter.completeExceptionally(e);
+                } else if (waiter.complete(null)) {
+                    avgAsyncConsistencyWaitMs.add(
+                        TimeSupplier.currentTimeMillis() - waitStart);
+                }
+            });
+            return waiter;
+        }
+
         /**
          * Wait on the given countdown latch and generate the appropriate
          * exception upon timeout.
@@ -1875,6 +1973,46 @@ public class Replica {
         }
     }
 
+    /**
+     * Manages a set of ordered futures, the asynchronous counterpart of
+     * OrderedLatches. They are ordered by the key value.
+     */
+    private abstract static class OrderedFutures {
+
+        final SortedMap<Long, CompletableFuture<Void>> futureMap =
+            new TreeMap<>();
+
+        abstract boolean tripPredicate(long key, long tripValue);
+
+        synchronized CompletableFuture<Void> getOrCreate(Long key) {
+            return futureMap.computeIfAbsent(
+                key, k -> new CompletableFuture<>());
+        }
+
+        /**
+         * Complete all futures until the first future that will not trip.
+         *
+         * @param exception the exception used to complete the futures, or
+         * null if they should complete normally
+         */
+        synchronized void trip(long tripValue,
+                               DatabaseException exception) {
+            while (futureMap.size() > 0) {
+                Long key = futureMap.firstKey();
+                if (!tripPredicate(key, tripValue)) {
+                    /* It will fail on the rest as well. */
+                    return;
+                }
+                final CompletableFuture<Void> future = futureMap.remove(key);
+                if (exception == null) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(exception);
+                }
+            }
+        }
+    }
+
     /**
      * Indicates that an election is needed before the hard recovery can
      * proceed. Please see SR 20572 for a motivating scenario and
@@ -91,4 +91,25 @@ public class ReplicaStatDefinition {
             REPLICA_TXN_END_TIME_LAG_NAME,
             REPLICA_TXN_END_TIME_LAG_DESC,
             CUMULATIVE);
+
+    public static final String N_ASYNC_CONSISTENCY_WAITS_NAME =
+        "nAsyncConsistencyWaits";
+    public static final String N_ASYNC_CONSISTENCY_WAITS_DESC =
+        "Number of requests that waited, without blocking a thread, for the " +
+            "replica to catch up in order to satisfy a consistency policy.";
+    public static final StatDefinition N_ASYNC_CONSISTENCY_WAITS =
+        new StatDefinition(
+            N_ASYNC_CONSISTENCY_WAITS_NAME,
+            N_ASYNC_CONSISTENCY_WAITS_DESC);
+
+    public static final String AVG_ASYNC_CONSISTENCY_WAIT_MS_NAME =
+        "avgAsyncConsistencyWaitMs";
+    public static final String AVG_ASYNC_CONSISTENCY_WAIT_MS_DESC =
+        "Average time in msec that requests waited, without blocking a " +
+            "thread, for the replica to catch up in order to satisfy a " +
+            "consistency policy, for the waits that were satisfied.";
+    public static final StatDefinition AVG_ASYNC_CONSISTENCY_WAIT_MS =
+        new StatDefinition(
+            AVG_ASYNC_CONSISTENCY_WAIT_MS_NAME,
+            AVG_ASYNC_CONSISTENCY_WAIT_MS_DESC);
 }
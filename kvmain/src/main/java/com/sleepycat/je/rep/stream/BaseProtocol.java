@@ -75,11 +75,20 @@ public abstract class BaseProtocol extends BinaryProtocol {
      */
 
     /* The default (highest) version supported by the Protocol code. */
-    public static final int MAX_VERSION = 15;
+    public static final int MAX_VERSION = 16;
 
     /* The minimum version we're willing to interact with. */
     static final int MIN_VERSION = 3;
 
+    /**
+     * Version added in JE 25.1.11 to support negotiating the compression of
+     * feeder message batches during the handshake.
+     */
+    public static final int VERSION_16 = 16;
+
+    public static final JEVersion VERSION_16_JE_VERSION =
+            new JEVersion("25.1.11");
+
     /**
      * Version added in JE 25.1.0 to support before images
      */
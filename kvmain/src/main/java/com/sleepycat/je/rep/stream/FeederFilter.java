@@ -39,8 +39,9 @@ public interface FeederFilter {
      * @param record  the record to be filtered
      * @param repImpl repImpl of the RN where the filter is executed
      *
-     * @return the original input record if it is to be sent to the replica.
-     * null if it's to be skipped.
+     * @return the original input record if it is to be sent to the replica,
+     * a record created from it by {@link OutputWireRecord#withEntry} if the
+     * filter rewrote the entry, or null if it's to be skipped.
      */
     OutputWireRecord execute(final OutputWireRecord record,
                              final RepImpl repImpl);
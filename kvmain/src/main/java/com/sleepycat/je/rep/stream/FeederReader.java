@@ -17,6 +17,8 @@ import static com.sleepycat.je.utilint.VLSN.NULL_VLSN;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.sleepycat.je.beforeimage.BeforeImageOutputWireRecord;
 import com.sleepycat.je.DatabaseException;
@@ -34,6 +36,9 @@ import com.sleepycat.je.rep.SyncUpFailedException;
 import com.sleepycat.je.rep.impl.RepImpl;
 import com.sleepycat.je.rep.impl.RepParams;
 import com.sleepycat.je.rep.impl.node.RepNode;
+import com.sleepycat.je.rep.vlsn.FeederReadCache;
+import com.sleepycat.je.rep.vlsn.FeederReadCache.CachedEntry;
+import com.sleepycat.je.rep.vlsn.FeederReadCache.FeederStats;
 import com.sleepycat.je.rep.vlsn.VLSNIndex;
 import com.sleepycat.je.rep.vlsn.VLSNIndex.ForwardVLSNScanner;
 import com.sleepycat.je.rep.vlsn.VLSNIndex.WaitTimeOutException;
@@ -80,6 +85,19 @@ public class FeederReader extends VLSNReader {
      */
     private final boolean bypassCache;
 
+    /*
+     * The log read cache shared by the feeders, and the stats of this
+     * feeder's type, or null if this reader does not use the shared cache.
+     */
+    private FeederReadCache readCache;
+    private FeederStats readCacheStats;
+
+    /*
+     * The max number of log item cache entries whose before images are
+     * fetched together.
+     */
+    private final int beforeImageBatchSize;
+
     /**
      * true if the feeder reader can only read durable entries, false otherwise
      */
@@ -144,6 +162,61 @@ public class FeederReader extends VLSNReader {
         timesChecked = 0;
         PING_INTERVAL = envImpl.getConfigManager().getDuration(
                 RepParams.PRE_HEARTBEAT_TIMEOUT) / 5;
+        beforeImageBatchSize = envImpl.getConfigManager().getInt(
+                RepParams.FEEDER_BEFORE_IMAGE_BATCH_SIZE);
+    }
+
+    /**
+     * Makes the reader look up and add entries in the log read cache shared
+     * by the feeders, if it is configured. Only used by the readers that feed
+     * the replication stream.
+     *
+     * @param feederType identifies the type of feeder in the cache stats
+     */
+    public void useFeederReadCache(String feederType) {
+        if (bypassCache) {
+            return;
+        }
+        readCache = vlsnIndex.getFeederReadCache();
+        if (readCache != null) {
+            readCacheStats = readCache.getFeederStats(feederType);
+        }
+    }
+
+    /**
+     * Fetches the before images of the item for the VLSN being fed and of the
+     * items that follow it in the log item cache with one batched lookup, so
+     * that the before image index is read in abortLsn order rather than one
+     * random probe per entry. The before images found are attached to the
+     * shared items, so they are also used by the other feeders of streams
+     * with before images. Before images that are not found are not recorded
+     * on the items, since the following items may be so recent that their
+     * writers have not stored their before images yet.
+     *
+     * @return whether the before images were looked up, which is false if
+     * the environment has no before image index
+     */
+    private boolean fetchBeforeImages(long vlsn, LogItem logItem) {
+        final List<LogItem> batch = new ArrayList<>(beforeImageBatchSize);
+        batch.add(logItem);
+        final long last = vlsnIndex.getRange().getLast();
+        for (long next = vlsn + 1;
+             next <= last && batch.size() < beforeImageBatchSize;
+             next++) {
+            final LogItem item = vlsnIndex.peekCachedItem(next);
+            if (item == null) {
+                break;
+            }
+            batch.add(item);
+        }
+        try {
+            return BeforeImageOutputWireRecord.fetchBeforeImages(
+                envImpl, batch);
+        } finally {
+            for (int i = 1; i < batch.size(); i++) {
+                batch.get(i).decrementUse();
+            }
+        }
     }
 
     /**
@@ -281,12 +354,21 @@ public class FeederReader extends VLSNReader {
                 if (!includeBeforeImage) {
                     return new OutputWireRecord(envImpl, logItem);
                 }
-                /* TODO we are not at all caching */
                 if (!LogEntryType.isBeforeImageType(logItem.header.getType())) {
                     return new OutputWireRecord(envImpl, logItem);
-                } else if (logItem.getBeforeImageData() != null) {
+                }
+
+                /*
+                 * An entry whose before image was looked up but not found is
+                 * sent without one, as it would be if read from the log,
+                 * rather than being looked up again. The absence is only
+                 * known to this feeder, see fetchBeforeImages.
+                 */
+                if (logItem.isBeforeImageFetched() ||
+                    fetchBeforeImages(vlsn, logItem)) {
                     return new BeforeImageOutputWireRecord(envImpl, logItem);
                 }
+                logItem.decrementUse();
             }
         }
 
@@ -307,6 +389,20 @@ public class FeederReader extends VLSNReader {
             return currentFeedRecord;
         }
 
+        /*
+         * Another feeder may have read the entry from the log recently. Like
+         * a hit in the log item cache, this leaves the reader's position
+         * behind.
+         */
+        if (readCache != null && !includeBeforeImage) {
+            final CachedEntry entry = readCache.get(vlsn, readCacheStats);
+            if (entry != null) {
+                prevCacheHits++;
+                return new OutputWireRecord(
+                    envImpl, entry.getHeader(), entry.getItemBuffer());
+            }
+        }
+
         final long startMs = TimeSupplier.currentTimeMillis();
 
         /*
@@ -377,6 +473,10 @@ public class FeederReader extends VLSNReader {
         final long readStartNs = TimeSupplier.currentTimeMillis();
         try {
             if (readNextEntry()) {
+                if (readCache != null && !includeBeforeImage) {
+                    readCache.put(vlsn, currentFeedRecord.header,
+                                  currentFeedRecord.entryBuffer);
+                }
                 return currentFeedRecord;
             }
         } finally {
@@ -22,6 +22,7 @@ import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.EnvironmentFailureException;
 import com.sleepycat.je.JEVersion;
 import com.sleepycat.je.LockTimeoutException;
+import com.sleepycat.je.config.EnvironmentParams;
 import com.sleepycat.je.log.LogEntryType;
 import com.sleepycat.je.rep.InsufficientAcksException;
 import com.sleepycat.je.rep.InsufficientReplicasException;
@@ -30,10 +31,12 @@ import com.sleepycat.je.rep.impl.RepGroupImpl;
 import com.sleepycat.je.rep.impl.RepGroupImpl.NodeConflictException;
 import com.sleepycat.je.rep.impl.RepImpl;
 import com.sleepycat.je.rep.impl.RepNodeImpl;
+import com.sleepycat.je.rep.impl.RepParams;
 import com.sleepycat.je.rep.impl.node.Feeder;
 import com.sleepycat.je.rep.impl.node.Feeder.ExitException;
 import com.sleepycat.je.rep.impl.node.NameIdPair;
 import com.sleepycat.je.rep.impl.node.RepNode;
+import com.sleepycat.je.rep.stream.Protocol.BatchCompressionRequest;
 import com.sleepycat.je.rep.stream.Protocol.CacheSizeRequest;
 import com.sleepycat.je.rep.stream.Protocol.JEVersions;
 import com.sleepycat.je.rep.stream.Protocol.JEVersionsReject;
@@ -74,6 +77,9 @@ public class FeederReplicaHandshake {
      */
     private int streamLogVersion;
 
+    /** Whether the feeder compresses the message batches it sends. */
+    private boolean batchCompression;
+
     /** The node associated with the replica, or null if not known. */
     private volatile RepNodeImpl replicaNode;
 
@@ -159,6 +165,14 @@ public class FeederReplicaHandshake {
         return streamLogVersion;
     }
 
+    /**
+     * Returns whether the feeder and the replica agreed to compress the
+     * message batches sent by the feeder.
+     */
+    public boolean getBatchCompression() {
+        return batchCompression;
+    }
+
     public static void setTestLogVersion(int testLogVersion) {
         testCurrentLogVersion = testLogVersion;
     }
@@ -307,12 +321,17 @@ public class FeederReplicaHandshake {
         checkClockSkew(protocol);
 
         checkCacheSize(protocol);
+
+        negotiateBatchCompression(protocol);
+
         LoggerUtils.info
             (logger, repNode.getRepImpl(),
              "Feeder-replica " + replicaNameIdPair.getName() +
              " handshake completed." +
              versionMsg +
-             " Feeder Log version: " + LogEntryType.LOG_VERSION);
+             " Feeder Log version: " + LogEntryType.LOG_VERSION +
+             (batchCompression ?
+              " Message batches are compressed." : ""));
 
         return protocol;
     }
@@ -349,17 +368,40 @@ public class FeederReplicaHandshake {
 
         final RepImpl repImpl = repNode.getRepImpl();
         final long feederCacheSize = repImpl.getMemoryBudget().getMaxMemory();
+        final long feederOffHeapSize = repImpl.getConfigManager().getLong(
+            EnvironmentParams.OFF_HEAP_CACHE_SIZE);
 
         if (info.getCacheSize() != feederCacheSize
-            || info.getOffHeapSize() != 0) {
+            || info.getOffHeapSize() != feederOffHeapSize) {
             LoggerUtils.logMsg(logger, repImpl, Level.WARNING,
                 "Mismatched cache sizes, feeder:" + feederCacheSize
                 + " replica: " + info.getCacheSize()
-                + " feeder off-heap: "+ 0
+                + " feeder off-heap: " + feederOffHeapSize
                 + " replica off-heap: " + info.getOffHeapSize());
         }
     }
 
+    /**
+     * Responds to the replica's request to compress message batches. The
+     * batches are compressed only if the feature is enabled on both nodes.
+     */
+    private void negotiateBatchCompression(Protocol protocol)
+        throws IOException,
+               ProtocolException {
+
+        /* Batch compression was added in version 16. */
+        if (protocol.getVersion() < Protocol.VERSION_16) {
+            return;
+        }
+        final BatchCompressionRequest request = protocol.read(
+            namedChannel.getChannel(), BatchCompressionRequest.class);
+        batchCompression = request.getCompress() &&
+            repNode.getRepImpl().getConfigManager().getBoolean(
+                RepParams.FEEDER_BATCH_COMPRESSION);
+        writeMessage(protocol,
+                     protocol.new BatchCompressionResponse(batchCompression));
+    }
+
     /**
      * Responds to message exchanges used to establish clock skew.
      * @throws ProtocolException
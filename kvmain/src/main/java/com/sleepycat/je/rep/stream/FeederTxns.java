@@ -83,9 +83,9 @@ public class FeederTxns {
 
 
     public FeederTxns(RepImpl repImpl) {
-        // TODO: increase size of active TXN map for async and parameterize it.
         this.repImpl = repImpl;
-        txnMap = new AckExpiringMap(1024);
+        txnMap = new AckExpiringMap(repImpl.getConfigManager().
+                                    getInt(RepParams.FEEDER_TXN_MAP_SIZE));
         statistics = new StatGroup(FeederTxnStatDefinition.GROUP_NAME,
                                    FeederTxnStatDefinition.GROUP_DESC);
         txnsAcked = new AtomicLongStat(statistics, TXNS_ACKED);
@@ -154,6 +154,14 @@ public class FeederTxns {
         return ackTxnAvgNs;
     }
 
+    /**
+     * Returns the number of committed transactions that are awaiting
+     * acknowledgments from replicas, either synchronously or asynchronously.
+     */
+    public int getPendingAckTxnCount() {
+        return txnMap.size();
+    }
+
     /*
      * Clears any ack requirements associated with the transaction. It's
      * typically invoked on a transaction abort.
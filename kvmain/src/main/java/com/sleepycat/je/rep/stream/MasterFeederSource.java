@@ -119,6 +119,15 @@ public class MasterFeederSource implements FeederSource {
         feederReader.setDurableOnly();
     }
 
+    /**
+     * Makes the reader use the log read cache shared by the feeders.
+     *
+     * @param feederType identifies the type of feeder in the cache stats
+     */
+    public void useFeederReadCache(String feederType) {
+        feederReader.useFeederReadCache(feederType);
+    }
+
     /**
      * Unit test only
      * @return feeder reader
@@ -126,6 +126,34 @@ public class OutputWireRecord extends WireRecord {
         entryBuffer.flip();
     }
 
+    /**
+     * Creates an OutputWireRecord for an entry that replaces the entry of
+     * another record, for the same log entry header and VLSN. The entry is
+     * always re-serialized when written.
+     */
+    private OutputWireRecord(final EnvironmentImpl envImpl,
+                             final LogEntryHeader header,
+                             final ReplicableLogEntry entry) {
+        super(header);
+        this.envImpl = envImpl;
+        this.logItem = null;
+        this.entryBuffer = null;
+        logEntry = entry;
+    }
+
+    /**
+     * Returns a record with the same header and VLSN as this one, but whose
+     * entry is replaced by the specified entry, which must be of the same
+     * type. Used by a {@link FeederFilter} that rewrites the entries it
+     * passes. The returned record does not hold a reference to the log
+     * item, if any, of this record, so this record must still be released
+     * by calling {@link #decrementUse}.
+     */
+    public OutputWireRecord withEntry(final ReplicableLogEntry entry) {
+        assert entry.getLogType().equalsType(header.getType());
+        return new OutputWireRecord(envImpl, header, entry);
+    }
+
     public void decrementUse() {
         if (logItem != null) {
             logItem.decrementUse();
@@ -388,8 +416,12 @@ public class OutputWireRecord extends WireRecord {
             logVersion < LogEntryType.LOG_VERSION &&
             /* it is older than the entry version, */
             logVersion < header.getVersion() &&
-            /* and it is older than the entry class's last format change */
-            logVersion < (getSharedEntry().getLastFormatChange());
+            /* and it is older than the entry class's last format change, */
+            (logVersion < (getSharedEntry().getLastFormatChange()) ||
+             /* or this entry uses a feature the older version lacks. */
+             ((entryBuffer != null) &&
+              getSharedEntry().isOldFormatRequired(
+                  entryBuffer, header.getVersion(), logVersion)));
 
         return oldFormatRequired;
     }
@@ -504,6 +536,12 @@ public class OutputWireRecord extends WireRecord {
             return false;
         }
 
+        if (entryBuffer == null) {
+            /* Only an entry is available, see withEntry. */
+            ((LNLogEntry<?>) instantiateEntry()).getLNEntryInfo(lnInfo);
+            return true;
+        }
+
         LNLogEntry.parseEntry(entryBuffer, header, lnInfo);
         return true;
     }
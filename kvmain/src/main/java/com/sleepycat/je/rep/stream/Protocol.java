@@ -24,6 +24,7 @@ import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import com.sleepycat.je.JEVersion;
+import com.sleepycat.je.config.EnvironmentParams;
 import com.sleepycat.je.dbi.DatabaseId;
 import com.sleepycat.je.dbi.DbConfigManager;
 import com.sleepycat.je.log.LogEntryType;
@@ -64,6 +65,7 @@ import com.sleepycat.je.rep.utilint.RepUtils.Clock;
  *    NodeGroupInfo -> NodeGroupInfoOK | NodeGroupInfoReject
  *    SNTPRequest -> SNTPResponse
  *    CacheSizeRequest -> CacheSizeResponse
+ *    BatchCompressionRequest -> BatchCompressionResponse
  *    -> HeartbeatResponse
  *
  * A HeartbeatResponse is not strictly a response message and may also be sent
@@ -213,6 +215,18 @@ public class Protocol extends BaseProtocol {
                 return new SyncupPing(buffer);
             });
 
+    public final MessageOp BATCH_COMPRESSION_REQUEST =
+        new MessageOp((short)21, BatchCompressionRequest.class,
+            (ByteBuffer buffer)->{
+                return new BatchCompressionRequest(buffer);
+            });
+
+    public final MessageOp BATCH_COMPRESSION_RESPONSE =
+        new MessageOp((short)22, BatchCompressionResponse.class,
+            (ByteBuffer buffer)->{
+                return new BatchCompressionResponse(buffer);
+            });
+
     /** All message ops needed by protocol */
     private final MessageOp[] ALL_MESSAGE_OPS = {
         REPLICA_PROTOCOL_VERSION,
@@ -249,7 +263,9 @@ public class Protocol extends BaseProtocol {
         CACHE_SIZE_REQUEST,
         CACHE_SIZE_RESPONSE,
         SYNC_UP_PING,
-        ENTRY_WITH_BEFORE_IMAGE
+        ENTRY_WITH_BEFORE_IMAGE,
+        BATCH_COMPRESSION_REQUEST,
+        BATCH_COMPRESSION_RESPONSE
     };
 
     private final Clock clock;
@@ -514,6 +530,10 @@ public class Protocol extends BaseProtocol {
      */
     static JEVersion getProtocolJEVersion(final int protocolVersion) {
         switch (protocolVersion) {
+        case VERSION_16:
+            return VERSION_16_JE_VERSION;
+        case VERSION_15:
+            return VERSION_15_JE_VERSION;
         case VERSION_14:
             return VERSION_14_JE_VERSION;
         case VERSION_13:
@@ -549,7 +569,11 @@ public class Protocol extends BaseProtocol {
      */
     static int getJEVersionProtocolVersion(final JEVersion jeVersion) {
         if (jeVersion == null) {
-            return VERSION_14;
+            return VERSION_16;
+        } else if (jeVersion.compareTo(VERSION_16_JE_VERSION) >= 0) {
+            return VERSION_16;
+        } else if (jeVersion.compareTo(VERSION_15_JE_VERSION) >= 0) {
+            return VERSION_15;
         } else if (jeVersion.compareTo(VERSION_14_JE_VERSION) >= 0) {
             return VERSION_14;
         } else if (jeVersion.compareTo(VERSION_13_JE_VERSION) >= 0) {
@@ -1240,10 +1264,11 @@ public class Protocol extends BaseProtocol {
     }
 
     /**
-     * Note: As of JE 21.2, the offHeapSize will be zero since the off-heap
-     * cache feature was removed. However, it may still be non-zero in a
-     * message from an older version node in a mixed version group. Therefore
-     * it is still used for checking cache size mismatches.
+     * Note: In JE 21.2 through 25.1 the offHeapSize is zero since the
+     * off-heap cache feature was removed. It is non-zero when the
+     * {@link com.sleepycat.je.EnvironmentConfig#OFF_HEAP_CACHE_SIZE off-heap
+     * cache} is configured, and may also be non-zero in a message from an
+     * older version node in a mixed version group.
      */
     public class CacheSizeResponse extends HandshakeMessage {
         final long cacheSize;
@@ -1251,7 +1276,8 @@ public class Protocol extends BaseProtocol {
 
         public CacheSizeResponse(RepImpl repImpl) {
             cacheSize = repImpl.getMemoryBudget().getMaxMemory();
-            offHeapSize = 0;
+            offHeapSize = repImpl.getConfigManager().getLong(
+                EnvironmentParams.OFF_HEAP_CACHE_SIZE);
         }
 
         /* Used in testing. */
@@ -1508,4 +1534,54 @@ public class Protocol extends BaseProtocol {
         }
     }
 
+    /**
+     * Sent by the replica at the end of the handshake to ask whether the
+     * feeder should compress the batches of messages it sends.
+     */
+    public class BatchCompressionRequest extends HandshakeMessage {
+        private final boolean compress;
+
+        public BatchCompressionRequest(boolean compress) {
+            this.compress = compress;
+        }
+
+        public BatchCompressionRequest(ByteBuffer buffer) {
+            compress = getBoolean(buffer);
+        }
+
+        @Override
+        public MessageOp getOp() {
+            return BATCH_COMPRESSION_REQUEST;
+        }
+
+        @Override
+        public ByteBuffer wireFormat() {
+            return wireFormat(compress);
+        }
+
+        public boolean getCompress() {
+            return compress;
+        }
+    }
+
+    /**
+     * The feeder's reply to a BatchCompressionRequest, which says whether
+     * both sides agreed to compress message batches.
+     */
+    public class BatchCompressionResponse extends BatchCompressionRequest {
+
+        public BatchCompressionResponse(boolean compress) {
+            super(compress);
+        }
+
+        public BatchCompressionResponse(ByteBuffer buffer) {
+            super(buffer);
+        }
+
+        @Override
+        public MessageOp getOp() {
+            return BATCH_COMPRESSION_RESPONSE;
+        }
+    }
+
 }
@@ -23,6 +23,7 @@ import java.util.logging.Logger;
 
 import com.sleepycat.je.EnvironmentFailureException;
 import com.sleepycat.je.JEVersion;
+import com.sleepycat.je.config.EnvironmentParams;
 import com.sleepycat.je.dbi.DbConfigManager;
 import com.sleepycat.je.dbi.EnvironmentFailureReason;
 import com.sleepycat.je.log.LogEntryType;
@@ -32,6 +33,7 @@ import com.sleepycat.je.rep.impl.RepGroupImpl;
 import com.sleepycat.je.rep.impl.RepImpl;
 import com.sleepycat.je.rep.impl.RepParams;
 import com.sleepycat.je.rep.impl.node.NameIdPair;
+import com.sleepycat.je.rep.stream.Protocol.BatchCompressionResponse;
 import com.sleepycat.je.rep.stream.Protocol.CacheSizeResponse;
 import com.sleepycat.je.rep.stream.Protocol.DuplicateNodeReject;
 import com.sleepycat.je.rep.stream.Protocol.FeederJEVersions;
@@ -297,9 +299,13 @@ public class ReplicaFeederHandshake {
 
         checkCacheSize();
 
+        final boolean batchCompression = negotiateBatchCompression();
+
         LoggerUtils.info(logger, repImpl,
                          "Replica-feeder " + feederNameIdPair.getName() +
-                         " handshake completed.");
+                         " handshake completed." +
+                         (batchCompression ?
+                          " Message batches are compressed." : ""));
         return protocol;
     }
 
@@ -488,14 +494,41 @@ public class ReplicaFeederHandshake {
         final CacheSizeResponse info =
             protocol.read(namedChannel, CacheSizeResponse.class);
         final long replicaCacheSize = repImpl.getMemoryBudget().getMaxMemory();
+        final long replicaOffHeapSize = repImpl.getConfigManager().getLong(
+            EnvironmentParams.OFF_HEAP_CACHE_SIZE);
 
         if (info.getCacheSize() != replicaCacheSize
-            || info.getOffHeapSize() != 0) {
+            || info.getOffHeapSize() != replicaOffHeapSize) {
             LoggerUtils.logMsg(logger, repImpl, Level.WARNING,
                 "Mismatched cache sizes, replica:" + replicaCacheSize
                 + " feeder: " + info.getCacheSize()
-                + " replica off-heap: " + 0
+                + " replica off-heap: " + replicaOffHeapSize
                 + " feeder off-heap: " + info.getOffHeapSize());
         }
     }
+
+    /**
+     * Asks the feeder whether it should compress the message batches it
+     * sends, which it only does if the feature is enabled on both nodes.
+     * Nothing needs to be set up here, since the protocol decompresses
+     * batches as they are read.
+     *
+     * @return whether the feeder will compress message batches
+     */
+    private boolean negotiateBatchCompression()
+        throws ProtocolException, IOException {
+
+        /* Feeder does not support batch compression, so do nothing. */
+        if (protocol.getVersion() < Protocol.VERSION_16) {
+            return false;
+        }
+
+        final boolean compress = repImpl.getConfigManager().getBoolean(
+            RepParams.FEEDER_BATCH_COMPRESSION);
+        protocol.write(protocol.new BatchCompressionRequest(compress),
+                       namedChannel);
+        final BatchCompressionResponse response =
+            protocol.read(namedChannel, BatchCompressionResponse.class);
+        return response.getCompress();
+    }
 }
@@ -13,9 +13,16 @@
 
 package com.sleepycat.je.rep.utilint;
 
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_BYTES_AFTER_COMPRESSION;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_BYTES_BEFORE_COMPRESSION;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_BYTES_READ;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_BYTES_WRITTEN;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_COMPRESSED_BATCHES;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_COMPRESS_NANOS;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_DECOMPRESSED_BATCHES;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_DECOMPRESS_NANOS;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_ENTRIES_WRITTEN_OLD_VERSION;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_INCOMPRESSIBLE_BATCHES;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_MAX_WRITE_NANOS;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_MESSAGES_BATCHED;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_MESSAGES_READ;
@@ -39,6 +46,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.logging.Formatter;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import com.sleepycat.je.EnvironmentFailureException;
 import com.sleepycat.je.StatsConfig;
@@ -81,6 +91,22 @@ public abstract class BinaryProtocol {
         2 /* Message op id (short) */ +
         4 /* message size (int) */;
 
+    /*
+     * A compressed batch message starts with the uncompressed size of the
+     * batch, which is followed by the deflated messages.
+     */
+    private static final int COMPRESSED_BATCH_HEADER_SIZE =
+        MESSAGE_HEADER_SIZE + 4 /* uncompressed size (int) */;
+
+    /* Batches smaller than this are not worth compressing. */
+    private static final int MIN_COMPRESSED_BATCH_SIZE = 256;
+
+    /*
+     * Compression buffers larger than this, needed for unusually large
+     * messages, are not retained for reuse.
+     */
+    private static final int MAX_RETAINED_BATCH_BUFFER_SIZE = 1 << 20;
+
     /* Buffer reused to process the header of every message. */
     protected final ByteBuffer header =
         ByteBuffer.allocate((MESSAGE_HEADER_SIZE));
@@ -137,6 +163,16 @@ public abstract class BinaryProtocol {
             (ByteBuffer buffer) -> { return new ProtocolError(buffer);
         });
 
+    /*
+     * Holds a batch of messages compressed as a single frame. It is only
+     * written once the peer has agreed to batch compression, and is never
+     * returned by read, which returns the messages in the batch instead.
+     */
+    public final MessageOp COMPRESSED_BATCH =
+        new MessageOp((short) 1005, CompressedBatch.class,
+            (ByteBuffer buffer) -> { return new CompressedBatch(buffer);
+        });
+
     /* Statistics definition. */
     protected final StatGroup stats;
     protected final LongStat nReadNanos;
@@ -155,6 +191,38 @@ public abstract class BinaryProtocol {
     protected final LongStat nMessagesBatched;
     protected final LongStat nMessageBatches;
     protected final LongStat nEntriesWrittenOldVersion;
+    protected final LongStat nCompressedBatches;
+    protected final LongStat nIncompressibleBatches;
+    protected final LongStat nBytesBeforeCompression;
+    protected final LongStat nBytesAfterCompression;
+    protected final LongStat nCompressNanos;
+    protected final LongStat nDecompressedBatches;
+    protected final LongStat nDecompressNanos;
+
+    /*
+     * Compresses the batches written by flushBufferedWrites, or null if batch
+     * compression is not in use. Only used by the thread writing batches.
+     */
+    private Deflater batchDeflater;
+
+    /* The frame holding the last compressed batch, grown as needed. */
+    private ByteBuffer compressedBatchBuffer;
+
+    /*
+     * Inflates compressed batches as they are read. It's created when the
+     * first one is read, since it's the writer that decides whether to
+     * compress. Only used by the thread reading messages.
+     */
+    private Inflater batchInflater;
+
+    /* The buffer holding the last decompressed batch, grown as needed. */
+    private ByteBuffer decompressedBatchBuffer;
+
+    /*
+     * The decompressed batch, positioned at the next message to be returned
+     * by read, or null if all the messages in the batch have been read.
+     */
+    private ByteBuffer pendingBatch;
 
     protected final Logger logger;
     protected final Formatter formatter;
@@ -205,13 +273,22 @@ public abstract class BinaryProtocol {
         nMessageBatches = new LongStat(stats, N_MESSAGE_BATCHES);
         nEntriesWrittenOldVersion =
             new LongStat(stats, N_ENTRIES_WRITTEN_OLD_VERSION);
+        nCompressedBatches = new LongStat(stats, N_COMPRESSED_BATCHES);
+        nIncompressibleBatches = new LongStat(stats, N_INCOMPRESSIBLE_BATCHES);
+        nBytesBeforeCompression =
+            new LongStat(stats, N_BYTES_BEFORE_COMPRESSION);
+        nBytesAfterCompression = new LongStat(stats, N_BYTES_AFTER_COMPRESSION);
+        nCompressNanos = new LongStat(stats, N_COMPRESS_NANOS);
+        nDecompressedBatches = new LongStat(stats, N_DECOMPRESSED_BATCHES);
+        nDecompressNanos = new LongStat(stats, N_DECOMPRESS_NANOS);
 
         /* Initialize with the pre-defined protocol messages. */
         for (MessageOp op :
             new MessageOp[] { CLIENT_VERSION,
                               SERVER_VERSION,
                               INCOMPATIBLE_VERSION,
-                              PROTOCOL_ERROR }) {
+                              PROTOCOL_ERROR,
+                              COMPRESSED_BATCH }) {
 
             if (ops.put(op.opId, op) != null) {
                 throw EnvironmentFailureException.unexpectedState
@@ -297,6 +374,34 @@ public abstract class BinaryProtocol {
         return stats.cloneGroup(config.getClear());
     }
 
+    /**
+     * Enables or disables the compression of the message batches written by
+     * {@link #flushBufferedWrites}, and of messages that are too large to be
+     * batched. Compression must only be enabled after the peer has agreed to
+     * it, since older peers cannot read compressed batches. Messages written
+     * individually by {@link #write} are never compressed.
+     */
+    public void setBatchCompression(final boolean compress) {
+        if (compress == (batchDeflater != null)) {
+            return;
+        }
+        if (compress) {
+            batchDeflater = new Deflater(Deflater.BEST_SPEED);
+        } else {
+            batchDeflater.end();
+            batchDeflater = null;
+            compressedBatchBuffer = null;
+        }
+    }
+
+    /**
+     * Returns true if message batches written by this instance are
+     * compressed.
+     */
+    public boolean getBatchCompression() {
+        return batchDeflater != null;
+    }
+
     public void resetStats() {
         stats.clear();
     }
@@ -522,6 +627,10 @@ public abstract class BinaryProtocol {
     public Message read(final ReadableByteChannel channel)
         throws IOException {
 
+        if (pendingBatch != null) {
+            return readBatched();
+        }
+
         /* Get the message header. */
         fillBuffer(channel, header, null);
 
@@ -531,7 +640,9 @@ public abstract class BinaryProtocol {
             /* Read the size to determine the body of the message. */
             final int messageBodySize = LogUtils.readInt(header);
             nBytesRead.add(MESSAGE_HEADER_SIZE + messageBodySize);
-            nMessagesRead.increment();
+            if (op != COMPRESSED_BATCH) {
+                nMessagesRead.increment();
+            }
             if (messageBodySize > 0) {
                 if (messageBodySize > maxMessageSize) {
                     throw EnvironmentFailureException.unexpectedState
@@ -544,14 +655,11 @@ public abstract class BinaryProtocol {
 
                 final ByteBuffer body = allocateReadBuffer(messageBodySize);
                 fillBuffer(channel, body, op);
-                try {
-                    return op.getMessageGenerator().generate(body);
-                } catch (RuntimeException e) {
-                    throw EnvironmentFailureException.unexpectedException(
-                        "Deserialization problem. Message op: " + op +
-                            "Body size: " + messageBodySize,
-                        e);
+                if (op == COMPRESSED_BATCH) {
+                    decompressBatch(body);
+                    return readBatched();
                 }
+                return generate(op, body);
             }
 
             if (messageBodySize < 0) {
@@ -568,6 +676,102 @@ public abstract class BinaryProtocol {
         }
     }
 
+    /**
+     * Creates the message from its body, which is positioned after the
+     * message header.
+     */
+    private Message generate(final MessageOp op, final ByteBuffer body) {
+        try {
+            return op.getMessageGenerator().generate(body);
+        } catch (RuntimeException e) {
+            throw EnvironmentFailureException.unexpectedException(
+                "Deserialization problem. Message op: " + op +
+                    "Body size: " + body.limit(),
+                e);
+        }
+    }
+
+    /**
+     * Inflates the body of a compressed batch into pendingBatch, from which
+     * the batched messages are then returned by read.
+     */
+    private void decompressBatch(final ByteBuffer body) {
+        final long start = System.nanoTime();
+        final int batchSize = LogUtils.readInt(body);
+        if ((batchSize <= 0) || (batchSize > maxMessageSize)) {
+            throw EnvironmentFailureException.unexpectedState
+                ("Compressed batch size: " + batchSize +
+                 " is out of range. maxSizeAllowed: " + maxMessageSize);
+        }
+        if (batchInflater == null) {
+            batchInflater = new Inflater();
+        }
+        ByteBuffer batch = decompressedBatchBuffer;
+        if ((batch == null) || (batch.capacity() < batchSize)) {
+            batch = ByteBuffer.allocate(batchSize);
+            if (batchSize <= MAX_RETAINED_BATCH_BUFFER_SIZE) {
+                decompressedBatchBuffer = batch;
+            }
+        }
+        batch.clear();
+        batch.limit(batchSize);
+        batchInflater.reset();
+        batchInflater.setInput(body);
+        try {
+            while (batch.hasRemaining()) {
+                if ((batchInflater.inflate(batch) == 0) &&
+                    (batchInflater.finished() ||
+                     batchInflater.needsInput())) {
+                    throw EnvironmentFailureException.unexpectedState
+                        ("Compressed batch is truncated, expected bytes: " +
+                         batchSize + " inflated bytes: " + batch.position());
+                }
+            }
+        } catch (DataFormatException e) {
+            throw EnvironmentFailureException.unexpectedException(
+                "Compressed batch is corrupt", e);
+        }
+        batch.flip();
+        pendingBatch = batch;
+        nDecompressedBatches.increment();
+        nDecompressNanos.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the next message in pendingBatch. The message body is copied
+     * out of the batch, so that messages see the same buffers they would if
+     * they had been read individually.
+     */
+    private Message readBatched() {
+        final ByteBuffer batch = pendingBatch;
+        final MessageOp op = getOp(batch);
+        final int messageBodySize = LogUtils.readInt(batch);
+        if ((messageBodySize < 0) || (messageBodySize > batch.remaining())) {
+            pendingBatch = null;
+            throw EnvironmentFailureException.unexpectedState
+                ("Message op: " + op + " Body size: " + messageBodySize +
+                 " exceeds the bytes remaining in its batch: " +
+                 batch.remaining());
+        }
+        nMessagesRead.increment();
+
+        ByteBuffer body = null;
+        if (messageBodySize > 0) {
+            body = allocateReadBuffer(messageBodySize);
+            final int batchLimit = batch.limit();
+            batch.limit(batch.position() + messageBodySize);
+            body.put(batch);
+            batch.limit(batchLimit);
+            body.flip();
+        }
+        if (!batch.hasRemaining()) {
+            pendingBatch = null;
+        }
+        return (body == null) ?
+            op.getMessageGenerator().generate(null) :
+            generate(op, body);
+    }
+
     @SuppressWarnings("unchecked")
     public <T extends Message> T read(final ReadableByteChannel channel,
                                       final Class<T> cl)
@@ -682,7 +886,7 @@ public abstract class BinaryProtocol {
                  */
                 assert batchWriteBuffer.position() == 0 ;
                 nMessagesWritten.increment();
-                flushBuffer(channel, messageBuffer);
+                flushBuffer(channel, compressBatch(messageBuffer));
                 nMessages = 0;
                 return nMessages;
             }
@@ -714,10 +918,67 @@ public abstract class BinaryProtocol {
         }
 
         batchWriteBuffer.flip();
-        flushBuffer(channel, batchWriteBuffer);
+        flushBuffer(channel, compressBatch(batchWriteBuffer));
         batchWriteBuffer.clear();
     }
 
+    /**
+     * Returns a buffer holding the batch compressed as a COMPRESSED_BATCH
+     * message, or the batch itself if compression is not in use or would not
+     * reduce its size. The batch is left unchanged in either case.
+     *
+     * @param batch the flipped buffer of serialized messages
+     */
+    private ByteBuffer compressBatch(final ByteBuffer batch) {
+        final int batchSize = batch.limit();
+        if ((batchDeflater == null) ||
+            (batchSize < MIN_COMPRESSED_BATCH_SIZE)) {
+            return batch;
+        }
+
+        final long start = System.nanoTime();
+        ByteBuffer frame = compressedBatchBuffer;
+        if ((frame == null) || (frame.capacity() < batchSize)) {
+            frame = ByteBuffer.allocate(batchSize);
+            if (batchSize <= MAX_RETAINED_BATCH_BUFFER_SIZE) {
+                compressedBatchBuffer = frame;
+            }
+        }
+
+        /*
+         * Limit the frame to the batch size, so that compression gives up as
+         * soon as it is clear that the frame would be no smaller.
+         */
+        frame.clear();
+        frame.limit(batchSize);
+        frame.position(COMPRESSED_BATCH_HEADER_SIZE);
+        batchDeflater.reset();
+        batchDeflater.setInput(batch.duplicate());
+        batchDeflater.finish();
+        while (!batchDeflater.finished()) {
+            if (!frame.hasRemaining()) {
+                nIncompressibleBatches.increment();
+                nCompressNanos.add(System.nanoTime() - start);
+                return batch;
+            }
+            batchDeflater.deflate(frame);
+        }
+
+        final int frameSize = frame.position();
+        frame.position(0);
+        LogUtils.writeShort(frame, COMPRESSED_BATCH.getOpId());
+        LogUtils.writeInt(frame, frameSize - MESSAGE_HEADER_SIZE);
+        LogUtils.writeInt(frame, batchSize);
+        frame.position(0);
+        frame.limit(frameSize);
+
+        nCompressedBatches.increment();
+        nBytesBeforeCompression.add(batchSize);
+        nBytesAfterCompression.add(frameSize);
+        nCompressNanos.add(System.nanoTime() - start);
+        return frame;
+    }
+
     /**
      * Writes the entire contents of the buffer to the blocking channel.
      */
@@ -1087,6 +1348,35 @@ public abstract class BinaryProtocol {
         }
     }
 
+    /**
+     * The message created when a compressed batch is read. Its body is only
+     * used by read, to obtain the messages in the batch.
+     */
+    public class CompressedBatch extends Message {
+
+        private final ByteBuffer buffer;
+
+        public CompressedBatch(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public MessageOp getOp() {
+            return COMPRESSED_BATCH;
+        }
+
+        @Override
+        public ByteBuffer wireFormat() {
+            /* Batches are compressed by flushBufferedWrites. */
+            throw EnvironmentFailureException.unexpectedState(
+                "Compressed batches are not written as messages");
+        }
+
+        public ByteBuffer getBuffer() {
+            return buffer;
+        }
+    }
+
     public class ProtocolError extends RejectMessage {
 
         public ProtocolError(final String errorMessage) {
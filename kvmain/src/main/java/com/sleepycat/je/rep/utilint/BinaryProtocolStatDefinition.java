@@ -136,6 +136,75 @@ public class BinaryProtocolStatDefinition {
             N_MESSAGE_BATCHES_NAME,
             N_MESSAGE_BATCHES_DESC);
 
+    public static final String N_COMPRESSED_BATCHES_NAME =
+        "nCompressedBatches";
+    public static final String N_COMPRESSED_BATCHES_DESC =
+        "The number of message batches that were compressed before being " +
+            "written to the network.";
+    public static final StatDefinition N_COMPRESSED_BATCHES =
+        new StatDefinition(
+            N_COMPRESSED_BATCHES_NAME,
+            N_COMPRESSED_BATCHES_DESC);
+
+    public static final String N_INCOMPRESSIBLE_BATCHES_NAME =
+        "nIncompressibleBatches";
+    public static final String N_INCOMPRESSIBLE_BATCHES_DESC =
+        "The number of message batches that were written uncompressed " +
+            "because compression did not reduce their size.";
+    public static final StatDefinition N_INCOMPRESSIBLE_BATCHES =
+        new StatDefinition(
+            N_INCOMPRESSIBLE_BATCHES_NAME,
+            N_INCOMPRESSIBLE_BATCHES_DESC);
+
+    public static final String N_BYTES_BEFORE_COMPRESSION_NAME =
+        "nBytesBeforeCompression";
+    public static final String N_BYTES_BEFORE_COMPRESSION_DESC =
+        "The number of bytes in message batches that were compressed, " +
+            "before compression. The ratio of this value to " +
+            "nBytesAfterCompression is the compression ratio.";
+    public static final StatDefinition N_BYTES_BEFORE_COMPRESSION =
+        new StatDefinition(
+            N_BYTES_BEFORE_COMPRESSION_NAME,
+            N_BYTES_BEFORE_COMPRESSION_DESC);
+
+    public static final String N_BYTES_AFTER_COMPRESSION_NAME =
+        "nBytesAfterCompression";
+    public static final String N_BYTES_AFTER_COMPRESSION_DESC =
+        "The number of bytes written to the network for message batches " +
+            "that were compressed.";
+    public static final StatDefinition N_BYTES_AFTER_COMPRESSION =
+        new StatDefinition(
+            N_BYTES_AFTER_COMPRESSION_NAME,
+            N_BYTES_AFTER_COMPRESSION_DESC);
+
+    public static final String N_COMPRESS_NANOS_NAME =
+        "nCompressNanos";
+    public static final String N_COMPRESS_NANOS_DESC =
+        "The total nanoseconds spent compressing message batches, " +
+            "including batches that turned out to be incompressible.";
+    public static final StatDefinition N_COMPRESS_NANOS =
+        new StatDefinition(
+            N_COMPRESS_NANOS_NAME,
+            N_COMPRESS_NANOS_DESC);
+
+    public static final String N_DECOMPRESSED_BATCHES_NAME =
+        "nDecompressedBatches";
+    public static final String N_DECOMPRESSED_BATCHES_DESC =
+        "The number of compressed message batches read from the network.";
+    public static final StatDefinition N_DECOMPRESSED_BATCHES =
+        new StatDefinition(
+            N_DECOMPRESSED_BATCHES_NAME,
+            N_DECOMPRESSED_BATCHES_DESC);
+
+    public static final String N_DECOMPRESS_NANOS_NAME =
+        "nDecompressNanos";
+    public static final String N_DECOMPRESS_NANOS_DESC =
+        "The total nanoseconds spent decompressing message batches.";
+    public static final StatDefinition N_DECOMPRESS_NANOS =
+        new StatDefinition(
+            N_DECOMPRESS_NANOS_NAME,
+            N_DECOMPRESS_NANOS_DESC);
+
     public static final String MESSAGE_READ_RATE_NAME =
         "messagesReadPerSecond";
     public static final String MESSAGE_READ_RATE_DESC =
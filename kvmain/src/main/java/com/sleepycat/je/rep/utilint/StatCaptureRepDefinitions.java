@@ -80,6 +80,10 @@ public class StatCaptureRepDefinitions extends StatCaptureDefinitions {
         ReplayStatDefinition.N_REPLAY_QUEUE_AVG_SIZE,
         ReplayStatDefinition.N_NOT_PREPROCESSED,
         ReplayStatDefinition.N_PREPROCESS_MISS,
+        ReplayStatDefinition.N_PARALLEL_LNS,
+        ReplayStatDefinition.N_SERIALIZED_LNS,
+        ReplayStatDefinition.N_SERIALIZED_CONFLICTS,
+        ReplayStatDefinition.PARALLEL_REPLAY_AVG_IN_FLIGHT,
         ReplayStatDefinition.LATEST_COMMIT_LAG_MS,
         ReplayStatDefinition.N_GROUP_COMMIT_TIMEOUTS,
         ReplayStatDefinition.N_GROUP_COMMIT_MAX_EXCEEDED,
@@ -137,6 +141,13 @@ public class StatCaptureRepDefinitions extends StatCaptureDefinitions {
         BinaryProtocolStatDefinition.N_MESSAGE_BATCHES,
         BinaryProtocolStatDefinition.N_MESSAGES_BATCHED,
         BinaryProtocolStatDefinition.N_MESSAGES_WRITTEN,
+        BinaryProtocolStatDefinition.N_COMPRESSED_BATCHES,
+        BinaryProtocolStatDefinition.N_INCOMPRESSIBLE_BATCHES,
+        BinaryProtocolStatDefinition.N_BYTES_BEFORE_COMPRESSION,
+        BinaryProtocolStatDefinition.N_BYTES_AFTER_COMPRESSION,
+        BinaryProtocolStatDefinition.N_COMPRESS_NANOS,
+        BinaryProtocolStatDefinition.N_DECOMPRESSED_BATCHES,
+        BinaryProtocolStatDefinition.N_DECOMPRESS_NANOS,
         BinaryProtocolStatDefinition.MESSAGE_READ_RATE,
         BinaryProtocolStatDefinition.MESSAGE_WRITE_RATE,
         BinaryProtocolStatDefinition.BYTES_READ_RATE,
@@ -153,7 +164,12 @@ public class StatCaptureRepDefinitions extends StatCaptureDefinitions {
         VLSNIndexStatDefinition.N_MISSES,
         VLSNIndexStatDefinition.N_HEAD_BUCKETS_DELETED,
         VLSNIndexStatDefinition.N_TAIL_BUCKETS_DELETED,
-        VLSNIndexStatDefinition.N_BUCKETS_CREATED
+        VLSNIndexStatDefinition.N_BUCKETS_CREATED,
+        VLSNIndexStatDefinition.N_READ_CACHE_EVICTIONS,
+        VLSNIndexStatDefinition.READ_CACHE_BYTES,
+        VLSNIndexStatDefinition.N_TAIL_HITS,
+        VLSNIndexStatDefinition.N_TAIL_MISSES,
+        VLSNIndexStatDefinition.AVG_BUCKET_LOOKUP_NS
     };
 
     private static StatDefinition[] electionStats = {
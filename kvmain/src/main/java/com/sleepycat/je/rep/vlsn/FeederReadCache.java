@@ -0,0 +1,214 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.rep.vlsn;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import com.sleepycat.je.log.LogEntryHeader;
+import com.sleepycat.je.utilint.AtomicLongComponent;
+import com.sleepycat.je.utilint.AtomicLongMapStat;
+import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.StatGroup;
+
+/**
+ * A size bounded cache of the replicated log entries that feeders have read
+ * from the log, shared by all the feeders on the master.
+ *
+ * <p>The {@link LogItemCache} only holds the most recent entries, so a feeder
+ * for a replica or subscriber that has fallen behind reads the log files, and
+ * when several feeders are behind, for example after a network partition, or
+ * with pubsub and multi-region agents in addition to the replicas, each of
+ * them reads the same entries. When a feeder reads an entry from the log, it
+ * adds a copy of the serialized entry to this cache, so that other feeders
+ * following behind can use the copy instead of reading the log.</p>
+ *
+ * <p>Entries are evicted in the order they were added once the total size of
+ * the cached entries exceeds the configured capacity. Since feeders only move
+ * forward, this retains the entries that trailing feeders are about to read.
+ * Lookups do not block, while additions and evictions are synchronized.</p>
+ *
+ * <p>The cache is cleared of the entries that are removed from the VLSN
+ * index, since a VLSN can be reused after the log is truncated during a
+ * replica's syncup.</p>
+ */
+public class FeederReadCache {
+
+    /*
+     * The approximate memory used by a cached entry in addition to its item
+     * bytes: the entry, its header, the map node and the boxed key.
+     */
+    private static final int ENTRY_OVERHEAD = 160;
+
+    private final long maxBytes;
+
+    private final ConcurrentHashMap<Long, CachedEntry> entries =
+        new ConcurrentHashMap<>();
+
+    /* The cached entries in the order they were added. Guarded by this. */
+    private final ArrayDeque<CachedEntry> addOrder = new ArrayDeque<>();
+
+    /* The memory used by the cached entries. Guarded by this. */
+    private long totalBytes;
+
+    /* The hit and miss counts for each type of feeder. */
+    private final ConcurrentHashMap<String, FeederStats> feederStats =
+        new ConcurrentHashMap<>();
+    private final AtomicLongMapStat nHitsMap;
+    private final AtomicLongMapStat nMissesMap;
+
+    /* Updated while synchronized. */
+    private final LongStat nEvictions;
+    private final LongStat cacheBytes;
+
+    /**
+     * @param maxBytes the capacity of the cache in bytes
+     * @param statGroup the statsGroup to which this cache adds its stats
+     */
+    FeederReadCache(long maxBytes, StatGroup statGroup) {
+        this.maxBytes = maxBytes;
+        nHitsMap = new AtomicLongMapStat(
+            statGroup, VLSNIndexStatDefinition.N_READ_CACHE_HITS_MAP);
+        nMissesMap = new AtomicLongMapStat(
+            statGroup, VLSNIndexStatDefinition.N_READ_CACHE_MISSES_MAP);
+        nEvictions = new LongStat(
+            statGroup, VLSNIndexStatDefinition.N_READ_CACHE_EVICTIONS);
+        cacheBytes = new LongStat(
+            statGroup, VLSNIndexStatDefinition.READ_CACHE_BYTES);
+    }
+
+    /**
+     * Returns the stats used to count the hits and misses of the feeders of
+     * the given type, typically the name of the replica's node type.
+     */
+    public FeederStats getFeederStats(String feederType) {
+        return feederStats.computeIfAbsent(
+            feederType,
+            type -> new FeederStats(nHitsMap.createStat(type),
+                                    nMissesMap.createStat(type)));
+    }
+
+    /**
+     * Returns the cached entry for the VLSN, or null if it is not cached.
+     */
+    public CachedEntry get(long vlsn, FeederStats stats) {
+        final CachedEntry entry = entries.get(vlsn);
+        if (entry == null) {
+            stats.nMisses.add(1);
+            return null;
+        }
+        stats.nHits.add(1);
+        return entry;
+    }
+
+    /**
+     * Adds a copy of an entry read from the log, evicting the oldest entries
+     * if the cache is full.
+     *
+     * @param header the header of the log entry
+     * @param item the item following the header, which is not modified
+     */
+    public void put(long vlsn, LogEntryHeader header, ByteBuffer item) {
+        final int itemSize = item.remaining();
+        final long entryBytes = itemSize + ENTRY_OVERHEAD;
+        if (entryBytes > maxBytes) {
+            return;
+        }
+        final byte[] bytes = new byte[itemSize];
+        item.duplicate().get(bytes);
+        final CachedEntry entry = new CachedEntry(vlsn, header, bytes);
+
+        synchronized (this) {
+            if (entries.putIfAbsent(vlsn, entry) != null) {
+                /* Another feeder added it first. */
+                return;
+            }
+            addOrder.addLast(entry);
+            totalBytes += entryBytes;
+            while (totalBytes > maxBytes) {
+                final CachedEntry oldest = addOrder.removeFirst();
+                entries.remove(oldest.vlsn, oldest);
+                totalBytes -= oldest.getMemorySize();
+                nEvictions.increment();
+            }
+            cacheBytes.set(totalBytes);
+        }
+    }
+
+    /**
+     * Clears cached entries with VLSNs matching the given predicate.
+     */
+    synchronized void clear(Predicate<Long> predicate) {
+        final Iterator<CachedEntry> iter = addOrder.iterator();
+        while (iter.hasNext()) {
+            final CachedEntry entry = iter.next();
+            if (predicate.test(entry.vlsn)) {
+                iter.remove();
+                entries.remove(entry.vlsn, entry);
+                totalBytes -= entry.getMemorySize();
+            }
+        }
+        cacheBytes.set(totalBytes);
+    }
+
+    /**
+     * A copy of a replicated log entry.
+     */
+    public static class CachedEntry {
+
+        private final long vlsn;
+        private final LogEntryHeader header;
+        private final byte[] item;
+
+        private CachedEntry(long vlsn, LogEntryHeader header, byte[] item) {
+            this.vlsn = vlsn;
+            this.header = header;
+            this.item = item;
+        }
+
+        public LogEntryHeader getHeader() {
+            return header;
+        }
+
+        /**
+         * Returns a new buffer over the entry's item, so that each feeder
+         * has its own position.
+         */
+        public ByteBuffer getItemBuffer() {
+            return ByteBuffer.wrap(item);
+        }
+
+        private long getMemorySize() {
+            return item.length + ENTRY_OVERHEAD;
+        }
+    }
+
+    /**
+     * The hit and miss counts of a type of feeder.
+     */
+    public static class FeederStats {
+
+        private final AtomicLongComponent nHits;
+        private final AtomicLongComponent nMisses;
+
+        private FeederStats(AtomicLongComponent nHits,
+                            AtomicLongComponent nMisses) {
+            this.nHits = nHits;
+            this.nMisses = nMisses;
+        }
+    }
+}
@@ -73,6 +73,17 @@ class LogItemCache {
     }
 
     LogItem get(long vlsn) {
+        return get(vlsn, true);
+    }
+
+    /**
+     * Returns the cached item for the VLSN, with its use count incremented,
+     * or null.
+     *
+     * @param countStats is false if the lookup is a lookahead that should not
+     * be counted as a hit or a miss
+     */
+    LogItem get(long vlsn, boolean countStats) {
 
         final AtomicReference<LogItem> ref =
             items[(int)vlsn & sizeMask];
@@ -90,14 +101,18 @@ class LogItemCache {
              * So we can compare the ref value to guard against this.
              */
             if (item == ref.get()) {
-                nHits.increment();
+                if (countStats) {
+                    nHits.increment();
+                }
                 return item;
             }
 
             item.decrementUse();
         }
 
-        nMisses.increment();
+        if (countStats) {
+            nMisses.increment();
+        }
         return null;
     }
 
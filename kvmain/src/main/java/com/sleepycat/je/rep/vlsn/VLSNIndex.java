@@ -62,6 +62,7 @@ import com.sleepycat.je.txn.Locker;
 import com.sleepycat.je.txn.Txn;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.LoggerUtils;
+import com.sleepycat.je.utilint.LongAvgStat;
 import com.sleepycat.je.utilint.LongStat;
 import com.sleepycat.je.utilint.NotSerializable;
 import com.sleepycat.je.utilint.Pair;
@@ -387,6 +388,18 @@ public class VLSNIndex {
      */
     private final LogItemCache logItemCache;
 
+    /*
+     * The cache of log entries read by the feeders, shared by all feeders on
+     * the master, or null if it is not configured.
+     */
+    private final FeederReadCache feederReadCache;
+
+    /*
+     * The exact LSNs of the most recent VLSNs, or null if it is not
+     * configured.
+     */
+    private final VLSNTailIndex tailIndex;
+
     /*
      * Statistics associated with the VLSN index
      */
@@ -396,6 +409,9 @@ public class VLSNIndex {
 
     private final LongStat nTailBucketsDeleted;
 
+    /* The time taken by lookups that missed the tail index. */
+    private final LongAvgStat avgBucketLookupNs;
+
     /* For testing [#20726] flushToDatabase while getGTEBucket is executing */
     private TestHook<?> searchGTEHook;
 
@@ -430,6 +446,9 @@ public class VLSNIndex {
         nTailBucketsDeleted =
             new LongStat(statistics,
                          VLSNIndexStatDefinition.N_TAIL_BUCKETS_DELETED);
+        avgBucketLookupNs =
+            new LongAvgStat(statistics,
+                            VLSNIndexStatDefinition.AVG_BUCKET_LOOKUP_NS);
 
         init(mappingDbName,
              vlsnStride,
@@ -440,6 +459,16 @@ public class VLSNIndex {
         logItemCache = new LogItemCache(envImpl.getConfigManager().
                                         getInt(RepParams.VLSN_LOG_CACHE_SIZE),
                                         statistics);
+
+        final long readCacheSize = envImpl.getConfigManager().
+            getLong(RepParams.FEEDER_READ_CACHE_SIZE);
+        feederReadCache = (readCacheSize > 0) ?
+            new FeederReadCache(readCacheSize, statistics) : null;
+
+        final int tailIndexSize = envImpl.getConfigManager().
+            getInt(RepParams.VLSN_TAIL_INDEX_SIZE);
+        tailIndex = (tailIndexSize > 0) ?
+            new VLSNTailIndex(tailIndexSize, statistics) : null;
     }
 
     /**
@@ -548,6 +577,9 @@ public class VLSNIndex {
         final byte entryType = logItem.header.getType();
 
         logItemCache.put(vlsn, logItem);
+        if (tailIndex != null) {
+            tailIndex.put(vlsn, lsn);
+        }
 
         synchronized (this) {
             tracker.track(vlsn, lsn, entryType);
@@ -572,6 +604,39 @@ public class VLSNIndex {
         return logItemCache.get(vlsn);
     }
 
+    /**
+     * Like {@link #getCachedItem}, but does not count the lookup in the log
+     * item cache stats. Used by feeders to look ahead of the VLSN they are
+     * feeding.
+     */
+    public LogItem peekCachedItem(long vlsn) {
+        return logItemCache.get(vlsn, false);
+    }
+
+    /**
+     * Returns the log read cache shared by the feeders, or null if it is not
+     * configured.
+     */
+    public FeederReadCache getFeederReadCache() {
+        return feederReadCache;
+    }
+
+    /**
+     * Returns the LSN of the VLSN if it is in the tail index, or NULL_LSN.
+     * The LSN is exact, so it can be used in place of both precise and
+     * approximate bucket mappings.
+     */
+    long getTailLsn(long vlsn) {
+        return (tailIndex == null) ? DbLsn.NULL_LSN : tailIndex.get(vlsn);
+    }
+
+    /**
+     * Records the time taken by a lookup that used the VLSN buckets.
+     */
+    void noteBucketLookup(long startNs) {
+        avgBucketLookupNs.add(System.nanoTime() - startNs);
+    }
+
     /**
      * Wait for the vlsn, or a higher numbered vlsn, to make its appearance in
      * the VLSN index.
@@ -715,6 +780,8 @@ public class VLSNIndex {
             return false;
         }
 
+        clearReadCachesHead(truncateInfo.first());
+
         return truncateDatabaseFromHead(
             truncateInfo.first(), truncateInfo.second());
     }
@@ -731,6 +798,8 @@ public class VLSNIndex {
             return false;
         }
 
+        clearReadCachesHead(deleteEnd);
+
         return truncateDatabaseFromHead(deleteEnd, deleteFileNum);
     }
 
@@ -759,9 +828,25 @@ public class VLSNIndex {
             return true;
         }
 
+        clearReadCachesHead(deleteEnd);
+
         return truncateDatabaseFromHead(deleteEnd, deleteFileNum);
     }
 
+    /**
+     * Removes the entries for {@literal VLSNs <= deleteEnd} from the feeder
+     * read cache and the tail index, since they may be in files that are
+     * about to be deleted.
+     */
+    private void clearReadCachesHead(long deleteEnd) {
+        if (feederReadCache != null) {
+            feederReadCache.clear(v -> v.compareTo(deleteEnd) <= 0);
+        }
+        if (tailIndex != null) {
+            tailIndex.clear(v -> v <= deleteEnd);
+        }
+    }
+
     private synchronized boolean truncateDatabaseFromHead(
         long deleteEnd, long deleteFileNum) {
 
@@ -809,6 +894,12 @@ public class VLSNIndex {
         throws DatabaseException {
 
         logItemCache.clear(v -> v.compareTo(deleteStart) >= 0);
+        if (feederReadCache != null) {
+            feederReadCache.clear(v -> v.compareTo(deleteStart) >= 0);
+        }
+        if (tailIndex != null) {
+            tailIndex.clear(v -> v >= deleteStart);
+        }
 
         VLSNRange currentRange = tracker.getRange();
         if (VLSN.getNext(currentRange.getLast()) == deleteStart) {
@@ -924,8 +1015,15 @@ public class VLSNIndex {
      * there is a valid bucket.
      */
     public long getGTELsn(long vlsn) {
+        final long tailLsn = getTailLsn(vlsn);
+        if (tailLsn != DbLsn.NULL_LSN) {
+            return tailLsn;
+        }
+        final long startNs = System.nanoTime();
         VLSNBucket bucket = getGTEBucket(vlsn, null);
-        return bucket.getGTELsn(vlsn);
+        final long lsn = bucket.getGTELsn(vlsn);
+        noteBucketLookup(startNs);
+        return lsn;
     }
 
     /**
@@ -2398,6 +2496,18 @@ public class VLSNIndex {
             assert startingLsnInvocations == 1 : "startingLsns() called " +
                 startingLsnInvocations + " times";
 
+            final long tailLsn = vlsnIndex.getTailLsn(vlsn);
+            if (tailLsn != DbLsn.NULL_LSN) {
+                return tailLsn;
+            }
+            final long startNs = System.nanoTime();
+            final long lsn = getBucketLsn(vlsn);
+            vlsnIndex.noteBucketLookup(startNs);
+            return lsn;
+        }
+
+        private long getBucketLsn(long vlsn) {
+
             /*
              * Ideally, we have a bucket that has the mappings for this VLSN.
              * If we don't, we attempt to get the next applicable bucket.
@@ -2527,6 +2637,19 @@ public class VLSNIndex {
 
             assert startingLsnInvocations == 1 : "startingLsns() called " +
                 startingLsnInvocations + " times";
+
+            final long tailLsn = vlsnIndex.getTailLsn(vlsn);
+            if (tailLsn != DbLsn.NULL_LSN) {
+                return tailLsn;
+            }
+            final long startNs = System.nanoTime();
+            final long lsn = getBucketLsn(vlsn, approximate);
+            vlsnIndex.noteBucketLookup(startNs);
+            return lsn;
+        }
+
+        private long getBucketLsn(long vlsn, boolean approximate) {
+
             VLSNBucket debugBucket = currentBucket;
 
             /*
@@ -13,6 +13,8 @@
 
 package com.sleepycat.je.rep.vlsn;
 
+import static com.sleepycat.je.utilint.StatDefinition.StatType.CUMULATIVE;
+
 import com.sleepycat.je.utilint.StatDefinition;
 
 /**
@@ -72,4 +74,80 @@ public class VLSNIndexStatDefinition {
         new StatDefinition(
             N_BUCKETS_CREATED_NAME,
             N_BUCKETS_CREATED_DESC);
+
+    public static final String N_READ_CACHE_HITS_MAP_NAME =
+        "nFeederReadCacheHitsMap";
+    public static final String N_READ_CACHE_HITS_MAP_DESC =
+        "A map from feeder type (the node type of the replica) to the number" +
+            " of log entries the feeders of that type found in the shared " +
+            "feeder read cache.";
+    public static final StatDefinition N_READ_CACHE_HITS_MAP =
+        new StatDefinition(
+            N_READ_CACHE_HITS_MAP_NAME,
+            N_READ_CACHE_HITS_MAP_DESC);
+
+    public static final String N_READ_CACHE_MISSES_MAP_NAME =
+        "nFeederReadCacheMissesMap";
+    public static final String N_READ_CACHE_MISSES_MAP_DESC =
+        "A map from feeder type (the node type of the replica) to the number" +
+            " of log entries the feeders of that type did not find in the " +
+            "shared feeder read cache, and read from the log.";
+    public static final StatDefinition N_READ_CACHE_MISSES_MAP =
+        new StatDefinition(
+            N_READ_CACHE_MISSES_MAP_NAME,
+            N_READ_CACHE_MISSES_MAP_DESC);
+
+    public static final String N_READ_CACHE_EVICTIONS_NAME =
+        "nFeederReadCacheEvictions";
+    public static final String N_READ_CACHE_EVICTIONS_DESC =
+        "Number of log entries evicted from the shared feeder read cache to " +
+            "stay within its capacity.";
+    public static final StatDefinition N_READ_CACHE_EVICTIONS =
+        new StatDefinition(
+            N_READ_CACHE_EVICTIONS_NAME,
+            N_READ_CACHE_EVICTIONS_DESC);
+
+    public static final String READ_CACHE_BYTES_NAME =
+        "feederReadCacheBytes";
+    public static final String READ_CACHE_BYTES_DESC =
+        "Approximate number of bytes of memory used by the log entries in " +
+            "the shared feeder read cache.";
+    public static final StatDefinition READ_CACHE_BYTES =
+        new StatDefinition(
+            READ_CACHE_BYTES_NAME,
+            READ_CACHE_BYTES_DESC,
+            CUMULATIVE);
+
+    public static final String N_TAIL_HITS_NAME =
+        "nTailIndexHits";
+    public static final String N_TAIL_HITS_DESC =
+        "Number of VLSN to LSN lookups that were satisfied by the in-memory " +
+            "index of the most recent VLSNs, without searching the VLSN " +
+            "index buckets.";
+    public static final StatDefinition N_TAIL_HITS =
+        new StatDefinition(
+            N_TAIL_HITS_NAME,
+            N_TAIL_HITS_DESC);
+
+    public static final String N_TAIL_MISSES_NAME =
+        "nTailIndexMisses";
+    public static final String N_TAIL_MISSES_DESC =
+        "Number of VLSN to LSN lookups for VLSNs that were not in the " +
+            "in-memory index of the most recent VLSNs, and were looked up in " +
+            "the VLSN index buckets.";
+    public static final StatDefinition N_TAIL_MISSES =
+        new StatDefinition(
+            N_TAIL_MISSES_NAME,
+            N_TAIL_MISSES_DESC);
+
+    public static final String AVG_BUCKET_LOOKUP_NS_NAME =
+        "avgBucketLookupNs";
+    public static final String AVG_BUCKET_LOOKUP_NS_DESC =
+        "Average time in nanoseconds taken by VLSN to LSN lookups that " +
+            "searched the VLSN index buckets, including any wait for the " +
+            "VLSN index and reads of buckets from the mapping database.";
+    public static final StatDefinition AVG_BUCKET_LOOKUP_NS =
+        new StatDefinition(
+            AVG_BUCKET_LOOKUP_NS_NAME,
+            AVG_BUCKET_LOOKUP_NS_DESC);
 }
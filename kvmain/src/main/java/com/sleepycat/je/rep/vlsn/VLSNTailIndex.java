@@ -0,0 +1,121 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.rep.vlsn;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongPredicate;
+
+import com.sleepycat.je.utilint.DbLsn;
+import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.StatGroup;
+import com.sleepycat.je.utilint.VLSN;
+
+/**
+ * An in-memory VLSN to LSN mapping for every VLSN in a recent window at the
+ * tail of the VLSN index.
+ *
+ * <p>The VLSNBuckets only record the LSN of every stride'th VLSN, so feeders
+ * and syncup must scan the log from a nearby mapping, and the lookups on the
+ * current bucket are synchronized with the tracker's puts. This index holds
+ * the exact LSN of each of the most recent VLSNs in a pair of primitive
+ * arrays used as a ring buffer, indexed by the low order bits of the VLSN, so
+ * a lookup is O(1) and is done without any locking.</p>
+ *
+ * <p>Each slot records the VLSN it maps along with the LSN. A put claims the
+ * slot by setting its VLSN to BUSY, then sets the LSN, and then sets the
+ * VLSN, and a get reads the VLSN before and after the LSN, so a get that
+ * races with a put of the same slot returns either a mapping that was valid
+ * when it was read, or no mapping. Puts are not synchronized, so if two puts
+ * of the same slot race, which requires VLSNs a window apart, one of them is
+ * dropped, and the VLSN is found in the buckets instead.</p>
+ */
+class VLSNTailIndex {
+
+    /* The VLSN of a slot that is being updated by a put. */
+    private static final long BUSY = Long.MIN_VALUE;
+
+    private final int sizeMask;
+    private final AtomicLongArray vlsns;
+    private final AtomicLongArray lsns;
+
+    /*
+     * Stats are updated without synchronization, like the ones for the
+     * LogItemCache, so they are approximate.
+     */
+    private final LongStat nHits;
+    private final LongStat nMisses;
+
+    /**
+     * @param size the number of VLSNs in the window, which must be a power
+     * of two
+     * @param statGroup the statsGroup to which this index adds its stats
+     * @throws IllegalArgumentException via ReplicatedEnvironment ctor.
+     */
+    VLSNTailIndex(int size, StatGroup statGroup) {
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException
+                ("Bad tail index size: " + size + "; it must be a power of 2");
+        }
+        sizeMask = size - 1;
+        vlsns = new AtomicLongArray(size);
+        lsns = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            vlsns.set(i, VLSN.NULL_VLSN);
+        }
+        nHits = new LongStat(statGroup, VLSNIndexStatDefinition.N_TAIL_HITS);
+        nMisses =
+            new LongStat(statGroup, VLSNIndexStatDefinition.N_TAIL_MISSES);
+    }
+
+    void put(long vlsn, long lsn) {
+        final int i = (int) (vlsn & sizeMask);
+        final long prev = vlsns.get(i);
+        if ((prev == BUSY) || !vlsns.compareAndSet(i, prev, BUSY)) {
+            /* Another put is updating the slot. */
+            return;
+        }
+        lsns.set(i, lsn);
+        vlsns.set(i, vlsn);
+    }
+
+    /**
+     * Returns the LSN of the VLSN, or NULL_LSN if it is not in the window.
+     */
+    long get(long vlsn) {
+        final int i = (int) (vlsn & sizeMask);
+        if (vlsns.get(i) == vlsn) {
+            final long lsn = lsns.get(i);
+            if (vlsns.get(i) == vlsn) {
+                nHits.increment();
+                return lsn;
+            }
+        }
+        nMisses.increment();
+        return DbLsn.NULL_LSN;
+    }
+
+    /**
+     * Removes the mappings of the VLSNs that match the predicate. Slots being
+     * updated by a concurrent put are left to the put.
+     */
+    void clear(LongPredicate predicate) {
+        for (int i = 0; i <= sizeMask; i++) {
+            final long vlsn = vlsns.get(i);
+            if ((vlsn != VLSN.NULL_VLSN) && (vlsn != BUSY) &&
+                predicate.test(vlsn)) {
+                vlsns.compareAndSet(i, vlsn, VLSN.NULL_VLSN);
+            }
+        }
+    }
+}
@@ -301,6 +301,13 @@ public class StatCaptureDefinitions {
     		BeforeImageIndexStatDefinition.N_BIMG_RECORDS_BY_UPDATES,
     		BeforeImageIndexStatDefinition.N_BIMG_RECORDS_BY_DELETES,
     		BeforeImageIndexStatDefinition.N_BIMG_RECORDS_BY_TOMBSTONES,
+    		BeforeImageIndexStatDefinition.N_BIMG_CACHE_HITS,
+    		BeforeImageIndexStatDefinition.N_BIMG_CACHE_MISSES,
+    		BeforeImageIndexStatDefinition.BIMG_CACHE_HIT_RATIO,
+    		BeforeImageIndexStatDefinition.N_BIMG_CACHE_EVICTIONS,
+    		BeforeImageIndexStatDefinition.BIMG_CACHE_BYTES,
+    		BeforeImageIndexStatDefinition.N_BIMG_BATCH_FETCHES,
+    		BeforeImageIndexStatDefinition.N_BIMG_BATCH_FETCHED,
      };
 
     /*
@@ -31,6 +31,7 @@ import com.sleepycat.je.dbi.DatabaseImpl;
 import com.sleepycat.je.dbi.EnvironmentFailureReason;
 import com.sleepycat.je.dbi.EnvironmentImpl;
 import com.sleepycat.je.dbi.MemoryBudget;
+import com.sleepycat.je.evictor.OffHeapCache;
 import com.sleepycat.je.log.ErasedException;
 import com.sleepycat.je.log.LogEntryType;
 import com.sleepycat.je.log.LogItem;
@@ -1412,10 +1413,12 @@ public class BIN extends IN {
         /* Try to evict each child LN. */
         long totalRemoved = 0;
         long numLNsEvicted = 0;
+        final OffHeapCache offHeapCache = getEnv().getOffHeapCache();
 
         for (int i = 0; i < getNEntries(); i++) {
 
-            if (getTarget(i) == null) {
+            final LN ln = (LN) getTarget(i);
+            if (ln == null) {
                 continue;
             }
 
@@ -1424,6 +1427,10 @@ public class BIN extends IN {
             if (lnRemoved > 0) {
                 totalRemoved += lnRemoved;
                 ++numLNsEvicted;
+
+                if (offHeapCache != null) {
+                    offHeapCache.storeLN(this, i, ln);
+                }
             }
         }
 
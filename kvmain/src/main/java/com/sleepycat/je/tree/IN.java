@@ -40,6 +40,7 @@ import com.sleepycat.je.dbi.InternalComparator;
 import com.sleepycat.je.dbi.MemoryBudget;
 import com.sleepycat.je.dbi.TTL;
 import com.sleepycat.je.evictor.Evictor;
+import com.sleepycat.je.evictor.OffHeapCache;
 import com.sleepycat.je.latch.LatchContext;
 import com.sleepycat.je.latch.LatchFactory;
 import com.sleepycat.je.latch.LatchSupport;
@@ -2268,14 +2269,23 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
                 TestHookExecute.doHookIfSet(fetchINHook);
 
-                final WholeEntry wholeEntry = envImpl.getLogManager().
-                    getLogEntryAllowInvisibleAtRecovery(
-                        lsn, lastLoggedSize);
+                /* Null if loaded from the off-heap cache. */
+                final WholeEntry wholeEntry;
+
+                child = loadBINFromOffHeap(envImpl, lsn);
 
-                lastLoggedSize = wholeEntry.getHeader().getEntrySize();
-                final LogEntry logEntry = wholeEntry.getEntry();
+                if (child != null) {
+                    wholeEntry = null;
+                } else {
+                    wholeEntry = envImpl.getLogManager().
+                        getLogEntryAllowInvisibleAtRecovery(
+                            lsn, lastLoggedSize);
 
-                child = (IN) logEntry.getResolvedItem(databaseImpl);
+                    lastLoggedSize = wholeEntry.getHeader().getEntrySize();
+                    final LogEntry logEntry = wholeEntry.getEntry();
+
+                    child = (IN) logEntry.getResolvedItem(databaseImpl);
+                }
 
                 isMiss = true;
 
@@ -2395,7 +2405,11 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
                 } else {
                     child.latchNoUpdateLRU(databaseImpl);
 
-                    child.postFetchInit(databaseImpl, lsn, wholeEntry);
+                    if (wholeEntry != null) {
+                        child.postFetchInit(databaseImpl, lsn, wholeEntry);
+                    } else {
+                        child.postLoadInit(databaseImpl);
+                    }
                     /* Cache size in case it is missing or inaccurate. */
                     setLastLoggedSize(idx, lastLoggedSize);
 
@@ -2452,6 +2466,20 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         return child;
     }
 
+    /**
+     * Returns the child BIN with the given LSN from the off-heap cache, or
+     * null if it is not there. Only the children of a level 2 IN are BINs,
+     * so the off-heap cache is not probed, and no miss is counted, when an
+     * upper IN is fetched.
+     */
+    private IN loadBINFromOffHeap(EnvironmentImpl envImpl, long lsn) {
+        if (getNormalizedLevel() != 2) {
+            return null;
+        }
+        final OffHeapCache offHeapCache = envImpl.getOffHeapCache();
+        return (offHeapCache != null) ? offHeapCache.loadBIN(lsn) : null;
+    }
+
     /**
      * Returns the idx-th child of "this" upper IN, fetching the child from
      * the log and attaching it to its parent if it is not already attached.
@@ -2482,23 +2510,35 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
             }
 
             try {
-                final WholeEntry wholeEntry = envImpl.getLogManager().
-                    getLogEntryAllowInvisibleAtRecovery(
-                        lsn, getLastLoggedSize(idx));
+                child = loadBINFromOffHeap(envImpl, lsn);
 
-                /* Cache size in case it is missing or inaccurate. */
-                setLastLoggedSize(
-                    idx, wholeEntry.getHeader().getEntrySize());
+                if (child != null) {
+                    isMiss = true;
 
-                final LogEntry logEntry = wholeEntry.getEntry();
-                child = (IN) logEntry.getResolvedItem(databaseImpl);
+                    child.latchNoUpdateLRU(databaseImpl);
+                    child.postLoadInit(databaseImpl);
+                    attachNode(idx, child, null);
+                    child.releaseLatch();
 
-                isMiss = true;
+                } else {
+                    final WholeEntry wholeEntry = envImpl.getLogManager().
+                        getLogEntryAllowInvisibleAtRecovery(
+                            lsn, getLastLoggedSize(idx));
+
+                    /* Cache size in case it is missing or inaccurate. */
+                    setLastLoggedSize(
+                        idx, wholeEntry.getHeader().getEntrySize());
 
-                child.latchNoUpdateLRU(databaseImpl);
-                child.postFetchInit(databaseImpl, lsn, wholeEntry);
-                attachNode(idx, child, null);
-                child.releaseLatch();
+                    final LogEntry logEntry = wholeEntry.getEntry();
+                    child = (IN) logEntry.getResolvedItem(databaseImpl);
+
+                    isMiss = true;
+
+                    child.latchNoUpdateLRU(databaseImpl);
+                    child.postFetchInit(databaseImpl, lsn, wholeEntry);
+                    attachNode(idx, child, null);
+                    child.releaseLatch();
+                }
 
             } catch (FileNotFoundException e) {
                 /* Always throws an exception. */
@@ -2584,23 +2624,36 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
                 throw unexpectedState("May not fetch immediately obsolete LN");
             }
             try {
-                final WholeEntry wholeEntry = envImpl.getLogManager().
-                    getLogEntryAllowInvisibleAtRecovery(
-                        lsn, getLastLoggedSize(idx));
+                final OffHeapCache offHeapCache = envImpl.getOffHeapCache();
+                ln = (offHeapCache != null) ? offHeapCache.loadLN(lsn) : null;
 
-                /* Last logged size is not present before log version 9. */
-                setLastLoggedSize(
-                    idx, wholeEntry.getHeader().getEntrySize());
+                /*
+                 * The slot key need not be updated for an LN loaded from the
+                 * off-heap cache, since it was updated when the LN was first
+                 * fetched or logged.
+                 */
+                byte[] lnSlotKey = null;
+
+                if (ln == null) {
+                    final WholeEntry wholeEntry = envImpl.getLogManager().
+                        getLogEntryAllowInvisibleAtRecovery(
+                            lsn, getLastLoggedSize(idx));
+
+                    /* Last logged size is not present before log version 9. */
+                    setLastLoggedSize(
+                        idx, wholeEntry.getHeader().getEntrySize());
 
-                final LogEntry logEntry = wholeEntry.getEntry();
+                    final LogEntry logEntry = wholeEntry.getEntry();
 
-                final LNLogEntry<?> lnEntry =
-                    (LNLogEntry<?>) wholeEntry.getEntry();
+                    final LNLogEntry<?> lnEntry =
+                        (LNLogEntry<?>) wholeEntry.getEntry();
 
-                lnEntry.postFetchInit(databaseImpl);
-                BtreeVerifier.verifyDataRecord(lnEntry, bin, idx);
+                    lnEntry.postFetchInit(databaseImpl);
+                    BtreeVerifier.verifyDataRecord(lnEntry, bin, idx);
 
-                final byte[] lnSlotKey = lnEntry.getKey();
+                    lnSlotKey = lnEntry.getKey();
+                    ln = (LN) logEntry.getResolvedItem(databaseImpl);
+                }
 
                 /*
                  * BINs with resident LNs shouldn't be in the dirty
@@ -2614,8 +2667,6 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
                     getEvictor().moveToPri1LRU(this);
                 }
 
-                ln = (LN) logEntry.getResolvedItem(databaseImpl);
-
                 isMiss = true;
 
                 ln.initialize(databaseImpl);
@@ -2691,6 +2742,21 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         }
     }
 
+    /**
+     * Initialize a node that has been loaded from the off-heap cache. Its last
+     * logged LSNs and sizes were restored when it was loaded.
+     */
+    public final void postLoadInit(DatabaseImpl db) {
+        assert isLatchExclusiveOwner();
+
+        commonInit(db);
+        addToCache();
+
+        if (isBIN()) {
+            setFetchedCold(true);
+        }
+    }
+
     /**
      * Initialize a node read in during recovery.
      */
@@ -3185,6 +3251,24 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
         assert nEntries >= 0;
 
+        /*
+         * The front-coded key rep searches its restart keys, which it can
+         * compare without materializing them, and then scans one interval.
+         * It is only used for BINs, so there is no special 0th entry.
+         */
+        if (entryKeys.getType() == INKeyRep.Type.FRONT_CODED &&
+            !entryZeroSpecialCompare) {
+
+            final int pos = ((INKeyRep.FrontCoded) entryKeys).search(
+                key, keyPrefix, nEntries, this, comparator);
+
+            if (pos >= 0) {
+                return foundEntry(pos, indicateIfDuplicate, exact);
+            }
+
+            return exact ? -1 : (-pos - 2);
+        }
+
         while (low <= high) {
 
             middle = (high + low) / 2;
@@ -3203,18 +3287,7 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
             } else if (s > 0) {
                 low = middle + 1;
             } else {
-                int ret;
-                if (indicateIfDuplicate) {
-                    ret = middle | EXACT_MATCH;
-                } else {
-                    ret = middle;
-                }
-
-                if ((ret >= 0) && exact && isEntryKnownDeleted(ret & 0xffff)) {
-                    return -1;
-                } else {
-                    return ret;
-                }
+                return foundEntry(middle, indicateIfDuplicate, exact);
             }
         }
 
@@ -3229,6 +3302,29 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         }
     }
 
+    /**
+     * Returns the findEntry result for a slot whose key matches the search
+     * key.
+     */
+    private int foundEntry(
+        int idx,
+        boolean indicateIfDuplicate,
+        boolean exact) {
+
+        int ret;
+        if (indicateIfDuplicate) {
+            ret = idx | EXACT_MATCH;
+        } else {
+            ret = idx;
+        }
+
+        if ((ret >= 0) && exact && isEntryKnownDeleted(ret & 0xffff)) {
+            return -1;
+        } else {
+            return ret;
+        }
+    }
+
     /**
      * Inserts a slot with the given key, lsn and child node into this IN, if
      * a slot with the same key does not exist already. The state of the new
@@ -4762,27 +4858,38 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
     public long compactMemory() {
 
         final long oldSize = inMemorySize;
-        final INKeyRep oldKeyRep = entryKeys;
 
         entryTargets = entryTargets.compact(this);
-        entryKeys = entryKeys.compact(this);
 
         /*
          * Note that we only need to account for mem usage changes in the key
          * rep here, not the target rep.  The target rep, unlike the key rep,
          * updates its mem usage internally, and the responsibility for mem
          * usage of contained nodes is fixed -- it is always managed by the IN.
-         *
+         */
+        compactKeys();
+
+        return oldSize - inMemorySize;
+    }
+
+    /**
+     * Mutates the key rep to a more compact representation, if possible.
+     */
+    private void compactKeys() {
+
+        final INKeyRep oldKeyRep = entryKeys;
+
+        entryKeys = entryKeys.compact(this);
+
+        /*
          * When the key rep changes, the accountsForKeyByteMemUsage property
-         * also changes. Recalc the size of the entire IN, because
-         * responsibility for managing contained key byte mem usage has shifted
-         * between the key rep and the IN parent.
+         * may also change. Recalc the size of the entire IN, because
+         * responsibility for managing contained key byte mem usage may have
+         * shifted between the key rep and the IN parent.
          */
         if (entryKeys != oldKeyRep) {
             updateMemorySize(inMemorySize, computeMemorySize());
         }
-
-        return oldSize - inMemorySize;
     }
 
     /**
@@ -4961,6 +5068,10 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         return getEnv().getCompactMaxKeyLength();
     }
 
+    protected int getKeyRestartInterval() {
+        return getEnv().getKeyRestartInterval();
+    }
+
     /**
      * Called when adding/removing this IN to/from the INList.
      */
@@ -5455,6 +5566,17 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
             setDirty(false);
         }
 
+        /*
+         * A full BIN that is no longer dirty may now use the front-coded key
+         * rep, which is only used for BINs that are not being updated.
+         */
+        if (bin != null &&
+            !getDirty() &&
+            !bin.isBINDelta() &&
+            getKeyRestartInterval() > 0) {
+            compactKeys();
+        }
+
         if (!countObsoleteNow && parent != null) {
             parent.trackProvisionalObsolete(this, oldLsn);
             parent.trackProvisionalObsolete(this, auxOldLsn);
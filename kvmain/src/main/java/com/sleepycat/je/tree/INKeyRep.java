@@ -40,6 +40,13 @@ import com.sleepycat.je.utilint.SizeofMarker;
  * A compact representation <code>MaxKeySize</code> that's more efficient for
  * holding small keys, stored using a single byte array for all keys. This
  * format has a maxKeySize, calculated when it is created.</li>
+ * <li>
+ * A packed representation <code>FrontCoded</code> for BINs, where each key is
+ * stored as the length of the prefix it shares with the previous key followed
+ * by the remaining bytes. The full key is stored at every {@link
+ * EnvironmentConfig#TREE_KEY_RESTART_INTERVAL restart interval}, so that a
+ * search can binary search the restart keys and then scan a single
+ * interval.</li>
  * </ol>
  *
  * <p>If key prefixing is in use, both formats only store the suffix of each
@@ -62,6 +69,11 @@ import com.sleepycat.je.utilint.SizeofMarker;
  * be immediately mutated, wasting allocations. This approach ensures that the
  * compact format is only used as determined by {@link Default#compact}.</p>
  *
+ * <p>The front-coded format is only used for a BIN that is not dirty, and
+ * whose keys would also fit in the compact format. Any change to the keys
+ * mutates it to the compact format, so a BIN that is being updated is not
+ * repeatedly packed and unpacked. It is logged as the compact format.</p>
+ *
  * <p>Note that no attempt is currently made to optimize the storage
  * representation as keys are added or removed, to minimize the chances of
  * transitionary "back and forth" representation changes that could prove to
@@ -71,7 +83,7 @@ public abstract class INKeyRep
     extends INArrayRep<INKeyRep, INKeyRep.Type, byte[]> {
 
     /* The different representations for keys. */
-    public enum Type { DEFAULT, MAX_KEY_SIZE }
+    public enum Type { DEFAULT, MAX_KEY_SIZE, FRONT_CODED }
 
     private static final byte[][] EMPTY_KEYS_ARRAY = new byte[0][];
 
@@ -373,9 +385,17 @@ public abstract class INKeyRep
             }
 
             long defaultSizeWithKeys = calculateMemorySize() + defaultKeyBytes;
+            long maxKeySizeSize =
+                MaxKeySize.calculateMemorySize(keys.length, maxKeyLength);
+
+            final FrontCoded frontCoded = FrontCoded.compact(
+                this, maxKeyLength,
+                Math.min(defaultSizeWithKeys, maxKeySizeSize), parent);
+            if (frontCoded != null) {
+                return frontCoded;
+            }
 
-            if (defaultSizeWithKeys >
-                MaxKeySize.calculateMemorySize(keys.length, maxKeyLength)) {
+            if (defaultSizeWithKeys > maxKeySizeSize) {
                 return compactToMaxKeySizeRep(maxKeyLength, parent);
             }
 
@@ -803,10 +823,15 @@ public abstract class INKeyRep
             return this;
         }
 
+        /**
+         * Evolves to the FrontCoded representation if that is enabled for the
+         * parent BIN and is more efficient for the current set of keys.
+         */
         @Override
-        public INKeyRep compact(@SuppressWarnings("unused") IN parent) {
-            /* It's as compact as it gets. */
-            return this;
+        public INKeyRep compact(IN parent) {
+            final FrontCoded frontCoded = FrontCoded.compact(
+                this, getCompactMaxKeySize(), calculateMemorySize(), parent);
+            return (frontCoded != null) ? frontCoded : this;
         }
 
         @Override
@@ -840,4 +865,598 @@ public abstract class INKeyRep
             return fixedKeyLen - LENGTH_BYTES;
         }
     }
+
+    /**
+     * The packed representation for the keys of a BIN that is not being
+     * updated. Keys are stored in a single byte array in slot order, each as
+     * the number of leading bytes it shares with the previous key, the number
+     * of remaining bytes, and the remaining bytes. Adjacent keys in a BIN
+     * usually differ only in their last few bytes, even after key prefixing
+     * has removed the prefix common to the whole BIN, so this is often much
+     * smaller than the MaxKeySize representation.
+     * <p>
+     * Every {@link EnvironmentConfig#TREE_KEY_RESTART_INTERVAL} keys, a key
+     * is stored in full (it shares no bytes with the previous key), and its
+     * offset is stored in the restarts array. A key is materialized by
+     * decoding forward from the preceding restart, and {@link #search}
+     * does a binary search over the restart keys, which can be compared in
+     * place, and then scans the keys of a single interval.
+     * <p>
+     * The representation is only used when all keys would also fit in the
+     * MaxKeySize representation, so that every length fits in a byte.
+     * Any change to a key mutates it to the MaxKeySize representation, which
+     * also accounts for the key bytes internally, so the mutation does not
+     * change the responsibility for key memory. To avoid packing and
+     * unpacking a BIN repeatedly, {@link #compact} only packs BINs that are
+     * not dirty.
+     */
+    public static class FrontCoded extends INKeyRep {
+
+        /* Stored in place of the shared length for a null key. */
+        private static final int NULL_KEY = 0xff;
+
+        /* The shared length and suffix length of each non-null key. */
+        private static final int HEADER_BYTES = 2;
+
+        private final byte[] keys;
+
+        /* Offset in keys of every restartInterval'th slot. */
+        private final int[] restarts;
+
+        private final int capacity;
+        private final int restartInterval;
+        private final int maxKeyLen;
+
+        private FrontCoded(byte[] keys,
+                           int[] restarts,
+                           int capacity,
+                           int restartInterval,
+                           int maxKeyLen) {
+            this.keys = keys;
+            this.restarts = restarts;
+            this.capacity = capacity;
+            this.restartInterval = restartInterval;
+            this.maxKeyLen = maxKeyLen;
+        }
+
+        /* Only for use by Sizeof */
+        public FrontCoded(@SuppressWarnings("unused") SizeofMarker marker) {
+            keys = null;
+            restarts = null;
+            capacity = 0;
+            restartInterval = 0;
+            maxKeyLen = 0;
+        }
+
+        /**
+         * Returns a FrontCoded copy of the given representation, if front
+         * coding is enabled for the parent and the copy is smaller than
+         * sizeToBeat, or null otherwise. The memory size change is noted if
+         * a copy is returned.
+         *
+         * @param maxKeyLen the maximum length of the keys in rep, which must
+         * be valid for a MaxKeySize representation.
+         */
+        static FrontCoded compact(INKeyRep rep,
+                                  int maxKeyLen,
+                                  long sizeToBeat,
+                                  IN parent) {
+
+            final int interval = parent.getKeyRestartInterval();
+
+            if (interval <= 0 ||
+                !parent.isBIN() ||
+                parent.isBINDelta(false) ||
+                parent.getDirty()) {
+                return null;
+            }
+
+            final int nSlots = rep.length();
+
+            if (nSlots == 0 ||
+                nSlots > MaxKeySize.MAX_KEYS ||
+                maxKeyLen < 0 ||
+                maxKeyLen >= NULL_KEY) {
+                return null;
+            }
+
+            final byte[][] slotKeys = new byte[nSlots][];
+            for (int i = 0; i < nSlots; i++) {
+                slotKeys[i] = rep.get(i);
+            }
+
+            /* Compute the encoded size before allocating it. */
+            int nBytes = 0;
+            byte[] prev = null;
+            for (int i = 0; i < nSlots; i++) {
+                final byte[] key = slotKeys[i];
+                if (key == null) {
+                    nBytes += 1;
+                } else {
+                    final int shared = sharedLength(prev, key, i, interval);
+                    nBytes += HEADER_BYTES + key.length - shared;
+                }
+                prev = key;
+            }
+
+            final int nRestarts = (nSlots + interval - 1) / interval;
+
+            if (calculateMemorySize(nBytes, nRestarts) >= sizeToBeat) {
+                return null;
+            }
+
+            final byte[] bytes = new byte[nBytes];
+            final int[] restarts = new int[nRestarts];
+            int off = 0;
+            prev = null;
+            for (int i = 0; i < nSlots; i++) {
+                if (i % interval == 0) {
+                    restarts[i / interval] = off;
+                }
+                final byte[] key = slotKeys[i];
+                if (key == null) {
+                    bytes[off++] = (byte) NULL_KEY;
+                } else {
+                    final int shared = sharedLength(prev, key, i, interval);
+                    final int suffixLen = key.length - shared;
+                    bytes[off++] = (byte) shared;
+                    bytes[off++] = (byte) suffixLen;
+                    System.arraycopy(key, shared, bytes, off, suffixLen);
+                    off += suffixLen;
+                }
+                prev = key;
+            }
+            assert off == nBytes;
+
+            final FrontCoded newRep = new FrontCoded(
+                bytes, restarts, nSlots, interval, maxKeyLen);
+
+            rep.noteRepChange(newRep, parent);
+
+            return newRep;
+        }
+
+        /**
+         * Returns the number of leading bytes the key at idx shares with the
+         * previous key, which is zero at a restart or after a null key.
+         */
+        private static int sharedLength(byte[] prev,
+                                        byte[] key,
+                                        int idx,
+                                        int interval) {
+            if (prev == null || idx % interval == 0) {
+                return 0;
+            }
+            final int len = Math.min(prev.length, key.length);
+            int shared = 0;
+            while (shared < len && prev[shared] == key[shared]) {
+                shared++;
+            }
+            return shared;
+        }
+
+        /**
+         * Returns the offset in keys of the entry for the given slot, by
+         * skipping forward from the preceding restart.
+         */
+        private int entryOffset(int idx) {
+            int off = restarts[idx / restartInterval];
+            for (int i = idx - (idx % restartInterval); i < idx; i++) {
+                off += entrySize(off);
+            }
+            return off;
+        }
+
+        private int entrySize(int off) {
+            final int shared = keys[off] & 0xff;
+            return (shared == NULL_KEY) ?
+                1 : (HEADER_BYTES + (keys[off + 1] & 0xff));
+        }
+
+        /**
+         * Decodes the key at idx, returning null for a null key. The key is
+         * rebuilt by applying each entry from the preceding restart.
+         */
+        private byte[] decode(int idx) {
+
+            int off = restarts[idx / restartInterval];
+            final byte[] buf = new byte[maxKeyLen];
+
+            for (int i = idx - (idx % restartInterval); ; i++) {
+
+                final int shared = keys[off] & 0xff;
+
+                if (shared == NULL_KEY) {
+                    if (i == idx) {
+                        return null;
+                    }
+                    off += 1;
+                    continue;
+                }
+
+                final int suffixLen = keys[off + 1] & 0xff;
+                System.arraycopy(
+                    keys, off + HEADER_BYTES, buf, shared, suffixLen);
+
+                if (i == idx) {
+                    final int len = shared + suffixLen;
+                    return (len == buf.length) ? buf : Arrays.copyOf(buf, len);
+                }
+                off += HEADER_BYTES + suffixLen;
+            }
+        }
+
+        /**
+         * Searches the first nEntries keys, which must be in key order, using
+         * a binary search over the restart keys followed by a scan of one
+         * restart interval.
+         *
+         * @return the slot of the key if found, or else (-(insertion point)
+         * - 1), where the insertion point is the slot of the first key
+         * greater than the search key.
+         */
+        int search(byte[] searchKey,
+                   byte[] prefix,
+                   int nEntries,
+                   IN parent,
+                   InternalComparator comparator) {
+
+            if (nEntries == 0) {
+                return -1;
+            }
+
+            final int prefixLen = (prefix != null) ? prefix.length : 0;
+
+            int low = 0;
+            int high = (nEntries - 1) / restartInterval;
+
+            while (low <= high) {
+
+                final int middle = (high + low) >>> 1;
+                final int idx = middle * restartInterval;
+                final int off = restarts[middle];
+                int keyOff = off;
+                int keyLen = 0;
+
+                /* A restart key is stored whole and compared in place. */
+                if ((keys[off] & 0xff) != NULL_KEY) {
+                    keyOff += HEADER_BYTES;
+                    keyLen = keys[off + 1] & 0xff;
+                    if (parent.haveEmbeddedData(idx)) {
+                        keyLen = DupKeyData.getKeyLength(keys, keyOff, keyLen);
+                    }
+                }
+
+                final int s = comparator.compare(
+                    searchKey, 0, searchKey.length,
+                    prefix, 0, prefixLen,
+                    keys, keyOff, keyLen);
+
+                if (s < 0) {
+                    high = middle - 1;
+                } else if (s > 0) {
+                    low = middle + 1;
+                } else {
+                    return idx;
+                }
+            }
+
+            if (high < 0) {
+                return -1;
+            }
+
+            /*
+             * The search key is greater than the restart key at high, and
+             * less than the next restart key, if any.
+             */
+            final int start = high * restartInterval;
+            final int end = Math.min(start + restartInterval, nEntries);
+            final byte[] buf = new byte[maxKeyLen];
+            int off = restarts[high];
+
+            for (int i = start; i < end; i++) {
+
+                final int shared = keys[off] & 0xff;
+                int len;
+
+                if (shared == NULL_KEY) {
+                    off += 1;
+                    len = 0;
+                } else {
+                    final int suffixLen = keys[off + 1] & 0xff;
+                    System.arraycopy(
+                        keys, off + HEADER_BYTES, buf, shared, suffixLen);
+                    off += HEADER_BYTES + suffixLen;
+                    len = shared + suffixLen;
+                }
+
+                if (i == start) {
+                    continue;
+                }
+
+                final int keyLen = parent.haveEmbeddedData(i) ?
+                    DupKeyData.getKeyLength(buf, 0, len) : len;
+
+                final int s = comparator.compare(
+                    searchKey, 0, searchKey.length,
+                    prefix, 0, prefixLen,
+                    buf, 0, keyLen);
+
+                if (s == 0) {
+                    return i;
+                }
+                if (s < 0) {
+                    return -(i + 1);
+                }
+            }
+
+            return -(end + 1);
+        }
+
+        /**
+         * Unpacks to the MaxKeySize representation, prior to a change.
+         */
+        private MaxKeySize expandToMaxKeySizeRep(IN parent) {
+
+            final MaxKeySize newRep =
+                new MaxKeySize(capacity, (short) maxKeyLen);
+
+            int off = 0;
+            final byte[] buf = new byte[maxKeyLen];
+
+            for (int i = 0; i < capacity; i++) {
+
+                final int shared = keys[off] & 0xff;
+
+                if (shared == NULL_KEY) {
+                    off += 1;
+                    continue;
+                }
+
+                final int suffixLen = keys[off + 1] & 0xff;
+                System.arraycopy(
+                    keys, off + HEADER_BYTES, buf, shared, suffixLen);
+                off += HEADER_BYTES + suffixLen;
+
+                INKeyRep rep = newRep.set(
+                    i, Arrays.copyOf(buf, shared + suffixLen), parent);
+                assert rep == newRep; /* Rep remains unchanged. */
+            }
+
+            noteRepChange(newRep, parent);
+            return newRep;
+        }
+
+        @Override
+        public INKeyRep resize(int capacity) {
+            /* The caller adjusts the memory size and cache stats. */
+            return expandToMaxKeySizeRep(null).resize(capacity);
+        }
+
+        @Override
+        public Type getType() {
+            return Type.FRONT_CODED;
+        }
+
+        @Override
+        public int length() {
+            return capacity;
+        }
+
+        @Override
+        public INKeyRep set(int idx, byte[] key, IN parent) {
+            return expandToMaxKeySizeRep(parent).set(idx, key, parent);
+        }
+
+        @Override
+        public INKeyRep set(int idx, byte[] key, byte[] data, IN parent) {
+            return expandToMaxKeySizeRep(parent).set(idx, key, data, parent);
+        }
+
+        @Override
+        public INKeyRep setData(int idx, byte[] data, IN parent) {
+            return expandToMaxKeySizeRep(parent).setData(idx, data, parent);
+        }
+
+        @Override
+        public INKeyRep copy(int from, int to, int n, IN parent) {
+            return expandToMaxKeySizeRep(parent).copy(from, to, n, parent);
+        }
+
+        @Override
+        public INKeyRep read(int idx, ByteBuffer buffer, IN parent) {
+            return expandToMaxKeySizeRep(parent).read(idx, buffer, parent);
+        }
+
+        @Override
+        public int size(int idx) {
+
+            final int off = entryOffset(idx);
+
+            assert (keys[off] & 0xff) != NULL_KEY;
+
+            return (keys[off] & 0xff) + (keys[off + 1] & 0xff);
+        }
+
+        @Override
+        public void write(int idx, ByteBuffer buffer) {
+
+            final int off = entryOffset(idx);
+
+            assert (keys[off] & 0xff) != NULL_KEY;
+
+            if (keys[off] == 0) {
+                LogUtils.writeByteArray(
+                    buffer, keys, off + HEADER_BYTES, keys[off + 1] & 0xff);
+            } else {
+                LogUtils.writeByteArray(buffer, decode(idx));
+            }
+        }
+
+        @Override
+        public byte[] get(int idx) {
+            return decode(idx);
+        }
+
+        @Override
+        public byte[] getData(int idx) {
+
+            final byte[] key = decode(idx);
+
+            assert(key != null);
+            return DupKeyData.getData(key, 0, key.length);
+        }
+
+        @Override
+        public void getData(int idx, DatabaseEntry entry) {
+
+            final byte[] key = decode(idx);
+
+            assert(key != null);
+            DupKeyData.getData(entry, key, 0, key.length);
+        }
+
+        @Override
+        public byte[] getKey(int idx, boolean embeddedData) {
+
+            final byte[] suffix = decode(idx);
+
+            if (suffix == null) {
+                assert(!embeddedData);
+                return Key.EMPTY_KEY;
+            } else if (embeddedData) {
+                return DupKeyData.getKey(suffix, 0, suffix.length);
+            } else {
+                return suffix;
+            }
+        }
+
+        @Override
+        public byte[] getFullKey(
+            byte[] prefix,
+            int idx,
+            boolean embeddedData) {
+
+            if (prefix == null || prefix.length == 0) {
+                return getKey(idx, embeddedData);
+            }
+
+            final byte[] suffix = decode(idx);
+
+            if (suffix == null) {
+                assert(!embeddedData);
+                return prefix;
+            }
+
+            final int prefixLen = prefix.length;
+            final int suffixLen = embeddedData ?
+                DupKeyData.getKeyLength(suffix, 0, suffix.length) :
+                suffix.length;
+
+            final byte[] key = new byte[prefixLen + suffixLen];
+            System.arraycopy(prefix, 0, key, 0, prefixLen);
+            System.arraycopy(suffix, 0, key, prefixLen, suffixLen);
+            return key;
+        }
+
+        @Override
+        public int compareKeys(
+            byte[] searchKey,
+            byte[] prefix,
+            int idx,
+            boolean embeddedData,
+            InternalComparator comparator) {
+
+            final int off = entryOffset(idx);
+            byte[] myKey = keys;
+            int myKeyOff = off;
+            int myKeyLen = 0;
+
+            if ((keys[off] & 0xff) != NULL_KEY) {
+
+                if (keys[off] == 0) {
+                    /* The key is stored whole, so compare it in place. */
+                    myKeyOff += HEADER_BYTES;
+                    myKeyLen = keys[off + 1] & 0xff;
+                } else {
+                    myKey = decode(idx);
+                    myKeyOff = 0;
+                    myKeyLen = myKey.length;
+                }
+
+                if (embeddedData) {
+                    myKeyLen = DupKeyData.getKeyLength(
+                        myKey, myKeyOff, myKeyLen);
+                }
+            } else {
+                assert(!embeddedData);
+            }
+
+            return comparator.compare(
+                searchKey, 0, searchKey.length,
+                prefix, 0, (prefix != null) ? prefix.length : 0,
+                myKey, myKeyOff, myKeyLen);
+        }
+
+        @Override
+        public void addToBloomFilter(int idx,
+                                     boolean embeddedData,
+                                     byte[] bf,
+                                     HashContext hc) {
+
+            byte[] suffix = decode(idx);
+            int suffixLen = 0;
+
+            if (suffix == null) {
+                suffix = Key.EMPTY_KEY;
+            } else if (embeddedData) {
+                suffixLen = DupKeyData.getKeyLength(suffix, 0, suffix.length);
+            } else {
+                suffixLen = suffix.length;
+            }
+
+            BINDeltaBloomFilter.add(bf, suffix, 0, suffixLen, hc);
+        }
+
+        @Override
+        public INKeyRep compact(@SuppressWarnings("unused") IN parent) {
+            /* It's as compact as it gets. */
+            return this;
+        }
+
+        @Override
+        public long calculateMemorySize() {
+            return calculateMemorySize(keys.length, restarts.length);
+        }
+
+        private static long calculateMemorySize(int nBytes, int nRestarts) {
+            return MemoryBudget.FRONT_CODED_KEYVALS_OVERHEAD +
+                   MemoryBudget.byteArraySize(nBytes) +
+                   MemoryBudget.intArraySize(nRestarts);
+        }
+
+        @Override
+        public boolean accountsForKeyByteMemUsage() {
+            return true;
+        }
+
+        @Override
+        void updateCacheStats(boolean increment, Evictor evictor) {
+            if (increment) {
+                evictor.getNBINFrontCodedKey().incrementAndGet();
+            } else {
+                evictor.getNBINFrontCodedKey().decrementAndGet();
+            }
+        }
+
+        /**
+         * Returns the max key size of the MaxKeySize representation it
+         * mutates to, so that the IN is read from the log, or split, using
+         * that representation.
+         */
+        @Override
+        public int getCompactMaxKeySize() {
+            return maxKeyLen;
+        }
+    }
 }
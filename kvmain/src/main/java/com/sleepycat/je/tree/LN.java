@@ -29,6 +29,7 @@ import com.sleepycat.je.dbi.EnvironmentFailureReason;
 import com.sleepycat.je.dbi.EnvironmentImpl;
 import com.sleepycat.je.dbi.INList;
 import com.sleepycat.je.dbi.MemoryBudget;
+import com.sleepycat.je.log.LNDataCompressor;
 import com.sleepycat.je.log.LogEntryType;
 import com.sleepycat.je.log.LogItem;
 import com.sleepycat.je.log.LogParams;
@@ -620,7 +621,7 @@ public class LN extends Node implements VersionedWriteLoggable {
          * size/lsn. Recovery uses these values to count prior versions
          * obsolete, but only when they are not immediately obsolete.
          */
-        params.entry = createLogEntry(
+        final LNLogEntry<?> logEntry = createLogEntry(
             entryType, dbImpl, txn,
             abortLsn, abortKD, abortKey, abortData, abortVLSN,
             abortExpiration, abortExpirationInHours,
@@ -629,6 +630,15 @@ public class LN extends Node implements VersionedWriteLoggable {
             newModificationTime, newTombstone, newBlindDeletion,
             priorSize, priorLsn, repContext, bImgCtx);
 
+        /* Compress the data, if configured, before the entry is sized. */
+        final LNDataCompressor compressor =
+            envImpl.getLogManager().getLNDataCompressor();
+        if (compressor != null) {
+            logEntry.compressData(compressor);
+        }
+
+        params.entry = logEntry;
+
         /* LNs are never provisional. */
         params.provisional = Provisional.NO;
 
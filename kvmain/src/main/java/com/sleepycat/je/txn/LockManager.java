@@ -28,13 +28,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.DeadlockException;
@@ -55,6 +55,7 @@ import com.sleepycat.je.latch.LatchSupport;
 import com.sleepycat.je.util.TimeSupplier;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.IntStat;
+import com.sleepycat.je.utilint.LongHashMap;
 import com.sleepycat.je.utilint.LongStat;
 import com.sleepycat.je.utilint.Pair;
 import com.sleepycat.je.utilint.StatGroup;
@@ -69,21 +70,19 @@ import com.sleepycat.je.utilint.TinyHashSet;
 public abstract class LockManager implements EnvConfigObserver {
 
     /*
-     * The total memory cost for a lock is the Lock object, plus its entry and
-     * key in the lock hash table.
+     * The total memory cost for a lock is the Lock object, plus its entry in
+     * the lock hash table. The LSN key is stored in the table unboxed.
      *
      * The addition and removal of Lock objects, and the corresponding cost of
-     * their hashmap entry and key are tracked through the LockManager.
+     * their hash table entry are tracked through the LockManager.
      */
     private static final long TOTAL_LOCKIMPL_OVERHEAD =
         MemoryBudget.LOCKIMPL_OVERHEAD +
-        MemoryBudget.HASHMAP_ENTRY_OVERHEAD +
-        MemoryBudget.LONG_OVERHEAD;
+        MemoryBudget.LONG_HASHMAP_ENTRY_OVERHEAD;
 
     static final long TOTAL_THINLOCKIMPL_OVERHEAD =
         MemoryBudget.THINLOCKIMPL_OVERHEAD +
-        MemoryBudget.HASHMAP_ENTRY_OVERHEAD +
-        MemoryBudget.LONG_OVERHEAD;
+        MemoryBudget.LONG_HASHMAP_ENTRY_OVERHEAD;
 
     private static final long REMOVE_TOTAL_LOCKIMPL_OVERHEAD =
         0 - TOTAL_LOCKIMPL_OVERHEAD;
@@ -113,11 +112,11 @@ public abstract class LockManager implements EnvConfigObserver {
 
     final int nLockTables;
     final Object[] lockTableMutexes;
-    private final Map<Long,Lock>[] lockTables;          // keyed by LSN
+    private final LongHashMap<Lock>[] lockTables;       // keyed by LSN
     private final EnvironmentImpl envImpl;
     private final MemoryBudget memoryBudget;
 
-    private final StatGroup stats;
+    final StatGroup stats;
     private final LongStat nRequests; /* number of time a request was made. */
     private final LongStat nWaits;    /* number of time a request blocked. */
 
@@ -140,20 +139,20 @@ public abstract class LockManager implements EnvConfigObserver {
      */
     private final Map<Thread, TinyHashSet<ThreadLocker>> threadLockers;
 
-    /*
-     * @SuppressWarnings is used to stifle a type safety complaint about the
-     * assignment of lockTables = new Map[nLockTables]. There's no way to
-     * specify the type of the array.
-     */
-    @SuppressWarnings("unchecked")
     public LockManager(final EnvironmentImpl envImpl) {
+        this(envImpl,
+             envImpl.getConfigManager().getInt(
+                 EnvironmentParams.N_LOCK_TABLES));
+    }
+
+    LockManager(final EnvironmentImpl envImpl, final int nLockTables) {
 
         final DbConfigManager configMgr = envImpl.getConfigManager();
-        nLockTables = configMgr.getInt(EnvironmentParams.N_LOCK_TABLES);
-        lockTables = new Map[nLockTables];
+        this.nLockTables = nLockTables;
+        lockTables = LongHashMap.newArray(nLockTables);
         lockTableMutexes = new Object[nLockTables];
         for (int i = 0; i < nLockTables; i++) {
-            lockTables[i] = new HashMap<>();
+            lockTables[i] = new LongHashMap<>();
             lockTableMutexes[i] = new Object();
         }
         this.envImpl = envImpl;
@@ -663,7 +662,7 @@ public abstract class LockManager implements EnvConfigObserver {
                                     final int lockTableIndex,
                                     final boolean cloneLockInfo) {
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             return null;
@@ -679,7 +678,7 @@ public abstract class LockManager implements EnvConfigObserver {
     List<LockInfo> getWaitersInternal(final Long lsn,
                                       final int lockTableIndex) {
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             return null;
@@ -697,7 +696,7 @@ public abstract class LockManager implements EnvConfigObserver {
                                       final Locker locker,
                                       final int lockTableIndex) {
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             return null;
@@ -710,7 +709,7 @@ public abstract class LockManager implements EnvConfigObserver {
     boolean isLockUncontendedInternal(final Long lsn,
                                       final int lockTableIndex) {
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             return true;
@@ -724,7 +723,7 @@ public abstract class LockManager implements EnvConfigObserver {
     boolean ownsOrSharesLockInternal(final Locker locker,
                                      final Long lsn,
                                      final int lockTableIndex) {
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             return false;
@@ -746,7 +745,7 @@ public abstract class LockManager implements EnvConfigObserver {
 
     Lock lookupLockInternal(final Long lsn, final int lockTableIndex) {
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         return lockTable.get(lsn);
     }
 
@@ -768,7 +767,7 @@ public abstract class LockManager implements EnvConfigObserver {
         nRequests.increment();
 
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             useLock = new ThinLockImpl();
@@ -1324,7 +1323,7 @@ public abstract class LockManager implements EnvConfigObserver {
     Set<Locker> releaseAndFindNotifyTargetsInternal(final Long lsn,
                                                     final Locker locker,
                                                     final int lockTableIndex) {
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         Lock lock = lockTable.get(lsn);
         if (lock == null) {
             /* Lock doesn't exist. */
@@ -1392,7 +1391,7 @@ public abstract class LockManager implements EnvConfigObserver {
                            final Locker locker,
                            final int lockTableIndex) {
 
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         /* Lock may or may not be currently held. */
         if (useLock == null) {
@@ -1424,7 +1423,7 @@ public abstract class LockManager implements EnvConfigObserver {
      */
     boolean isLockedInternal(final Long lsn, final int lockTableIndex) {
 
-        final Map<Long, Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock entry = lockTable.get(lsn);
         return (entry != null) && entry.nOwners() != 0;
 
@@ -1444,7 +1443,7 @@ public abstract class LockManager implements EnvConfigObserver {
                             final LockType type,
                             final int lockTableIndex) {
 
-        final Map<Long, Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock entry = lockTable.get(lsn);
         return entry != null && entry.isOwner(locker, type);
     }
@@ -1464,7 +1463,7 @@ public abstract class LockManager implements EnvConfigObserver {
                              final Locker locker,
                              final int lockTableIndex) {
 
-        final Map<Long, Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock entry = lockTable.get(lsn);
         return entry != null && entry.isWaiter(locker);
     }
@@ -1480,7 +1479,7 @@ public abstract class LockManager implements EnvConfigObserver {
      */
     int nWaitersInternal(final Long lsn, final int lockTableIndex) {
 
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock entry = lockTable.get(lsn);
         return entry == null ? -1 : entry.nWaiters();
     }
@@ -1496,7 +1495,7 @@ public abstract class LockManager implements EnvConfigObserver {
      */
     int nOwnersInternal(final Long lsn, final int lockTableIndex) {
 
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock entry = lockTable.get(lsn);
         return entry == null ? -1 : entry.nOwners();
     }
@@ -1513,7 +1512,7 @@ public abstract class LockManager implements EnvConfigObserver {
     Locker getWriteOwnerLockerInternal(final Long lsn,
                                        final int lockTableIndex) {
 
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LongHashMap<Lock> lockTable = lockTables[lockTableIndex];
         final Lock lock = lockTable.get(lsn);
         if (lock == null) {
             return null;
@@ -1748,7 +1747,7 @@ public abstract class LockManager implements EnvConfigObserver {
         final IntStat readLocks = new IntStat(oneTable, LOCK_READ_LOCKS);
         final IntStat writeLocks = new IntStat(oneTable, LOCK_WRITE_LOCKS);
 
-        final Map<Long, Lock> lockTable = lockTables[i];
+        final LongHashMap<Lock> lockTable = lockTables[i];
         totalLocks.add(lockTable.size());
 
         for (final Lock lock : lockTable.values()) {
@@ -1784,29 +1783,41 @@ public abstract class LockManager implements EnvConfigObserver {
 
         final StringBuilder sb = new StringBuilder();
         for (int i = 0; i < nLockTables; i++) {
-            synchronized (lockTableMutexes[i]) {
-                dumpToStringNoLatch(sb, i);
-            }
+            final int whichTable = i;
+            callWithLockTable(whichTable, () -> {
+                dumpToStringNoLatch(sb, whichTable);
+                return null;
+            });
         }
         return sb.toString();
     }
 
+    /**
+     * Calls the given action while holding the mutex for the given lock
+     * table. Used by infrequent operations, such as deadlock detection and
+     * debugging, that access the lock table directly. Subclasses that do not
+     * use lockTableMutexes must override this method.
+     */
+    <T> T callWithLockTable(final int lockTableIndex,
+                            final Supplier<T> action) {
+        synchronized (lockTableMutexes[lockTableIndex]) {
+            return action.get();
+        }
+    }
+
     private void dumpToStringNoLatch(final StringBuilder sb,
                                      final int whichTable) {
 
-        final Map<Long,Lock> lockTable = lockTables[whichTable];
-
-        for (final Map.Entry<Long, Lock> entry : lockTable.entrySet()) {
-            final Long lsn = entry.getKey();
-            final Lock lock = entry.getValue();
+        final LongHashMap<Lock> lockTable = lockTables[whichTable];
 
+        lockTable.forEach((lsn, lock) -> {
             sb.append("---- LSN: ").
                 append(DbLsn.getNoFormatString(lsn)).
                 append("----\n");
 
             sb.append(lock);
             sb.append('\n');
-        }
+        });
     }
 
     /*
@@ -1901,17 +1912,26 @@ public abstract class LockManager implements EnvConfigObserver {
              * the lsn(checkedLock).
              */
             final int lockTableIndex = getLockTableIndex(lsn);
-            synchronized(lockTableMutexes[lockTableIndex]) {
-                if (isOwnerInternal(lsn, checkedLocker,
-                                    requestLocktype, lockTableIndex)) {
-                    return false;
-                }
-                final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
-                checkedLock = lockTable.get(lsn);
-                /* Clone LockInfo objects to get a stable snapshot. */
-                ownersForCheckedLock = getOwnersInternal(
-                    lsn, lockTableIndex, true /*cloneLockInfo*/);
+            final Pair<Lock, Set<LockInfo>> lockAndOwners =
+                callWithLockTable(lockTableIndex, () -> {
+                    if (isOwnerInternal(lsn, checkedLocker,
+                                        requestLocktype, lockTableIndex)) {
+                        return null;
+                    }
+                    final LongHashMap<Lock> lockTable =
+                        lockTables[lockTableIndex];
+                    /* Clone LockInfo objects to get a stable snapshot. */
+                    return new Pair<>(
+                        lockTable.get(lsn),
+                        getOwnersInternal(
+                            lsn, lockTableIndex, true /*cloneLockInfo*/));
+                });
+
+            if (lockAndOwners == null) {
+                return false;
             }
+            checkedLock = lockAndOwners.first();
+            ownersForCheckedLock = lockAndOwners.second();
 
             if (ownersForCheckedLock == null) {
                 return false;
@@ -2005,11 +2025,8 @@ public abstract class LockManager implements EnvConfigObserver {
                 final Lock realtimeLock;
 
                 final int lockTableIndex = getLockTableIndex(lsn);
-                synchronized (lockTableMutexes[lockTableIndex]) {
-                    final Map<Long, Lock> lockTable =
-                        lockTables[lockTableIndex];
-                    realtimeLock = lockTable.get(lsn);
-                }
+                realtimeLock = callWithLockTable(
+                    lockTableIndex, () -> lockTables[lockTableIndex].get(lsn));
 
                 if (realtimeLock != lock) {
                     return false;
@@ -2025,7 +2042,7 @@ public abstract class LockManager implements EnvConfigObserver {
          */
         void getOwnerAndWaitersForRootLocker() {
             final int lockTableIndex = getLockTableIndex(lsn);
-            synchronized (lockTableMutexes[lockTableIndex]) {
+            callWithLockTable(lockTableIndex, () -> {
 
                 final Set<LockInfo> localOwners = getOwnersInternal(
                     lsn,  lockTableIndex, false /*cloneLockInfo*/);
@@ -2040,7 +2057,8 @@ public abstract class LockManager implements EnvConfigObserver {
                 if (localWaiters != null) {
                     waitersForRootLock = getTxnIds(localWaiters);
                 }
-            }
+                return null;
+            });
         }
 
         long[] getOwnersForRootLock() {
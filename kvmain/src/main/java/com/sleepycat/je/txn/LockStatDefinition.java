@@ -92,4 +92,26 @@ public class LockStatDefinition {
             LOCK_WAITERS_NAME,
             LOCK_WAITERS_DESC,
             StatType.CUMULATIVE);
+
+    public static final String LOCK_TABLE_CONTENTIONS_NAME =
+        "nLockTableContentions";
+    public static final String LOCK_TABLE_CONTENTIONS_DESC =
+        "Number of times a thread had to wait to access a lock table " +
+            "because another thread was accessing it. Only counted when " +
+            "je.lock.stripedLockTables is true.";
+    public static final StatDefinition LOCK_TABLE_CONTENTIONS =
+        new StatDefinition(
+            LOCK_TABLE_CONTENTIONS_NAME,
+            LOCK_TABLE_CONTENTIONS_DESC);
+
+    public static final String LOCK_TABLE_CONTENTION_WAIT_NANOS_NAME =
+        "lockTableContentionWaitNanos";
+    public static final String LOCK_TABLE_CONTENTION_WAIT_NANOS_DESC =
+        "Total time in nanoseconds that threads waited to access a lock " +
+            "table because another thread was accessing it. Only counted " +
+            "when je.lock.stripedLockTables is true.";
+    public static final StatDefinition LOCK_TABLE_CONTENTION_WAIT_NANOS =
+        new StatDefinition(
+            LOCK_TABLE_CONTENTION_WAIT_NANOS_NAME,
+            LOCK_TABLE_CONTENTION_WAIT_NANOS_DESC);
 }
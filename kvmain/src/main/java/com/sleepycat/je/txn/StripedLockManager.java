@@ -0,0 +1,375 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.txn;
+
+import static com.sleepycat.je.txn.LockStatDefinition.LOCK_TABLE_CONTENTIONS;
+import static com.sleepycat.je.txn.LockStatDefinition.LOCK_TABLE_CONTENTION_WAIT_NANOS;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import com.sleepycat.je.DatabaseException;
+import com.sleepycat.je.config.EnvironmentParams;
+import com.sleepycat.je.dbi.DatabaseImpl;
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.utilint.AtomicLongStat;
+import com.sleepycat.je.utilint.StatGroup;
+
+/**
+ * StripedLockManager stripes the lock table across a power-of-two number of
+ * tables, each guarded by a ReentrantLock, and hashes LSNs to tables with a
+ * mixing function. It is used in place of SyncedLockManager when {@link
+ * EnvironmentParams#LOCK_STRIPED_LOCK_TABLES} is true.
+ *
+ * <p>The lock table must still be accessed under mutual exclusion, since the
+ * Lock objects it holds are not thread safe. Scalability comes from the
+ * larger number of stripes, which makes it unlikely that two threads access
+ * the same stripe at once, and from the tryLock fast path, which keeps
+ * uncontended access to a single CAS and lets contention be measured.</p>
+ */
+public class StripedLockManager extends LockManager {
+
+    /* Upper bound on the number of stripes. */
+    private static final int MAX_STRIPES = 1 << 15;
+
+    private final ReentrantLock[] mutexes;
+    private final int stripeMask;
+
+    private final AtomicLongStat nContentions;
+    private final AtomicLongStat contentionWaitNanos;
+
+    StripedLockManager(EnvironmentImpl envImpl) {
+        super(envImpl, getNStripes(envImpl));
+        mutexes = new ReentrantLock[nLockTables];
+        for (int i = 0; i < nLockTables; i++) {
+            mutexes[i] = new ReentrantLock();
+        }
+        stripeMask = nLockTables - 1;
+        nContentions = new AtomicLongStat(stats, LOCK_TABLE_CONTENTIONS);
+        contentionWaitNanos =
+            new AtomicLongStat(stats, LOCK_TABLE_CONTENTION_WAIT_NANOS);
+    }
+
+    /**
+     * Returns the larger of je.lock.nLockTables and four times the number of
+     * processors, rounded up to a power of two so that a mask can be used in
+     * place of a modulo.
+     */
+    private static int getNStripes(EnvironmentImpl envImpl) {
+        final int configured = envImpl.getConfigManager().getInt(
+            EnvironmentParams.N_LOCK_TABLES);
+        final int target = Math.max(
+            configured, 4 * Runtime.getRuntime().availableProcessors());
+        if (target >= MAX_STRIPES) {
+            return MAX_STRIPES;
+        }
+        return Integer.highestOneBit(target - 1) << 1;
+    }
+
+    /**
+     * Mixes both the file number and offset of the LSN, so that LSNs with
+     * the same offset in different files, and adjacent LSNs in the same
+     * file, are spread across stripes.
+     */
+    @Override
+    int getLockTableIndex(Long lsn) {
+        return getLockTableIndex(lsn.longValue());
+    }
+
+    @Override
+    int getLockTableIndex(long lsn) {
+        final int h = (int) (lsn ^ (lsn >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+
+    /**
+     * Acquires the mutex for a lock table. The uncontended case is a single
+     * CAS; only when that fails is the contention counted and timed.
+     */
+    private ReentrantLock acquire(int lockTableIndex) {
+        final ReentrantLock mutex = mutexes[lockTableIndex];
+        if (mutex.tryLock()) {
+            return mutex;
+        }
+        final long start = System.nanoTime();
+        mutex.lock();
+        nContentions.increment();
+        contentionWaitNanos.add(System.nanoTime() - start);
+        return mutex;
+    }
+
+    @Override
+    <T> T callWithLockTable(int lockTableIndex, Supplier<T> action) {
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return action.get();
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    public Set<LockInfo> getOwners(Long lsn) {
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return getOwnersInternal(
+                lsn, lockTableIndex, true /*cloneLockInfo*/);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    public List<LockInfo> getWaiters(Long lsn) {
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return getWaitersInternal(lsn, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    public LockType getOwnedLockType(Long lsn, Locker locker) {
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return getOwnedLockTypeInternal(lsn, locker, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    public boolean isLockUncontended(Long lsn) {
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return isLockUncontendedInternal(lsn, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    public boolean ownsOrSharesLock(Locker locker, Long lsn) {
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return ownsOrSharesLockInternal(locker, lsn, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    Lock lookupLock(Long lsn) {
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return lookupLockInternal(lsn, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    LockAttemptResult attemptLock(Long lsn,
+                                  Locker locker,
+                                  LockType type,
+                                  boolean nonBlockingRequest,
+                                  boolean jumpAheadOfWaiters)
+        throws DatabaseException {
+
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return attemptLockInternal
+                (lsn, locker, type, nonBlockingRequest, jumpAheadOfWaiters,
+                 lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    TimeoutInfo getTimeoutInfo(
+        boolean isLockNotTxnTimeout,
+        Locker locker,
+        long lsn,
+        LockType type,
+        LockGrantType grantType,
+        Lock useLock,
+        long timeout,
+        long start,
+        long now,
+        DatabaseImpl database,
+        Set<LockInfo> owners,
+        List<LockInfo> waiters) {
+
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return getTimeoutInfoInternal(
+                isLockNotTxnTimeout, locker, lsn, type, grantType, useLock,
+                timeout, start, now, database, owners, waiters);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    Set<Locker> releaseAndFindNotifyTargets(long lsn, Locker locker) {
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return releaseAndFindNotifyTargetsInternal
+                (lsn, locker, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    boolean demote(long lsn, Locker locker) {
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return demoteInternal(lsn, locker, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    boolean isLocked(Long lsn) {
+
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return isLockedInternal(lsn, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    boolean isOwner(Long lsn, Locker locker, LockType type) {
+
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return isOwnerInternal(lsn, locker, type, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    boolean isWaiter(Long lsn, Locker locker) {
+
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return isWaiterInternal(lsn, locker, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    int nWaiters(Long lsn) {
+
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return nWaitersInternal(lsn, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    int nOwners(Long lsn) {
+
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return nOwnersInternal(lsn, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    public Locker getWriteOwnerLocker(Long lsn) {
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return getWriteOwnerLockerInternal(lsn, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    boolean validateOwnership(Long lsn,
+                              Locker locker,
+                              LockType type,
+                              boolean getOwnersAndWaiters,
+                              boolean flushFromWaiters,
+                              Set<LockInfo> owners,
+                              List<LockInfo> waiters) {
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return validateOwnershipInternal(
+                lsn, locker, type, getOwnersAndWaiters, flushFromWaiters,
+                lockTableIndex, owners, waiters);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    public LockAttemptResult stealLock(Long lsn,
+                                          Locker locker,
+                                          LockType lockType)
+        throws DatabaseException {
+
+        int lockTableIndex = getLockTableIndex(lsn);
+        final ReentrantLock mutex = acquire(lockTableIndex);
+        try {
+            return stealLockInternal(lsn, locker, lockType, lockTableIndex);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    void dumpLockTable(StatGroup stats, boolean clear) {
+        for (int i = 0; i < nLockTables; i++) {
+            final ReentrantLock mutex = acquire(i);
+            try {
+                dumpLockTableInternal(stats, i, clear);
+            } finally {
+                mutex.unlock();
+            }
+        }
+    }
+}
@@ -32,6 +32,7 @@ import com.sleepycat.je.StatsConfig;
 import com.sleepycat.je.Transaction;
 import com.sleepycat.je.TransactionConfig;
 import com.sleepycat.je.TransactionStats;
+import com.sleepycat.je.config.EnvironmentParams;
 import com.sleepycat.je.dbi.EnvironmentImpl;
 import com.sleepycat.je.latch.LatchFactory;
 import com.sleepycat.je.latch.SharedLatch;
@@ -88,7 +89,12 @@ public class TxnManager {
     private volatile long nTotalCommits = 0;
 
     public TxnManager(EnvironmentImpl envImpl) {
-        lockManager = new SyncedLockManager(envImpl);
+        if (envImpl.getConfigManager().getBoolean(
+                EnvironmentParams.LOCK_STRIPED_LOCK_TABLES)) {
+            lockManager = new StripedLockManager(envImpl);
+        } else {
+            lockManager = new SyncedLockManager(envImpl);
+        }
 
         if (envImpl.isNoLocking()) {
             lockManager = new DummyLockManager(envImpl, lockManager);
@@ -0,0 +1,157 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.utilint;
+
+import java.util.function.LongFunction;
+
+/**
+ * ConcurrentLongHashMap is a thread safe map with primitive long keys. It is
+ * divided into a power-of-two number of segments, each a {@link LongHashMap}
+ * guarded by its own monitor, so that threads accessing different keys rarely
+ * contend. It is intended to replace a Hashtable or synchronized HashMap keyed
+ * by Long, not a ConcurrentHashMap with lock-free reads.
+ *
+ * Operations on a single key are atomic. {@link #size}, {@link #forEach} and
+ * {@link #keys} visit the segments one at a time and so do not return a
+ * consistent snapshot when the map is being modified concurrently.
+ */
+public class ConcurrentLongHashMap<V> {
+
+    private final LongHashMap<V>[] segments;
+    private final int segmentShift;
+
+    /**
+     * Creates a map with at least the given number of segments, which is
+     * rounded up to a power of two.
+     */
+    public ConcurrentLongHashMap(int concurrencyLevel) {
+        final int nSegments = (concurrencyLevel <= 1) ?
+            1 : Integer.highestOneBit(concurrencyLevel - 1) << 1;
+        segments = LongHashMap.newArray(nSegments);
+        for (int i = 0; i < nSegments; i++) {
+            segments[i] = new LongHashMap<>();
+        }
+
+        /* Use the high order hash bits to select a segment. */
+        segmentShift = 32 - Integer.numberOfTrailingZeros(nSegments);
+    }
+
+    private LongHashMap<V> segmentFor(long key) {
+        return (segments.length == 1) ?
+            segments[0] :
+            segments[LongHashMap.hash(key) >>> segmentShift];
+    }
+
+    public V get(long key) {
+        final LongHashMap<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public boolean containsKey(long key) {
+        final LongHashMap<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    public V put(long key, V value) {
+        final LongHashMap<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    /**
+     * Returns the value for the key, first adding the value returned by the
+     * function if the key is not present. The function is called while
+     * holding the segment's monitor and must not access this map.
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> function) {
+        final LongHashMap<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.computeIfAbsent(key, function);
+        }
+    }
+
+    public V remove(long key) {
+        final LongHashMap<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (final LongHashMap<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (final LongHashMap<V> segment : segments) {
+            synchronized (segment) {
+                if (!segment.isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (final LongHashMap<V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Calls the visitor for each entry while holding the monitor of the
+     * entry's segment. The visitor must not access this map.
+     */
+    public void forEach(LongHashMap.EntryVisitor<? super V> visitor) {
+        for (final LongHashMap<V> segment : segments) {
+            synchronized (segment) {
+                segment.forEach(visitor);
+            }
+        }
+    }
+
+    /**
+     * Returns a new array containing the keys in the map.
+     */
+    public long[] keys() {
+        final long[][] segmentKeys = new long[segments.length][];
+        int total = 0;
+        for (int i = 0; i < segments.length; i++) {
+            synchronized (segments[i]) {
+                segmentKeys[i] = segments[i].keys();
+            }
+            total += segmentKeys[i].length;
+        }
+        final long[] result = new long[total];
+        int n = 0;
+        for (final long[] k : segmentKeys) {
+            System.arraycopy(k, 0, result, n, k.length);
+            n += k.length;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,332 @@
+/*-
+ * Copyright (C) 2002, 2025, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package com.sleepycat.je.utilint;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * LongHashMap is a hash map with primitive long keys, used in place of a
+ * HashMap&lt;Long, V&gt; for maps keyed by LSN, file number or other long
+ * identifiers. Keys are never boxed and there is no per-entry node object, so
+ * adding an entry does not allocate unless the table is resized.
+ *
+ * The table uses open addressing with linear probing, and removal shifts
+ * following entries back rather than leaving tombstones, so lookups never
+ * degrade after many removals. A slot is empty when its value is null, which
+ * is why null values are not supported.
+ *
+ * This class is not thread safe. See {@link ConcurrentLongHashMap} for a
+ * thread safe variant.
+ */
+public class LongHashMap<V> {
+
+    /**
+     * Receives the key and value of each entry in {@link #forEach}.
+     */
+    public interface EntryVisitor<V> {
+        void accept(long key, V value);
+    }
+
+    private static final int MIN_CAPACITY = 8;
+
+    /* Resize when the table is more than 3/4 full. */
+    private static final int LOAD_FACTOR_PERCENT = 75;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    /* Index at which removeAny starts scanning. */
+    private int scanIndex;
+
+    public LongHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a map that can hold expectedSize entries without resizing.
+     */
+    public LongHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        final long minCapacity =
+            ((long) expectedSize * 100) / LOAD_FACTOR_PERCENT + 1;
+        if (minCapacity <= MIN_CAPACITY) {
+            return MIN_CAPACITY;
+        }
+        if (minCapacity > (1 << 30)) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit((int) minCapacity - 1) << 1;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold =
+            (int) (((long) capacity * LOAD_FACTOR_PERCENT) / 100);
+        scanIndex = 0;
+    }
+
+    /**
+     * Allocates an array of maps with the given length, whose elements are
+     * all null. The unchecked generic array creation is confined here.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <V> LongHashMap<V>[] newArray(int length) {
+        return new LongHashMap[length];
+    }
+
+    /**
+     * Spreads the bits of the key so that keys differing only in their high
+     * order bits, such as LSNs with the same offset in different files, do
+     * not collide.
+     */
+    static int hash(long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns the slot holding the key, or the empty slot at which it would
+     * be inserted.
+     */
+    private int findSlot(long key) {
+        int i = hash(key) & mask;
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        return (V) values[findSlot(key)];
+    }
+
+    public boolean containsKey(long key) {
+        return values[findSlot(key)] != null;
+    }
+
+    /**
+     * Maps the key to the value, returning the previous value or null.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        Objects.requireNonNull(value);
+        final int i = findSlot(key);
+        final V oldValue = (V) values[i];
+        values[i] = value;
+        if (oldValue == null) {
+            keys[i] = key;
+            if (++size > resizeThreshold) {
+                resize();
+            }
+        }
+        return oldValue;
+    }
+
+    /**
+     * Returns the value for the key, first adding the value returned by the
+     * function if the key is not present. The function must not return null.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<? extends V> function) {
+        final int i = findSlot(key);
+        V value = (V) values[i];
+        if (value == null) {
+            value = Objects.requireNonNull(function.apply(key));
+            keys[i] = key;
+            values[i] = value;
+            if (++size > resizeThreshold) {
+                resize();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes the mapping for the key, returning its value or null.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        final int i = findSlot(key);
+        final V oldValue = (V) values[i];
+        if (oldValue != null) {
+            removeSlot(i);
+        }
+        return oldValue;
+    }
+
+    /**
+     * Removes and returns an arbitrary value, or returns null if the map is
+     * empty. Repeated calls drain the map in amortized constant time per
+     * entry, since each scan continues where the previous one stopped.
+     */
+    @SuppressWarnings("unchecked")
+    public V removeAny() {
+        if (size == 0) {
+            return null;
+        }
+        int i = scanIndex;
+        while (values[i] == null) {
+            i = (i + 1) & mask;
+        }
+        scanIndex = i;
+        final V value = (V) values[i];
+        removeSlot(i);
+        return value;
+    }
+
+    /**
+     * Empties the slot and shifts back any following entries in the same
+     * probe sequence, so that no entry is separated from its home slot by an
+     * empty slot.
+     */
+    private void removeSlot(int gap) {
+        size--;
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == null) {
+                break;
+            }
+            final int home = hash(keys[i]) & mask;
+
+            /* Move the entry if its home is not cyclically in (gap, i]. */
+            final boolean inRange = (gap <= i) ?
+                (gap < home && home <= i) :
+                (gap < home || home <= i);
+            if (!inRange) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void resize() {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                final int j = findSlot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+        scanIndex = 0;
+    }
+
+    /**
+     * Calls the visitor for each entry. The map must not be modified by the
+     * visitor.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryVisitor<? super V> visitor) {
+        final long[] k = keys;
+        final Object[] v = values;
+        for (int i = 0; i < v.length; i++) {
+            if (v[i] != null) {
+                visitor.accept(k[i], (V) v[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a new array containing the keys in the map.
+     */
+    public long[] keys() {
+        final long[] result = new long[size];
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result[n++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a view of the values in the map. The map must not be modified
+     * while the view is being iterated, and the iterator does not support
+     * removal.
+     */
+    public Iterable<V> values() {
+        return () -> new Iterator<V>() {
+            private int next = advance(0);
+
+            private int advance(int i) {
+                while (i < values.length && values[i] == null) {
+                    i++;
+                }
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (next >= values.length) {
+                    throw new NoSuchElementException();
+                }
+                final V value = (V) values[next];
+                next = advance(next + 1);
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+}
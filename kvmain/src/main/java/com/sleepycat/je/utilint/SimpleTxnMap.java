@@ -88,7 +88,7 @@ public class SimpleTxnMap<T extends Txn>  {
     private int arrayMapSize = 0;
 
     /* The backup map. */
-    private final HashMap<Long,T> backupMap = new HashMap<>();
+    private final LongHashMap<T> backupMap = new LongHashMap<>();
 
     public SimpleTxnMap(int arrayMapSize) {
         if (Integer.bitCount(arrayMapSize) != 1) {
@@ -162,8 +162,7 @@ public class SimpleTxnMap<T extends Txn>  {
         if (cachedTxn != null) {
             /* Already a txn with a different txnid in the slot.
              * Must go into backup, if it's not already there. */
-            return backupMap.
-                computeIfAbsent(txnId, (Long tid) -> factory.create(tid));
+            return backupMap.computeIfAbsent(txnId, factory::create);
         }
         /* Could be in backup. */
         cachedTxn = backupMap.get(txnId);
@@ -234,7 +233,8 @@ public class SimpleTxnMap<T extends Txn>  {
      * this map.
      */
     synchronized public Map<Long, T> getMap() {
-        final Map<Long, T> map = new HashMap<>(backupMap);
+        final Map<Long, T> map = new HashMap<>();
+        backupMap.forEach(map::put);
         for (Object element : arrayMap) {
             @SuppressWarnings("unchecked")
             final T txn = (T)element;
@@ -298,7 +298,7 @@ public class SimpleTxnMap<T extends Txn>  {
     /**
      * For test use only
      */
-    public HashMap<Long, T> getBackupMap() {
+    public LongHashMap<T> getBackupMap() {
         return backupMap;
     }
 }
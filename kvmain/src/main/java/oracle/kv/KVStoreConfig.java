@@ -16,6 +16,10 @@ package oracle.kv;
 import java.io.Serializable;
 import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -339,6 +343,13 @@ public class KVStoreConfig implements Serializable, Cloneable,
                     DEFAULT_ENABLE_TABLE_SYS_TABLE :
                     Boolean.getBoolean(ENABLE_TABLE_SYS_TABLE);
 
+    /*
+     * Near cache configurations, keyed by the lower case full name of the
+     * table, or null if there are none. May also be null when deserialized
+     * from an earlier version.
+     */
+    private HashMap<String, NearCacheConfig> nearCacheConfigs;
+
     /**
      * Creates a config object with the minimum required properties.
      *
@@ -399,6 +410,9 @@ public class KVStoreConfig implements Serializable, Cloneable,
         try {
             KVStoreConfig clone = (KVStoreConfig) super.clone();
             clone.lobConfig = clone.lobConfig.clone();
+            if (nearCacheConfigs != null) {
+                clone.nearCacheConfigs = new HashMap<>(nearCacheConfigs);
+            }
             return clone;
         } catch (CloneNotSupportedException neverHappens) {
             return null;
@@ -1361,6 +1375,69 @@ public class KVStoreConfig implements Serializable, Cloneable,
         return enableTableMDSysTable;
     }
 
+    /**
+     * Configures a client side near cache for the rows of the specified
+     * table. Each table has its own cache, and a table without a
+     * configuration is not cached.
+     *
+     * @param tableName the full name of the table, including the namespace
+     * prefix if the table is in a namespace. The name is case insensitive.
+     * @param nearCacheConfig the configuration of the cache, or null to
+     * remove the cache for the table
+     * @return this
+     *
+     * @hidden Until near caches are made public
+     */
+    public KVStoreConfig setNearCacheConfig(String tableName,
+                                            NearCacheConfig nearCacheConfig) {
+        if (tableName == null) {
+            throw new IllegalArgumentException("Table name must not be null");
+        }
+        final String key = tableName.toLowerCase(Locale.ENGLISH);
+        if (nearCacheConfig == null) {
+            if (nearCacheConfigs != null) {
+                nearCacheConfigs.remove(key);
+            }
+            return this;
+        }
+        if (nearCacheConfigs == null) {
+            nearCacheConfigs = new HashMap<>();
+        }
+        nearCacheConfigs.put(key, nearCacheConfig);
+        return this;
+    }
+
+    /**
+     * Returns the near cache configuration for the specified table, or null
+     * if the table is not cached.
+     *
+     * @param tableName the full name of the table
+     * @return the near cache configuration or null
+     *
+     * @hidden Until near caches are made public
+     */
+    public NearCacheConfig getNearCacheConfig(String tableName) {
+        if ((nearCacheConfigs == null) || (tableName == null)) {
+            return null;
+        }
+        return nearCacheConfigs.get(tableName.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Returns the near cache configurations, keyed by the lower case full
+     * names of the tables.
+     *
+     * @return an unmodifiable map of the near cache configurations
+     *
+     * @hidden Until near caches are made public
+     */
+    public Map<String, NearCacheConfig> getNearCacheConfigs() {
+        if (nearCacheConfigs == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(nearCacheConfigs);
+    }
+
     @Override
     public String toString() {
         return "<KVStoreConfig" +
@@ -1380,6 +1457,9 @@ public class KVStoreConfig implements Serializable, Cloneable,
                 " useRmi=" + useRmi :
                 "") +
                " enableStatsMonitor=" + enableStatsMonitor +
+               (((nearCacheConfigs != null) && !nearCacheConfigs.isEmpty()) ?
+                " nearCacheConfigs=" + nearCacheConfigs :
+                "") +
                ">";
     }
 
@@ -209,6 +209,9 @@ public class KVVersion implements Comparable<KVVersion>, Serializable {
     /** @hidden */
     public static final KVVersion R25_1 =
         new KVVersion(25, 1, 13, null);   /* R25.1 4/2025, prerequisite: 22.3 */
+    /** @hidden */
+    public static final KVVersion R25_3 =
+        new KVVersion(25, 3, 0, null);   /* R25.3 */
 
     /**
      * The current software version.
@@ -218,7 +221,7 @@ public class KVVersion implements Comparable<KVVersion>, Serializable {
          * WHEN YOU BUMP THIS VERSION, BE SURE TO BUMP THE VERSIONS IN
          * misc/rpm/*.spec.
          */
-        R25_1;
+        R25_3;
 
    /**
     * The current prerequisite version.  Nodes can only join the cluster if
@@ -0,0 +1,106 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes a client side near cache for the rows of a table. Rows read by
+ * {@link oracle.kv.table.TableAPI#get} are retained in the cache, and
+ * subsequent reads of the same rows with {@link Consistency#NONE_REQUIRED}
+ * consistency are served from the cache without contacting the store. Reads
+ * with other consistency policies always contact the store and refresh the
+ * cache.
+ * <p>
+ * Cached rows are removed when they are written or deleted through the
+ * same store handle, when their lifetime in the cache expires, and when the
+ * rows themselves expire. Changes made by other clients are only seen after
+ * the lifetime expires, unless the application feeds the table's change
+ * stream to the cache.
+ *
+ * @see KVStoreConfig#setNearCacheConfig
+ *
+ * @hidden Until near caches are made public
+ */
+public class NearCacheConfig implements Serializable {
+
+    private static final long serialVersionUID = 1;
+
+    /**
+     * The maximum number of rows in the cache.
+     */
+    private final int capacity;
+
+    /**
+     * The maximum time a row remains in the cache in milliseconds, or 0 if
+     * there is no limit.
+     */
+    private final long lifetimeMs;
+
+    /**
+     * Creates a near cache configuration.
+     *
+     * @param capacity the maximum number of rows in the cache. When the
+     * cache is full, rows that are read less often are evicted first.
+     * @param lifetime the maximum time a row remains in the cache, or 0 if
+     * rows are only removed when they are evicted or invalidated
+     * @param unit the unit of the lifetime
+     *
+     * @throws IllegalArgumentException if the capacity is not positive, the
+     * lifetime is negative, or the unit is null
+     */
+    public NearCacheConfig(int capacity, long lifetime, TimeUnit unit) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                "Near cache capacity must be positive: " + capacity);
+        }
+        if (lifetime < 0) {
+            throw new IllegalArgumentException(
+                "Near cache lifetime must not be negative: " + lifetime);
+        }
+        if (unit == null) {
+            throw new IllegalArgumentException(
+                "Near cache lifetime unit must not be null");
+        }
+        this.capacity = capacity;
+        this.lifetimeMs = unit.toMillis(lifetime);
+    }
+
+    /**
+     * Returns the maximum number of rows in the cache.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the maximum time a row remains in the cache, or 0 if there is
+     * no limit.
+     *
+     * @param unit the unit of the returned value
+     * @return the lifetime
+     */
+    public long getLifetime(TimeUnit unit) {
+        return unit.convert(lifetimeMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheConfig[capacity=" + capacity +
+            " lifetimeMs=" + lifetimeMs + "]";
+    }
+}
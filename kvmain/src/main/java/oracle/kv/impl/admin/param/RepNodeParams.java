@@ -42,6 +42,9 @@ import static oracle.kv.impl.param.ParameterState.RN_RH_ASYNC_MAX_CONCURRENT_REQ
 import static oracle.kv.impl.param.ParameterState.RN_RH_SO_BACKLOG;
 import static oracle.kv.impl.param.ParameterState.RN_RH_SO_CONNECT_TIMEOUT;
 import static oracle.kv.impl.param.ParameterState.RN_RH_SO_READ_TIMEOUT;
+import static oracle.kv.impl.param.ParameterState.RN_WRITE_SHED_HARD_ACK_LAG;
+import static oracle.kv.impl.param.ParameterState.RN_WRITE_SHED_MAX_PENDING_ACKS;
+import static oracle.kv.impl.param.ParameterState.RN_WRITE_SHED_SOFT_ACK_LAG;
 import static oracle.kv.impl.param.ParameterState.RP_RN_ID;
 import static oracle.kv.impl.util.registry.RegistryUtils.InterfaceType.MAIN;
 
@@ -859,6 +862,30 @@ public class RepNodeParams extends GroupNodeParams {
         return map.getOrDefault(RN_RH_ASYNC_MAX_CONCURRENT_REQUESTS).asInt();
     }
 
+    /**
+     * Returns the ack quorum lag, in VLSNs, above which writes start to be
+     * rejected, or zero if the check is disabled.
+     */
+    public long getWriteShedSoftAckLag() {
+        return map.getOrDefault(RN_WRITE_SHED_SOFT_ACK_LAG).asLong();
+    }
+
+    /**
+     * Returns the ack quorum lag, in VLSNs, at which all writes are
+     * rejected.
+     */
+    public long getWriteShedHardAckLag() {
+        return map.getOrDefault(RN_WRITE_SHED_HARD_ACK_LAG).asLong();
+    }
+
+    /**
+     * Returns the number of commits awaiting acks at which writes are
+     * rejected, or zero if the check is disabled.
+     */
+    public int getWriteShedMaxPendingAcks() {
+        return map.getOrDefault(RN_WRITE_SHED_MAX_PENDING_ACKS).asInt();
+    }
+
     /**
      * Sets the maximum number of concurrent async requests that an RN can
      * handle before it should do throttling.
@@ -22,15 +22,20 @@ import static oracle.kv.impl.async.FutureUtils.unwrapExceptionVoid;
 import static oracle.kv.impl.async.FutureUtils.whenComplete;
 
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import oracle.kv.AuthenticationRequiredException;
+import oracle.kv.Consistency;
 import oracle.kv.FaultException;
 import oracle.kv.KVStoreConfig;
 import oracle.kv.RequestLimitConfig;
@@ -64,6 +69,70 @@ import oracle.kv.impl.util.registry.Protocols;
  */
 public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
 
+    /**
+     * Whether client dispatchers hedge reads with relaxed consistency. If a
+     * hedged read has not returned from the RN it was sent to after the hedge
+     * delay, a copy is sent to another eligible RN, the first response is
+     * returned, and the other request is cancelled.
+     */
+    public static final String HEDGED_READS =
+        AsyncRequestDispatcherImpl.class.getName() + ".hedgedReads";
+    public static volatile boolean hedgedReads =
+        Boolean.getBoolean(HEDGED_READS);
+
+    /**
+     * The percentile of the trailing read response times of the RN a read
+     * was sent to that is used as the hedge delay.
+     */
+    public static final String HEDGE_DELAY_PERCENTILE =
+        AsyncRequestDispatcherImpl.class.getName() + ".hedgeDelayPercentile";
+    public static volatile int hedgeDelayPercentile =
+        Integer.getInteger(HEDGE_DELAY_PERCENTILE, 95);
+
+    /**
+     * The minimum hedge delay in milliseconds. It prevents hedging reads to
+     * RNs with few or very short trailing response times.
+     */
+    public static final String HEDGE_MIN_DELAY_MS =
+        AsyncRequestDispatcherImpl.class.getName() + ".hedgeMinDelayMs";
+    public static volatile int hedgeMinDelayMs =
+        Integer.getInteger(HEDGE_MIN_DELAY_MS, 5);
+
+    /**
+     * The maximum number of hedges as a percentage of the reads that could be
+     * hedged, which limits the extra load hedging places on the store.
+     */
+    public static final String HEDGE_BUDGET_PERCENT =
+        AsyncRequestDispatcherImpl.class.getName() + ".hedgeBudgetPercent";
+    public static volatile int hedgeBudgetPercent =
+        Integer.getInteger(HEDGE_BUDGET_PERCENT, 5);
+
+    /**
+     * The operations that can be hedged: reads that return their complete
+     * result in one response and so do not carry iteration state that the
+     * caller updates between requests.
+     */
+    private static final Set<OpCode> HEDGED_OPS = EnumSet.of(
+        OpCode.GET,
+        OpCode.MULTI_GET,
+        OpCode.MULTI_GET_KEYS,
+        OpCode.MULTI_GET_TABLE,
+        OpCode.MULTI_GET_TABLE_KEYS,
+        OpCode.MULTI_GET_BATCH_TABLE,
+        OpCode.MULTI_GET_BATCH_TABLE_KEYS);
+
+    /**
+     * The hedge budget credits needed to issue one hedge. Each read that can
+     * be hedged adds hedgeBudgetPercent credits.
+     */
+    private static final int HEDGE_COST = 100;
+
+    /**
+     * The maximum hedge budget credits, which bounds the number of hedges
+     * that can be issued together after a period without slow reads.
+     */
+    private static final int MAX_HEDGE_CREDITS = 10 * HEDGE_COST;
+
     /**
      * The amount of time in milliseconds to allow for a single roundtrip
      * network communication with the server.
@@ -93,6 +162,11 @@ public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
     private final KVThreadFactory backupThreadFactory =
         new KVThreadFactory(" backup async response delivery", logger);
 
+    /**
+     * The budget that limits the number of hedges.
+     */
+    private final HedgeBudget hedgeBudget = new HedgeBudget();
+
     /**
      * Creates RequestDispatcher for a KVStore client. As part of the creation
      * of the client side RequestDispatcher, it contacts one or more SNs from
@@ -187,7 +261,7 @@ public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
                                               null, isRemote);
         }
         return AsyncRegistryUtils.getWithTimeout(
-            asyncRequest.execute(), operation, timeoutMs,
+            executeMaybeHedged(asyncRequest), operation, timeoutMs,
             getAsyncTimeout(timeoutMs),
             ignore -> getTimeoutException(asyncRequest.request,
                                           asyncRequest.exception,
@@ -238,14 +312,299 @@ public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
                                                     Set<RepNodeId> excludeRNs,
                                                     LoginManager loginMgr) {
         try {
-            return new AsyncExecuteRequest(request, targetId, excludeRNs,
-                                           loginMgr)
-                .execute();
+            return executeMaybeHedged(
+                new AsyncExecuteRequest(request, targetId, excludeRNs,
+                                        loginMgr));
         } catch (Throwable e) {
             return failedFuture(convertException(e, targetId));
         }
     }
 
+    /**
+     * Executes the request, hedging it if hedged reads are enabled and the
+     * request is eligible.
+     */
+    private CompletableFuture<Response>
+        executeMaybeHedged(AsyncExecuteRequest asyncRequest) {
+
+        if (!hedgedReads ||
+            isRemote ||
+            !isHedgeable(asyncRequest.request, asyncRequest.targetId)) {
+            return asyncRequest.execute();
+        }
+        hedgeBudget.addRead(hedgeBudgetPercent);
+        return new HedgedRead(asyncRequest).execute();
+    }
+
+    /**
+     * Returns whether a request can be hedged by a client dispatcher with
+     * hedged reads enabled: only reads that are not directed to a specific
+     * RN and that any up-to-date enough replica can perform. Package access
+     * for testing.
+     */
+    static boolean isHedgeable(Request request, RepNodeId targetId) {
+        if ((targetId != null) ||
+            request.needsMaster() ||
+            !HEDGED_OPS.contains(request.getOperation().getOpCode())) {
+            return false;
+        }
+        final Consistency consistency = request.getConsistency();
+        return (consistency instanceof Consistency.NoneRequired) ||
+            (consistency instanceof Consistency.Time);
+    }
+
+    /**
+     * Returns the delay in milliseconds after which a read should be hedged,
+     * given the configured percentile of the trailing read response times of
+     * the RN it was sent to, or -1 if the read would time out before then.
+     * Package access for testing.
+     *
+     * @param respTimePercentileMs the response time percentile of the RN
+     * @param remainingNs the time remaining until the read times out
+     */
+    static long getHedgeDelayMs(int respTimePercentileMs, long remainingNs) {
+        final long delayMs = Math.max(hedgeMinDelayMs, respTimePercentileMs);
+        return (MILLISECONDS.toNanos(delayMs) >= remainingNs) ? -1 : delayMs;
+    }
+
+    /**
+     * Limits the number of hedges to a percentage of the reads that could be
+     * hedged. Each such read adds the percentage to the available credits,
+     * up to MAX_HEDGE_CREDITS, and each hedge takes HEDGE_COST credits.
+     * Package access for testing.
+     */
+    static class HedgeBudget {
+        private final AtomicInteger credits = new AtomicInteger();
+
+        /**
+         * Adds the credits for a read that could be hedged.
+         *
+         * @param percent the maximum percentage of reads to hedge
+         */
+        void addRead(int percent) {
+            credits.accumulateAndGet(
+                percent, (c, n) -> Math.min(c + n, MAX_HEDGE_CREDITS));
+        }
+
+        /**
+         * Takes the credits for one hedge, returning false if there are not
+         * enough.
+         */
+        boolean tryAcquire() {
+            while (true) {
+                final int current = credits.get();
+                if (current < HEDGE_COST) {
+                    return false;
+                }
+                if (credits.compareAndSet(current, current - HEDGE_COST)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes a read that is sent to a second RN if the first one does not
+     * respond within the hedge delay. The hedge delay is the configured
+     * percentile of the trailing read response times of the first RN, so
+     * only reads that are slow for that RN are hedged. The first successful
+     * response is returned and the other request is cancelled. If both fail,
+     * the exception from the original request is returned.
+     */
+    private class HedgedRead {
+        private final AsyncExecuteRequest primary;
+        private final HedgeState<AsyncExecuteRequest, Response> state;
+
+        HedgedRead(AsyncExecuteRequest primary) {
+            this.primary = primary;
+            state = new HedgeState<>(primary, AsyncExecuteRequest::cancel);
+        }
+
+        CompletableFuture<Response> execute() {
+            primary.execute().whenComplete(
+                unwrapExceptionVoid((r, e) -> onComplete(primary, r, e)));
+            if (!state.getFuture().isDone()) {
+                scheduleHedge();
+            }
+            return state.getFuture();
+        }
+
+        private void scheduleHedge() {
+            final RepNodeState target = primary.target;
+            if (target == null) {
+                /* Not dispatched yet, waiting to retry */
+                return;
+            }
+            final long delayMs = getHedgeDelayMs(
+                target.getReadRespTimePercentileMs(hedgeDelayPercentile),
+                primary.limitNs - System.nanoTime());
+            if (delayMs < 0) {
+                return;
+            }
+            try {
+                endpointGroup.getSchedExecService().schedule(
+                    this::startHedge, delayMs, MILLISECONDS);
+            } catch (RejectedExecutionException ree) {
+                /* Skip the hedge, the request does not depend on it */
+                logger.finest(() -> "Hedge not scheduled: " + ree);
+            }
+        }
+
+        private void startHedge() {
+            final AsyncExecuteRequest hedgeRequest;
+            synchronized (state) {
+                if (state.isPrimaryDone()) {
+                    return;
+                }
+                final RepNodeState target = primary.target;
+                final RepGroupStateInfo rgStateInfo = primary.rgStateInfo;
+                final long remainingMs =
+                    NANOSECONDS.toMillis(primary.limitNs - System.nanoTime());
+                if ((target == null) ||
+                    (rgStateInfo == null) ||
+                    (remainingMs <= 0)) {
+                    return;
+                }
+                final Request request = primary.request.copyForHedge();
+                request.setTimeout((int) remainingMs);
+                final Set<RepNodeId> excludeRNs = new HashSet<>();
+                excludeRNs.add(target.getRepNodeId());
+
+                /*
+                 * Only hedge if another RN is available, to avoid waiting for
+                 * one until the primary completes
+                 */
+                if ((rgStateInfo.repGroupState.getLoadBalancedRN(
+                         request, excludeRNs) == null) ||
+                    !hedgeBudget.tryAcquire()) {
+                    return;
+                }
+                hedgeRequest =
+                    new AsyncExecuteRequest(request, null /* targetId */,
+                                            excludeRNs, primary.loginMgr);
+                state.setHedge(hedgeRequest);
+            }
+            totalHedgeCount.observe(1);
+            logger.finest(() -> "Hedging request: " + primary);
+            hedgeRequest.execute().whenComplete(
+                unwrapExceptionVoid((r, e) -> onComplete(hedgeRequest, r, e)));
+        }
+
+        private void onComplete(AsyncExecuteRequest source,
+                                Response response,
+                                Throwable e) {
+            if (state.onComplete(source, response, e) &&
+                (e == null) &&
+                (source != primary)) {
+                totalHedgeWinCount.observe(1);
+            }
+        }
+    }
+
+    /**
+     * Decides the result of a hedged read from the completions of its
+     * original request and of its hedge, if one was started. The read is
+     * done, and its future completed, when either request returns a
+     * response, or when all started requests have failed, in which case the
+     * exception from the original request is used. When the read is done,
+     * the other request is cancelled if it is still running. Completions
+     * after the read is done are ignored, so the future is completed and the
+     * other request is cancelled at most once. Package access for testing.
+     *
+     * @param <T> the type of the requests
+     * @param <R> the type of the response
+     */
+    static class HedgeState<T, R> {
+        private final T primary;
+        private final Consumer<T> canceller;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        /* The fields below are guarded by this */
+        private T hedge;
+        private boolean primaryDone;
+        private boolean hedgeDone;
+        private Throwable primaryException;
+        private boolean done;
+
+        /**
+         * Creates the state of a hedged read.
+         *
+         * @param primary the original request
+         * @param canceller called to cancel the request that lost
+         */
+        HedgeState(T primary, Consumer<T> canceller) {
+            this.primary = primary;
+            this.canceller = canceller;
+        }
+
+        CompletableFuture<R> getFuture() {
+            return future;
+        }
+
+        /**
+         * Returns whether the original request has completed, in which case
+         * a hedge is no longer needed.
+         */
+        synchronized boolean isPrimaryDone() {
+            return done || primaryDone;
+        }
+
+        /**
+         * Records the hedge request, which must be done before it is
+         * executed.
+         */
+        synchronized void setHedge(T hedge) {
+            this.hedge = hedge;
+        }
+
+        /**
+         * Records the completion of the original request or of the hedge.
+         * Returns true if it completed the read.
+         *
+         * @param source the request that completed
+         * @param response the response, or null if the request failed
+         * @param e the exception, or null if the request succeeded
+         */
+        boolean onComplete(T source, R response, Throwable e) {
+            final boolean isPrimary = (source == primary);
+            final T other;
+            final Throwable exception;
+            synchronized (this) {
+                if (done) {
+                    return false;
+                }
+                if (isPrimary) {
+                    primaryDone = true;
+                    primaryException = e;
+                } else {
+                    hedgeDone = true;
+                }
+                if (e != null) {
+                    /* Wait for the other request if it is still running */
+                    final boolean otherRunning = isPrimary ?
+                        ((hedge != null) && !hedgeDone) :
+                        !primaryDone;
+                    if (otherRunning) {
+                        return false;
+                    }
+                }
+                done = true;
+                if (isPrimary) {
+                    other = hedgeDone ? null : hedge;
+                } else {
+                    other = primaryDone ? null : primary;
+                }
+                exception = (e == null) ? null :
+                    (primaryException != null) ? primaryException : e;
+            }
+            if (other != null) {
+                canceller.accept(other);
+            }
+            complete(future, response, exception);
+            return true;
+        }
+    }
+
     /**
      * Convert an exception to one that should be supplied to users. The issue
      * is to convert dialog exceptions to FaultExceptions as needed, which
@@ -279,9 +638,9 @@ public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
         private final CompletableFuture<Response> future =
             new CompletableFuture<>();
 
-        private volatile RepGroupStateInfo rgStateInfo = null;
+        volatile RepGroupStateInfo rgStateInfo = null;
         private final int initialTimeoutMs;
-        private final long limitNs;
+        final long limitNs;
         volatile int retryCount;
 
         private volatile Exception exception;
@@ -293,6 +652,15 @@ public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
 
         private volatile LinkedList<ExecuteRequestEvent> events = null;
 
+        /*
+         * Set when the request is cancelled because the other request of a
+         * hedged read returned first
+         */
+        private volatile boolean cancelled;
+
+        /* The future for the dialog in progress, if any */
+        private volatile CompletableFuture<Response> dialogFuture;
+
         AsyncExecuteRequest(Request request,
                             RepNodeId targetId,
                             Set<RepNodeId> excludeRNs,
@@ -376,6 +744,9 @@ public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
 
             /* Retry until timeout or async handoff */
             while ((limitNs - System.nanoTime()) > 0) {
+                if (cancelled) {
+                    return;
+                }
                 if (rgStateInfo == null) {
                     /* First time dispatch. */
                     rgStateInfo = startExecuteRequest(request);
@@ -580,9 +951,15 @@ public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
                                loginMgr)
                     .thenCompose(lh -> {
                             loginHandle = lh;
-                            return requestHandler.execute(
-                                request,
-                                getAsyncTimeout(request.getTimeout()));
+                            final CompletableFuture<Response> f =
+                                requestHandler.execute(
+                                    request,
+                                    getAsyncTimeout(request.getTimeout()));
+                            dialogFuture = f;
+                            if (cancelled) {
+                                f.cancel(false);
+                            }
+                            return f;
                         })
                     .whenComplete(
                         unwrapExceptionVoid(this::handleResponse));
@@ -598,6 +975,21 @@ public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
                           " t=" + t);
             addEvent(
                 ExecuteRequestEventType.DISPATCH_REQUEST_RESPONDED, t);
+            if (cancelled) {
+
+                /*
+                 * The other request of a hedged read returned first. Just
+                 * end the dispatch without charging the RN with an error,
+                 * but record the time it has taken so far as a response time
+                 * of the RN, which is otherwise not recorded. Without it, an
+                 * RN that is slow would keep low trailing response times,
+                 * and so keep getting reads and short hedge delays.
+                 */
+                recordCancelledRespTime();
+                completeDispatch(null /* response */, null /* t */,
+                                 true /* done */);
+                return;
+            }
             try {
 
                 /* No exception, request is done if response is non-null */
@@ -672,6 +1064,34 @@ public class AsyncRequestDispatcherImpl extends RequestDispatcherImpl {
             }
         }
 
+        /**
+         * Records the time since the current dispatch started as a response
+         * time of its target RN, if a dispatch started.
+         */
+        private void recordCancelledRespTime() {
+            final RepNodeState rn = target;
+            final long start = startNs;
+            if ((rn != null) && (start != 0)) {
+                rn.accumRespTime(
+                    request.isWrite(),
+                    (int) NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        }
+
+        /**
+         * Cancels the request because the other request of a hedged read
+         * returned first, stopping retries and cancelling the dialog in
+         * progress, if any.
+         */
+        void cancel() {
+            cancelled = true;
+            future.cancel(false);
+            final CompletableFuture<Response> f = dialogFuture;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+
         private void addEvent(ExecuteRequestEventType eventType) {
             addEvent(eventType, null /* throwable */);
         }
@@ -170,6 +170,7 @@ import oracle.kv.table.WriteOptions;
 import oracle.nosql.common.cache.Cache;
 import oracle.nosql.common.cache.CacheBuilder;
 import oracle.nosql.common.cache.CacheBuilder.CacheConfig;
+import oracle.nosql.common.cache.CacheBuilder.EvictionPolicy;
 
 import com.sleepycat.je.utilint.PropUtil;
 
@@ -382,7 +383,8 @@ public class KVStoreImpl implements KVStore, Cloneable {
 
         final CacheConfig cacheConfig =
             new CacheConfig().setCapacity(1000).
-            setLifetime(config.getSGAttrsCacheTimeout());
+            setLifetime(config.getSGAttrsCacheTimeout()).
+            setEvictionPolicy(EvictionPolicy.TINY_LFU);
         sgAttributes = CacheBuilder.build(cacheConfig);
         excludeTombstones = config.getExcludeTombstones();
 
@@ -2864,7 +2866,7 @@ public class KVStoreImpl implements KVStore, Cloneable {
 
     @Override
     public KVStats getStats(String watcherName, boolean clear) {
-        return new KVStats(watcherName, clear, dispatcher);
+        return new KVStats(watcherName, clear, dispatcher, tableAPI);
     }
 
     public KVStats getMonitorStats() {
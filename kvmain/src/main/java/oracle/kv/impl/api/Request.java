@@ -915,6 +915,35 @@ public class Request implements Externalizable, MethodCall<Response> {
         return false;
     }
 
+    /**
+     * Returns a copy of this request that can be dispatched independently of
+     * it, for sending a hedged read to a second RN. The dispatcher updates
+     * the timeout, serial version, security context and forwarding chain of
+     * a request as it dispatches it, so the copy has its own values for
+     * those. The operation is shared since dispatching does not modify it.
+     */
+    Request copyForHedge() {
+        final Request copy = new Request();
+        copy.serialVersion = serialVersion;
+        copy.op = op;
+        copy.partitionId = partitionId;
+        copy.repGroupId = repGroupId;
+        copy.write = write;
+        copy.durability = durability;
+        copy.consistency = consistency;
+        copy.topoSeqNumber = topoSeqNumber;
+        copy.initialDispatcherId = initialDispatcherId;
+        copy.ttl = ttl;
+        copy.forwardingRNs = forwardingRNs.clone();
+        copy.timeoutMs = timeoutMs;
+        copy.authCtx = authCtx;
+        copy.readZoneIds = readZoneIds;
+        copy.lc = lc;
+        copy.noCharge = noCharge;
+        copy.needsMaster = needsMaster;
+        return copy;
+    }
+
     /**
      * Associate a partition generation number with this request.
      *
@@ -178,6 +178,24 @@ public interface RequestDispatcher {
      */
     public long getTotalRetryCount(String watcherName, boolean clear);
 
+    /**
+     * The total number of reads for which the request dispatcher sent a
+     * hedged copy to a second RN because the first RN was slow to respond.
+     *
+     * @param watcherName the watcher name
+     * @param clear if true clears the stats
+     */
+    public long getTotalHedgeCount(String watcherName, boolean clear);
+
+    /**
+     * The total number of hedged reads for which the response to the hedged
+     * copy was the one returned.
+     *
+     * @param watcherName the watcher name
+     * @param clear if true clears the stats
+     */
+    public long getTotalHedgeWinCount(String watcherName, boolean clear);
+
     /**
      * Returns the dispatchers exception handler. An exception caught by this
      * handler results in the process being restarted by the SNA.
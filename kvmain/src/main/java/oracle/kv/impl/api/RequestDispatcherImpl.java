@@ -233,6 +233,13 @@ public class RequestDispatcherImpl implements RequestDispatcher {
      */
     final ThroughputElement totalRetryCount = new ThroughputElement();
 
+    /**
+     * The total number of hedged reads, and the number of those for which
+     * the hedged copy returned first.
+     */
+    final ThroughputElement totalHedgeCount = new ThroughputElement();
+    final ThroughputElement totalHedgeWinCount = new ThroughputElement();
+
     final LatencyTracker<InternalOperation.OpCode> latencyTracker;
 
     /**
@@ -2853,6 +2860,18 @@ public class RequestDispatcherImpl implements RequestDispatcher {
         return totalRetryCount.obtain(watcherName, clear).getCount();
     }
 
+    /* The total number of reads that were hedged. */
+    @Override
+    public long getTotalHedgeCount(String watcherName, boolean clear) {
+        return totalHedgeCount.obtain(watcherName, clear).getCount();
+    }
+
+    /* The total number of hedged reads where the hedge returned first. */
+    @Override
+    public long getTotalHedgeWinCount(String watcherName, boolean clear) {
+        return totalHedgeWinCount.obtain(watcherName, clear).getCount();
+    }
+
     /* For testing only. */
     public void setTestHook(TestHook<Request> hook) {
         requestExecuteHook = hook;
@@ -40,13 +40,16 @@ import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -161,9 +164,11 @@ import com.sleepycat.je.rep.RollbackException;
 import com.sleepycat.je.rep.RollbackProhibitedException;
 import com.sleepycat.je.rep.StateChangeEvent;
 import com.sleepycat.je.rep.StateChangeListener;
+import com.sleepycat.je.rep.TimeConsistencyPolicy;
 import com.sleepycat.je.rep.UnknownMasterException;
 import com.sleepycat.je.rep.impl.RepImpl;
 import com.sleepycat.je.rep.impl.node.NameIdPair;
+import com.sleepycat.je.rep.impl.node.Replica.ConsistencyTracker;
 import com.sleepycat.je.rep.txn.MasterTxn;
 import com.sleepycat.je.txn.Txn;
 import com.sleepycat.je.utilint.DoubleExpMovingAvg;
@@ -312,6 +317,12 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
      */
     private final AtomicReference<Map<String, AtomicInteger>> exceptionCounts;
 
+    /**
+     * Sheds writes when the replicas needed to acknowledge them fall behind.
+     */
+    private final WriteAdmissionControl writeAdmissionControl =
+        new WriteAdmissionControl();
+
     /**
      * All user operations directed to the requestHandler are implemented by
      * the OperationHandler.
@@ -482,6 +493,7 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
                                         (TEN_MINUTES_MS, LIMIT_FAULTS, logger);
         enableRequestType(rnParams.getEnabledRequestType());
         disableAuthMaster = rnParams.getDisableAuthMaster();
+        writeAdmissionControl.setParams(rnParams);
     }
 
     /**
@@ -515,6 +527,13 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
         }
     }
 
+    /**
+     * Update the write admission control limits for a change in parameters.
+     */
+    public void updateWriteAdmissionParams(RepNodeParams newParams) {
+        writeAdmissionControl.setParams(newParams);
+    }
+
     /**
      * Returns the number of requests currently being processed at this node.
      */
@@ -575,6 +594,7 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
             new ConcurrentHashMap<>();
         Map<String, AtomicInteger> oldCounts =
             exceptionCounts.getAndSet(nextCounts);
+        writeAdmissionControl.addAndResetRejections(oldCounts);
         return oldCounts;
     }
 
@@ -677,45 +697,222 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
             asyncQueueDelta(1);
             final CompletableFuture<Response> future =
                 new CompletableFuture<>();
-            try {
-                threadPool.execute(() -> {
-                        asyncQueueDelta(-1);
-                        asyncRequestQueueTimeNanos.observe(
-                            System.nanoTime() - startTimeNanos);
-                        executeAsyncRequest(context, request)
-                            .whenComplete(
-                                unwrapExceptionVoid(
-                                    (response, exception) -> {
-                                        complete(future, response, exception);
-                                    }));
-                    });
-                return future;
-            } catch (RejectedExecutionException e) {
+            final Runnable task = () -> {
                 asyncQueueDelta(-1);
+                asyncRequestQueueTimeNanos.observe(
+                    System.nanoTime() - startTimeNanos);
+                executeAsyncRequest(context, request)
+                    .whenComplete(
+                        unwrapExceptionVoid(
+                            (response, exception) -> {
+                                complete(future, response, exception);
+                            }));
+            };
 
-                /*
-                 * We expect the dialog layer to enforce limits so that
-                 * requests can be rejected without needing to deserialize
-                 * them, but handle the rejection exception here anyway just in
-                 * case, since there may be edge cases where not all of the
-                 * executor's capacity is used.
-                 */
-                final String msg =
-                    "Number of concurrent requests received by " +
-                    repNodeId + " exceeded the capacity of the execution" +
-                    " thread pool:" +
-                    " queueCapacity=" + threadPool.getQueueCapacity() +
-                    " maxThreads=" + threadPool.getMaximumPoolSize();
-                rateLimitingLogger.log(
-                    "Async thread pool rejected execution exception",
-                    Level.WARNING, e, () -> msg);
-                throw new ServerResourceLimitException(msg);
+            /*
+             * If this replica has not yet caught up enough to satisfy the
+             * request's consistency, park the request until it has, rather
+             * than having a pool thread block in JE while it waits.
+             */
+            final CompletableFuture<Void> consistencyWait =
+                getConsistencyWait(request);
+            if (consistencyWait != null) {
+                dispatchWhenConsistent(
+                    consistencyWait, request, startTimeNanos,
+                    () -> executeAsyncTask(threadPool, task),
+                    e -> {
+                        /* executeAsyncTask updates the count if rejected */
+                        if (e instanceof ConsistencyException) {
+                            asyncQueueDelta(-1);
+                        }
+                        future.completeExceptionally(e);
+                    });
+                return future;
             }
+            executeAsyncTask(threadPool, task);
+            return future;
         } catch (Throwable e) {
             return failedFuture(e);
         }
     }
 
+    /**
+     * Executes an async request task in the thread pool, converting a
+     * rejection into a ServerResourceLimitException.
+     */
+    private void executeAsyncTask(ReusingThreadPoolExecutor threadPool,
+                                  Runnable task) {
+        try {
+            threadPool.execute(task);
+        } catch (RejectedExecutionException e) {
+            asyncQueueDelta(-1);
+
+            /*
+             * We expect the dialog layer to enforce limits so that
+             * requests can be rejected without needing to deserialize
+             * them, but handle the rejection exception here anyway just in
+             * case, since there may be edge cases where not all of the
+             * executor's capacity is used.
+             */
+            final String msg =
+                "Number of concurrent requests received by " +
+                repNodeId + " exceeded the capacity of the execution" +
+                " thread pool:" +
+                " queueCapacity=" + threadPool.getQueueCapacity() +
+                " maxThreads=" + threadPool.getMaximumPoolSize();
+            rateLimitingLogger.log(
+                "Async thread pool rejected execution exception",
+                Level.WARNING, e, () -> msg);
+            throw new ServerResourceLimitException(msg);
+        }
+    }
+
+    /**
+     * Arranges for a request parked by {@link #getConsistencyWait} to be
+     * dispatched, or failed, when the wait completes. The request timeout is
+     * reduced by the time spent waiting.
+     *
+     * <p>If the wait fails with a ConsistencyException, the consistency
+     * timeout has expired, so the request is failed without being
+     * dispatched. If it fails for another reason, such as the replica
+     * shutting down, the request is dispatched so that the exception is
+     * reported as usual, but its timeout is also limited to what remains of
+     * the consistency timeout, since JE would otherwise wait for consistency
+     * again using a whole consistency timeout.
+     *
+     * <p>If dispatch throws an exception, or the wait fails with a
+     * ConsistencyException, fail is called with the exception. Package
+     * access for testing.
+     */
+    static void dispatchWhenConsistent(CompletableFuture<Void> consistencyWait,
+                                       Request request,
+                                       long startTimeNanos,
+                                       Runnable dispatch,
+                                       Consumer<Throwable> fail) {
+        consistencyWait.whenComplete((v, e) -> {
+            final Throwable exception = unwrapException(e);
+            if (exception instanceof ConsistencyException) {
+                fail.accept(exception);
+                return;
+            }
+            final long waitedMs =
+                NANOSECONDS.toMillis(System.nanoTime() - startTimeNanos);
+            long remainingMs = request.getTimeout() - waitedMs;
+            if (exception != null) {
+                remainingMs = Math.min(
+                    remainingMs,
+                    getConsistencyTimeoutMs(request.getConsistency()) -
+                    waitedMs);
+            }
+            request.setTimeout((int) Math.max(1, remainingMs));
+            try {
+                dispatch.run();
+            } catch (Throwable t) {
+                fail.accept(t);
+            }
+        });
+    }
+
+    /**
+     * Returns the timeout of a version or time consistency in milliseconds.
+     */
+    private static long getConsistencyTimeoutMs(Consistency consistency) {
+        return (consistency instanceof Consistency.Version) ?
+            ((Consistency.Version) consistency).getTimeout(MILLISECONDS) :
+            ((Consistency.Time) consistency).getTimeout(MILLISECONDS);
+    }
+
+    /**
+     * Returns a future that is completed when this node, as a replica, has
+     * caught up enough to satisfy the version or time consistency of a read
+     * request, or null if the request need not wait. If the consistency
+     * timeout, or the request timeout if it is shorter, expires first, the
+     * future is completed with the same ConsistencyException that JE's
+     * consistency check would have produced. If the replica shuts down, the
+     * future is completed with the exception supplied by the consistency
+     * tracker.
+     */
+    private CompletableFuture<Void> getConsistencyWait(Request request) {
+        if (request.isWrite()) {
+            return null;
+        }
+        final Consistency consistency = request.getConsistency();
+        if (!(consistency instanceof Consistency.Version) &&
+            !(consistency instanceof Consistency.Time)) {
+            return null;
+        }
+        final RepImpl repImpl = repNode.getEnvImpl(0);
+        if ((repImpl == null) || !repImpl.isValid() ||
+            !repImpl.getState().isReplica()) {
+            return null;
+        }
+        final com.sleepycat.je.rep.impl.node.RepNode jeRepNode =
+            repImpl.getRepNode();
+        if ((jeRepNode == null) || (jeRepNode.getReplica() == null)) {
+            return null;
+        }
+        final ConsistencyTracker tracker =
+            jeRepNode.getReplica().getConsistencyTracker();
+
+        final long timeoutMs = Math.min(request.getTimeout(),
+                                        getConsistencyTimeoutMs(consistency));
+        final CompletableFuture<Void> wait;
+        if (consistency instanceof Consistency.Version) {
+            final Version version =
+                ((Consistency.Version) consistency).getVersion();
+            if ((version == null) ||
+                !operationHandler.getRepNodeUUID().equals(
+                    version.getRepGroupUUID())) {
+                /* Leave it to checkVersionConsistency */
+                return null;
+            }
+            wait = tracker.awaitTxnVLSNAsync(version.getVLSN());
+        } else {
+            wait = tracker.lagAwaitAsync(
+                (TimeConsistencyPolicy) ConsistencyTranslator.translate(
+                    disableAuthMaster, consistency, timeoutMs));
+        }
+        if (wait.isDone()) {
+            return null;
+        }
+        return failOnConsistencyTimeout(
+            wait, timeoutMs,
+            () -> {
+                final ReplicaConsistencyPolicy policy =
+                    ConsistencyTranslator.translate(
+                        disableAuthMaster, consistency, timeoutMs);
+                final ReplicaConsistencyException rce =
+                    new ReplicaConsistencyException(
+                        policy, repImpl.getNameIdPair().getName(),
+                        !repImpl.getState().isActive());
+                return new ConsistencyException(
+                    rce, ConsistencyTranslator.translate(policy, consistency));
+            });
+    }
+
+    /**
+     * Returns a future that completes like the specified consistency wait,
+     * except that it is completed with the exception supplied by
+     * timeoutException if the wait has not completed within the specified
+     * timeout. Package access for testing.
+     */
+    static CompletableFuture<Void> failOnConsistencyTimeout(
+        CompletableFuture<Void> wait,
+        long timeoutMs,
+        Supplier<ConsistencyException> timeoutException) {
+
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        wait.orTimeout(timeoutMs, MILLISECONDS).whenComplete((v, e) -> {
+            final Throwable exception = unwrapException(e);
+            if (exception instanceof TimeoutException) {
+                result.completeExceptionally(timeoutException.get());
+            } else {
+                complete(result, v, exception);
+            }
+        });
+        return result;
+    }
+
     /** Update stats for a change in the number of queued async requests. */
     private void asyncQueueDelta(int delta) {
         final int current = queuedAsyncRequestsCount.addAndGet(delta);
@@ -1028,6 +1225,16 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
                     return null;
                 }
 
+                /*
+                 * Shed the write, before it has any effect, if the replicas
+                 * needed to acknowledge it are too far behind.
+                 */
+                if (request.isWrite()) {
+                    writeAdmissionControl.checkWrite(
+                        RepInternal.getRepImpl(repEnv),
+                        txnConfig.getDurability().getReplicaAck());
+                }
+
                 /*
                  * Install JE async ack handler if appropriate. Note that we
                  * don't attempt to detect RF=1 here -- needsAsyncAcks handles
@@ -1038,7 +1245,8 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
                     (request.getDurability().getReplicaAck() !=
                      ReplicaAckPolicy.NONE) &&
                     !disableAsyncAckHandler) {
-                    ackHandler = new AckHandler();
+                    ackHandler = new AckHandler(asyncThreadPool,
+                                                request.getTimeout());
                     txnConfig.setAsyncAckHandler(ackHandler);
                 } else {
                     ackHandler = null;
@@ -1393,40 +1601,73 @@ public class RequestHandlerImpl extends VersionedRemoteImpl
                     dialogContext, () -> function.apply(value, ex)),
                 executionContext);
         }
+    }
+
+    /**
+     * A future implementing a JE async acknowledgements handler that
+     * completes successfully when onQuorumAcks is called and exceptionally
+     * when onException is called.
+     *
+     * <p>JE calls the handler from the feeder thread that processes the
+     * replica's acks, and the dependent actions that build and send the
+     * response run in the thread that completes the future. To avoid
+     * delaying the processing of acks for other transactions, the future is
+     * completed in the async thread pool, and only completed directly if the
+     * pool is unavailable or full.
+     *
+     * <p>Package access for testing.
+     */
+    static class AckHandler extends CompletableFuture<Void>
+            implements AsyncAckHandler {
+
+        private final Executor threadPool;
+        private final int requestTimeout;
 
         /**
-         * A future implementing a JE async acknowledgements handler that
-         * completes successfully when onQuorumAcks is called and exceptionally
-         * when onException is called.
+         * Creates a handler that completes in the specified thread pool,
+         * which may be null, for a request with the specified timeout.
          */
-        private class AckHandler extends CompletableFuture<Void>
-                implements AsyncAckHandler {
+        AckHandler(Executor threadPool, int requestTimeout) {
+            this.threadPool = threadPool;
+            this.requestTimeout = requestTimeout;
+        }
 
-            @Override
-            public void onQuorumAcks(MasterTxn txnIgnore) {
-                complete(null);
+        @Override
+        public void onQuorumAcks(MasterTxn txnIgnore) {
+            completeInPool(() -> complete(null));
+        }
+
+        @Override
+        public void onException(MasterTxn txnIgnore, Exception ex) {
+            if (ex instanceof InsufficientAcksException) {
+                completeInPool(() -> completeExceptionally(
+                    new RequestTimeoutException(
+                        requestTimeout,
+                        "Timed out due to InsufficientAcksException",
+                        ex, true)));
+            } else {
+                /*
+                 * Currently only InsufficientAcksException is an expected
+                 * exception passed to the AsyncAckHandler. Add additional
+                 * handling here if new expected exceptions are introduced.
+                 */
+                completeInPool(() -> completeExceptionally(
+                    new IllegalStateException(
+                        "Unexpected exception passed to AckHandler: " + ex,
+                        ex)));
             }
+        }
 
-            @Override
-            public void onException(MasterTxn txnIgnore, Exception ex) {
-                if (ex instanceof InsufficientAcksException) {
-                    completeExceptionally(
-                        new RequestTimeoutException(
-                            request.getTimeout(),
-                            "Timed out due to InsufficientAcksException",
-                            ex, true));
-                } else {
-                    /*
-                     * Currently only InsufficientAcksException is an expected
-                     * exception passed to the AsyncAckHandler. Add additional
-                     * handling here if new expected exceptions are introduced.
-                     */
-                    completeExceptionally(
-                        new IllegalStateException(
-                            "Unexpected exception passed to AckHandler: " + ex,
-                            ex));
+        private void completeInPool(Runnable completion) {
+            if (threadPool != null) {
+                try {
+                    threadPool.execute(completion);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    /* The pool is full or shut down */
                 }
             }
+            completion.run();
         }
     }
 
@@ -0,0 +1,200 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.api;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import oracle.kv.ServerResourceLimitException;
+import oracle.kv.impl.admin.param.RepNodeParams;
+
+import com.sleepycat.je.Durability.ReplicaAckPolicy;
+import com.sleepycat.je.rep.impl.RepImpl;
+import com.sleepycat.je.rep.impl.node.RepNode;
+
+/**
+ * Sheds writes on the master when the replicas needed to acknowledge them
+ * fall behind, so that the store slows its clients down before commits start
+ * to time out waiting for acks, and clients retry writes that were already
+ * done, adding to the load.
+ *
+ * <p>Two signals are used:
+ * <ul>
+ * <li>The ack quorum lag: the number of VLSNs by which the acks needed by the
+ * write's ack policy trail the master's latest commit. It includes the
+ * entries queued by the feeders but not yet sent, and those not yet replayed
+ * by the replicas. Writes are rejected with a probability that rises linearly
+ * from zero at the soft limit to one at the hard limit, so the write rate is
+ * reduced smoothly rather than cut off.
+ * <li>The number of commits awaiting acks. All writes are rejected while it
+ * is at the limit.
+ * </ul>
+ *
+ * <p>A rejected write fails with a {@link ServerResourceLimitException}
+ * before its transaction is started, so it has no side effects, and the
+ * client's request dispatcher retries it with its usual backoff. The
+ * exception messages do not include the current values of the signals, so
+ * that the rate limited logging of faults by the request handler is not
+ * defeated. Rejections are also counted by cause, and reported with the
+ * exception counts in the RN's operation stats, under {@link
+ * #ACK_LAG_REJECTIONS} and {@link #PENDING_ACKS_REJECTIONS}, so that they
+ * can be told apart from other resource limits.
+ *
+ * <p>The limits are set by the RN parameters {@link
+ * oracle.kv.impl.param.ParameterState#RN_WRITE_SHED_SOFT_ACK_LAG}, {@link
+ * oracle.kv.impl.param.ParameterState#RN_WRITE_SHED_HARD_ACK_LAG} and {@link
+ * oracle.kv.impl.param.ParameterState#RN_WRITE_SHED_MAX_PENDING_ACKS}. Both
+ * checks are disabled by default.
+ */
+class WriteAdmissionControl {
+
+    /** The stats key for writes rejected because of the ack quorum lag. */
+    static final String ACK_LAG_REJECTIONS =
+        ServerResourceLimitException.class.getName() + ".writeAckLag";
+
+    /** The stats key for writes rejected because of pending acks. */
+    static final String PENDING_ACKS_REJECTIONS =
+        ServerResourceLimitException.class.getName() + ".writePendingAcks";
+
+    /*
+     * The ack quorum lag, in VLSNs, above which writes start to be rejected,
+     * or zero if the lag check is disabled.
+     */
+    private volatile long softAckLag;
+
+    /*
+     * The ack quorum lag, in VLSNs, at and above which all writes are
+     * rejected. If it is not greater than the soft limit, four times the soft
+     * limit is used.
+     */
+    private volatile long hardAckLag;
+
+    /*
+     * The number of commits awaiting acks at which writes are rejected, or
+     * zero if the check is disabled.
+     */
+    private volatile int maxPendingAcks;
+
+    /* Writes rejected by each check since the counts were last reset. */
+    private final AtomicInteger ackLagRejections = new AtomicInteger();
+    private final AtomicInteger pendingAcksRejections = new AtomicInteger();
+
+    /**
+     * Sets the limits from the RN parameters.
+     */
+    void setParams(RepNodeParams rnParams) {
+        setLimits(rnParams.getWriteShedSoftAckLag(),
+                  rnParams.getWriteShedHardAckLag(),
+                  rnParams.getWriteShedMaxPendingAcks());
+    }
+
+    /**
+     * Sets the limits directly. Package access for testing.
+     */
+    void setLimits(long soft, long hard, int maxPending) {
+        softAckLag = soft;
+        hardAckLag = hard;
+        maxPendingAcks = maxPending;
+    }
+
+    /**
+     * Checks whether a write that uses the given ack policy should be
+     * executed by this node.
+     *
+     * @param repImpl the environment, or null if it is not available
+     * @param ackPolicy the write's JE ack policy
+     * @throws ServerResourceLimitException if the write should be retried
+     * later
+     */
+    void checkWrite(RepImpl repImpl, ReplicaAckPolicy ackPolicy) {
+        if (((softAckLag <= 0) && (maxPendingAcks <= 0)) ||
+            (ackPolicy == ReplicaAckPolicy.NONE) ||
+            (repImpl == null) ||
+            !repImpl.getState().isMaster()) {
+            return;
+        }
+        final RepNode repNode = repImpl.getRepNode();
+        if (repNode == null) {
+            return;
+        }
+        if (maxPendingAcks > 0) {
+            checkPendingAcks(
+                repNode.getFeederTxns().getPendingAckTxnCount(),
+                repImpl.getName());
+        }
+        if (softAckLag > 0) {
+            checkAckLag(
+                repNode.feederManager().getAckQuorumVLSNLag(ackPolicy),
+                repImpl.getName());
+        }
+    }
+
+    /**
+     * Rejects a write if the given number of commits awaiting acks is at the
+     * limit. Package access for testing.
+     */
+    void checkPendingAcks(int pendingAcks, String nodeName) {
+        final int maxPending = maxPendingAcks;
+        if ((maxPending > 0) && (pendingAcks >= maxPending)) {
+            pendingAcksRejections.incrementAndGet();
+            throw new ServerResourceLimitException(
+                "Write rejected by " + nodeName +
+                " because too many commits are awaiting replica" +
+                " acknowledgments, maxPendingAcks=" + maxPending);
+        }
+    }
+
+    /**
+     * Rejects a write with a probability that depends on where the given ack
+     * quorum lag falls between the soft and hard limits. Package access for
+     * testing.
+     */
+    void checkAckLag(long lag, String nodeName) {
+        final long soft = softAckLag;
+        if ((soft <= 0) || (lag <= soft)) {
+            return;
+        }
+        final long hard = (hardAckLag > soft) ? hardAckLag : (4 * soft);
+        if ((lag >= hard) ||
+            (ThreadLocalRandom.current().nextLong(hard - soft) <
+             (lag - soft))) {
+            ackLagRejections.incrementAndGet();
+            throw new ServerResourceLimitException(
+                "Write rejected by " + nodeName +
+                " because the replicas needed for acknowledgments lag" +
+                " the master, softAckLag=" + soft +
+                " hardAckLag=" + hard);
+        }
+    }
+
+    /**
+     * Adds the number of writes rejected by each check to the given map of
+     * exception counts, if non-zero, and resets the numbers.
+     */
+    void addAndResetRejections(Map<String, AtomicInteger> counts) {
+        addCount(counts, ACK_LAG_REJECTIONS, ackLagRejections.getAndSet(0));
+        addCount(counts, PENDING_ACKS_REJECTIONS,
+                 pendingAcksRejections.getAndSet(0));
+    }
+
+    private static void addCount(Map<String, AtomicInteger> counts,
+                                 String key,
+                                 int count) {
+        if (count > 0) {
+            counts.computeIfAbsent(key, k -> new AtomicInteger())
+                .addAndGet(count);
+        }
+    }
+}
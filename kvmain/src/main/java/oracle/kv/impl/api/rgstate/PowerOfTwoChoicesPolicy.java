@@ -0,0 +1,66 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.api.rgstate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples two of the eligible RNs at random and selects the one with the
+ * lower cost, where the cost is the moving average of the read response
+ * times of the RN multiplied by its number of outstanding requests.
+ * <p>
+ * Weighing outstanding requests by latency accounts for RNs on slower
+ * hardware: the least busy policy sends a slow RN as many concurrent requests
+ * as a fast one, while with this policy each outstanding request on a slow RN
+ * counts for more. Sampling two RNs rather than comparing all of them keeps
+ * dispatchers that share stale state from all choosing the same RN, and
+ * still gives RNs with a high cost an occasional request, which lets their
+ * averages recover when they speed up again. With more than two candidates,
+ * the RN with the highest cost is never chosen.
+ */
+class PowerOfTwoChoicesPolicy extends ReplicaSelectionPolicy {
+
+    static final String NAME = "powerOfTwoChoices";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    RepNodeState choose(RepNodeState[] candidates, int count) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(count);
+
+        /* Pick a different second RN by skipping over the first */
+        int second = random.nextInt(count - 1);
+        if (second >= first) {
+            second++;
+        }
+        final RepNodeState rn1 = candidates[first];
+        final RepNodeState rn2 = candidates[second];
+        return (getCost(rn2) < getCost(rn1)) ? rn2 : rn1;
+    }
+
+    /**
+     * Returns the cost of dispatching a request to the RN. One is added to
+     * the average so that RNs whose reads take less than a millisecond are
+     * compared by their outstanding requests, and to the outstanding requests
+     * to count the request being dispatched.
+     */
+    static double getCost(RepNodeState rn) {
+        return (rn.getEwmaReadRespTimeMs() + 1) *
+            (rn.getActiveRequestCount() + 1);
+    }
+}
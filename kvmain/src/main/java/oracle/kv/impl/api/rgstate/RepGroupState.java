@@ -109,10 +109,25 @@ public class RepGroupState {
      */
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+    /**
+     * Chooses among the RNs that are eligible for a request.
+     */
+    private final ReplicaSelectionPolicy policy;
+
     public RepGroupState(RepGroupId repGroupId,
                          ResourceId trackerId,
                          boolean async,
                          Logger logger) {
+        this(repGroupId, trackerId, async, logger,
+             ReplicaSelectionPolicy.create());
+    }
+
+    public RepGroupState(RepGroupId repGroupId,
+                         ResourceId trackerId,
+                         boolean async,
+                         Logger logger,
+                         ReplicaSelectionPolicy policy) {
+        this.policy = checkNull("policy", policy);
         this.repGroupId = repGroupId;
         this.trackerId = trackerId;
         this.async = async;
@@ -321,70 +336,34 @@ public class RepGroupState {
                                           Set<RepNodeId> excludeRNs) {
         try {
             lock.readLock().lock();
-            return getLeastBusyRN(request, excludeRNs);
+            return selectRN(request, excludeRNs);
         } finally {
             lock.readLock().unlock();
         }
     }
 
     /**
-     * Returns the RN that is currently least busy as determined by the number
-     * of active connections.
-     * <p>
-     * This rather simple strategy turns out to yield superior throughput
-     * performance when compared to the strategy embodied in
-     * {@link #getBestRespTimeRN(Set)}. This strategy provides a throughput
-     * improvement of 25% on workloadA of the YCSB benchmark, effectively
-     * saturating the disk with random IOs. One possible explanation is that
-     * response times necessarily represent past history, while the number of
-     * currently outstanding requests is a more current measure of the expected
-     * response time from the node. This permits the dispatcher to react faster
-     * to instantaneous changes on an RN or the network path. It's worth noting
-     * that the number of open active connections is an indirect indicator of
-     * response times. An RN that serves requests more promptly is more likely
-     * to have fewer active connections and will therefore be chosen more often
-     * as the target of a request dispatch.
-     * <p>
-     * This strategy may result in even activity distribution but unequal loads
-     * across the RNs, if each operation consumes a different amount of
-     * resources versus instead of a constant amount. For example, a single key
-     * lookup versus a range lookup. In this case a more sophisticated strategy
-     * that "weights" each active connection based upon its type could result
-     * in a more even distribution. Thus using a single key lookup as the basic
-     * unit operation, an active connection performing a "range" query would be
-     * weighted by a factor of say three. More sophisticated techniques could
-     * be used to weight the connections dynamically based upon the response
-     * time associated with a specific operation type. For now, we favor
-     * simplicity and treat all operation types as consuming the same resources.
+     * Returns the RN selected by the replica selection policy from the RNs
+     * that are eligible for the request.
      *
      * @param request the request that is to be dispatched to the RN
      *
      * @param excludeRNs the set of RNS to be excluded from consideration.
      *
-     * @return the least busy active (master or replica) RN or null if there is
+     * @return the selected active (master or replica) RN or null if there is
      * no clear choice, usually due to insufficient or out of date state
      * information
      */
-    private RepNodeState getLeastBusyRN(Request request,
-                                        Set<RepNodeId> excludeRNs) {
-
-        long minRespTime = Integer.MAX_VALUE;
-        RepNodeState minRN = null;
-        int minActiveRequestCount = Integer.MAX_VALUE;
+    private RepNodeState selectRN(Request request,
+                                  Set<RepNodeId> excludeRNs) {
 
         if (rns.isEmpty()) {
             return null;
         }
 
-        /*
-         * Select a random value in [0,RF-1], and add 1 so that we will get
-         * values in [0,RF-1] when we subtract 1 at the start of the loop.
-         * We'll use the value to choose among equal nodes, replacing the node
-         * for ones above this index and keeping the existing one otherwise.
-         */
-        int rnIndex = ThreadLocalRandom.current().nextInt(rns.size()) + 1;
+        final RepNodeState[] candidates = new RepNodeState[rns.size()];
+        int count = 0;
         for (RepNodeState rn : rns.values()) {
-            rnIndex--;
             if (((excludeRNs != null) &&
                   excludeRNs.contains(rn.getRepNodeId())) ||
                   rn.reqHandlerNeedsRepair() ||
@@ -407,34 +386,13 @@ public class RepGroupState {
                 continue;
             }
 
-            final int avRespTimeMs = rn.getAvReadRespTimeMs();
-            final int activeRequestCount = rn.getActiveRequestCount();
-
-            /* Active request count is worse */
-            if (activeRequestCount > minActiveRequestCount) {
-                continue;
-            }
-
-            /*
-             * Active request count is the same, but either the average
-             * response time is worse, or the average response time is the
-             * same, but a node was already chosen and we're picking that one
-             * at random.
-             */
-            if ((activeRequestCount == minActiveRequestCount) &&
-                ((avRespTimeMs > minRespTime) ||
-                 ((avRespTimeMs == minRespTime) &&
-                  (minRN != null) &&
-                  (rnIndex < 0)))) {
-                continue;
+            /* The map may have grown since the array was allocated */
+            if (count == candidates.length) {
+                break;
             }
-
-            /* A new least busy RN */
-            minRN = rn;
-            minRespTime = avRespTimeMs;
-            minActiveRequestCount = activeRequestCount;
+            candidates[count++] = rn;
         }
-        return minRN;
+        return policy.select(candidates, count);
     }
 
     /**
@@ -498,11 +456,11 @@ public class RepGroupState {
      * always directed at a node in order to maintain a reasonably current
      * average response time.
      * <p>
-     * NOTE: We do not use this strategy currently, preferring the one that's
-     * currently embodied in {@link #getLeastBusyRN(Set)} instead. The
-     * reasons for this choice are embedded in the method's comments. The
-     * method is retained here in case we find circumstances in future where
-     * this strategy proves advantageous.
+     * NOTE: We do not use this strategy currently, preferring the ones
+     * embodied in the {@link ReplicaSelectionPolicy} implementations instead.
+     * The reasons for this choice are described in {@link LeastBusyPolicy}.
+     * The method is retained here in case we find circumstances in future
+     * where this strategy proves advantageous.
      *
      * @param excludeRNs the set of RNS to be excluded from consideration.
      *
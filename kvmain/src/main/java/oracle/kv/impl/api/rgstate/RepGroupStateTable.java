@@ -80,12 +80,18 @@ public class RepGroupStateTable implements TopologyManager.PostUpdateListener{
      */
     private final ConcurrentHashMap<RepGroupId, RepGroupState> groupMap;
 
+    /**
+     * The replica selection policy shared by all groups.
+     */
+    private final ReplicaSelectionPolicy policy;
+
     public RepGroupStateTable(ResourceId trackerId,
                               boolean async,
                               Logger logger) {
         this.trackerId = trackerId;
         this.async = async;
         this.logger = checkNull("logger", logger);
+        policy = ReplicaSelectionPolicy.create();
         groupMap = new ConcurrentHashMap<RepGroupId, RepGroupState>();
     }
 
@@ -130,7 +136,15 @@ public class RepGroupStateTable implements TopologyManager.PostUpdateListener{
         }
         return groupMap.computeIfAbsent(
             rgId,
-            (id) -> new RepGroupState(id, trackerId, async, logger));
+            (id) -> new RepGroupState(id, trackerId, async, logger, policy));
+    }
+
+    /**
+     * Returns the policy used to select among the RNs in a group that are
+     * eligible for a request.
+     */
+    public ReplicaSelectionPolicy getReplicaSelectionPolicy() {
+        return policy;
     }
 
     public RepNodeState getNodeState(RepNodeId rnId) {
@@ -22,6 +22,7 @@ import static oracle.kv.impl.util.ObjectUtil.checkNull;
 
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
@@ -114,6 +115,30 @@ public class RepNodeState {
      */
     public static final int SAMPLE_SIZE = 8;
 
+    /**
+     * The number of trailing read response times used to compute
+     * percentiles. A tail percentile needs many more samples than the
+     * average: with SAMPLE_SIZE samples, the 95th percentile would just be
+     * the maximum. The window still covers only the last few seconds of
+     * reads of a busy RN, so it follows changes in its response times.
+     */
+    public static final int PERCENTILE_SAMPLE_SIZE = 64;
+
+    /**
+     * The smoothing factor for the exponentially weighted moving average of
+     * the read response times. It gives the average the same center of mass
+     * as the trailing average over SAMPLE_SIZE samples.
+     */
+    private static final double EWMA_ALPHA = 2.0 / (SAMPLE_SIZE + 1);
+
+    /**
+     * The period in milliseconds over which the moving average of an RN that
+     * has received no reads is halved. Without the decay, an RN that was slow
+     * for a while could be avoided indefinitely by policies that prefer RNs
+     * with lower averages, since it would get no reads to update its average.
+     */
+    static final int EWMA_HALF_LIFE_MS = 1000;
+
     /**
      * Accumulates the response time from read requests, so they can be load
      * balanced.
@@ -379,10 +404,36 @@ public class RepNodeState {
         return readAccumulator.getAverage();
     }
 
+    /**
+     * Returns the exponentially weighted moving average of the read response
+     * times associated with the RN in milliseconds. The average decays if the
+     * RN has not served reads recently.
+     * <p>
+     * It's used by the power of two choices replica selection policy.
+     */
+    double getEwmaReadRespTimeMs() {
+        return readAccumulator.getEwma(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the specified percentile of the last PERCENTILE_SAMPLE_SIZE
+     * read response times associated with the RN in milliseconds, or 0 if no
+     * reads have completed.
+     * <p>
+     * It's used to decide when to hedge a read sent to this RN.
+     *
+     * @param percentile the percentile, between 0 and 100
+     */
+    public int getReadRespTimePercentileMs(int percentile) {
+        return readAccumulator.getPercentile(percentile);
+    }
+
     /**
      * Accumulates the average response time by folding in this contribution
      * from a successful request to the accumulated response times. This method
-     * is only invoked upon successful completion of a read request.
+     * is invoked upon successful completion of a request, and with the time
+     * taken so far by a read that is cancelled because its hedge returned
+     * first.
      * <p>
      * <code>lastAccessTime</code> is also updated each time this method is
      * invoked.
@@ -529,9 +580,22 @@ public class RepNodeState {
         int sumMs = 0;
         int index = 0;
 
+        /*
+         * The samples in ms used for percentiles, the index of the next one,
+         * and the number of samples filled in, which are the first ones.
+         */
+        final short[] percentileSamples;
+        int percentileIndex = 0;
+        int percentileCount = 0;
+
+        /* The moving average, and the time of the last sample. */
+        volatile double ewmaMs = 0;
+        volatile long ewmaTimeMs = 0;
+
         private ResponseTimeAccumulator() {
             samples = new short[SAMPLE_SIZE];
             sumMs = 0;
+            percentileSamples = new short[PERCENTILE_SAMPLE_SIZE];
         }
 
         private synchronized void update(int sampleMs) {
@@ -542,6 +606,31 @@ public class RepNodeState {
             index = (++index >= SAMPLE_SIZE) ? 0 : index;
             sumMs += (sampleMs - samples[index]);
             samples[index] = (short)sampleMs;
+
+            percentileSamples[percentileIndex] = (short) sampleMs;
+            percentileIndex = (percentileIndex + 1) % PERCENTILE_SAMPLE_SIZE;
+            if (percentileCount < PERCENTILE_SAMPLE_SIZE) {
+                percentileCount++;
+            }
+
+            final long now = System.currentTimeMillis();
+            final double current = getEwma(now);
+            ewmaMs = current + (EWMA_ALPHA * (sampleMs - current));
+            ewmaTimeMs = now;
+        }
+
+        /*
+         * Unsynchronized, like getAverage. Halves the average for each
+         * half-life period that has passed since the last sample.
+         */
+        private double getEwma(long nowMs) {
+            final double ewma = ewmaMs;
+            final long elapsedMs = nowMs - ewmaTimeMs;
+            if (elapsedMs < EWMA_HALF_LIFE_MS) {
+                return ewma;
+            }
+            final long halvings = elapsedMs / EWMA_HALF_LIFE_MS;
+            return (halvings >= 62) ? 0 : (ewma / (1L << halvings));
         }
 
         /*
@@ -551,6 +640,23 @@ public class RepNodeState {
         private int getAverage() {
             return (sumMs / SAMPLE_SIZE);
         }
+
+        /*
+         * Synchronized to copy a consistent set of samples. Only the samples
+         * that have been filled in are used.
+         */
+        private int getPercentile(int percentile) {
+            final short[] sorted;
+            synchronized (this) {
+                if (percentileCount == 0) {
+                    return 0;
+                }
+                sorted = Arrays.copyOf(percentileSamples, percentileCount);
+            }
+            Arrays.sort(sorted);
+            final int i = ((sorted.length * percentile) + 99) / 100;
+            return sorted[Math.max(0, Math.min(sorted.length, i) - 1)];
+        }
     }
 
     /**
@@ -0,0 +1,140 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.api.rgstate;
+
+import oracle.nosql.common.sklogger.measure.ThroughputElement;
+
+/**
+ * Chooses the RN to which a request is dispatched when more than one RN in
+ * the replication group can serve it. {@link RepGroupState} determines the
+ * RNs that are eligible for the request based upon their HA state, zone and
+ * consistency, and the policy picks one of them.
+ * <p>
+ * All groups tracked by a {@link RepGroupStateTable} share the same policy
+ * instance, so the policy must be thread safe and the selection stats it
+ * maintains cover the whole store. The policy is specified by name with the
+ * hidden system property {@value #POLICY}:
+ * <ul>
+ * <li>{@value LeastBusyPolicy#NAME}: the RN with the fewest outstanding
+ * requests, the default</li>
+ * <li>{@value PowerOfTwoChoicesPolicy#NAME}: the better of two randomly
+ * sampled RNs, weighing latency and outstanding requests</li>
+ * </ul>
+ */
+public abstract class ReplicaSelectionPolicy {
+
+    /**
+     * The name of the replica selection policy used by request dispatchers.
+     */
+    public static final String POLICY =
+        ReplicaSelectionPolicy.class.getName() + ".policy";
+
+    /** The number of requests for which an RN was selected. */
+    private final ThroughputElement selectionCount = new ThroughputElement();
+
+    /**
+     * The number of selections for which more than one RN was eligible, so
+     * that the policy had to make a choice.
+     */
+    private final ThroughputElement choiceCount = new ThroughputElement();
+
+    /** The number of requests for which no RN was eligible. */
+    private final ThroughputElement noCandidateCount =
+        new ThroughputElement();
+
+    /**
+     * Returns the policy specified by the {@value #POLICY} system property.
+     *
+     * @throws IllegalArgumentException if the policy name is not known
+     */
+    public static ReplicaSelectionPolicy create() {
+        return create(System.getProperty(POLICY, LeastBusyPolicy.NAME));
+    }
+
+    /**
+     * Returns a new instance of the named policy.
+     *
+     * @throws IllegalArgumentException if the policy name is not known
+     */
+    public static ReplicaSelectionPolicy create(String name) {
+        switch (name) {
+        case LeastBusyPolicy.NAME:
+            return new LeastBusyPolicy();
+        case PowerOfTwoChoicesPolicy.NAME:
+            return new PowerOfTwoChoicesPolicy();
+        default:
+            throw new IllegalArgumentException(
+                "Unknown replica selection policy: " + name);
+        }
+    }
+
+    /**
+     * Returns the name of the policy.
+     */
+    public abstract String getName();
+
+    /**
+     * Selects one of the eligible RNs, or returns null if there are none.
+     *
+     * @param candidates the eligible RNs, in the first count slots
+     * @param count the number of eligible RNs
+     */
+    RepNodeState select(RepNodeState[] candidates, int count) {
+        if (count == 0) {
+            noCandidateCount.observe(1);
+            return null;
+        }
+        selectionCount.observe(1);
+        if (count == 1) {
+            return candidates[0];
+        }
+        choiceCount.observe(1);
+        return choose(candidates, count);
+    }
+
+    /**
+     * Chooses among two or more eligible RNs.
+     *
+     * @param candidates the eligible RNs, in the first count slots
+     * @param count the number of eligible RNs, at least two
+     */
+    abstract RepNodeState choose(RepNodeState[] candidates, int count);
+
+    /**
+     * Returns the number of requests for which an RN was selected.
+     */
+    public long getSelectionCount(String watcherName, boolean clear) {
+        return selectionCount.obtain(watcherName, clear).getCount();
+    }
+
+    /**
+     * Returns the number of selections for which the policy chose among two
+     * or more eligible RNs.
+     */
+    public long getChoiceCount(String watcherName, boolean clear) {
+        return choiceCount.obtain(watcherName, clear).getCount();
+    }
+
+    /**
+     * Returns the number of requests for which no RN was eligible.
+     */
+    public long getNoCandidateCount(String watcherName, boolean clear) {
+        return noCandidateCount.obtain(watcherName, clear).getCount();
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -0,0 +1,286 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+package oracle.kv.impl.api.table;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import oracle.kv.NearCacheConfig;
+import oracle.kv.Version;
+import oracle.kv.impl.api.ops.Result;
+
+import oracle.nosql.common.cache.Cache;
+import oracle.nosql.common.cache.CacheBuilder;
+import oracle.nosql.common.cache.CacheBuilder.CacheConfig;
+import oracle.nosql.common.cache.CacheBuilder.EvictionPolicy;
+import oracle.nosql.common.sklogger.measure.ThroughputElement;
+
+/**
+ * A client side cache of the results of single row reads for one table,
+ * keyed by the serialized primary key of the row.
+ *
+ * Entries are added when a read returns a row, and removed when a write to
+ * the row is issued through the same TableAPIImpl, when a read finds that the
+ * row does not exist, when the row expires, and when the entry's lifetime or
+ * the cache's capacity is exceeded.
+ *
+ * A read that is in flight while a write to the table is issued may return
+ * the row as it was before the write. To avoid caching such results, each
+ * invalidation increments a generation number, and a read only updates the
+ * cache if the generation has not changed since the read was issued. This
+ * is conservative, since any write to the table prevents concurrent reads
+ * from being cached, but writes to cached tables are expected to be rare.
+ *
+ * A read issued after the write is issued but before it is applied can
+ * still return, and cache, the old row. So the row is removed, and the
+ * generation incremented, again when the write completes, whether or not
+ * it succeeded, see {@link #invalidateDone} and {@link #clearDone}.
+ */
+public class NearCache {
+
+    /* The full namespace name of the table */
+    private final String tableName;
+
+    private final Cache<CacheKey, Result> cache;
+
+    /* Incremented for each invalidation, see class comment */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ThroughputElement hitCount = new ThroughputElement();
+    private final ThroughputElement missCount = new ThroughputElement();
+    private final ThroughputElement invalidationCount =
+        new ThroughputElement();
+    private final ThroughputElement evictionCount = new ThroughputElement();
+
+    /* The cache's eviction count when it was last added to evictionCount */
+    private final AtomicLong lastEvictionCount = new AtomicLong();
+
+    NearCache(String tableName, NearCacheConfig config) {
+        this.tableName = tableName;
+
+        /*
+         * Expired entries are removed when they are read or evicted, so
+         * there is no need for a cleanup thread per table. TinyLFU keeps
+         * lookups of hot rows from contending on a lock, and keeps scans of
+         * rows that are read once from flushing the hot rows.
+         */
+        cache = CacheBuilder.build(
+            new CacheConfig().
+            setCapacity(config.getCapacity()).
+            setEvictionPolicy(EvictionPolicy.TINY_LFU).
+            setLifetime(config.getLifetime(TimeUnit.MILLISECONDS)).
+            setCreateCleanupThread(false).
+            setName("NearCache." + tableName));
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the generation to pass to {@link #update} for a read that is
+     * about to be issued.
+     */
+    long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Returns the cached result of a read of the row with the specified
+     * serialized primary key, or null if the row is not cached or has
+     * expired.
+     */
+    Result get(byte[] keyBytes) {
+        final CacheKey key = new CacheKey(keyBytes);
+        final Result result = cache.get(key);
+        if (result == null) {
+            missCount.observe(1);
+            return null;
+        }
+        final long expirationTime = result.getPreviousExpirationTime();
+        if ((expirationTime > 0) &&
+            (expirationTime <= System.currentTimeMillis())) {
+            cache.remove(key);
+            missCount.observe(1);
+            return null;
+        }
+        hitCount.observe(1);
+        return result;
+    }
+
+    /**
+     * Updates the cache with the result of a read of the row with the
+     * specified serialized primary key, if no invalidation has happened
+     * since the read was issued. An existing entry is only replaced if the
+     * new result is from a later version of the row, so that a read from a
+     * replica that is behind does not replace a more recent entry.
+     *
+     * @param keyBytes the serialized primary key
+     * @param result the result of the read
+     * @param readGeneration the generation when the read was issued
+     */
+    void update(byte[] keyBytes, Result result, long readGeneration) {
+        final CacheKey key = new CacheKey(keyBytes);
+        final Version version = result.getSuccess() ?
+            result.getPreviousVersion() :
+            null;
+        cache.lock();
+        try {
+            if (version == null) {
+                cache.remove(key);
+                return;
+            }
+            if (generation.get() != readGeneration) {
+                return;
+            }
+            final Result existing = cache.get(key);
+            if ((existing != null) && isNewer(existing, version)) {
+                return;
+            }
+            cache.put(key, result);
+        } finally {
+            cache.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the cached result is for a later version of the row
+     * than the specified version.
+     */
+    private static boolean isNewer(Result existing, Version version) {
+        final Version existingVersion = existing.getPreviousVersion();
+        if ((existingVersion == null) ||
+            (existingVersion.getRepGroupUUID() == null) ||
+            !existingVersion.getRepGroupUUID().equals(
+                version.getRepGroupUUID())) {
+            return false;
+        }
+        return existingVersion.getVLSN() > version.getVLSN();
+    }
+
+    /**
+     * Removes the row with the specified serialized primary key.
+     */
+    void invalidate(byte[] keyBytes) {
+        cache.lock();
+        try {
+            generation.incrementAndGet();
+            cache.remove(new CacheKey(keyBytes));
+        } finally {
+            cache.unlock();
+        }
+        invalidationCount.observe(1);
+    }
+
+    /**
+     * Removes all rows from the cache.
+     */
+    void clear() {
+        cache.lock();
+        try {
+            generation.incrementAndGet();
+            cache.clear();
+        } finally {
+            cache.unlock();
+        }
+        invalidationCount.observe(1);
+    }
+
+    /**
+     * Removes the row with the specified serialized primary key again when
+     * a write to the row that was passed to {@link #invalidate} completes,
+     * so that the row is not left as read by a concurrent read issued
+     * before the write was applied. Not counted as an invalidation.
+     */
+    void invalidateDone(byte[] keyBytes) {
+        cache.lock();
+        try {
+            generation.incrementAndGet();
+            cache.remove(new CacheKey(keyBytes));
+        } finally {
+            cache.unlock();
+        }
+    }
+
+    /**
+     * Removes all rows again when a write that called {@link #clear}
+     * completes. Not counted as an invalidation.
+     */
+    void clearDone() {
+        cache.lock();
+        try {
+            generation.incrementAndGet();
+            cache.clear();
+        } finally {
+            cache.unlock();
+        }
+    }
+
+    void stop() {
+        cache.stop(false);
+    }
+
+    /**
+     * Returns the stats for the cache.
+     */
+    NearCacheStats getStats(String watcherName, boolean clear) {
+        final long evictions = cache.getEvictionCount();
+        evictionCount.observe(
+            evictions - lastEvictionCount.getAndSet(evictions));
+        return new NearCacheStats(
+            tableName,
+            hitCount.obtain(watcherName, clear).getCount(),
+            missCount.obtain(watcherName, clear).getCount(),
+            invalidationCount.obtain(watcherName, clear).getCount(),
+            evictionCount.obtain(watcherName, clear).getCount(),
+            cache.getSize(),
+            cache.getCapacity());
+    }
+
+    @Override
+    public String toString() {
+        return "NearCache[" + tableName + " size=" + cache.getSize() + "]";
+    }
+
+    /**
+     * A serialized primary key, with equality based on its contents.
+     */
+    private static final class CacheKey {
+        private final byte[] bytes;
+        private final int hashCode;
+
+        CacheKey(byte[] bytes) {
+            this.bytes = bytes;
+            hashCode = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey otherKey = (CacheKey) other;
+            return (hashCode == otherKey.hashCode) &&
+                Arrays.equals(bytes, otherKey.bytes);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+package oracle.kv.impl.api.table;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import oracle.kv.pubsub.NoSQLSubscriber;
+import oracle.kv.pubsub.NoSQLSubscriptionConfig;
+import oracle.kv.pubsub.StreamOperation;
+import oracle.kv.pubsub.StreamPosition;
+
+import org.reactivestreams.Subscription;
+
+/**
+ * A subscriber that removes rows from the near caches of a store handle as
+ * changes to them arrive on the table's change stream, so that changes made
+ * by other clients are seen before the cached entries expire.
+ *
+ * The application creates the subscription with a publisher for the same
+ * store, for some or all of the tables with near caches, and passes an
+ * instance of this class as the subscriber. If the stream fails or ends,
+ * all near caches of the handle are cleared, since later changes will no
+ * longer be seen.
+ *
+ * @hidden Until near caches are made public
+ */
+public class NearCacheInvalidator implements NoSQLSubscriber {
+
+    private final TableAPIImpl tableAPI;
+    private final NoSQLSubscriptionConfig config;
+    private final Logger logger;
+
+    public NearCacheInvalidator(TableAPIImpl tableAPI,
+                                NoSQLSubscriptionConfig config,
+                                Logger logger) {
+        this.tableAPI = tableAPI;
+        this.config = config;
+        this.logger = logger;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        s.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(StreamOperation op) {
+        switch (op.getType()) {
+        case PUT:
+            tableAPI.invalidateNearCache(op.asPut().getRow().
+                                         createPrimaryKey());
+            break;
+        case DELETE:
+            tableAPI.invalidateNearCache(op.asDelete().getPrimaryKey());
+            break;
+        default:
+            break;
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (logger != null) {
+            logger.log(Level.INFO,
+                       "Near cache change stream failed, clearing caches",
+                       t);
+        }
+        tableAPI.clearNearCaches();
+    }
+
+    @Override
+    public void onComplete() {
+        tableAPI.clearNearCaches();
+    }
+
+    @Override
+    public NoSQLSubscriptionConfig getSubscriptionConfig() {
+        return config;
+    }
+
+    @Override
+    public void onWarn(Throwable t) {
+        if (logger != null) {
+            logger.log(Level.FINE, "Near cache change stream warning", t);
+        }
+    }
+
+    @Override
+    public void onCheckpointComplete(StreamPosition streamPosition,
+                                     Throwable failureCause) {
+    }
+}
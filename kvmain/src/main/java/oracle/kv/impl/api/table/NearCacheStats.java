@@ -0,0 +1,128 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+package oracle.kv.impl.api.table;
+
+import java.io.Serializable;
+
+import oracle.nosql.common.json.JsonUtils;
+import oracle.nosql.common.json.ObjectNode;
+
+/**
+ * Statistics for the near cache of a single table.
+ */
+public class NearCacheStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String tableName;
+    private final long hitCount;
+    private final long missCount;
+    private final long invalidationCount;
+    private final long evictionCount;
+    private final int size;
+    private final int capacity;
+
+    public NearCacheStats(String tableName,
+                          long hitCount,
+                          long missCount,
+                          long invalidationCount,
+                          long evictionCount,
+                          int size,
+                          int capacity) {
+        this.tableName = tableName;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.invalidationCount = invalidationCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the full namespace name of the table.
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the number of reads served from the cache.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of cacheable reads that were not found in the cache.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the fraction of cacheable reads served from the cache, or 0 if
+     * there were none.
+     */
+    public double getHitRatio() {
+        final long total = hitCount + missCount;
+        return (total == 0) ? 0 : ((double) hitCount) / total;
+    }
+
+    /**
+     * Returns the number of times rows were removed from the cache because
+     * of writes or change notifications.
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * Returns the number of unexpired rows removed from the cache because it
+     * was full.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of rows in the cache.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of rows in the cache.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public ObjectNode toJson() {
+        final ObjectNode result = JsonUtils.createObjectNode();
+        result.put("table", tableName);
+        result.put("hitCount", hitCount);
+        result.put("missCount", missCount);
+        result.put("hitRatio", getHitRatio());
+        result.put("invalidationCount", invalidationCount);
+        result.put("evictionCount", evictionCount);
+        result.put("size", size);
+        result.put("capacity", capacity);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toJson().toString();
+    }
+}
@@ -17,6 +17,7 @@ import static java.util.Collections.singletonList;
 import static oracle.kv.impl.async.FutureUtils.checked;
 import static oracle.kv.impl.async.FutureUtils.failedFuture;
 import static oracle.kv.impl.async.FutureUtils.thenApply;
+import static oracle.kv.impl.async.FutureUtils.whenComplete;
 import static oracle.kv.impl.util.ObjectUtil.checkNull;
 
 import java.util.ArrayList;
@@ -24,10 +25,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -44,6 +47,7 @@ import oracle.kv.Key;
 import oracle.kv.KeyRange;
 import oracle.kv.KeyValueVersion;
 import oracle.kv.KVStoreConfig;
+import oracle.kv.NearCacheConfig;
 import oracle.kv.Operation;
 import oracle.kv.OperationExecutionException;
 import oracle.kv.OperationResult;
@@ -54,6 +58,7 @@ import oracle.kv.Version;
 import oracle.kv.impl.api.KVStoreImpl;
 import oracle.kv.impl.api.Request;
 import oracle.kv.impl.api.bulk.BulkPut;
+import oracle.kv.impl.api.ops.Execute;
 import oracle.kv.impl.api.ops.Execute.OperationFactoryImpl;
 import oracle.kv.impl.api.ops.Execute.OperationImpl;
 import oracle.kv.impl.api.ops.InternalOperation;
@@ -65,6 +70,7 @@ import oracle.kv.impl.api.ops.Put;
 import oracle.kv.impl.api.ops.Result;
 import oracle.kv.impl.api.ops.ResultKey;
 import oracle.kv.impl.api.ops.ResultKeyValueVersion;
+import oracle.kv.impl.api.ops.SingleKeyOperation;
 import oracle.kv.impl.api.ops.TableCharge;
 import oracle.kv.impl.api.table.SequenceImpl.SGAttributes;
 import oracle.kv.impl.api.table.TableMetadata.MRTableListKey;
@@ -171,6 +177,19 @@ public class TableAPIImpl implements TableAPI {
      */
     private boolean enableTableMDSysTable;
 
+    /*
+     * Near caches of rows, keyed by the lower case full namespace name of
+     * the table. Empty if no tables are cached, which is the default.
+     */
+    private final Map<String, NearCache> nearCaches;
+
+    /*
+     * The near caches of tables that have been written, keyed by table ID,
+     * used to find the cache to update when a write request completes.
+     */
+    private final Map<Long, NearCache> nearCachesById =
+        new ConcurrentHashMap<>();
+
     /*
      * This must be public for KVStoreImpl to use it.
      */
@@ -182,6 +201,19 @@ public class TableAPIImpl implements TableAPI {
         tableCache.setEnabled(config.getEnableTableCache());
         setEnableTableMDSysTable(config.getEnableTableMDSysTable());
         metadataSeqNum = 0;
+        final Map<String, NearCacheConfig> nearCacheConfigs =
+            config.getNearCacheConfigs();
+        if (nearCacheConfigs.isEmpty()) {
+            nearCaches = Collections.emptyMap();
+        } else {
+            nearCaches = new HashMap<>();
+            for (Map.Entry<String, NearCacheConfig> entry :
+                     nearCacheConfigs.entrySet()) {
+                nearCaches.put(entry.getKey(),
+                               new NearCache(entry.getKey(),
+                                             entry.getValue()));
+            }
+        }
     }
 
     /*
@@ -824,6 +856,193 @@ public class TableAPIImpl implements TableAPI {
     /** Stop any threads associated with this instance. */
     public void stop() {
         tableCache.stop(false);
+        for (NearCache nearCache : nearCaches.values()) {
+            nearCache.stop();
+        }
+    }
+
+    /**
+     * Returns the near cache for the table, or null if the table is not
+     * cached.
+     */
+    private NearCache getNearCache(Table table) {
+        if (nearCaches.isEmpty()) {
+            return null;
+        }
+        return nearCaches.get(
+            table.getFullNamespaceName().toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Removes the row with the specified key from the near cache of its
+     * table, if the table is cached.
+     */
+    private void invalidateNearCache(Table table, Key key) {
+        final NearCache nearCache = getNearCache(table);
+        if (nearCache != null) {
+            nearCachesById.putIfAbsent(((TableImpl) table).getId(), nearCache);
+            nearCache.invalidate(store.getKeySerializer().toByteArray(key));
+        }
+    }
+
+    /**
+     * Executes a write request, removing the rows it writes from the near
+     * caches again when it completes, whether or not it succeeds. The rows
+     * were removed when the request was created, but a concurrent read may
+     * have cached the old rows since then.
+     */
+    private Result executeWrite(Request req) {
+        try {
+            return store.executeRequest(req);
+        } finally {
+            nearCacheWriteDone(req);
+        }
+    }
+
+    /**
+     * Executes a write request asynchronously, see {@link #executeWrite}.
+     */
+    private CompletableFuture<Result> executeWriteAsync(Request req) {
+        if (nearCaches.isEmpty()) {
+            return store.executeRequestAsync(req);
+        }
+        final CompletableFuture<Result> future;
+        try {
+            future = store.executeRequestAsync(req);
+        } catch (RuntimeException e) {
+            nearCacheWriteDone(req);
+            throw e;
+        }
+        return whenComplete(future, (result, e) -> nearCacheWriteDone(req));
+    }
+
+    /**
+     * Removes the rows written by a completed write request from the near
+     * caches of their tables.
+     */
+    private void nearCacheWriteDone(Request req) {
+        if (nearCaches.isEmpty()) {
+            return;
+        }
+        final InternalOperation op = req.getOperation();
+        if (op instanceof Execute) {
+            for (OperationImpl opImpl : ((Execute) op).getOperations()) {
+                nearCacheWriteDone(opImpl.getInternalOp());
+            }
+        } else if (op instanceof SingleKeyOperation) {
+            nearCacheWriteDone((SingleKeyOperation) op);
+        }
+    }
+
+    private void nearCacheWriteDone(SingleKeyOperation op) {
+        final NearCache nearCache = nearCachesById.get(op.getTableId());
+        if (nearCache != null) {
+            nearCache.invalidateDone(op.getKeyBytes());
+        }
+    }
+
+    /**
+     * Removes the row with the specified primary key from the near cache of
+     * its table, if the table is cached.
+     *
+     * Public for use by NearCacheInvalidator and applications that learn of
+     * changes through other means.
+     */
+    public void invalidateNearCache(PrimaryKey primaryKey) {
+        final TableImpl table = (TableImpl) primaryKey.getTable();
+        if (getNearCache(table) != null) {
+            invalidateNearCache(
+                table,
+                table.createKeyInternal((PrimaryKeyImpl) primaryKey, false));
+        }
+    }
+
+    /**
+     * Removes all rows from all near caches.
+     */
+    public void clearNearCaches() {
+        for (NearCache nearCache : nearCaches.values()) {
+            nearCache.clear();
+        }
+    }
+
+    /**
+     * Returns the stats for each near cache.
+     */
+    public List<NearCacheStats> getNearCacheStats(String watcherName,
+                                                  boolean clear) {
+        if (nearCaches.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<NearCacheStats> stats = new ArrayList<>();
+        for (NearCache nearCache : nearCaches.values()) {
+            stats.add(nearCache.getStats(watcherName, clear));
+        }
+        return stats;
+    }
+
+    /**
+     * Returns whether a read with the specified options may be served from
+     * a near cache.
+     */
+    private boolean isNearCacheRead(ReadOptions readOptions) {
+        Consistency consistency = getConsistency(readOptions);
+        if (consistency == null) {
+            consistency = store.getDefaultConsistency();
+        }
+        return Consistency.NONE_REQUIRED.equals(consistency);
+    }
+
+    /**
+     * Reads a row, using the near cache of the table if it has one.
+     */
+    private Result getNearCacheInternal(RowSerializer rowKey,
+                                        ReadOptions readOptions) {
+        final TableImpl table = (TableImpl) rowKey.getTable();
+        final NearCache nearCache = getNearCache(table);
+        if (nearCache == null) {
+            return getInternal(rowKey, readOptions);
+        }
+        final byte[] keyBytes = store.getKeySerializer().toByteArray(
+            table.createKeyInternal(rowKey, false));
+        if (isNearCacheRead(readOptions)) {
+            final Result cached = nearCache.get(keyBytes);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final long generation = nearCache.getGeneration();
+        final Result result = getInternal(rowKey, readOptions);
+        nearCache.update(keyBytes, result, generation);
+        return result;
+    }
+
+    /**
+     * Reads a row asynchronously, using the near cache of the table if it
+     * has one.
+     */
+    private CompletableFuture<Result>
+        getNearCacheAsyncInternal(RowSerializer rowKey,
+                                  ReadOptions readOptions) {
+        final TableImpl table = (TableImpl) rowKey.getTable();
+        final NearCache nearCache = getNearCache(table);
+        if (nearCache == null) {
+            return getAsyncInternal(rowKey, readOptions);
+        }
+        final byte[] keyBytes = store.getKeySerializer().toByteArray(
+            table.createKeyInternal(rowKey, false));
+        if (isNearCacheRead(readOptions)) {
+            final Result cached = nearCache.get(keyBytes);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        final long generation = nearCache.getGeneration();
+        return thenApply(getAsyncInternal(rowKey, readOptions),
+                         result -> {
+                             nearCache.update(keyBytes, result, generation);
+                             return result;
+                         });
     }
 
     /*
@@ -836,7 +1055,7 @@ public class TableAPIImpl implements TableAPI {
         throws FaultException {
 
         PrimaryKeyImpl rowKey = (PrimaryKeyImpl)rowKeyArg;
-        Result result = getInternal(rowKey, readOptions);
+        Result result = getNearCacheInternal(rowKey, readOptions);
         return processGetResult(result, rowKey);
     }
 
@@ -894,8 +1113,9 @@ public class TableAPIImpl implements TableAPI {
                                            ReadOptions readOptions) {
         try {
             final PrimaryKeyImpl rowKey = (PrimaryKeyImpl) key;
-            return getAsyncInternal(
-                rowKey, readOptions,
+            checkNull("key", rowKey);
+            return thenApply(
+                getNearCacheAsyncInternal(rowKey, readOptions),
                 result -> processGetResult(result, rowKey));
         } catch (Throwable e) {
             return failedFuture(e);
@@ -974,7 +1194,7 @@ public class TableAPIImpl implements TableAPI {
 
         GeneratedValueInfo genInfo = makeGenInfo(row.getTable(), writeOptions);
 
-        Result result = store.executeRequest(
+        Result result = executeWrite(
             makePutRequest(OpCode.PUT, row, prevRowArg,
                            writeOptions, genInfo, null));
 
@@ -1103,6 +1323,7 @@ public class TableAPIImpl implements TableAPI {
                                   TimeToLive ttl,
                                   WriteOptions writeOptions,
                                   Version matchVersion) {
+        invalidateNearCache(table, key);
         final Request req = store.makePutRequest(opCode,
                                                  key,
                                                  value,
@@ -1164,7 +1385,7 @@ public class TableAPIImpl implements TableAPI {
                                                      writeOptions);
 
             return thenApply(
-                store.executeRequestAsync(
+                executeWriteAsync(
                     makePutRequest(OpCode.PUT, row, prevRow,
                                    writeOptions, genInfo, null)),
                 result -> {
@@ -1205,7 +1426,7 @@ public class TableAPIImpl implements TableAPI {
 
         GeneratedValueInfo genInfo = makeGenInfo(row.getTable(), writeOptions);
 
-        Result result = store.executeRequest(
+        Result result = executeWrite(
             makePutRequest(OpCode.PUT_IF_ABSENT, row, prevRowArg,
                            writeOptions, genInfo, null));
 
@@ -1253,7 +1474,7 @@ public class TableAPIImpl implements TableAPI {
             GeneratedValueInfo genInfo = makeGenInfo(row.getTable(), writeOptions);
 
             return thenApply(
-                store.executeRequestAsync(
+                executeWriteAsync(
                     makePutRequest(OpCode.PUT_IF_ABSENT, row, prevRow,
                                    writeOptions, genInfo, null)),
                 result -> {
@@ -1290,7 +1511,7 @@ public class TableAPIImpl implements TableAPI {
 
         GeneratedValueInfo genInfo = makeGenInfo(row.getTable(), writeOptions);
 
-        Result result = store.executeRequest(
+        Result result = executeWrite(
             makePutRequest(OpCode.PUT_IF_PRESENT, row, prevRowArg,
                                    writeOptions, genInfo, null));
 
@@ -1338,7 +1559,7 @@ public class TableAPIImpl implements TableAPI {
             GeneratedValueInfo genInfo = makeGenInfo(row.getTable(), writeOptions);
 
             return thenApply(
-                store.executeRequestAsync(
+                executeWriteAsync(
                     makePutRequest(OpCode.PUT_IF_PRESENT, row, prevRow,
                                    writeOptions, genInfo, null)),
                 result -> {
@@ -1382,7 +1603,7 @@ public class TableAPIImpl implements TableAPI {
 
         GeneratedValueInfo genInfo = makeGenInfo(row.getTable(), writeOptions);
 
-        Result result = store.executeRequest(
+        Result result = executeWrite(
             makePutRequest(OpCode.PUT_IF_VERSION, row, prevRowArg,
                            writeOptions, genInfo, matchVersion));
 
@@ -1438,7 +1659,7 @@ public class TableAPIImpl implements TableAPI {
                                                      writeOptions);
 
             return thenApply(
-                store.executeRequestAsync(
+                executeWriteAsync(
                     makePutRequest(OpCode.PUT_IF_VERSION, row, prevRow,
                                    writeOptions, genInfo, matchVersion)),
                 result -> {
@@ -1834,6 +2055,18 @@ public class TableAPIImpl implements TableAPI {
         }
     }
 
+    @Override
+    public CompletableFuture<List<Row>>
+        multiGetAsync(final List<PrimaryKey> keys,
+                      ReadOptions readOptions) {
+        try {
+            checkNull("keys", keys);
+            return new TableMultiKeyGet(this, keys, readOptions).execute();
+        } catch (Throwable e) {
+            return failedFuture(e);
+        }
+    }
+
     @Override
     public List<PrimaryKey> multiGetKeys(PrimaryKey rowKeyArg,
                                          MultiRowOptions getOptions,
@@ -2333,7 +2566,7 @@ public class TableAPIImpl implements TableAPI {
         throws FaultException {
 
         checkNull("rowKey", rowKey);
-        return store.executeRequest(
+        return executeWrite(
             makeDeleteRequest(rowKey, prevRowArg, writeOptions));
     }
 
@@ -2342,6 +2575,7 @@ public class TableAPIImpl implements TableAPI {
                                       WriteOptions writeOptions) {
         TableImpl table = (TableImpl)rowKey.getTable();
         Key key = table.createKeyInternal(rowKey, false);
+        invalidateNearCache(table, key);
         final Request req =
             store.makeDeleteRequest(key,
                                     getReturnChoice(prevRow),
@@ -2390,8 +2624,8 @@ public class TableAPIImpl implements TableAPI {
         try {
             checkNull("key", key);
             return thenApply(
-                store.executeRequestAsync(makeDeleteRequest(
-                                              key, prevRow, writeOptions)),
+                executeWriteAsync(makeDeleteRequest(
+                                      key, prevRow, writeOptions)),
                 convertResult::apply);
         } catch (Throwable e) {
             return failedFuture(e);
@@ -2425,7 +2659,7 @@ public class TableAPIImpl implements TableAPI {
                                           WriteOptions writeOptions)
         throws FaultException {
 
-        return store.executeRequest(
+        return executeWrite(
             makeDeleteIfVersionRequest(rowKey, matchVersion, prevRowArg,
                                        writeOptions));
     }
@@ -2436,6 +2670,7 @@ public class TableAPIImpl implements TableAPI {
                                                WriteOptions writeOptions) {
         TableImpl table = (TableImpl) rowKey.getTable();
         Key key = table.createKeyInternal(rowKey, false);
+        invalidateNearCache(table, key);
         final Request req = store.makeDeleteIfVersionRequest(
             key, matchVersion, getReturnChoice(prevRow),
             getDurability(writeOptions),
@@ -2491,7 +2726,7 @@ public class TableAPIImpl implements TableAPI {
         try {
             checkNull("key", key);
             return thenApply(
-                store.executeRequestAsync(
+                executeWriteAsync(
                     makeDeleteIfVersionRequest(key, matchVersion, prevRow,
                                                writeOptions)),
                 convertResult::apply);
@@ -2524,9 +2759,13 @@ public class TableAPIImpl implements TableAPI {
                                       WriteOptions writeOptions)
         throws FaultException {
 
-        return store.executeRequest(
-            makeMultiDeleteTableRequest(rowKey, continuationKey, getOptions,
-                                        writeOptions));
+        try {
+            return store.executeRequest(
+                makeMultiDeleteTableRequest(rowKey, continuationKey,
+                                            getOptions, writeOptions));
+        } finally {
+            clearNearCachesDone(rowKey.getTable(), getOptions);
+        }
     }
 
     private Request makeMultiDeleteTableRequest(RowSerializer rowKey,
@@ -2545,6 +2784,7 @@ public class TableAPIImpl implements TableAPI {
             validateMultiRowOptions(getOptions, table, false);
         }
         final KeyRange keyRange = makeKeyRange(key, getOptions);
+        clearNearCaches(table, getOptions);
 
         final byte[] parentKeyBytes =
             store.getKeySerializer().toByteArray(key.getKey());
@@ -2602,10 +2842,14 @@ public class TableAPIImpl implements TableAPI {
                                  Function<Result, R> convertResult) {
         try {
             checkNull("key", key);
+            final Request req =
+                makeMultiDeleteTableRequest(key, continuationKey,
+                                            getOptions, writeOptions);
             return thenApply(
-                store.executeRequestAsync(
-                    makeMultiDeleteTableRequest(key, continuationKey,
-                                                getOptions, writeOptions)),
+                whenComplete(
+                    store.executeRequestAsync(req),
+                    (result, e) ->
+                    clearNearCachesDone(key.getTable(), getOptions)),
                 convertResult::apply);
         } catch (Throwable e) {
             return failedFuture(e);
@@ -2982,6 +3226,7 @@ public class TableAPIImpl implements TableAPI {
         final Table table = ((OpWrapper)operations.get(0)).getTable();
         final List<Operation> kvOperations =
             makeExecuteOps(operations, writeOptions);
+        invalidateNearCache(operations, kvOperations);
         final Request req = store.makeExecuteRequest(
             kvOperations,
             ((TableImpl)table).getId(),
@@ -2990,7 +3235,73 @@ public class TableAPIImpl implements TableAPI {
             getTimeoutUnit(writeOptions));
         setContextFromOptions(req, writeOptions);
         return processExecuteResult(
-            store.executeRequest(req), operations, kvOperations);
+            executeWrite(req), operations, kvOperations);
+    }
+
+    /**
+     * Removes the rows written by the operations of an execute request from
+     * the near caches of their tables.
+     */
+    private void invalidateNearCache(List<TableOperation> operations,
+                                     List<Operation> kvOperations) {
+        if (nearCaches.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            invalidateNearCache(((OpWrapper) operations.get(i)).getTable(),
+                                kvOperations.get(i).getKey());
+        }
+    }
+
+    /**
+     * Removes all rows from the near caches of the tables that are the
+     * target of a multiDelete, since the deleted keys are not known.
+     */
+    private void clearNearCaches(Table table, MultiRowOptions getOptions) {
+        for (NearCache nearCache : getNearCaches(table, getOptions)) {
+            nearCache.clear();
+        }
+    }
+
+    /**
+     * Removes all rows again from the near caches of the tables that are the
+     * target of a multiDelete when it completes, since a concurrent read may
+     * have cached rows that were deleted.
+     */
+    private void clearNearCachesDone(Table table,
+                                     MultiRowOptions getOptions) {
+        for (NearCache nearCache : getNearCaches(table, getOptions)) {
+            nearCache.clearDone();
+        }
+    }
+
+    /**
+     * Returns the near caches of the tables that are the target of a
+     * multiDelete.
+     */
+    private List<NearCache> getNearCaches(Table table,
+                                          MultiRowOptions getOptions) {
+        if (nearCaches.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Table> tables = new ArrayList<>();
+        tables.add(table);
+        if (getOptions != null) {
+            if (getOptions.getIncludedParentTables() != null) {
+                tables.addAll(getOptions.getIncludedParentTables());
+            }
+            if (getOptions.getIncludedChildTables() != null) {
+                tables.addAll(getOptions.getIncludedChildTables());
+            }
+        }
+        final List<NearCache> result = new ArrayList<>();
+        for (Table t : tables) {
+            final NearCache nearCache = getNearCache(t);
+            if (nearCache != null) {
+                result.add(nearCache);
+            }
+        }
+        return result;
     }
 
     private Result processExecuteResult(Result result,
@@ -3077,8 +3388,8 @@ public class TableAPIImpl implements TableAPI {
         return opList;
     }
 
-    private void setContextFromOptions(Request req,
-                                       ReadOptions readOptions) {
+    void setContextFromOptions(Request req,
+                               ReadOptions readOptions) {
         if (readOptions != null) {
             req.setLogContext(readOptions.getLogContext());
             req.setAuthContext(readOptions.getAuthContext());
@@ -3125,6 +3436,7 @@ public class TableAPIImpl implements TableAPI {
             final Table table = ((OpWrapper) operations.get(0)).getTable();
             final List<Operation> kvOperations =
                 makeExecuteOps(operations, writeOptions);
+            invalidateNearCache(operations, kvOperations);
             final Request req = store.makeExecuteRequest(
                 kvOperations,
                 ((TableImpl)table).getId(),
@@ -3133,7 +3445,7 @@ public class TableAPIImpl implements TableAPI {
                 getTimeoutUnit(writeOptions));
             setContextFromOptions(req, writeOptions);
             return thenApply(
-                store.executeRequestAsync(req),
+                executeWriteAsync(req),
                 checked(result ->
                         convertResult.apply(
                             processExecuteResult(result, operations,
@@ -3857,7 +4169,7 @@ public class TableAPIImpl implements TableAPI {
          * Identity columns are not currently supported for multi-region
          * tables.
          */
-        final Result result = store.executeRequest(
+        final Result result = executeWrite(
             makePutDelResolveRequest(row, prevRowArg, writeOptions));
         return processPutResult(result, row, prevRowArg);
     }
@@ -3901,8 +4213,8 @@ public class TableAPIImpl implements TableAPI {
              * tables.
              */
             return thenApply(
-                store.executeRequestAsync(makePutDelResolveRequest(
-                                              row, prevRow, writeOptions)),
+                executeWriteAsync(makePutDelResolveRequest(
+                                      row, prevRow, writeOptions)),
                 convertResult::apply);
         } catch (Throwable e) {
             return failedFuture(e);
@@ -3957,7 +4269,7 @@ public class TableAPIImpl implements TableAPI {
                                             long expirationTime,
                                             long lastModificationTime,
                                             WriteOptions writeOptions) {
-        return store.executeRequest(
+        return executeWrite(
             makePutDelResolveRequest(table, nsonKeyBytes, nsonValueBytes,
                                      regionId, expirationTime,
                                      lastModificationTime, writeOptions));
@@ -3972,7 +4284,7 @@ public class TableAPIImpl implements TableAPI {
                                        long expirationTime,
                                        long lastModificationTime,
                                        WriteOptions writeOptions) {
-        return store.executeRequestAsync(
+        return executeWriteAsync(
             makePutDelResolveRequest(table, nsonKeyBytes, nsonValueBytes,
                                      regionId, expirationTime,
                                      lastModificationTime, writeOptions));
@@ -4046,6 +4358,7 @@ public class TableAPIImpl implements TableAPI {
                 "PutDelResolve is not supported for non multi-region row");
         }
 
+        invalidateNearCache(table, key);
         final Request req =
             store.makePutResolveRequest(key, value, table.getId(),
                                         getReturnChoice(prevRow),
@@ -0,0 +1,248 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+package oracle.kv.impl.api.table;
+
+import static oracle.kv.impl.async.FutureUtils.unwrapException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import oracle.kv.Key;
+import oracle.kv.ValueVersion;
+import oracle.kv.impl.api.KVStoreImpl;
+import oracle.kv.impl.api.KeySerializer;
+import oracle.kv.impl.api.Request;
+import oracle.kv.impl.api.ops.MultiGetBatchTable;
+import oracle.kv.impl.api.ops.Result;
+import oracle.kv.impl.api.ops.ResultKeyValueVersion;
+import oracle.kv.impl.topo.PartitionId;
+import oracle.kv.table.PrimaryKey;
+import oracle.kv.table.ReadOptions;
+import oracle.kv.table.Row;
+
+/**
+ * Implementation of the asynchronous get of a list of complete primary keys
+ * of a table, which may be in any partition.
+ *
+ * The keys are grouped by partition, and a single MultiGetBatchTable request
+ * is sent for each partition, all of them concurrently over the async request
+ * dispatcher, so the operation takes roughly one round trip without using
+ * any threads. The requests are per partition rather than per shard because
+ * each partition is a separate database on the RN, and the operation reads
+ * all of its keys from the database of the request's partition. When the
+ * last request completes, the future is completed with the rows in the
+ * order of the keys, with null for keys that have no row. A key that
+ * appears more than once is read once, but gets a separate row for each of
+ * its positions. If any request fails, the future is completed with that
+ * failure.
+ */
+class TableMultiKeyGet {
+
+    private final TableAPIImpl apiImpl;
+    private final KVStoreImpl store;
+    private final KeySerializer keySerializer;
+    private final List<PrimaryKey> keys;
+    private final ReadOptions readOptions;
+
+    /* The rows, in the order of the keys */
+    private final Row[] rows;
+
+    private final CompletableFuture<List<Row>> future =
+        new CompletableFuture<>();
+
+    /* The number of batches that have not completed */
+    private final AtomicInteger remaining = new AtomicInteger();
+
+    private TableImpl table;
+    private TargetTables targetTables;
+
+    TableMultiKeyGet(TableAPIImpl apiImpl,
+                     List<PrimaryKey> keys,
+                     ReadOptions readOptions) {
+        this.apiImpl = apiImpl;
+        this.keys = keys;
+        this.readOptions = readOptions;
+        store = apiImpl.getStore();
+        keySerializer = store.getKeySerializer();
+        rows = new Row[keys.size()];
+    }
+
+    /**
+     * Starts the requests and returns the future for the result.
+     *
+     * @throws IllegalArgumentException if a key is null, not complete, or
+     * not for the same table as the first key
+     */
+    CompletableFuture<List<Row>> execute() {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        final Map<PartitionId, Batch> batches = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            final PrimaryKey key = keys.get(i);
+            if (key == null) {
+                throw new IllegalArgumentException(
+                    "The primary key should not be null");
+            }
+            validateTable(key);
+            final byte[] keyBytes = keySerializer.toByteArray(
+                table.createKeyInternal((PrimaryKeyImpl) key, false));
+            final PartitionId partitionId =
+                store.getDispatcher().getPartitionId(keyBytes);
+            batches.computeIfAbsent(partitionId, Batch::new).
+                add(keyBytes, i);
+        }
+
+        remaining.set(batches.size());
+        for (Batch batch : batches.values()) {
+            fetch(batch, 0, null);
+        }
+        return future;
+    }
+
+    private void validateTable(PrimaryKey key) {
+        if (table == null) {
+            table = (TableImpl) key.getTable();
+            targetTables = TableAPIImpl.makeTargetTables(table, null);
+            return;
+        }
+        if (!table.equals(key.getTable())) {
+            throw new IllegalArgumentException("The primary key" +
+                " is not for table \"" + table.getFullName() +
+                "\" but for \"" + key.getTable().getFullName() +
+                "\": " + key.toJsonString(false));
+        }
+    }
+
+    /**
+     * Sends a request for the keys of the batch starting at the specified
+     * index, and sends another request for the remaining keys if the
+     * response does not include all of them.
+     */
+    private void fetch(Batch batch, int fromIndex, byte[] resumeKey) {
+        try {
+            final List<byte[]> batchKeys =
+                batch.keys.subList(fromIndex, batch.keys.size());
+
+            /* Each key matches at most one row */
+            final MultiGetBatchTable op =
+                new MultiGetBatchTable(batchKeys, resumeKey, targetTables,
+                                       null /* subRange */,
+                                       batchKeys.size());
+            final Request req = store.makeReadRequest(
+                op, batch.partitionId,
+                TableAPIImpl.getConsistency(readOptions),
+                TableAPIImpl.getTimeout(readOptions),
+                TableAPIImpl.getTimeoutUnit(readOptions));
+            apiImpl.setContextFromOptions(req, readOptions);
+            store.executeRequestAsync(req).whenComplete(
+                (result, e) -> onResult(batch, fromIndex, result, e));
+        } catch (Throwable e) {
+            onFailure(e);
+        }
+    }
+
+    private void onResult(Batch batch,
+                          int fromIndex,
+                          Result result,
+                          Throwable exception) {
+        if (exception != null) {
+            onFailure(exception);
+            return;
+        }
+        try {
+            for (ResultKeyValueVersion entry :
+                     result.getKeyValueVersionList()) {
+                setRow(batch, entry);
+            }
+            if (result.hasMoreElements()) {
+                fetch(batch,
+                      fromIndex + result.getResumeParentKeyIndex(),
+                      result.getPrimaryResumeKey());
+                return;
+            }
+        } catch (Throwable e) {
+            onFailure(e);
+            return;
+        }
+        if (remaining.decrementAndGet() == 0) {
+            future.complete(Collections.unmodifiableList(Arrays.asList(rows)));
+        }
+    }
+
+    /**
+     * Sets the row for each position of the entry's key. A key that appears
+     * more than once gets a separate row for each position, since rows are
+     * mutable.
+     */
+    private void setRow(Batch batch, ResultKeyValueVersion entry) {
+        final List<Integer> positions =
+            batch.positions.get(ByteBuffer.wrap(entry.getKeyBytes()));
+        if (positions == null) {
+            return;
+        }
+        for (int position : positions) {
+            rows[position] = makeRow(entry);
+        }
+    }
+
+    private Row makeRow(ResultKeyValueVersion entry) {
+        final Key key = keySerializer.fromByteArray(entry.getKeyBytes());
+        final RowImpl row = table.createRowFromKeyBytes(key.toByteArray());
+        if (row == null) {
+            throw new IllegalArgumentException("Fail to convert to row");
+        }
+        return apiImpl.getRowFromValueVersion(
+            new ValueVersion(entry.getValue(), entry.getVersion()),
+            row,
+            entry.getExpirationTime(),
+            entry.getModificationTime(),
+            false,
+            false);
+    }
+
+    private void onFailure(Throwable exception) {
+        future.completeExceptionally(unwrapException(exception));
+    }
+
+    /**
+     * The distinct keys in a partition, and the positions in the list of
+     * keys at which each one appears.
+     */
+    private static class Batch {
+        final PartitionId partitionId;
+        final List<byte[]> keys = new ArrayList<>();
+        final Map<ByteBuffer, List<Integer>> positions = new HashMap<>();
+
+        Batch(PartitionId partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        void add(byte[] keyBytes, int position) {
+            final List<Integer> keyPositions = positions.computeIfAbsent(
+                ByteBuffer.wrap(keyBytes), k -> new ArrayList<>(1));
+            if (keyPositions.isEmpty()) {
+                keys.add(keyBytes);
+            }
+            keyPositions.add(position);
+        }
+    }
+}
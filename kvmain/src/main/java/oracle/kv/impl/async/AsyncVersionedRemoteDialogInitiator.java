@@ -19,6 +19,7 @@ import static oracle.kv.impl.async.FutureUtils.checkedCompleteExceptionally;
 import static oracle.kv.impl.util.ObjectUtil.checkNull;
 
 import java.io.IOException;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
@@ -81,6 +82,18 @@ class AsyncVersionedRemoteDialogInitiator<R> extends AsyncBasicLogging
                     "Expected state BEFORE_ON_START, was " + state);
             }
             state = State.BEFORE_WRITE;
+
+            /*
+             * Cancel the dialog if the caller cancels the future, for example
+             * because another copy of a hedged read already returned, so that
+             * the dialog does not wait for a response that will be ignored.
+             */
+            future.whenComplete((result, e) -> {
+                    if (future.isCancelled()) {
+                        context.cancel(
+                            new CancellationException("Call cancelled"));
+                    }
+                });
             logger.finest(() -> LOG_PREFIX + "Dialog onStart: Before write" +
                           getDialogInfo(context));
             if (context.write(request, true /* finished */)) {
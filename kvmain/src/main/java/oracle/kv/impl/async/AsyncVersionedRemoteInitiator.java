@@ -179,7 +179,7 @@ public abstract class AsyncVersionedRemoteInitiator
                     (int) timeoutMillis, "Request timed out", null, false));
         }
 
-        CompletableFuture<T> future = new CompletableFuture<>();
+        final CompletableFuture<T> future = new CompletableFuture<>();
         final DialogHandler dialogHandler;
         final MessageOutput out = new MessageOutput();
         try {
@@ -232,7 +232,12 @@ public abstract class AsyncVersionedRemoteInitiator
                           dialogInfo.get() +
                           " dialogHandler=" + dialogHandler);
             if (logger.isLoggable(Level.FINE)) {
-                future = future.whenComplete(
+
+                /*
+                 * Return the original future, not the dependent one, so that
+                 * cancelling it cancels the dialog
+                 */
+                future.whenComplete(
                     unwrapExceptionVoid(
                         (result, e) ->
                         logger.log((e == null) ? Level.FINER : Level.FINE,
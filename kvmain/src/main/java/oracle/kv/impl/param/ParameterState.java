@@ -1744,6 +1744,64 @@ public class ParameterState {
                       1, Integer.MAX_VALUE,
                       null); }
 
+    /**
+     * The ack quorum lag, in VLSNs, above which the master starts to reject
+     * writes, so that clients slow down before commits time out waiting for
+     * acks. Writes are rejected with a probability that rises linearly from
+     * zero at this lag to one at RN_WRITE_SHED_HARD_ACK_LAG. Zero, the
+     * default, disables the check.
+     *
+     * @since 25.1
+     */
+    public static final String RN_WRITE_SHED_SOFT_ACK_LAG =
+        "rnWriteShedSoftAckLag";
+    public static final String RN_WRITE_SHED_SOFT_ACK_LAG_DEFAULT = "0";
+    static { putState(RN_WRITE_SHED_SOFT_ACK_LAG,
+                      RN_WRITE_SHED_SOFT_ACK_LAG_DEFAULT,
+                      Type.LONG,
+                      EnumSet.of(Info.REPNODE,
+                                 Info.POLICY, Info.HIDDEN, Info.NORESTART),
+                      Scope.STORE,
+                      0, Long.MAX_VALUE,
+                      null); }
+
+    /**
+     * The ack quorum lag, in VLSNs, at and above which the master rejects
+     * all writes. If it is not greater than RN_WRITE_SHED_SOFT_ACK_LAG, four
+     * times that value is used.
+     *
+     * @since 25.1
+     */
+    public static final String RN_WRITE_SHED_HARD_ACK_LAG =
+        "rnWriteShedHardAckLag";
+    public static final String RN_WRITE_SHED_HARD_ACK_LAG_DEFAULT = "0";
+    static { putState(RN_WRITE_SHED_HARD_ACK_LAG,
+                      RN_WRITE_SHED_HARD_ACK_LAG_DEFAULT,
+                      Type.LONG,
+                      EnumSet.of(Info.REPNODE,
+                                 Info.POLICY, Info.HIDDEN, Info.NORESTART),
+                      Scope.STORE,
+                      0, Long.MAX_VALUE,
+                      null); }
+
+    /**
+     * The number of commits awaiting replica acks at which the master
+     * rejects writes. Zero, the default, disables the check.
+     *
+     * @since 25.1
+     */
+    public static final String RN_WRITE_SHED_MAX_PENDING_ACKS =
+        "rnWriteShedMaxPendingAcks";
+    public static final String RN_WRITE_SHED_MAX_PENDING_ACKS_DEFAULT = "0";
+    static { putState(RN_WRITE_SHED_MAX_PENDING_ACKS,
+                      RN_WRITE_SHED_MAX_PENDING_ACKS_DEFAULT,
+                      Type.INT,
+                      EnumSet.of(Info.REPNODE,
+                                 Info.POLICY, Info.HIDDEN, Info.NORESTART),
+                      Scope.STORE,
+                      0, Integer.MAX_VALUE,
+                      null); }
+
     /**
      * The maximum number of active socket connections that the async request
      * handler will permit, or 0 if there is no limit. This limit will be
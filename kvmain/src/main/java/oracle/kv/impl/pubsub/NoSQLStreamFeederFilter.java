@@ -51,17 +51,23 @@ import java.util.stream.Collectors;
 import oracle.kv.Key;
 import oracle.kv.Value;
 import oracle.kv.impl.api.table.Region;
+import oracle.kv.impl.api.table.RowImpl;
 import oracle.kv.impl.api.table.TableImpl;
+import oracle.kv.impl.api.table.TableVersionException;
 import oracle.kv.impl.map.HashKeyToPartitionMap;
 import oracle.kv.impl.map.KeyToPartitionMap;
 import oracle.kv.impl.rep.migration.generation.PartitionGenDBManager;
 import oracle.kv.impl.rep.migration.generation.PartitionGeneration;
+import oracle.kv.impl.rep.table.TableManager;
 import oracle.kv.impl.rep.table.TableManager.IDBytesComparator;
+import oracle.kv.impl.rep.table.TableMetadataPersistence;
 import oracle.kv.impl.topo.PartitionId;
 import oracle.kv.impl.topo.RepGroupId;
 import oracle.kv.impl.util.KVThreadFactory;
 import oracle.kv.impl.util.TxnUtil;
+import oracle.kv.table.Table;
 
+import com.sleepycat.bind.tuple.LongBinding;
 import com.sleepycat.je.Cursor;
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseConfig;
@@ -99,6 +105,11 @@ import com.sleepycat.util.UtfOps;
  * - entry from an internal db;
  * - entry from a db supporting duplicates;
  * - entry from any non-subscribed tables (table-level subscription filtering)
+ * - row not satisfying the condition registered for its table, see
+ * {@link StreamPushdown}
+ * <p>
+ * The rows passing the filter are streamed with only the columns in the
+ * projection registered for their table, if any.
  * <p>
  * Note
  * [] The partition generation db is not an internal db and all entries
@@ -123,6 +134,19 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
      */
     private static final long STAT_INTERVAL_SECS = 10 * 60;
 
+    /**
+     * Time to wait before trying again to resolve the table of a pushdown
+     * that could not be resolved, unless a row of a newer table version is
+     * seen earlier.
+     */
+    private static final long PUSHDOWN_RETRY_MS = 60 * 1000;
+
+    /**
+     * Returned by the row level pushdown if the row does not satisfy the
+     * condition, compared by identity.
+     */
+    static final byte[] FILTERED = new byte[0];
+
     /**
      * Set of table ID names for subscribed tables, or null for all tables,
      * or empty if no table is allowed to pass (empty stream)
@@ -142,6 +166,13 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
      */
     private transient volatile Map<byte[], List<MatchKey>> tableMatchKeysBytes;
 
+    /**
+     * Projections and conditions of subscribed tables, indexed by the table
+     * id string, or null if no subscribed table has one. Tables added to the
+     * filter by a change request do not have any.
+     */
+    private final Map<String, StreamPushdown> pushdowns;
+
     /** The total partitions in the store */
     private final int nTotalParts;
 
@@ -215,6 +246,28 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
     /** number of rows blocked by the filter */
     private transient AtomicLong numRowsBlocked;
 
+    /** number of rows blocked by the condition of their table */
+    private transient AtomicLong numRowsCondBlocked;
+
+    /** number of rows streamed with a projection */
+    private transient AtomicLong numRowsProjected;
+
+    /** number of value bytes removed by projections */
+    private transient AtomicLong numBytesProjected;
+
+    /**
+     * number of rows of tables with a pushdown that passed without it being
+     * applied, because the table or the row could not be resolved
+     */
+    private transient AtomicLong numRowsPushdownBypassed;
+
+    /**
+     * Pushdowns bound to the tables read from the table metadata of the
+     * host RN, indexed by table id string. Only accessed with the filter
+     * lock held.
+     */
+    private transient Map<String, BoundPushdown> boundPushdowns;
+
     /** number of partitions migrated in */
     private transient AtomicLong numInParts;
 
@@ -277,6 +330,7 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
     private volatile transient ScheduledExecutorService executorService;
 
     private NoSQLStreamFeederFilter(Set<TableImpl> tables,
+                                    Map<String, StreamPushdown> pushdowns,
                                     int nTotalParts,
                                     boolean localWritesOnly,
                                     int localRegionId) {
@@ -303,7 +357,8 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
         /* convert to map with byte[] table id as key */
         tableMatchKeysBytes = convertToBytesKey(tableMatchKeys);
 
-
+        this.pushdowns = (pushdowns == null || pushdowns.isEmpty()) ?
+            null : new HashMap<>(pushdowns);
         this.nTotalParts = nTotalParts;
         this.localWritesOnly = localWritesOnly;
         this.localRegionId = localRegionId;
@@ -320,6 +375,11 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
         logger = null;
         numRowsPassed = new AtomicLong();
         numRowsBlocked = new AtomicLong();
+        numRowsCondBlocked = new AtomicLong();
+        numRowsProjected = new AtomicLong();
+        numBytesProjected = new AtomicLong();
+        numRowsPushdownBypassed = new AtomicLong();
+        boundPushdowns = new HashMap<>();
         numTxnEntries = 0;
         numNonDataEntry = 0;
         numIntDupDBFiltered = 0;
@@ -635,8 +695,31 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
                                              int nTotalParts,
                                              boolean localWritesOnly,
                                              int localRegionId) {
-        return new NoSQLStreamFeederFilter(tbs, nTotalParts, localWritesOnly,
-                                           localRegionId);
+        return getFilter(tbs, null, nTotalParts, localWritesOnly,
+                         localRegionId);
+    }
+
+    /**
+     * Gets a feeder filter with given set of subscribed tables, and the
+     * projections and conditions of some of them.
+     *
+     * @param tbs             subscribed tables
+     * @param pushdowns       projections and conditions indexed by table id
+     *                        string, or null
+     * @param nTotalParts     total number of partitions in store
+     * @param localWritesOnly true if only local write allowed to pass
+     * @param localRegionId   the region ID of the local region
+     *
+     * @return a feeder filter with given set of subscribed tables
+     */
+    static NoSQLStreamFeederFilter getFilter(
+        Set<TableImpl> tbs,
+        Map<String, StreamPushdown> pushdowns,
+        int nTotalParts,
+        boolean localWritesOnly,
+        int localRegionId) {
+        return new NoSQLStreamFeederFilter(tbs, pushdowns, nTotalParts,
+                                           localWritesOnly, localRegionId);
     }
 
     /**
@@ -743,7 +826,7 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
         }
 
         /* finally filter out all non-subscribed tables */
-        final OutputWireRecord ret = filter(record);
+        final OutputWireRecord ret = filter(record, repImpl);
         LoggerUtils.finest(logger, repImpl,
                            () -> lm("vlsn of last passed=" + lastPassedVLSN +
                                     ", last processed=" + lastFilterVLSN));
@@ -832,7 +915,7 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
      */
     NoSQLStreamFeederFilter updateFilter(Set<TableImpl> tables) {
         return NoSQLStreamFeederFilter.getFilter(
-            tables, nTotalParts, localWritesOnly, localRegionId);
+            tables, pushdowns, nTotalParts, localWritesOnly, localRegionId);
     }
 
     /**
@@ -1048,7 +1131,9 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
         } else {
             msg = "ids=" + Arrays.toString(tableIds.toArray());
         }
-        return "[" + msg + ", owned partitions: " +
+        return "[" + msg +
+               (pushdowns == null ? "" : ", pushdowns: " + pushdowns) +
+               ", owned partitions: " +
                (ownedParts == null ? "all" : ownedParts) + "]";
     }
 
@@ -1072,6 +1157,22 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
         return numRowsBlocked.get();
     }
 
+    long getNumRowsCondBlocked() {
+        return numRowsCondBlocked.get();
+    }
+
+    long getNumRowsProjected() {
+        return numRowsProjected.get();
+    }
+
+    long getNumBytesProjected() {
+        return numBytesProjected.get();
+    }
+
+    long getNumRowsPushdownBypassed() {
+        return numRowsPushdownBypassed.get();
+    }
+
     long getNumInParts() {
         return numInParts.get();
     }
@@ -1088,7 +1189,8 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
     }
 
     /* filters entries, should be as efficient as possible */
-    private OutputWireRecord filter(final OutputWireRecord record) {
+    private OutputWireRecord filter(final OutputWireRecord record,
+                                    final RepImpl repImpl) {
 
         final LogEntry entry = record.instantiateEntry();
         final LNLogEntry<?> lnEntry = (LNLogEntry<?>) entry;
@@ -1123,12 +1225,19 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
         /* check if match for a valid root table id in key */
         if (getRootTableIdLength(key) > 0 /* a valid root table id */ &&
             matchKey(key) /* find a match */) {
+            final OutputWireRecord ret =
+                applyPushdown(record, lnEntry, repImpl);
+            if (ret == null) {
+                numRowsCondBlocked.incrementAndGet();
+                numRowsBlocked.incrementAndGet();
+                return null;
+            }
             numRowsPassed.incrementAndGet();
             lastPassedVLSN = record.getVLSN();
 
             /* allow entry to pass, add to open txn set if not yet */
             addOpenTxn(lnEntry.getTxnId());
-            return record;
+            return ret;
         }
 
         numRowsBlocked.incrementAndGet();
@@ -1143,16 +1252,283 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
             return true;
         }
 
+        return findMatchKey(key) != null;
+    }
+
+    /* returns the MatchKey in the list matching key byte[], or null */
+    private MatchKey findMatchKey(byte[] key) {
         final List<MatchKey> mkeys = tableMatchKeysBytes.get(key);
         if (mkeys != null) {
             for (MatchKey matchKey : mkeys) {
                 if (matchKey.matches(key)) {
                     /* get a match! */
-                    return true;
+                    return matchKey;
                 }
             }
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Applies the condition and the projection of the table of an entry
+     * that matches a subscribed table. Returns null if the row does not
+     * satisfy the condition, the record with the projected row, or the
+     * record itself if the table has no projection or the row cannot be
+     * projected.
+     */
+    private OutputWireRecord applyPushdown(OutputWireRecord record,
+                                           LNLogEntry<?> lnEntry,
+                                           RepImpl repImpl) {
+        if (pushdowns == null) {
+            return record;
+        }
+        final byte[] val = lnEntry.getData();
+        /* subclasses carry data, e.g., before images, that depends on it */
+        final byte[] ret = applyPushdown(lnEntry.getKey(), val,
+                                         lnEntry.isTombstone(),
+                                         lnEntry.getClass() ==
+                                         LNLogEntry.class,
+                                         repImpl);
+        if (ret == FILTERED) {
+            return null;
+        }
+        if (ret == val) {
+            return record;
+        }
+        return record.withEntry(lnEntry.cloneWithData(repImpl, ret));
+    }
+
+    /**
+     * Applies the condition and the projection of the table of a row that
+     * matches a subscribed table. Returns {@link #FILTERED} if the row does
+     * not satisfy the condition, the projected value, or the value itself
+     * if the table has no pushdown, or the row cannot be projected.
+     *
+     * Package access for testing.
+     */
+    byte[] applyPushdown(byte[] key,
+                         byte[] val,
+                         boolean isTombstone,
+                         boolean canProject,
+                         RepImpl repImpl) {
+        if (pushdowns == null) {
+            return val;
+        }
+        final MatchKey mkey = findMatchKey(key);
+        final StreamPushdown pushdown =
+            (mkey == null) ? null : pushdowns.get(mkey.getTableId());
+        if (pushdown == null) {
+            return val;
+        }
+
+        final boolean isDelete = val == null || val.length == 0 || isTombstone;
+        if (isDelete && !pushdown.isKeyOnlyCondition()) {
+            /* a deletion, only the primary key is available */
+            return val;
+        }
+        if (!isDelete &&
+            !Value.Format.isTableFormat(Value.Format.fromFirstByte(val[0]))) {
+            return val;
+        }
+
+        StreamPushdown bound =
+            getBoundPushdown(mkey.getTableId(), pushdown, 0, repImpl);
+        if (bound == null) {
+            numRowsPushdownBypassed.incrementAndGet();
+            return val;
+        }
+        if (isDelete) {
+            final TableImpl table = bound.getTable();
+            final RowImpl row = table.createRowFromKeyBytes(key);
+            if (row == null || row.getTableImpl().getId() != table.getId()) {
+                return val;
+            }
+            return bound.test(row) ? val : FILTERED;
+        }
+
+        RowImpl row;
+        try {
+            row = readRow(bound, key, val);
+        } catch (TableVersionException tve) {
+            /* the row is written with a newer version of the table */
+            bound = getBoundPushdown(mkey.getTableId(), pushdown,
+                                     tve.getRequiredVersion(), repImpl);
+            try {
+                row = (bound == null) ? null : readRow(bound, key, val);
+            } catch (RuntimeException re) {
+                row = null;
+            }
+        } catch (RuntimeException re) {
+            row = null;
+        }
+        if (row == null) {
+            numRowsPushdownBypassed.incrementAndGet();
+            return val;
+        }
+        if (!bound.test(row)) {
+            return FILTERED;
+        }
+        if (!canProject) {
+            return val;
+        }
+        final byte[] projected = bound.project(row, val);
+        if (projected == null) {
+            return val;
+        }
+        numRowsProjected.incrementAndGet();
+        numBytesProjected.addAndGet(val.length - projected.length);
+        return projected;
+    }
+
+    private static RowImpl readRow(StreamPushdown bound,
+                                   byte[] key,
+                                   byte[] val) {
+        return bound.getTable().createRowFromBytes(key, val,
+                                                   false /* keyOnly */,
+                                                   true /* addMissingCol */);
+    }
+
+    /**
+     * Returns the pushdown bound to the table read from the table metadata
+     * of the host RN, if its version is at least the required version, or
+     * null if the table cannot be read, or the pushdown is not valid for
+     * it. The table is read again only if the bound table is older than the
+     * required version, or the previous attempt failed, and no attempt was
+     * made for the required version in the last {@link #PUSHDOWN_RETRY_MS}.
+     */
+    private StreamPushdown getBoundPushdown(String tableId,
+                                            StreamPushdown pushdown,
+                                            int requiredVersion,
+                                            RepImpl repImpl) {
+        final BoundPushdown state =
+            boundPushdowns.computeIfAbsent(tableId, k -> new BoundPushdown());
+        if (state.pushdown != null &&
+            state.pushdown.getTableVersion() >= requiredVersion) {
+            return state.pushdown;
+        }
+        final long now = System.currentTimeMillis();
+        if (state.failedTimeMs > 0 &&
+            requiredVersion <= state.failedVersion &&
+            now - state.failedTimeMs < PUSHDOWN_RETRY_MS) {
+            return null;
+        }
+
+        String err;
+        try {
+            final TableImpl table = readTable(repImpl,
+                                              pushdown.getTopTableId(),
+                                              pushdown.getTableId());
+            if (table == null) {
+                err = "table not found in table metadata";
+            } else if (table.getTableVersion() < requiredVersion) {
+                err = "table version=" + table.getTableVersion() +
+                      " in table metadata is older than required version=" +
+                      requiredVersion;
+            } else {
+                state.pushdown = pushdown.bind(table);
+                state.failedTimeMs = 0;
+                LoggerUtils.info(logger, repImpl,
+                                 lm("Bound pushdown " + state.pushdown));
+                return state.pushdown;
+            }
+        } catch (IllegalArgumentException iae) {
+            /* e.g., a column in the condition is dropped */
+            err = iae.getMessage();
+        } catch (EnvShutdownException ese) {
+            throw ese;
+        } catch (RuntimeException re) {
+            err = re.toString();
+        }
+        state.failedVersion = Math.max(requiredVersion,
+                                       (state.pushdown == null) ? 0 :
+                                       state.pushdown.getTableVersion());
+        state.failedTimeMs = now;
+        LoggerUtils.warning(logger, repImpl,
+                            lm("Cannot apply pushdown " + pushdown +
+                               ", rows of the table pass without it: " +
+                               err));
+        return null;
+    }
+
+    /**
+     * Binds the pushdown of a table to the given table, as if the table had
+     * been read from the table metadata of the host RN.
+     *
+     * In test only
+     */
+    void bindPushdown(TableImpl table) {
+        final String tableId = table.getIdString();
+        final StreamPushdown pushdown =
+            (pushdowns == null) ? null : pushdowns.get(tableId);
+        if (pushdown == null) {
+            throw new IllegalArgumentException(
+                "No pushdown for table " + table.getFullNamespaceName());
+        }
+        boundPushdowns.computeIfAbsent(tableId, k -> new BoundPushdown())
+                      .pushdown = pushdown.bind(table);
+    }
+
+    /**
+     * Reads a table from the table metadata db of the RN, or returns null
+     * if the table is not found. The top level tables are stored in the db
+     * with their children, under the id of the top level table.
+     */
+    private TableImpl readTable(RepImpl repImpl, long topTableId, long id) {
+        final Environment env = repImpl.getInternalEnvHandle();
+        if (env == null) {
+            throw new EnvShutdownException("Environment is shutdown");
+        }
+
+        final TransactionConfig txnConf = new TransactionConfig();
+        txnConf.setReadOnly(true);
+        txnConf.setReadCommitted(true);
+        final DatabaseConfig dbConf = new DatabaseConfig();
+        dbConf.setAllowCreate(false).setTransactional(true);
+
+        final DatabaseEntry key = new DatabaseEntry();
+        final DatabaseEntry val = new DatabaseEntry();
+        LongBinding.longToEntry(topTableId, key);
+        Transaction txn = env.beginTransaction(null, txnConf);
+        try (final Database db =
+                 env.openDatabase(txn, TableManager.TABLE_DB_NAME, dbConf)) {
+            final OperationStatus status = db.get(txn, key, val, null);
+            txn.commit();
+            txn = null;
+            if (status != OperationStatus.SUCCESS) {
+                return null;
+            }
+            return findTable(TableMetadataPersistence.getTable(val), id);
+        } catch (DatabaseNotFoundException dnfe) {
+            return null;
+        } finally {
+            TxnUtil.abort(txn);
+        }
+    }
+
+    private static TableImpl findTable(TableImpl table, long id) {
+        if (table.getId() == id) {
+            return table;
+        }
+        for (Table child : table.getChildTables().values()) {
+            final TableImpl ret = findTable((TableImpl) child, id);
+            if (ret != null) {
+                return ret;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The pushdown of a table bound to the table read by the feeder, and
+     * the last failed attempt to bind it.
+     */
+    private static class BoundPushdown {
+        /* the bound pushdown, or null if never bound */
+        StreamPushdown pushdown;
+        /* version required by the failed attempt */
+        int failedVersion;
+        /* time of the failed attempt, or 0 if the last attempt succeeded */
+        long failedTimeMs;
     }
 
     /*
@@ -1269,6 +1645,11 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
         k2PartMap = new HashKeyToPartitionMap(nTotalParts);
         numRowsPassed = new AtomicLong();
         numRowsBlocked = new AtomicLong();
+        numRowsCondBlocked = new AtomicLong();
+        numRowsProjected = new AtomicLong();
+        numBytesProjected = new AtomicLong();
+        numRowsPushdownBypassed = new AtomicLong();
+        boundPushdowns = new HashMap<>();
         numTxnEntries = 0;
         numNonDataEntry = 0;
         numIntDupDBFiltered = 0;
@@ -1430,6 +1811,14 @@ public class NoSQLStreamFeederFilter implements FeederFilter, Serializable {
         sb.append("partition md db id=").append(partGenTblDBId).append("\n");
         sb.append("# rows passed=").append(getNumRowsPassed()).append("\n");
         sb.append("# rows blocked=").append(getNumRowsBlocked()).append("\n");
+        sb.append("# rows blocked by condition=")
+          .append(getNumRowsCondBlocked()).append("\n");
+        sb.append("# rows projected=")
+          .append(getNumRowsProjected()).append("\n");
+        sb.append("# value bytes removed by projection=")
+          .append(getNumBytesProjected()).append("\n");
+        sb.append("# rows passed without pushdown=")
+          .append(getNumRowsPushdownBypassed()).append("\n");
         sb.append("# rows internal or duplicate db (blocked)=")
           .append(getNumIntDupDBFiltered()).append("\n");
         sb.append("# txn entries (passed)=")
@@ -249,6 +249,29 @@ public class PublisherTopoManager {
         }
     }
 
+    /**
+     * Returns the serial version used to communicate with the RepNode with the
+     * given ID, see {@link #getSerialVersion(RegistryUtils, RepNodeId)}.
+     *
+     * @param rid     rep node id
+     *
+     * @return serial version used to communicate with given rep node
+     *
+     * @throws RemoteException  if unable to reach server
+     * @throws NotBoundException if unable to look up the RN in registry, or
+     * the request dispatcher has not initialized itself yet
+     */
+    public short getSerialVersion(RepNodeId rid)
+        throws RemoteException, NotBoundException {
+
+        final RegistryUtils regUtil = kvs.getDispatcher().getRegUtils();
+        if (regUtil == null) {
+            throw new NotBoundException("The request dispatcher has not" +
+                                        " initialized itself yet");
+        }
+        return getSerialVersion(regUtil, rid);
+    }
+
     /**
      * Returns the serial version used to communicate with the RepNode with the
      * given ID. The serial version is the minimum of the serial versions of
@@ -19,6 +19,8 @@ import static oracle.kv.impl.util.CommonLoggerUtils.exceptionString;
 import static oracle.kv.impl.util.ThreadUtils.threadId;
 
 import java.net.UnknownHostException;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -53,10 +55,12 @@ import oracle.kv.impl.test.ExceptionTestHookExecute;
 import oracle.kv.impl.topo.PartitionId;
 import oracle.kv.impl.topo.PartitionMap;
 import oracle.kv.impl.topo.RepGroupId;
+import oracle.kv.impl.topo.RepNodeId;
 import oracle.kv.impl.topo.Topology;
 import oracle.kv.impl.util.KVThreadFactory;
 import oracle.kv.impl.util.PollCondition;
 import oracle.kv.impl.util.RateLimitingLogger;
+import oracle.kv.impl.util.SerialVersion;
 import oracle.kv.impl.util.server.LoggerUtils;
 import oracle.kv.pubsub.CheckpointFailureException;
 import oracle.kv.pubsub.NoSQLPublisher;
@@ -153,6 +157,12 @@ public class PublishingUnit {
      */
     private volatile ConcurrentMap<String, TableImpl> tables;
 
+    /*
+     * Projections and conditions of subscribed tables pushed down to the
+     * feeder filter, indexed by the table id string, or null if there is
+     * none.
+     */
+    private volatile Map<String, StreamPushdown> pushdowns;
 
     /*-- For test and internal use only. ---*/
     /* true if enable feeder filter */
@@ -218,6 +228,7 @@ public class PublishingUnit {
         /* will be init a subscriber establishes a NoSQL Subscription */
         outputQueue = null;
         tables = null;
+        pushdowns = null;
         consumers = new ConcurrentHashMap<>();
         subscriber = null;
         si = null;
@@ -1201,6 +1212,8 @@ public class PublishingUnit {
                 throw new SubscriptionFailureException(si, err, stnfe);
             }
 
+            pushdowns = getPushdowns(conf);
+
             logger.fine(() -> lm("PU subscribed tables=" + tables.keySet() +
                                  ", table names=" + tableNames));
         } else {
@@ -1233,6 +1246,7 @@ public class PublishingUnit {
                 final String err = "Unable to get master info for shard=" + gid;
                 throw new SubscriptionFailureException(si, err);
             }
+            checkPushdownSupport(gid, master);
 
             try {
                 final ReplicationStreamConsumer consumer =
@@ -1274,7 +1288,88 @@ public class PublishingUnit {
         logger.fine(() -> lm("PU preparation done."));
     }
 
+    /*
+     * Creates the projections and conditions of subscribed tables from the
+     * subscription config, or returns null if there is none
+     */
+    private Map<String, StreamPushdown> getPushdowns(
+        NoSQLSubscriptionConfig conf) {
+
+        final Set<String> names = new HashSet<>();
+        names.addAll(conf.getTableProjections().keySet());
+        names.addAll(conf.getTableConditions().keySet());
+        if (names.isEmpty()) {
+            return null;
+        }
+
+        final Map<String, StreamPushdown> ret = new HashMap<>();
+        for (String name : names) {
+            final TableImpl table = getTable(conf.getSubscriberId(), name);
+            if (table == null) {
+                /* table dropped since it was resolved */
+                final String err = "Table=" + name + " not found at store";
+                throw new SubscriptionFailureException(
+                    si, err, new SubscriptionTableNotFoundException(name));
+            }
+            try {
+                ret.put(table.getIdString(),
+                        new StreamPushdown(table,
+                                           conf.getTableProjections()
+                                               .get(name),
+                                           conf.getTableConditions()
+                                               .get(name)));
+            } catch (IllegalArgumentException iae) {
+                final String err = "Invalid projection or condition of " +
+                                   "table=" + name + ", " + iae.getMessage();
+                logger.warning(lm(err));
+                throw new SubscriptionFailureException(si, err, iae);
+            }
+        }
+        logger.info(lm("Pushdown to feeder filter=" + ret.values()));
+        return ret;
+    }
+
     /* Creates feeder filter from subscribed tables */
+    /**
+     * Verifies that the master of a shard is able to apply the projections
+     * and conditions of subscribed tables, if any. An older master would
+     * fail to deserialize the feeder filter.
+     */
+    private void checkPushdownSupport(RepGroupId gid,
+                                      ShardMasterInfo master) {
+        if (pushdowns == null) {
+            return;
+        }
+        final PublisherTopoManager topoManager = (parent != null) ?
+            parent.getPublisherTopoManager() :
+            /* unit test only */
+            new PublisherTopoManager(getStoreName(), kvstore, logger);
+        final RepNodeId rid = master.getMasterRepNodeId();
+        final short serialVersion;
+        try {
+            serialVersion = topoManager.getSerialVersion(rid);
+        } catch (RemoteException | NotBoundException e) {
+            final String err = "Cannot verify if master node=" + rid +
+                               " of shard=" + gid + " supports projections" +
+                               " and conditions of subscribed tables";
+            throw new SubscriptionFailureException(si, err, e);
+        }
+        if (serialVersion < SerialVersion.STREAM_PUSHDOWN_VERSION) {
+            final String err =
+                "Projections and conditions of subscribed tables require" +
+                " the store to run version " +
+                SerialVersion.getKVVersion(
+                    SerialVersion.STREAM_PUSHDOWN_VERSION)
+                             .getNumericVersionString() +
+                " or later, but master node=" + rid + " of shard=" + gid +
+                " runs version " +
+                SerialVersion.getKVVersion(serialVersion)
+                             .getNumericVersionString();
+            logger.warning(lm(err));
+            throw new SubscriptionFailureException(si, err);
+        }
+    }
+
     private NoSQLStreamFeederFilter getFilter(RepGroupId gid) {
 
         /* no feeder filter if disabled */
@@ -1297,8 +1392,8 @@ public class PublishingUnit {
         } else {
             /* get a feeder filter passing selected tables */
             filter = NoSQLStreamFeederFilter.getFilter(
-                new HashSet<>(tables.values()), nParts, localWrites,
-                localRegionId);
+                new HashSet<>(tables.values()), pushdowns, nParts,
+                localWrites, localRegionId);
         }
         filter.setRepGroupId(gid);
         logger.fine(() -> lm("Filter created with tables=" +
@@ -0,0 +1,903 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+
+package oracle.kv.impl.pubsub;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import oracle.kv.Value;
+import oracle.kv.impl.api.table.EnumDefImpl;
+import oracle.kv.impl.api.table.EnumValueImpl;
+import oracle.kv.impl.api.table.FieldDefImpl;
+import oracle.kv.impl.api.table.FieldValueImpl;
+import oracle.kv.impl.api.table.MapDefImpl;
+import oracle.kv.impl.api.table.RecordDefImpl;
+import oracle.kv.impl.api.table.RowImpl;
+import oracle.kv.impl.api.table.TableImpl;
+import oracle.kv.impl.api.table.TimestampDefImpl;
+
+import com.sleepycat.util.PackedInteger;
+
+/**
+ * Object represents the projection and the condition that a subscriber
+ * registers for a subscribed table, and that the feeder filter applies to
+ * the rows of the table before they are streamed. It is built by the
+ * publisher from {@link oracle.kv.pubsub.NoSQLSubscriptionConfig}, and sent
+ * to the feeder as part of {@link NoSQLStreamFeederFilter}.
+ * <p>
+ * The condition is written in the subset of the query language conditions
+ * that can be evaluated on a single row without the query runtime: column
+ * names and dotted paths into record, map and JSON columns, numeric, string
+ * and boolean literals, the comparison operators =, !=, &lt;&gt;, &lt;,
+ * &lt;=, &gt; and &gt;=, IS NULL, IS NOT NULL, AND, OR, NOT and parentheses.
+ * It is evaluated as in queries:
+ * <ul>
+ * <li>a comparison with SQL NULL is unknown, and only the rows for which the
+ * condition is true pass;</li>
+ * <li>a path that does not exist in the row, e.g., a missing map key or JSON
+ * field, is equal to another missing value, not equal to any other value,
+ * and not ordered;</li>
+ * <li>JSON null is equal to JSON null only, and IS NULL is only true for
+ * SQL NULL;</li>
+ * <li>values of other types than the above are compared only if both are
+ * numbers, strings, booleans or timestamps, all comparisons of values of
+ * different types are false;</li>
+ * <li>a string literal compared with a timestamp column is cast to a
+ * timestamp, and with an enum column to the enum value, so enums are
+ * ordered by their declaration;</li>
+ * <li>a FLOAT value is compared as the shortest decimal that reads back as
+ * the same float, so a FLOAT column written as 0.1 is equal to 0.1.</li>
+ * </ul>
+ * Path steps into arrays are not supported.
+ * <p>
+ * The projection lists the columns to stream. The primary key columns are
+ * always streamed. The other columns are streamed as null, or with their
+ * default value if they are not nullable, so that subscribers read the rows
+ * with the same table schema. Columns that cannot be replaced that way, MR
+ * counters and non-nullable columns without a default value, are streamed
+ * as they are.
+ * <p>
+ * Only the id and version of the table, the projection, and the text of the
+ * condition are serialized. The feeder filter binds the pushdown to its own
+ * copy of the table with {@link #bind}, and binds it again when it sees a
+ * row written with a newer table version, so that pushdown keeps applying
+ * after the table is evolved.
+ * <p>
+ * Note
+ * [] The condition of a deleted row is only evaluated if it refers to
+ * primary key columns only, other deletes always pass.
+ * <p>
+ * [] If the table cannot be resolved on the feeder, or the projection or the
+ * condition is no longer valid for a newer version of the table, e.g., a
+ * column in the condition is dropped, rows of the table pass unchanged, and
+ * the filter counts and logs them.
+ */
+class StreamPushdown implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Id of the subscribed table */
+    private final long tableId;
+
+    /** Id of the top level table of the subscribed table */
+    private final long topTableId;
+
+    /** Full name of the subscribed table, for messages */
+    private final String tableName;
+
+    /** Version of the table the pushdown was validated with */
+    private final int tableVersion;
+
+    /** Names of the projected columns, or null if all columns are streamed */
+    private final List<String> projection;
+
+    /** The text of the condition, or null if all rows pass */
+    private final String conditionText;
+
+    /** The table the pushdown is bound to, or null if not bound */
+    private transient TableImpl table;
+
+    /** The parsed condition, or null if all rows pass */
+    private transient Condition condition;
+
+    /**
+     * True for the positions of the columns that the projection replaces,
+     * or null if there is no projection.
+     */
+    private transient boolean[] dropped;
+
+    /**
+     * Creates the pushdown of a table. The projection and the condition are
+     * validated against the table, and the pushdown is bound to it.
+     *
+     * @param table      the subscribed table
+     * @param projection the columns to stream, or null to stream all columns
+     * @param condition  the condition rows must satisfy, or null
+     *
+     * @throws IllegalArgumentException if a column does not exist in the
+     * table, or the condition is not valid
+     */
+    StreamPushdown(TableImpl table, List<String> projection,
+                   String condition) {
+        tableId = table.getId();
+        topTableId = table.getTopLevelTable().getId();
+        tableName = table.getFullNamespaceName();
+        tableVersion = table.getTableVersion();
+        this.projection = (projection == null) ? null :
+            Collections.unmodifiableList(new ArrayList<>(projection));
+        conditionText = condition;
+        init(table);
+    }
+
+    /**
+     * Creates a copy of the pushdown bound to another version of its table.
+     */
+    private StreamPushdown(StreamPushdown other, TableImpl table) {
+        tableId = other.tableId;
+        topTableId = other.topTableId;
+        tableName = other.tableName;
+        tableVersion = other.tableVersion;
+        projection = other.projection;
+        conditionText = other.conditionText;
+        init(table);
+    }
+
+    /**
+     * Parses the condition and computes the replaced columns against the
+     * table.
+     */
+    private void init(TableImpl tbl) {
+        if (tbl.getId() != tableId) {
+            throw new IllegalArgumentException(
+                "Table id=" + tbl.getId() + " of table=" +
+                tbl.getFullNamespaceName() + " does not match id=" + tableId +
+                " of table=" + tableName);
+        }
+        condition = (conditionText == null) ? null :
+            new ConditionParser(tbl, conditionText).parse();
+
+        if (projection == null) {
+            dropped = null;
+        } else {
+            if (tbl.isJsonCollection() || tbl.getValueRecordDef() == null) {
+                throw new IllegalArgumentException(
+                    "Projection is not supported for table=" +
+                    tbl.getFullNamespaceName() + " without value columns");
+            }
+            final RecordDefImpl rowDef = tbl.getRowDef();
+            dropped = new boolean[rowDef.getNumFields()];
+            for (int pos = 0; pos < dropped.length; pos++) {
+                final FieldDefImpl def = rowDef.getFieldDef(pos);
+                dropped[pos] = !tbl.isPrimKeyAtPos(pos) &&
+                               !def.isMRCounter() &&
+                               !def.hasJsonMRCounter() &&
+                               (rowDef.isNullable(pos) ||
+                                rowDef.getDefaultValue(pos) != null);
+            }
+            for (String column : projection) {
+                if (tbl.getField(column) == null) {
+                    throw new IllegalArgumentException(
+                        "Projected column=" + column + " not found in " +
+                        "table=" + tbl.getFullNamespaceName());
+                }
+                dropped[tbl.getFieldPos(column)] = false;
+            }
+        }
+        table = tbl;
+    }
+
+    /**
+     * Returns a copy of the pushdown bound to the given version of its table.
+     *
+     * @throws IllegalArgumentException if the projection or the condition
+     * is not valid for the table
+     */
+    StreamPushdown bind(TableImpl tbl) {
+        return new StreamPushdown(this, tbl);
+    }
+
+    /**
+     * Returns the table the pushdown is bound to, or null if it has not been
+     * bound since it was deserialized.
+     */
+    TableImpl getTable() {
+        return table;
+    }
+
+    long getTableId() {
+        return tableId;
+    }
+
+    long getTopTableId() {
+        return topTableId;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the version of the bound table, or the version the pushdown
+     * was validated with if it is not bound.
+     */
+    int getTableVersion() {
+        return (table == null) ? tableVersion : table.getTableVersion();
+    }
+
+    /**
+     * Returns true if the condition can be evaluated on the primary key of
+     * a row, that is, on a deleted row.
+     */
+    boolean isKeyOnlyCondition() {
+        return condition == null || condition.isKeyOnly();
+    }
+
+    /**
+     * Returns true if the row satisfies the condition.
+     */
+    boolean test(RowImpl row) {
+        return condition == null || condition.eval(row) == Boolean.TRUE;
+    }
+
+    /**
+     * Returns the value bytes of the row with the non-projected columns
+     * replaced, or null if there is no projection or it does not make the
+     * value smaller.
+     *
+     * @param row the row read from the value bytes
+     * @param val the value bytes of the row, in a table format
+     */
+    byte[] project(RowImpl row, byte[] val) {
+        if (dropped == null) {
+            return null;
+        }
+        final RecordDefImpl rowDef = table.getRowDef();
+        boolean changed = false;
+        for (int pos = 0; pos < dropped.length; pos++) {
+            if (!dropped[pos]) {
+                continue;
+            }
+            final FieldValueImpl fv = row.get(pos);
+            if (fv == null || fv.isNull()) {
+                continue;
+            }
+            if (rowDef.isNullable(pos)) {
+                row.putNull(pos);
+            } else {
+                row.put(pos, rowDef.getDefaultValue(pos));
+            }
+            changed = true;
+        }
+        if (!changed) {
+            return null;
+        }
+
+        final Value.Format format = Value.Format.fromFirstByte(val[0]);
+        final int regionId = (format == Value.Format.MULTI_REGION_TABLE) ?
+            PackedInteger.readInt(val, 1) : -1;
+        final byte[] ret = table.createValueInternal(row, format, regionId,
+                                                     null /* store */,
+                                                     null /* genInfo */,
+                                                     false /* replaceCRDT */)
+                                .toByteArray();
+        return (ret.length < val.length) ? ret : null;
+    }
+
+    @Override
+    public String toString() {
+        return "table=" + tableName + "(id=" + tableId +
+               ", version=" + getTableVersion() + ")" +
+               ", projection=" + (projection == null ? "all" : projection) +
+               ", condition=" + (conditionText == null ? "none" :
+                                 conditionText);
+    }
+
+    /*- condition tree -*/
+
+    /**
+     * A node of the condition, evaluated with the three-valued logic of the
+     * query language: null stands for unknown.
+     */
+    private interface Condition {
+        Boolean eval(RowImpl row);
+        boolean isKeyOnly();
+    }
+
+    private static final class And implements Condition {
+        private final Condition left;
+        private final Condition right;
+
+        And(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Boolean eval(RowImpl row) {
+            final Boolean l = left.eval(row);
+            if (l == Boolean.FALSE) {
+                return l;
+            }
+            final Boolean r = right.eval(row);
+            if (r == Boolean.FALSE) {
+                return r;
+            }
+            return (l == null || r == null) ? null : Boolean.TRUE;
+        }
+
+        @Override
+        public boolean isKeyOnly() {
+            return left.isKeyOnly() && right.isKeyOnly();
+        }
+    }
+
+    private static final class Or implements Condition {
+        private final Condition left;
+        private final Condition right;
+
+        Or(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Boolean eval(RowImpl row) {
+            final Boolean l = left.eval(row);
+            if (l == Boolean.TRUE) {
+                return l;
+            }
+            final Boolean r = right.eval(row);
+            if (r == Boolean.TRUE) {
+                return r;
+            }
+            return (l == null || r == null) ? null : Boolean.FALSE;
+        }
+
+        @Override
+        public boolean isKeyOnly() {
+            return left.isKeyOnly() && right.isKeyOnly();
+        }
+    }
+
+    private static final class Not implements Condition {
+        private final Condition operand;
+
+        Not(Condition operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public Boolean eval(RowImpl row) {
+            final Boolean b = operand.eval(row);
+            return (b == null) ? null : !b;
+        }
+
+        @Override
+        public boolean isKeyOnly() {
+            return operand.isKeyOnly();
+        }
+    }
+
+    private static final class IsNull implements Condition {
+        private final Operand operand;
+
+        IsNull(Operand operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public Boolean eval(RowImpl row) {
+            /* only true for SQL NULL, not for missing values or JSON null */
+            return operand.value(row) == null;
+        }
+
+        @Override
+        public boolean isKeyOnly() {
+            return operand.isKeyOnly();
+        }
+    }
+
+    private static final class Compare implements Condition {
+        private final String op;
+        private final Operand left;
+        private final Operand right;
+
+        Compare(String op, Operand left, Operand right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Boolean eval(RowImpl row) {
+            final Object l = left.value(row);
+            final Object r = right.value(row);
+            if (l == null || r == null) {
+                return null;
+            }
+            final int cmp;
+            if (l == Special.MISSING || r == Special.MISSING ||
+                l == Special.JSON_NULL || r == Special.JSON_NULL) {
+                /* only equal to the same value, and not ordered */
+                if (l != r) {
+                    return op.equals("!=");
+                }
+                cmp = 0;
+            } else if (l instanceof BigDecimal && r instanceof BigDecimal) {
+                cmp = ((BigDecimal) l).compareTo((BigDecimal) r);
+            } else if (l instanceof String && r instanceof String) {
+                cmp = ((String) l).compareTo((String) r);
+            } else if (l instanceof Timestamp && r instanceof Timestamp) {
+                cmp = ((Timestamp) l).compareTo((Timestamp) r);
+            } else if (l instanceof Boolean && r instanceof Boolean) {
+                cmp = Boolean.compare((Boolean) l, (Boolean) r);
+            } else if (l instanceof EnumValueImpl &&
+                       r instanceof EnumValueImpl &&
+                       ((EnumValueImpl) l).getDefinition().equals(
+                           ((EnumValueImpl) r).getDefinition())) {
+                cmp = Integer.compare(((EnumValueImpl) l).getIndex(),
+                                      ((EnumValueImpl) r).getIndex());
+            } else {
+                /* values of different types, or not comparable */
+                return Boolean.FALSE;
+            }
+            switch (op) {
+            case "=":
+                return cmp == 0;
+            case "!=":
+                return cmp != 0;
+            case "<":
+                return cmp < 0;
+            case "<=":
+                return cmp <= 0;
+            case ">":
+                return cmp > 0;
+            default:
+                return cmp >= 0;
+            }
+        }
+
+        @Override
+        public boolean isKeyOnly() {
+            return left.isKeyOnly() && right.isKeyOnly();
+        }
+    }
+
+    /**
+     * Values of an operand that are neither SQL NULL nor comparable.
+     */
+    private enum Special {
+        /* the path does not exist in the row */
+        MISSING,
+        /* the JSON null value */
+        JSON_NULL
+    }
+
+    /**
+     * An operand of a comparison, a literal or a path into the row.
+     */
+    private interface Operand {
+
+        /**
+         * Returns null for SQL NULL, a {@link Special} value, a BigDecimal,
+         * String, Boolean, Timestamp or EnumValueImpl value, or another
+         * object if the value cannot be compared.
+         */
+        Object value(RowImpl row);
+
+        boolean isKeyOnly();
+    }
+
+    private static final class Literal implements Operand {
+        private final Object value;
+
+        Literal(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object value(RowImpl row) {
+            return value;
+        }
+
+        @Override
+        public boolean isKeyOnly() {
+            return true;
+        }
+    }
+
+    private static final class Path implements Operand {
+        private final int pos;
+        private final String[] steps;
+        private final boolean keyOnly;
+
+        /*
+         * Type of the value the path leads to, or null if it leads into a
+         * JSON value and the type is only known at runtime.
+         */
+        private final FieldDefImpl def;
+
+        Path(int pos, String[] steps, boolean keyOnly, FieldDefImpl def) {
+            this.pos = pos;
+            this.steps = steps;
+            this.keyOnly = keyOnly;
+            this.def = def;
+        }
+
+        @Override
+        public Object value(RowImpl row) {
+            FieldValueImpl fv = row.get(pos);
+            for (String step : steps) {
+                if (fv == null || fv.isNull()) {
+                    return null;
+                }
+                if (fv.isMap()) {
+                    fv = fv.getElement(step);
+                    if (fv == null) {
+                        return Special.MISSING;
+                    }
+                } else if (fv.isRecord()) {
+                    /* fields were checked by the parser */
+                    fv = fv.getElement(step);
+                } else {
+                    /* step into an atomic value or JSON null */
+                    return Special.MISSING;
+                }
+            }
+            if (fv == null || fv.isNull()) {
+                return null;
+            }
+            if (fv.isJsonNull()) {
+                return Special.JSON_NULL;
+            }
+            if (fv.isEMPTY()) {
+                return Special.MISSING;
+            }
+            if (fv.isNumeric()) {
+                if (fv.isFloat()) {
+                    /* compare the float as it was written, not widened */
+                    final float f = fv.getFloat();
+                    return (Float.isNaN(f) || Float.isInfinite(f)) ?
+                        fv : new BigDecimal(Float.toString(f));
+                }
+                if (fv.isDouble()) {
+                    final double d = fv.getDouble();
+                    return (Double.isNaN(d) || Double.isInfinite(d)) ?
+                        fv : BigDecimal.valueOf(d);
+                }
+                return fv.castAsDecimal();
+            }
+            if (fv.isString()) {
+                return fv.getString();
+            }
+            if (fv.isBoolean()) {
+                return fv.getBoolean();
+            }
+            if (fv.isTimestamp()) {
+                return fv.getTimestamp();
+            }
+            return fv;
+        }
+
+        @Override
+        public boolean isKeyOnly() {
+            return keyOnly;
+        }
+    }
+
+    /**
+     * A recursive descent parser of conditions.
+     */
+    private static final class ConditionParser {
+        private final TableImpl table;
+        private final String text;
+        private final List<String> tokens = new ArrayList<>();
+        private int next = 0;
+
+        ConditionParser(TableImpl table, String text) {
+            this.table = table;
+            this.text = text;
+        }
+
+        Condition parse() {
+            tokenize();
+            if (tokens.isEmpty()) {
+                throw error("empty condition");
+            }
+            final Condition ret = parseOr();
+            if (next < tokens.size()) {
+                throw error("unexpected " + tokens.get(next));
+            }
+            return ret;
+        }
+
+        private Condition parseOr() {
+            Condition ret = parseAnd();
+            while (acceptKeyword("OR")) {
+                ret = new Or(ret, parseAnd());
+            }
+            return ret;
+        }
+
+        private Condition parseAnd() {
+            Condition ret = parseNot();
+            while (acceptKeyword("AND")) {
+                ret = new And(ret, parseNot());
+            }
+            return ret;
+        }
+
+        private Condition parseNot() {
+            if (acceptKeyword("NOT")) {
+                return new Not(parseNot());
+            }
+            if (accept("(")) {
+                final Condition ret = parseOr();
+                expect(")");
+                return ret;
+            }
+            final Operand left = parseOperand();
+            if (acceptKeyword("IS")) {
+                final boolean not = acceptKeyword("NOT");
+                if (!acceptKeyword("NULL")) {
+                    throw error("expect NULL after IS");
+                }
+                final Condition isNull = new IsNull(left);
+                return not ? new Not(isNull) : isNull;
+            }
+            String op = nextToken();
+            switch (op) {
+            case "<>":
+                op = "!=";
+                break;
+            case "=":
+            case "!=":
+            case "<":
+            case "<=":
+            case ">":
+            case ">=":
+                break;
+            default:
+                throw error("expect a comparison operator but get " + op);
+            }
+            final Operand right = parseOperand();
+            return new Compare(op, castLiteral(left, right),
+                               castLiteral(right, left));
+        }
+
+        private Operand parseOperand() {
+            final String token = nextToken();
+            final char c = token.charAt(0);
+            if (c == '\'' || c == '"') {
+                return new Literal(token.substring(1));
+            }
+            if (Character.isDigit(c) || c == '-' || c == '+' ||
+                c == '.') {
+                try {
+                    return new Literal(new BigDecimal(token));
+                } catch (NumberFormatException nfe) {
+                    throw error("invalid number " + token);
+                }
+            }
+            switch (token.toUpperCase(Locale.ROOT)) {
+            case "TRUE":
+                return new Literal(Boolean.TRUE);
+            case "FALSE":
+                return new Literal(Boolean.FALSE);
+            case "NULL":
+                return new Literal(null);
+            default:
+                break;
+            }
+            if (!Character.isLetter(c) && c != '_') {
+                throw error("unexpected " + token);
+            }
+            final String[] steps = token.split("\\.", -1);
+            for (String step : steps) {
+                if (step.isEmpty()) {
+                    throw error("invalid path " + token);
+                }
+            }
+            if (table.getField(steps[0]) == null) {
+                throw error("column " + steps[0] + " not found in table " +
+                            table.getFullNamespaceName());
+            }
+            final int pos = table.getFieldPos(steps[0]);
+            FieldDefImpl def = table.getRowDef().getFieldDef(pos);
+            for (int i = 1; i < steps.length && def != null; i++) {
+                if (def.isJson()) {
+                    def = null;
+                } else if (def.isRecord()) {
+                    final FieldDefImpl fdef =
+                        ((RecordDefImpl) def).getFieldDef(steps[i]);
+                    if (fdef == null) {
+                        throw error("field " + steps[i] + " not found in " +
+                                    token);
+                    }
+                    def = fdef;
+                } else if (def.isMap()) {
+                    def = ((MapDefImpl) def).getElement();
+                } else {
+                    throw error("path " + token + " steps into a value of " +
+                                "type " + def.getType());
+                }
+            }
+            if (def != null && def.isJson()) {
+                def = null;
+            }
+            final String[] rest = new String[steps.length - 1];
+            System.arraycopy(steps, 1, rest, 0, rest.length);
+            return new Path(pos, rest,
+                            rest.length == 0 &&
+                            table.isKeyComponent(steps[0]),
+                            def);
+        }
+
+        /**
+         * Casts a string literal compared with a timestamp or enum path to
+         * the type of the path, as queries do. A string that is not a
+         * timestamp is rejected, a string that is not a symbol of the enum
+         * is left as it is, and is not equal to any value of the path.
+         */
+        private Operand castLiteral(Operand operand, Operand other) {
+            if (!(operand instanceof Literal) || !(other instanceof Path)) {
+                return operand;
+            }
+            final Object value = ((Literal) operand).value;
+            final FieldDefImpl def = ((Path) other).def;
+            if (!(value instanceof String) || def == null) {
+                return operand;
+            }
+            if (def.isTimestamp()) {
+                try {
+                    return new Literal(((TimestampDefImpl) def)
+                                       .fromString((String) value)
+                                       .getTimestamp());
+                } catch (IllegalArgumentException iae) {
+                    throw error("invalid timestamp " + value + ": " +
+                                iae.getMessage());
+                }
+            }
+            if (def.isEnum()) {
+                try {
+                    return new Literal(
+                        ((EnumDefImpl) def).createEnum((String) value));
+                } catch (IllegalArgumentException iae) {
+                    return operand;
+                }
+            }
+            return operand;
+        }
+
+        private boolean accept(String token) {
+            if (next < tokens.size() && tokens.get(next).equals(token)) {
+                next++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            if (next < tokens.size() &&
+                tokens.get(next).equalsIgnoreCase(keyword)) {
+                next++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw error("expect " + token);
+            }
+        }
+
+        private String nextToken() {
+            if (next == tokens.size()) {
+                throw error("unexpected end of condition");
+            }
+            return tokens.get(next++);
+        }
+
+        /**
+         * Splits the text into tokens. String literals are returned with
+         * their opening quote and without the closing one, so that they are
+         * not confused with names.
+         */
+        private void tokenize() {
+            int i = 0;
+            final int len = text.length();
+            while (i < len) {
+                final char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '\'' || c == '"') {
+                    final StringBuilder sb = new StringBuilder().append(c);
+                    int j = i + 1;
+                    while (true) {
+                        if (j == len) {
+                            throw error("unterminated string");
+                        }
+                        final char s = text.charAt(j++);
+                        if (s == c) {
+                            /* a doubled quote stands for the quote */
+                            if (j < len && text.charAt(j) == c) {
+                                sb.append(c);
+                                j++;
+                                continue;
+                            }
+                            break;
+                        }
+                        sb.append(s);
+                    }
+                    tokens.add(sb.toString());
+                    i = j;
+                } else if ("()=".indexOf(c) >= 0) {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else if ("<>!".indexOf(c) >= 0) {
+                    int j = i + 1;
+                    if (j < len && (text.charAt(j) == '=' ||
+                                    (c == '<' && text.charAt(j) == '>'))) {
+                        j++;
+                    }
+                    tokens.add(text.substring(i, j));
+                    i = j;
+                } else {
+                    int j = i;
+                    while (j < len &&
+                           (Character.isLetterOrDigit(text.charAt(j)) ||
+                            "_.-+".indexOf(text.charAt(j)) >= 0)) {
+                        /*
+                         * A sign is only part of a token as the sign of a
+                         * number, or of the exponent of a number, so that
+                         * e.g. "-1e-3" is a number and "size-1" is not.
+                         */
+                        final char s = text.charAt(j);
+                        if ((s == '-' || s == '+') && j > i &&
+                            (!isNumberStart(text, i) ||
+                             "eE".indexOf(text.charAt(j - 1)) < 0)) {
+                            break;
+                        }
+                        j++;
+                    }
+                    if (j == i) {
+                        throw error("unexpected character " + c);
+                    }
+                    tokens.add(text.substring(i, j));
+                    i = j;
+                }
+            }
+        }
+
+        private static boolean isNumberStart(String str, int i) {
+            final char c = str.charAt(i);
+            if (c == '-' || c == '+') {
+                return (i + 1 < str.length()) &&
+                    isNumberStart(str, i + 1);
+            }
+            return Character.isDigit(c) || c == '.';
+        }
+
+        private IllegalArgumentException error(String msg) {
+            return new IllegalArgumentException(
+                "Invalid stream condition=" + text + ": " + msg);
+        }
+    }
+}
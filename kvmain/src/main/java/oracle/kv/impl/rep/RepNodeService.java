@@ -555,6 +555,8 @@ public class RepNodeService
     public void newParameters(ParameterMap oldMap,
                                            ParameterMap newMap) {
 
+        reqHandler.updateWriteAdmissionParams(new RepNodeParams(newMap));
+
         /* Make any requested updates related to async */
         final EndpointGroup endpointGroup =
             AsyncRegistryUtils.getEndpointGroupOrNull();
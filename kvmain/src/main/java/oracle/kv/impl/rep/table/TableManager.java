@@ -121,7 +121,12 @@ public class TableManager extends MetadataManager<TableMetadata>
                                      ParameterListener {
 
     private static final String SECONDARY_INFO_DB_NAME = "SecondaryInfoDB";
-    private static final String TABLE_DB_NAME = "TableMetadata";
+
+    /**
+     * The name of the table metadata database. Public for use by the stream
+     * feeder filter, which reads table metadata on the feeder.
+     */
+    public static final String TABLE_DB_NAME = "TableMetadata";
 
     /*
      * The serialization upgrade batches writes to allow the operation to
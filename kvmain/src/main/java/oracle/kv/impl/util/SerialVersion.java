@@ -622,12 +622,25 @@ public class SerialVersion {
 
     public static final short QUERY_VERSION_17 = V37;
 
+    /**
+     * Introduced at R25.3/V38
+     * - Projections and conditions of subscribed tables in stream filters
+     */
+    public static final short V38 = 38;
+    static { init(V38, KVVersion.R25_3); }
+
+    /**
+     * Stream feeder filters apply the projections and conditions of
+     * subscribed tables.
+     */
+    public static final short STREAM_PUSHDOWN_VERSION = V38;
+
     /**
      * When adding a new version and updating DEFAULT_CURRENT, be sure to make
      * corresponding changes in KVVersion as well as the files referenced from
      * there to add a new release version. See {@link KVVersion#CURRENT_VERSION}
      */
-    private static final short DEFAULT_CURRENT = V37;
+    private static final short DEFAULT_CURRENT = V38;
 
     /*
      * The default earliest supported serial version.
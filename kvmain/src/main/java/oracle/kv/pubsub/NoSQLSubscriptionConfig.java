@@ -14,8 +14,10 @@
 package oracle.kv.pubsub;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -215,6 +217,20 @@ public class NoSQLSubscriptionConfig {
      */
     private final boolean useExtCkptElasticity;
 
+    /**
+     * Map from the name of a subscribed table to the columns streamed for
+     * the table, see {@link Builder#setTableProjection}. Tables not in the
+     * map are streamed with all columns.
+     */
+    private final Map<String, List<String>> tableProjections;
+
+    /**
+     * Map from the name of a subscribed table to the condition the streamed
+     * rows of the table must satisfy, see {@link Builder#setTableCondition}.
+     * All rows of the tables not in the map are streamed.
+     */
+    private final Map<String, String> tableConditions;
+
     private NoSQLSubscriptionConfig(Builder builder) {
 
         subscriberId = builder.subscriberId;
@@ -232,6 +248,22 @@ public class NoSQLSubscriptionConfig {
         statReportIntvOps = builder.statReportIntvOps;
         outputQueueSzMB = builder.outputQueueSzMB;
         useExtCkptElasticity = builder.useExtCkptElasticity;
+        tableProjections = Collections.unmodifiableMap(
+            new HashMap<>(builder.tableProjections));
+        tableConditions = Collections.unmodifiableMap(
+            new HashMap<>(builder.tableConditions));
+
+        /* projections and conditions are only for subscribed tables */
+        final Set<String> pushdownTables = new HashSet<>();
+        pushdownTables.addAll(tableProjections.keySet());
+        pushdownTables.addAll(tableConditions.keySet());
+        for (String table : pushdownTables) {
+            if (tables == null || !tables.contains(table)) {
+                throw new IllegalArgumentException(
+                    "Table=" + table + " with a projection or condition is " +
+                    "not a subscribed table");
+            }
+        }
 
         /*
          * If FROM_(EXACT_)STREAM_POSITION, user must specify a stream
@@ -314,6 +346,29 @@ public class NoSQLSubscriptionConfig {
         return tables;
     }
 
+    /**
+     * Returns the map from the name of a subscribed table to the columns
+     * streamed for the table, set by {@link Builder#setTableProjection}. It
+     * is empty if all columns of all tables are streamed.
+     *
+     * @return the map from table name to the streamed columns
+     */
+    public Map<String, List<String>> getTableProjections() {
+        return tableProjections;
+    }
+
+    /**
+     * Returns the map from the name of a subscribed table to the condition
+     * the streamed rows of the table must satisfy, set by
+     * {@link Builder#setTableCondition}. It is empty if all rows of all
+     * tables are streamed.
+     *
+     * @return the map from table name to the condition
+     */
+    public Map<String, String> getTableConditions() {
+        return tableConditions;
+    }
+
     /**
      * Returns true if the subscription should attempt to create the checkpoint
      * table if it doesn't already exist. This applies to its own checkpoint
@@ -760,6 +815,9 @@ public class NoSQLSubscriptionConfig {
         private long statReportIntvOps = DEFAULT_REPORT_INTV_OPS;
         private int outputQueueSzMB = DEFAULT_OUTPUT_QUEUE_SIZE_MB;
         private boolean useExtCkptElasticity = DEFAULT_EXTERNAL_CKPT_ELASTICITY;
+        private final Map<String, List<String>> tableProjections =
+            new HashMap<>();
+        private final Map<String, String> tableConditions = new HashMap<>();
 
         /**
          * Makes a builder for NoSQLSubscriptionConfig with required
@@ -1178,6 +1236,85 @@ public class NoSQLSubscriptionConfig {
             return this;
         }
 
+        /**
+         * Sets the columns streamed for a subscribed table. The table must
+         * be one of the tables set by {@link #setSubscribedTables}, in one
+         * of the formats described there.
+         * <p>
+         * The projection is applied by the source shards, so that only the
+         * primary key and the given columns of the rows of the table are
+         * sent to the subscriber. The other columns of the rows in the
+         * stream operations are null, or set to their default value if they
+         * are not nullable. Multi-region counter columns are always
+         * streamed. A table with no columns other than primary key columns,
+         * for example a JSON collection table, cannot have a projection.
+         * <p>
+         * If not set, all columns of the table are streamed.
+         *
+         * @param table   name of the subscribed table
+         * @param columns names of the columns to stream
+         *
+         * @return this instance
+         *
+         * @throws IllegalArgumentException if the table name is null or
+         * empty, or no column is given
+         */
+        public Builder setTableProjection(String table, String... columns) {
+            if (columns == null || columns.length == 0) {
+                throw new IllegalArgumentException(
+                    "Projection of table=" + table + " has no column");
+            }
+            tableProjections.put(normalize(table),
+                                 Collections.unmodifiableList(
+                                     Arrays.asList(columns.clone())));
+            return this;
+        }
+
+        /**
+         * Sets the condition the streamed rows of a subscribed table must
+         * satisfy. The table must be one of the tables set by
+         * {@link #setSubscribedTables}, in one of the formats described
+         * there.
+         * <p>
+         * The condition is evaluated by the source shards, so that the
+         * writes of rows not satisfying it are not sent to the subscriber.
+         * It is written like a WHERE clause of a query over the table,
+         * using the subset of the query language made of column names and
+         * dotted paths into record, map and JSON columns, numeric, string
+         * and boolean literals, the comparison operators =, !=, &lt;&gt;,
+         * &lt;, &lt;=, &gt; and &gt;=, IS NULL, IS NOT NULL, AND, OR, NOT
+         * and parentheses, for example:
+         * <pre>
+         * "status = 'shipped' AND info.amount &gt;= 100"
+         * </pre>
+         * As in queries, comparisons with null or missing values are not
+         * true. A deletion is streamed unless the condition only refers to
+         * primary key columns and the deleted primary key does not satisfy
+         * it. A row that is updated so that it no longer satisfies the
+         * condition is not streamed either, so subscribers that maintain a
+         * copy of the matching rows should use a condition on primary key
+         * columns only.
+         * <p>
+         * If not set, all rows of the table are streamed.
+         *
+         * @param table     name of the subscribed table
+         * @param condition the condition
+         *
+         * @return this instance
+         *
+         * @throws IllegalArgumentException if the table name or the
+         * condition is null or empty
+         */
+        public Builder setTableCondition(String table, String condition) {
+            if (condition == null || condition.trim().isEmpty()) {
+                throw new IllegalArgumentException(
+                    "Condition of table=" + table + " cannot be null or " +
+                    "empty");
+            }
+            tableConditions.put(normalize(table), condition);
+            return this;
+        }
+
         /**
          * Normalizes the table name from user by making it a qualified name.
          * If the name space is not set by user, the system default namespace
@@ -30,6 +30,9 @@ import oracle.kv.KVStore;
 import oracle.kv.KVStoreConfig;
 import oracle.kv.impl.api.RequestDispatcher;
 import oracle.kv.impl.api.ops.InternalOperation.OpCode;
+import oracle.kv.impl.api.rgstate.ReplicaSelectionPolicy;
+import oracle.kv.impl.api.table.NearCacheStats;
+import oracle.kv.impl.api.table.TableAPIImpl;
 import oracle.kv.impl.async.EndpointGroup;
 import oracle.kv.impl.async.dialog.nio.NioEndpointGroup;
 import oracle.kv.impl.async.perf.DialogEndpointGroupPerf;
@@ -99,6 +102,21 @@ public class KVStats implements Serializable {
 
     private final long requestRetryCount;
 
+    private final long requestHedgeCount;
+
+    private final long requestHedgeWinCount;
+
+    private final String replicaSelectionPolicy;
+
+    private final long replicaSelectionCount;
+
+    private final long replicaSelectionChoiceCount;
+
+    private final long replicaSelectionNoCandidateCount;
+
+    /* Null when deserialized from an earlier version */
+    private final List<NearCacheStats> nearCacheStats;
+
     private transient DialogEndpointGroupPerf dialogEndpointGroupPerf;
     private transient NioChannelThreadPoolPerf nioChannelThreadPoolPerf;
     private final String dialogEndpointGroupPerfString;
@@ -111,11 +129,53 @@ public class KVStats implements Serializable {
     public KVStats(String watcherName,
                    boolean clear,
                    RequestDispatcher requestDispatcher) {
+        this(watcherName, clear, requestDispatcher, null);
+    }
+
+    /**
+     * @hidden
+     * Internal use only.
+     */
+    public KVStats(String watcherName,
+                   boolean clear,
+                   RequestDispatcher requestDispatcher,
+                   TableAPIImpl tableAPI) {
+
+        this.nearCacheStats =
+            (tableAPI == null) ?
+            Collections.emptyList() :
+            Collections.unmodifiableList(
+                tableAPI.getNearCacheStats(watcherName, clear));
 
         final Topology topology = requestDispatcher.getTopology();
         this.requestRetryCount =
             (topology == null) ?
             0 : requestDispatcher.getTotalRetryCount(watcherName, clear);
+        this.requestHedgeCount =
+            (topology == null) ?
+            0 : requestDispatcher.getTotalHedgeCount(watcherName, clear);
+        this.requestHedgeWinCount =
+            (topology == null) ?
+            0 : requestDispatcher.getTotalHedgeWinCount(watcherName, clear);
+
+        final ReplicaSelectionPolicy policy = (topology == null) ?
+            null :
+            requestDispatcher.getRepGroupStateTable().
+            getReplicaSelectionPolicy();
+        if (policy == null) {
+            this.replicaSelectionPolicy = null;
+            this.replicaSelectionCount = 0;
+            this.replicaSelectionChoiceCount = 0;
+            this.replicaSelectionNoCandidateCount = 0;
+        } else {
+            this.replicaSelectionPolicy = policy.getName();
+            this.replicaSelectionCount =
+                policy.getSelectionCount(watcherName, clear);
+            this.replicaSelectionChoiceCount =
+                policy.getChoiceCount(watcherName, clear);
+            this.replicaSelectionNoCandidateCount =
+                policy.getNoCandidateCount(watcherName, clear);
+        }
 
         this.opMetrics =
             Collections.unmodifiableList(
@@ -273,6 +333,25 @@ public class KVStats implements Serializable {
         if (requestRetryCount > 0) {
             result.put("requestRetryCount", requestRetryCount);
         }
+        if (requestHedgeCount > 0) {
+            result.put("requestHedgeCount", requestHedgeCount);
+            result.put("requestHedgeWinCount", requestHedgeWinCount);
+        }
+        if (replicaSelectionPolicy != null) {
+            final ObjectNode selection = JsonUtils.createObjectNode();
+            selection.put("policy", replicaSelectionPolicy);
+            selection.put("selectionCount", replicaSelectionCount);
+            selection.put("choiceCount", replicaSelectionChoiceCount);
+            selection.put("noCandidateCount",
+                          replicaSelectionNoCandidateCount);
+            result.put("replicaSelection", selection);
+        }
+        if (!getNearCacheStats().isEmpty()) {
+            result.put("nearCacheStats",
+                       getNearCacheStats().stream().
+                       map(NearCacheStats::toJson).
+                       collect(JsonSerializationUtils.getArrayCollector()));
+        }
 
         result.put("operationMetrics",
                    getOpMetrics().stream().
@@ -328,6 +407,77 @@ public class KVStats implements Serializable {
         return requestRetryCount;
     }
 
+    /**
+     * Returns the total number of reads that were hedged, that is, also sent
+     * to a second node because the first node was slow to respond.
+     *
+     * @hidden Until we make hedged reads public
+     */
+    public long getRequestHedgeCount() {
+        return requestHedgeCount;
+    }
+
+    /**
+     * Returns the total number of hedged reads for which the response from
+     * the second node was the one returned.
+     *
+     * @hidden Until we make hedged reads public
+     */
+    public long getRequestHedgeWinCount() {
+        return requestHedgeWinCount;
+    }
+
+    /**
+     * Returns the name of the policy used to select the replica to which a
+     * request is dispatched, or null if not known.
+     *
+     * @hidden Until we make replica selection policies public
+     */
+    public String getReplicaSelectionPolicy() {
+        return replicaSelectionPolicy;
+    }
+
+    /**
+     * Returns the number of requests for which the replica selection policy
+     * selected a node.
+     *
+     * @hidden Until we make replica selection policies public
+     */
+    public long getReplicaSelectionCount() {
+        return replicaSelectionCount;
+    }
+
+    /**
+     * Returns the number of replica selections for which more than one node
+     * was eligible, so that the policy had to choose among them.
+     *
+     * @hidden Until we make replica selection policies public
+     */
+    public long getReplicaSelectionChoiceCount() {
+        return replicaSelectionChoiceCount;
+    }
+
+    /**
+     * Returns the number of requests for which no node was eligible, so that
+     * the request was dispatched to a random node or retried.
+     *
+     * @hidden Until we make replica selection policies public
+     */
+    public long getReplicaSelectionNoCandidateCount() {
+        return replicaSelectionNoCandidateCount;
+    }
+
+    /**
+     * Returns the stats for the near cache of each table that has one.
+     *
+     * @hidden Until near caches are made public
+     */
+    public List<NearCacheStats> getNearCacheStats() {
+        return (nearCacheStats == null) ?
+            Collections.emptyList() :
+            nearCacheStats;
+    }
+
     /**
      * Returns the async endpoint group metrics.
      *
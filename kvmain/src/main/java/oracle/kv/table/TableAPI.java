@@ -431,6 +431,46 @@ public interface TableAPI {
                                                MultiRowOptions getOptions,
                                                ReadOptions readOptions);
 
+    /**
+     * Returns the rows associated with a list of complete primary keys of
+     * a single table, which may have different shard keys. The operation is
+     * not atomic: the rows are read by concurrent requests, one for each
+     * partition that holds some of the keys.
+     *
+     * <p>The result supplied to the future is a list with one element for
+     * each key, in the order of the keys, which is the row for the key, or
+     * {@code null} if there is no row for the key. A key may appear more
+     * than once, in which case each of its elements is a separate row
+     * instance.
+     *
+     * <p>If the request fails, the future will complete exceptionally with one
+     * of the following exceptions:
+     *
+     * <ul>
+     * <li> {@link IllegalArgumentException} - if a primary key is null,
+     * malformed, not complete, or not for the same table as the other keys
+     *
+     * <li> {@link FaultException} - for one of the standard <a
+     * href="../KVStore.html#readExceptions">read exceptions</a>
+     * </ul>
+     *
+     * @param keys the complete primary keys of the rows
+     *
+     * @param readOptions non-default options for the operation or {@code null}
+     * to get default behavior
+     *
+     * @return a future for managing the asynchronous operation
+     *
+     * @see <a href="../KVStore.html#readExceptions">Read exceptions</a>
+     *
+     * @see <a href="../KVStore.html#asyncThreadModel">Thread model for
+     * asynchronous execution</a>
+     *
+     * @hidden For internal use only
+     */
+    CompletableFuture<List<Row>> multiGetAsync(List<PrimaryKey> keys,
+                                               ReadOptions readOptions);
+
     /**
      * Return the keys associated with a partial primary key in an
      * atomic manner.  Keys are returned in primary key order.  The key used
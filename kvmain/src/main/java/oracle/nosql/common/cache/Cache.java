@@ -119,6 +119,26 @@ public interface Cache<K, V> {
      */
     int getSize();
 
+    /**
+     * Returns the number of lookups that found a value since the cache was
+     * created, if the cache tracks it; otherwise 0, the default.
+     */
+    default long getHitCount() { return 0L; }
+
+    /**
+     * Returns the number of lookups that did not find a value, including
+     * ones that found an expired value, since the cache was created, if the
+     * cache tracks it; otherwise 0, the default.
+     */
+    default long getMissCount() { return 0L; }
+
+    /**
+     * Returns the number of non-expired entries removed because the cache
+     * was at capacity since the cache was created, if the cache tracks it;
+     * otherwise 0, the default.
+     */
+    default long getEvictionCount() { return 0L; }
+
     /**
      * Stop all cache background tasks. This is for caches that have created
      * background tasks or threads.
@@ -15,16 +15,20 @@ package oracle.nosql.common.cache;
 /**
  * CacheBuilder is used to construct {@link Cache} instances.
  *<p>
- * The builder builds one of 2 types:
+ * The builder builds one of 3 types:
  * <ol>
  * <li> {@link LruCache} which supports an LRU eviction algorithm as well as
  * optional time-based eviction
  * </li>
+ * <li> {@link TinyLfuCache} which supports the W-TinyLFU eviction algorithm
+ * and lookups without locking, as well as optional time-based eviction
+ * </li>
  * <li> {@link TimeoutCache} which supports non-optional time-based eviction
  * and has no capacity limits
  * </li>
  * </ol>
- * If the configuration includes a cache size the LRU cache will be created. If
+ * If the configuration includes a cache size the LRU cache will be created,
+ * or the TinyLFU cache if the configuration selects that eviction policy. If
  * it contains only a lifetime a TimeoutCache will be created. If neither
  * lifetime nor size is specified an exception is thrown as such a case can
  * be handled more simply by a Java class like ConcurrentHashMap. In either case
@@ -34,7 +38,9 @@ package oracle.nosql.common.cache;
  * The TimeoutCache will have better behavior than the LRU cache in highly
  * concurrent situations because it can use more efficient data structures. The
  * LRU cache uses Java's LinkeHashMap which requires write locking in the cache
- * that can become a bottleneck
+ * that can become a bottleneck. The TinyLFU cache avoids that bottleneck for
+ * lookups, and its eviction policy retains frequently used entries better
+ * than LRU when the working set is larger than the cache
  */
 public class CacheBuilder {
 
@@ -44,16 +50,27 @@ public class CacheBuilder {
     private CacheBuilder() {
     }
 
+    /**
+     * The eviction policies for caches with a capacity.
+     */
+    public enum EvictionPolicy {
+        /** Evict the least recently used entry, see {@link LruCache} */
+        LRU,
+        /** Evict using W-TinyLFU, see {@link TinyLfuCache} */
+        TINY_LFU
+    }
+
     /**
      * Build a cache instance.
      *
-     * Currently, only the LRU policy is supported.
-     *
      * @return cache instance
      */
     public static <K, V> Cache<K, V>
         build(CacheConfig config) {
         if (config.getCapacity() != 0) {
+            if (config.getEvictionPolicy() == EvictionPolicy.TINY_LFU) {
+                return new TinyLfuCache<K, V>(config);
+            }
             /* LRU */
             return new LruCache<K, V>(config);
         } else if (config.getLifetime() != 0L) {
@@ -101,6 +118,9 @@ public class CacheBuilder {
         /* name */
         private String name = "";
 
+        /* The eviction policy if there is a capacity */
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
         /**
          * Sets the maximum number of entries that are allowed in the cache.
          * in the cache. If the value is 0 then the cache is unlimited. If
@@ -161,6 +181,26 @@ public class CacheBuilder {
             return createCleanupThread;
         }
 
+        /**
+         * Sets the eviction policy used when the cache has a capacity.
+         * Defaults to {@link EvictionPolicy#LRU}.
+         *
+         * @param evictionPolicy the eviction policy
+         * @return this
+         */
+        public CacheConfig setEvictionPolicy(EvictionPolicy evictionPolicy) {
+            if (evictionPolicy == null) {
+                throw new IllegalArgumentException(
+                    "Cache eviction policy must not be null");
+            }
+            this.evictionPolicy = evictionPolicy;
+            return this;
+        }
+
+        public EvictionPolicy getEvictionPolicy() {
+            return evictionPolicy;
+        }
+
         public CacheConfig setName(String name) {
             this.name = name;
             return this;
@@ -0,0 +1,148 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+package oracle.nosql.common.cache;
+
+/**
+ * A count-min sketch that estimates how often keys have been accessed, used
+ * by {@link TinyLfuCache} to decide whether a new entry is worth evicting an
+ * existing one.
+ * <p>
+ * Each key maps to four 4-bit counters, one in each of four table entries,
+ * and its frequency is the minimum of its counters, capped at 15. To favor
+ * recent accesses, all counters are halved once the number of increments
+ * reaches ten times the capacity of the cache.
+ * <p>
+ * This class is not thread safe; callers must synchronize access.
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+        0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    /* Clears the high bit of each counter after shifting right by one */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /* Selects the low bit of each counter */
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    private static final int MAX_TABLE_LENGTH = 1 << 30;
+
+    /* Each long holds 16 4-bit counters */
+    private long[] table;
+    private int tableMask;
+
+    /* The number of increments before the counters are halved */
+    private int sampleSize;
+
+    /* The number of increments since the last reset */
+    private int size;
+
+    FrequencySketch(int capacity) {
+        ensureCapacity(capacity);
+    }
+
+    /**
+     * Resizes the sketch for a cache of the specified capacity, discarding
+     * the existing counts if the size changes.
+     */
+    void ensureCapacity(int capacity) {
+        int length = 8;
+        while ((length < capacity) && (length < MAX_TABLE_LENGTH)) {
+            length <<= 1;
+        }
+        sampleSize = (int) Math.min(10L * Math.max(capacity, 1),
+                                    Integer.MAX_VALUE);
+        if ((table != null) && (table.length == length)) {
+            return;
+        }
+        table = new long[length];
+        tableMask = length - 1;
+        size = 0;
+    }
+
+    /**
+     * Returns the estimated number of accesses of the key with the specified
+     * hash code, between 0 and 15.
+     */
+    int frequency(int hashCode) {
+        final int hash = spread(hashCode);
+        final int start = (hash & 3) << 2;
+        int frequency = 15;
+        for (int i = 0; i < 4; i++) {
+            final int index = indexOf(hash, i);
+            final int count =
+                (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of the key with the specified hash code.
+     */
+    void increment(int hashCode) {
+        final int hash = spread(hashCode);
+        final int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && (++size >= sampleSize)) {
+            reset();
+        }
+    }
+
+    /**
+     * Increments the specified counter unless it is already at the maximum,
+     * returning whether it was incremented.
+     */
+    private boolean incrementAt(int index, int counter) {
+        final int offset = counter << 2;
+        final long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves all counters. The size is reduced by the increments lost to
+     * truncating odd counters.
+     */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (odd >>> 2);
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += (h >>> 32);
+        return ((int) h) & tableMask;
+    }
+
+    /**
+     * Applies a supplemental hash to protect against poor hash codes.
+     */
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
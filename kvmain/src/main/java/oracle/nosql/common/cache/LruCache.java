@@ -18,6 +18,8 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 import oracle.nosql.common.cache.CacheBuilder.CacheConfig;
@@ -63,6 +65,11 @@ public class LruCache<K, V> implements Cache<K, V> {
     /* Count of how many non-expired entries have been evicted due to size */
     private final AtomicInteger evictionCount = new AtomicInteger();
 
+    /* Totals since the cache was created */
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final AtomicLong totalEvictionCount = new AtomicLong();
+
     /**
      * Construct the LRUCache instance. The initial capacity is set to
      * CacheConfig.getCapacity(). The initial entry lifetime is set to
@@ -96,6 +103,7 @@ public class LruCache<K, V> implements Cache<K, V> {
                 /* Count non-expired entries */
                 if (!isExpired(entry.getValue())) {
                     evictionCount.incrementAndGet();
+                    totalEvictionCount.incrementAndGet();
                 }
                 entryRemoved(entry.getKey(), entry.getValue());
                 return true;
@@ -122,12 +130,15 @@ public class LruCache<K, V> implements Cache<K, V> {
         try {
             CacheEntry<V> entry = cacheMap.get(key);
             if (entry == null) {
+                missCount.increment();
                 return null;
             }
             if (isExpired(entry)) {
+                missCount.increment();
                 remove(key);
                 return null;
             }
+            hitCount.increment();
             return entry.getValue();
         } finally {
             unlock();
@@ -254,6 +265,21 @@ public class LruCache<K, V> implements Cache<K, V> {
         return evictionCount.getAndSet(0);
     }
 
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return totalEvictionCount.get();
+    }
+
     // TODO - should this be filtering expired entries?
     @Override
     public Set<V> getAllValues() {
@@ -15,6 +15,7 @@ package oracle.nosql.common.cache;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import oracle.nosql.common.cache.CacheBuilder.CacheConfig;
 
@@ -40,6 +41,9 @@ public class TimeoutCache<K, V> implements Cache<K, V> {
     /* Background expired entry cleanup task */
     private TimeBasedCleanupTask cleanupTask;
 
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
     protected TimeoutCache(final CacheConfig config) {
         this.lifetime = config.getLifetime();
 
@@ -63,8 +67,10 @@ public class TimeoutCache<K, V> implements Cache<K, V> {
     public V get(K key) {
         CacheEntry<V> entry = cacheMap.get(key);
         if (entry != null && !isExpired(entry)) {
+            hitCount.increment();
             return entry.getValue();
         }
+        missCount.increment();
         return null;
     }
 
@@ -135,6 +141,16 @@ public class TimeoutCache<K, V> implements Cache<K, V> {
         return cacheMap.size();
     }
 
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
     @Override
     public void stop(boolean wait) {
         if (cleanupTask != null) {
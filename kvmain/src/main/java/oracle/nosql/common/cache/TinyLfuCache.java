@@ -0,0 +1,646 @@
+/*-
+ * Copyright (C) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle NoSQL
+ * Database made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/nosqldb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle NoSQL Database for a copy of the license and
+ * additional information.
+ */
+package oracle.nosql.common.cache;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import oracle.nosql.common.cache.CacheBuilder.CacheConfig;
+
+/**
+ * Cache implementation based on the W-TinyLFU eviction policy, designed for
+ * caches that are read concurrently by many threads.
+ * <p>
+ * Entries are stored in a ConcurrentHashMap, so lookups do not take a lock.
+ * Rather than reordering the eviction queues on each lookup, which would
+ * require a lock, lookups record the entry in one of several striped,
+ * bounded buffers. The buffers are drained into the eviction policy by
+ * whichever thread finds a buffer nearly full and can acquire the eviction
+ * lock without waiting, and by writers, which always hold the lock. When a
+ * buffer is full, accesses are dropped; this only makes the policy slightly
+ * less accurate.
+ * <p>
+ * New entries are added to a small LRU window. Entries that leave the window
+ * compete with the eldest entry of the main space, and the one that has been
+ * accessed less often, as estimated by a {@link FrequencySketch}, is evicted.
+ * The main space is a segmented LRU: entries that are accessed again while
+ * on probation are promoted to the protected segment. This protects
+ * frequently used entries from being flushed out by scans of entries that
+ * are used once, which an LRU cache does not.
+ * <p>
+ * Entry lifetimes behave as in {@link LruCache} and {@link TimeoutCache}: an
+ * entry expires when the lifetime has passed since it was added, expired
+ * entries are removed when they are looked up, and a background thread that
+ * removes expired entries is started if a lifetime is specified at
+ * construction and the configuration calls for it.
+ * <p>
+ * {@link #lock} acquires the eviction lock, which is held for all writes, so
+ * callers can use it to make a sequence of operations on the cache atomic
+ * with respect to other writers. Lookups by other threads are not blocked.
+ */
+public class TinyLfuCache<K, V> implements Cache<K, V> {
+
+    /* The fraction of the capacity used for the admission window */
+    private static final double WINDOW_FRACTION = 0.01;
+
+    /* The fraction of the main space used for the protected segment */
+    private static final double PROTECTED_FRACTION = 0.8;
+
+    /* The number of read buffers, a power of two */
+    private static final int READ_BUFFER_COUNT;
+    static {
+        int count = 1;
+        final int max = Math.min(
+            Runtime.getRuntime().availableProcessors() * 2, 64);
+        while (count < max) {
+            count <<= 1;
+        }
+        READ_BUFFER_COUNT = count;
+    }
+
+    /* The number of slots in each read buffer, a power of two */
+    private static final int READ_BUFFER_SIZE = 64;
+
+    /* The queue values for a node */
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int REMOVED = 3;
+
+    /* Map of key and entry */
+    private final ConcurrentHashMap<K, Node<K, V>> cacheMap;
+
+    /*
+     * Guards the eviction queues, the frequency sketch, and the sizes. Also
+     * held while modifying the cache map, so that the map and queues agree
+     * for writers.
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final ReadBuffer<K, V>[] readBuffers;
+
+    private final FrequencySketch sketch;
+
+    private final NodeQueue<K, V> window = new NodeQueue<>();
+    private final NodeQueue<K, V> probation = new NodeQueue<>();
+    private final NodeQueue<K, V> protectedQueue = new NodeQueue<>();
+
+    /* The maximum number of entries in the cache */
+    private volatile int capacity;
+
+    /* The maximum sizes of the window and protected queues */
+    private int windowCapacity;
+    private int protectedCapacity;
+
+    /* Maximum lifetime for a value entry in ms */
+    private volatile long lifetime;
+
+    /* Background expired entry cleanup task */
+    private TimeBasedCleanupTask cleanupTask;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /* Count of how many non-expired entries have been evicted due to size */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /* The eviction count since the last call to getAndResetEvictionCount */
+    private final AtomicInteger recentEvictionCount = new AtomicInteger();
+
+    /**
+     * Constructs a TinyLfuCache instance. The capacity is set to
+     * CacheConfig.getCapacity(), which must be positive. The entry lifetime
+     * is set to CacheConfig.getLifetime(). If the entry lifetime == 0 cache
+     * entries do not expire.
+     */
+    protected TinyLfuCache(final CacheConfig config) {
+        if (config.getCapacity() <= 0) {
+            throw new IllegalArgumentException(
+                "TinyLfuCache capacity must be positive");
+        }
+        this.lifetime = config.getLifetime();
+        cacheMap = new ConcurrentHashMap<>(
+            Math.min(config.getCapacity(), 1024));
+        sketch = new FrequencySketch(config.getCapacity());
+        setQueueCapacities(config.getCapacity());
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final ReadBuffer<K, V>[] buffers = new ReadBuffer[READ_BUFFER_COUNT];
+        readBuffers = buffers;
+        for (int i = 0; i < readBuffers.length; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+
+        if (lifetime > 0 && config.getCreateCleanupThread()) {
+            cleanupTask = new Cache.TimeBasedCleanupTask(
+                this,
+                config.getCleanupThreadIntervalMSOrDefault(),
+                ("TinyLfuCache." + config.getName()));
+        }
+    }
+
+    private void setQueueCapacities(int newCapacity) {
+        capacity = newCapacity;
+        windowCapacity = Math.max(1, (int) (newCapacity * WINDOW_FRACTION));
+        protectedCapacity =
+            (int) ((newCapacity - windowCapacity) * PROTECTED_FRACTION);
+    }
+
+    private boolean isExpired(Node<K, V> node) {
+        return (lifetime > 0) ?
+            System.currentTimeMillis() > (node.getCreateTime() + lifetime) :
+            false;
+    }
+
+    @Override
+    public V get(K key) {
+        final Node<K, V> node = cacheMap.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        if (isExpired(node)) {
+            missCount.increment();
+            lock();
+            try {
+                if (cacheMap.remove(key, node)) {
+                    unlink(node);
+                }
+            } finally {
+                unlock();
+            }
+            return null;
+        }
+        hitCount.increment();
+        recordRead(node);
+        return node.getValue();
+    }
+
+    /**
+     * Records a read of the node in a read buffer, and drains the buffers if
+     * the buffer is nearly full and the eviction lock is free.
+     */
+    private void recordRead(Node<K, V> node) {
+        final int index = Thread.currentThread().hashCode() &
+            (READ_BUFFER_COUNT - 1);
+        if (readBuffers[index].offer(node) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        lock();
+        try {
+            drainReadBuffers();
+            final Node<K, V> newNode = new Node<>(key, value);
+            final Node<K, V> oldNode = cacheMap.put(key, newNode);
+            if (oldNode != null) {
+                unlink(oldNode);
+            }
+            sketch.increment(key.hashCode());
+            newNode.queue = WINDOW;
+            window.addLast(newNode);
+            evictEntries();
+            return (oldNode == null) ? null : oldNode.getValue();
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        lock();
+        try {
+            final Node<K, V> node = cacheMap.remove(key);
+            if (node == null) {
+                return null;
+            }
+            unlink(node);
+            return node.getValue();
+        } finally {
+            unlock();
+        }
+    }
+
+    /* this does not filter out expired records */
+    @Override
+    public long getCreationTime(K key) {
+        final Node<K, V> node = cacheMap.get(key);
+        return (node == null) ? 0L : node.getCreateTime();
+    }
+
+    @Override
+    public void clear() {
+        lock();
+        try {
+            drainReadBuffers();
+            cacheMap.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the capacity of the cache to the specified value, which must be
+     * positive. If the new capacity is less than the number of entries,
+     * entries are evicted.
+     */
+    @Override
+    public void setCapacity(int newCapacity) {
+        if (newCapacity <= 0) {
+            throw new IllegalArgumentException(
+                "TinyLfuCache capacity must be positive");
+        }
+        lock();
+        try {
+            setQueueCapacities(newCapacity);
+            sketch.ensureCapacity(newCapacity);
+            drainReadBuffers();
+            evictEntries();
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public long getLifetime() {
+        return lifetime;
+    }
+
+    /**
+     * Sets the entry lifetime. If set to 0, entries will not expire. As with
+     * LruCache, setting a positive lifetime does not start the cleanup
+     * thread if it is not running, in which case expired entries will be
+     * lazily removed.
+     */
+    @Override
+    public void setLifetime(long newLifetimeMS) {
+        lifetime = newLifetimeMS;
+    }
+
+    @Override
+    public Set<V> getAllValues() {
+        final Set<V> copy = new HashSet<>();
+        cacheMap.forEach((k, v) -> copy.add(v.getValue()));
+        return copy;
+    }
+
+    @Override
+    public Set<K> getAllKeys() {
+        return new HashSet<>(cacheMap.keySet());
+    }
+
+    @Override
+    public int getSize() {
+        return cacheMap.size();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Gets and resets the number of times a non-expired entry has been removed
+     * due to cache capacity limit. The returned value is the count since the
+     * creation of the cache or the last call to this method.
+     *
+     * @return the eviction count
+     */
+    public int getAndResetEvictionCount() {
+        return recentEvictionCount.getAndSet(0);
+    }
+
+    @Override
+    public void stop(boolean wait) {
+        if (cleanupTask != null) {
+            cleanupTask.stop(wait);
+        }
+    }
+
+    @Override
+    public void lock() {
+        evictionLock.lock();
+    }
+
+    @Override
+    public void unlock() {
+        evictionLock.unlock();
+    }
+
+    /**
+     * Remove expired entries from cache.
+     */
+    @Override
+    public void cleanup() {
+        if (lifetime == 0) {
+            return;
+        }
+        /* if lock is not available, skip and try next time */
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            final Iterator<Node<K, V>> iter = cacheMap.values().iterator();
+            while (iter.hasNext()) {
+                final Node<K, V> node = iter.next();
+                if (isExpired(node)) {
+                    iter.remove();
+                    unlink(node);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /*
+     * The methods below must be called with the eviction lock held.
+     */
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drain(this);
+        }
+    }
+
+    /**
+     * Updates the eviction queues and frequency for a read of the node.
+     */
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == REMOVED) {
+            return;
+        }
+        sketch.increment(node.getKey().hashCode());
+        switch (node.queue) {
+        case WINDOW:
+            window.moveToLast(node);
+            break;
+        case PROBATION:
+            probation.remove(node);
+            node.queue = PROTECTED;
+            protectedQueue.addLast(node);
+            while (protectedQueue.size > protectedCapacity) {
+                final Node<K, V> demoted = protectedQueue.pollFirst();
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+            }
+            break;
+        case PROTECTED:
+            protectedQueue.moveToLast(node);
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Moves entries that overflow the window to probation, where each one
+     * either replaces the eldest entry on probation or is evicted, and then
+     * evicts entries until the cache is within its capacity.
+     */
+    private void evictEntries() {
+        while (window.size > windowCapacity) {
+            final Node<K, V> candidate = window.pollFirst();
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+            if (size() <= capacity) {
+                continue;
+            }
+            final Node<K, V> victim = probation.peekFirst();
+            if ((victim == candidate) ||
+                (sketch.frequency(candidate.getKey().hashCode()) <=
+                 sketch.frequency(victim.getKey().hashCode()))) {
+                evict(candidate);
+            } else {
+                evict(victim);
+            }
+        }
+        while (size() > capacity) {
+            Node<K, V> victim = probation.peekFirst();
+            if (victim == null) {
+                victim = protectedQueue.peekFirst();
+            }
+            if (victim == null) {
+                victim = window.peekFirst();
+            }
+            evict(victim);
+        }
+    }
+
+    private int size() {
+        return window.size + probation.size + protectedQueue.size;
+    }
+
+    private void evict(Node<K, V> node) {
+        cacheMap.remove(node.getKey(), node);
+        if (!isExpired(node)) {
+            evictionCount.incrementAndGet();
+            recentEvictionCount.incrementAndGet();
+        }
+        unlink(node);
+    }
+
+    /**
+     * Removes the node from its eviction queue.
+     */
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+        case WINDOW:
+            window.remove(node);
+            break;
+        case PROBATION:
+            probation.remove(node);
+            break;
+        case PROTECTED:
+            protectedQueue.remove(node);
+            break;
+        default:
+            break;
+        }
+        node.queue = REMOVED;
+    }
+
+    /**
+     * A cache entry that is also an element of an eviction queue. The queue
+     * fields are guarded by the eviction lock.
+     */
+    private static final class Node<K, V> extends CacheEntry<V> {
+        private final K key;
+        int queue = REMOVED;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            super(value);
+            this.key = key;
+        }
+
+        K getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * A doubly linked queue of nodes in access order, eldest first.
+     */
+    private static final class NodeQueue<K, V> {
+        private Node<K, V> first;
+        private Node<K, V> last;
+        int size;
+
+        Node<K, V> peekFirst() {
+            return first;
+        }
+
+        Node<K, V> pollFirst() {
+            final Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            size++;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            for (Node<K, V> node = first; node != null; ) {
+                final Node<K, V> next = node.next;
+                node.prev = null;
+                node.next = null;
+                node.queue = REMOVED;
+                node = next;
+            }
+            first = null;
+            last = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * A bounded, lossy buffer of reads, written by any thread without
+     * locking and drained with the eviction lock held.
+     */
+    private static final class ReadBuffer<K, V> {
+        private static final int MASK = READ_BUFFER_SIZE - 1;
+
+        private final AtomicReferenceArray<Node<K, V>> slots =
+            new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+
+        /* The next slot to write */
+        private final AtomicLong writeIndex = new AtomicLong();
+
+        /* The next slot to drain, only written with the lock held */
+        private volatile long readIndex;
+
+        /**
+         * Adds the node to the buffer, dropping it if the buffer is full or
+         * another thread is writing the same slot. Returns whether the
+         * buffer should be drained.
+         */
+        boolean offer(Node<K, V> node) {
+            final long head = readIndex;
+            final long tail = writeIndex.get();
+            final long used = tail - head;
+            if (used >= READ_BUFFER_SIZE) {
+                return true;
+            }
+            if (writeIndex.compareAndSet(tail, tail + 1)) {
+                slots.lazySet((int) (tail & MASK), node);
+                return used + 1 >= READ_BUFFER_SIZE / 2;
+            }
+            return false;
+        }
+
+        void drain(TinyLfuCache<K, V> cache) {
+            long head = readIndex;
+            final long tail = writeIndex.get();
+            while (head < tail) {
+                final int index = (int) (head & MASK);
+                final Node<K, V> node = slots.get(index);
+
+                /* The writer has claimed the slot but not yet filled it */
+                if (node == null) {
+                    break;
+                }
+                slots.lazySet(index, null);
+                cache.onAccess(node);
+                head++;
+            }
+            readIndex = head;
+        }
+    }
+}
@@ -14,15 +14,22 @@ import static oracle.kv.impl.async.FutureUtils.failedFuture;
 import static oracle.kv.impl.async.FutureUtils.handleFutureGetException;
 import static oracle.kv.impl.async.StandardDialogTypeFamily.REQUEST_HANDLER_TYPE_FAMILY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import oracle.kv.Consistency;
+import oracle.kv.ConsistencyException;
+import oracle.kv.RequestTimeoutException;
 import oracle.kv.Version;
 import oracle.kv.impl.api.ops.Get;
 import oracle.kv.impl.api.ops.InternalOperation.OpCode;
@@ -45,6 +52,8 @@ import oracle.kv.impl.topo.RepNodeId;
 import oracle.kv.impl.util.FilterableParameterized;
 import oracle.kv.impl.util.SerialVersion;
 
+import com.sleepycat.je.rep.InsufficientAcksException;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -272,12 +281,146 @@ public class AsyncRequestHandlerTest extends AsyncVersionedRemoteTestBase {
         }
     }
 
+    /**
+     * Test that a request parked waiting for consistency fails with the
+     * ConsistencyException, without being dispatched, if the consistency
+     * timeout expires.
+     */
+    @Test
+    public void testConsistencyWaitTimeout() throws Exception {
+        final Request request = createRequest(
+            new Consistency.Time(1, SECONDS, 200, MILLISECONDS), 10000);
+        final ConsistencyException timeoutException =
+            new ConsistencyException(new RuntimeException("Timed out"),
+                                     request.getConsistency());
+        final CompletableFuture<Void> wait =
+            RequestHandlerImpl.failOnConsistencyTimeout(
+                new CompletableFuture<>(), 200, () -> timeoutException);
+        final AtomicBoolean dispatched = new AtomicBoolean();
+        final CompletableFuture<Throwable> failed = new CompletableFuture<>();
+        RequestHandlerImpl.dispatchWhenConsistent(
+            wait, request, System.nanoTime(), () -> dispatched.set(true),
+            failed::complete);
+        assertSame(timeoutException, failed.get(10, SECONDS));
+        assertFalse("Request should not be dispatched", dispatched.get());
+    }
+
+    /**
+     * Test that a request is dispatched with the remaining request timeout
+     * when the replica catches up.
+     */
+    @Test
+    public void testConsistencyWaitCaughtUp() throws Exception {
+        final Request request = createRequest(
+            new Consistency.Time(1, SECONDS, 2000, MILLISECONDS), 10000);
+        final CompletableFuture<Void> replayWait = new CompletableFuture<>();
+        final CompletableFuture<Void> wait =
+            RequestHandlerImpl.failOnConsistencyTimeout(
+                replayWait, 2000,
+                () -> { throw new AssertionError("Unexpected timeout"); });
+        final CompletableFuture<Integer> dispatchTimeout =
+            new CompletableFuture<>();
+        final CompletableFuture<Throwable> failed = new CompletableFuture<>();
+        RequestHandlerImpl.dispatchWhenConsistent(
+            wait, request, System.nanoTime(),
+            () -> dispatchTimeout.complete(request.getTimeout()),
+            failed::complete);
+        Thread.sleep(300);
+        replayWait.complete(null);
+        final int timeout = dispatchTimeout.get(10, SECONDS);
+        assertTrue("Timeout should be reduced by the wait: " + timeout,
+                   (timeout > 2000) && (timeout <= 9700));
+        assertFalse(failed.isDone());
+    }
+
+    /**
+     * Test that a request whose consistency wait fails for another reason,
+     * such as the replica shutting down, is dispatched with its timeout
+     * limited to the rest of the consistency timeout, so the total wait for
+     * consistency cannot exceed the consistency timeout.
+     */
+    @Test
+    public void testConsistencyWaitReplicaShutdown() throws Exception {
+        final Request request = createRequest(
+            new Consistency.Time(1, SECONDS, 2000, MILLISECONDS), 10000);
+        final CompletableFuture<Void> replayWait = new CompletableFuture<>();
+        final CompletableFuture<Void> wait =
+            RequestHandlerImpl.failOnConsistencyTimeout(
+                replayWait, 2000,
+                () -> { throw new AssertionError("Unexpected timeout"); });
+        final CompletableFuture<Integer> dispatchTimeout =
+            new CompletableFuture<>();
+        final CompletableFuture<Throwable> failed = new CompletableFuture<>();
+        RequestHandlerImpl.dispatchWhenConsistent(
+            wait, request, System.nanoTime(),
+            () -> dispatchTimeout.complete(request.getTimeout()),
+            failed::complete);
+        Thread.sleep(500);
+        replayWait.completeExceptionally(
+            new IllegalStateException("Replica shut down"));
+        final int timeout = dispatchTimeout.get(10, SECONDS);
+        assertTrue("Timeout should be limited to the remaining consistency" +
+                   " timeout: " + timeout,
+                   timeout <= 1500);
+        assertFalse(failed.isDone());
+    }
+
+    /**
+     * Test that a write waiting for async acks is completed in the request
+     * thread pool, not in the feeder thread that delivers the acks, and that
+     * it is completed directly if the pool rejects the completion.
+     */
+    @Test
+    public void testAckHandlerCompletesInPool() throws Exception {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            1, 1, 0, MILLISECONDS, new LinkedBlockingQueue<>(),
+            r -> new Thread(r, "TestRequestPool"));
+        try {
+            final RequestHandlerImpl.AckHandler ackHandler =
+                new RequestHandlerImpl.AckHandler(pool, 5000);
+            final CompletableFuture<String> responseThread =
+                ackHandler.thenApply(v -> Thread.currentThread().getName());
+            final Thread feeder =
+                new Thread(() -> ackHandler.onQuorumAcks(null), "TestFeeder");
+            feeder.start();
+            feeder.join(10000);
+            assertEquals("TestRequestPool",
+                         responseThread.get(10, SECONDS));
+
+            /* Timed out acks are also completed in the pool */
+            final RequestHandlerImpl.AckHandler timedOut =
+                new RequestHandlerImpl.AckHandler(pool, 5000);
+            final CompletableFuture<String> failureThread =
+                timedOut.handle((v, e) -> {
+                        assertTrue("Unexpected exception: " + e,
+                                   e instanceof RequestTimeoutException);
+                        return Thread.currentThread().getName();
+                    });
+            timedOut.onException(
+                null, new InsufficientAcksException("Test ack timeout"));
+            assertEquals("TestRequestPool", failureThread.get(10, SECONDS));
+
+            /* Completed directly once the pool is shut down */
+            pool.shutdown();
+            final RequestHandlerImpl.AckHandler rejected =
+                new RequestHandlerImpl.AckHandler(pool, 5000);
+            rejected.onQuorumAcks(null);
+            assertTrue(rejected.isDone());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     /* -- Other classes and methods -- */
 
     Request createRequest() {
+        return createRequest(Consistency.NONE_REQUIRED, 7);
+    }
+
+    Request createRequest(Consistency consistency, int timeoutMs) {
         final Request request = new Request(
             new Get(new byte[] { 1 }, 2, false), new PartitionId(3), false, null,
-            Consistency.NONE_REQUIRED, 4, 5, new ClientId(6), 7, null);
+            consistency, 4, 5, new ClientId(6), timeoutMs, null);
         request.setSerialVersion(SerialVersion.CURRENT);
         return request;
     }
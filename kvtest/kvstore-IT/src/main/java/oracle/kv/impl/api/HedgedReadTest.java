@@ -0,0 +1,383 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import oracle.kv.Consistency;
+import oracle.kv.Durability;
+import oracle.kv.ReturnValueVersion;
+import oracle.kv.TestBase;
+import oracle.kv.Value;
+import oracle.kv.Version;
+import oracle.kv.impl.api.AsyncRequestDispatcherImpl.HedgeBudget;
+import oracle.kv.impl.api.AsyncRequestDispatcherImpl.HedgeState;
+import oracle.kv.impl.api.ops.Get;
+import oracle.kv.impl.api.ops.InternalOperation;
+import oracle.kv.impl.api.ops.Put;
+import oracle.kv.impl.topo.PartitionId;
+import oracle.kv.impl.topo.RepNodeId;
+
+import org.junit.Test;
+
+/**
+ * Tests that a hedged read, see {@link HedgeState}, is resolved exactly once
+ * whatever the order in which its original request and its hedge complete,
+ * and tests which reads are hedged, and when.
+ */
+public class HedgedReadTest extends TestBase {
+
+    private static final Exception PRIMARY_FAILURE =
+        new RuntimeException("primary failed");
+    private static final Exception HEDGE_FAILURE =
+        new RuntimeException("hedge failed");
+
+    private final String primary = new String("primary");
+    private final String hedge = new String("hedge");
+    private final List<String> cancelled =
+        Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger resolutions = new AtomicInteger();
+
+    private HedgeState<String, String> newState() {
+        cancelled.clear();
+        resolutions.set(0);
+        final HedgeState<String, String> state =
+            new HedgeState<>(primary, cancelled::add);
+        state.getFuture().whenComplete((r, e) -> resolutions.incrementAndGet());
+        return state;
+    }
+
+    @Test
+    public void testBothReplyPrimaryFirst() throws Exception {
+        final HedgeState<String, String> state = newState();
+        state.setHedge(hedge);
+        assertTrue(state.onComplete(primary, "p", null));
+        assertFalse(state.onComplete(hedge, "h", null));
+        checkResolved(state, "p", hedge);
+    }
+
+    @Test
+    public void testBothReplyHedgeFirst() throws Exception {
+        final HedgeState<String, String> state = newState();
+        state.setHedge(hedge);
+        assertTrue(state.onComplete(hedge, "h", null));
+        assertFalse(state.onComplete(primary, "p", null));
+        checkResolved(state, "h", primary);
+    }
+
+    @Test
+    public void testPrimaryFailsThenHedgeReplies() throws Exception {
+        final HedgeState<String, String> state = newState();
+        state.setHedge(hedge);
+        assertFalse(state.onComplete(primary, null, PRIMARY_FAILURE));
+        assertFalse(state.getFuture().isDone());
+        assertTrue(state.onComplete(hedge, "h", null));
+        checkResolved(state, "h", null /* loser */);
+    }
+
+    @Test
+    public void testHedgeFailsThenPrimaryReplies() throws Exception {
+        final HedgeState<String, String> state = newState();
+        state.setHedge(hedge);
+        assertFalse(state.onComplete(hedge, null, HEDGE_FAILURE));
+        assertFalse(state.getFuture().isDone());
+        assertTrue(state.onComplete(primary, "p", null));
+        checkResolved(state, "p", null /* loser */);
+    }
+
+    @Test
+    public void testPrimaryRepliesThenHedgeFails() throws Exception {
+        final HedgeState<String, String> state = newState();
+        state.setHedge(hedge);
+        assertTrue(state.onComplete(primary, "p", null));
+        assertFalse(state.onComplete(hedge, null, HEDGE_FAILURE));
+        checkResolved(state, "p", hedge);
+    }
+
+    @Test
+    public void testHedgeRepliesThenPrimaryFails() throws Exception {
+        final HedgeState<String, String> state = newState();
+        state.setHedge(hedge);
+        assertTrue(state.onComplete(hedge, "h", null));
+        assertFalse(state.onComplete(primary, null, PRIMARY_FAILURE));
+        checkResolved(state, "h", primary);
+    }
+
+    /**
+     * If both requests fail, the exception from the original request is
+     * returned, whichever fails first.
+     */
+    @Test
+    public void testBothFail() throws Exception {
+        HedgeState<String, String> state = newState();
+        state.setHedge(hedge);
+        assertFalse(state.onComplete(primary, null, PRIMARY_FAILURE));
+        assertTrue(state.onComplete(hedge, null, HEDGE_FAILURE));
+        checkFailed(state);
+
+        state = newState();
+        state.setHedge(hedge);
+        assertFalse(state.onComplete(hedge, null, HEDGE_FAILURE));
+        assertTrue(state.onComplete(primary, null, PRIMARY_FAILURE));
+        checkFailed(state);
+    }
+
+    /**
+     * Without a hedge, the original request alone resolves the read, and
+     * a hedge is no longer needed.
+     */
+    @Test
+    public void testNoHedge() throws Exception {
+        HedgeState<String, String> state = newState();
+        assertFalse(state.isPrimaryDone());
+        assertTrue(state.onComplete(primary, "p", null));
+        assertTrue(state.isPrimaryDone());
+        assertEquals("p", state.getFuture().get());
+        assertEquals(1, resolutions.get());
+        assertTrue(cancelled.isEmpty());
+
+        state = newState();
+        assertTrue(state.onComplete(primary, null, PRIMARY_FAILURE));
+        checkFailed(state);
+    }
+
+    /**
+     * The two requests complete concurrently.
+     */
+    @Test
+    public void testConcurrentReplies() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            final HedgeState<String, String> state = newState();
+            state.setHedge(hedge);
+            final boolean hedgeFails = (i % 2) == 0;
+            final CountDownLatch start = new CountDownLatch(1);
+            final AtomicInteger won = new AtomicInteger();
+            final Thread primaryThread = new Thread(() -> {
+                awaitLatch(start);
+                if (state.onComplete(primary, "p", null)) {
+                    won.incrementAndGet();
+                }
+            });
+            final Thread hedgeThread = new Thread(() -> {
+                awaitLatch(start);
+                if (hedgeFails ?
+                    state.onComplete(hedge, null, HEDGE_FAILURE) :
+                    state.onComplete(hedge, "h", null)) {
+                    won.incrementAndGet();
+                }
+            });
+            primaryThread.start();
+            hedgeThread.start();
+            start.countDown();
+            primaryThread.join();
+            hedgeThread.join();
+
+            assertEquals(1, won.get());
+            assertEquals(1, resolutions.get());
+            final String response = state.getFuture().get();
+            if (hedgeFails) {
+                assertEquals("p", response);
+            }
+
+            /* The loser is cancelled unless it had already completed */
+            assertTrue(cancelled.size() <= 1);
+            if (!cancelled.isEmpty()) {
+                assertSame(response.equals("p") ? hedge : primary,
+                           cancelled.get(0));
+            }
+        }
+    }
+
+    /**
+     * Only reads that any replica can perform, and that are not directed to
+     * a specific RN, are hedged.
+     */
+    @Test
+    public void testIsHedgeable() {
+        final Get get = new Get(new byte[] { 1 });
+        assertTrue(AsyncRequestDispatcherImpl.isHedgeable(
+                       makeRequest(get, false, Consistency.NONE_REQUIRED),
+                       null));
+        assertTrue(AsyncRequestDispatcherImpl.isHedgeable(
+                       makeRequest(get, false,
+                                   new Consistency.Time(
+                                       1, TimeUnit.SECONDS,
+                                       1, TimeUnit.SECONDS)),
+                       null));
+
+        /* Directed to an RN */
+        assertFalse(AsyncRequestDispatcherImpl.isHedgeable(
+                        makeRequest(get, false, Consistency.NONE_REQUIRED),
+                        new RepNodeId(1, 1)));
+
+        /* Consistency that not every replica can satisfy */
+        assertFalse(AsyncRequestDispatcherImpl.isHedgeable(
+                        makeRequest(get, false, Consistency.ABSOLUTE),
+                        null));
+        assertFalse(AsyncRequestDispatcherImpl.isHedgeable(
+                        makeRequest(get, false,
+                                    new Consistency.Version(
+                                        new Version(UUID.randomUUID(), 1),
+                                        1, TimeUnit.SECONDS)),
+                        null));
+
+        /* Redirected to the master */
+        final Request needsMaster =
+            makeRequest(get, false, Consistency.NONE_REQUIRED);
+        needsMaster.setNeedsMaster(true);
+        assertFalse(AsyncRequestDispatcherImpl.isHedgeable(needsMaster, null));
+
+        /* A write */
+        final Put put = new Put(new byte[] { 1 },
+                                Value.createValue(new byte[0]),
+                                ReturnValueVersion.Choice.NONE);
+        assertFalse(AsyncRequestDispatcherImpl.isHedgeable(
+                        makeRequest(put, true, Consistency.NONE_REQUIRED),
+                        null));
+    }
+
+    /**
+     * The hedge delay is the RN's response time percentile, but at least
+     * the minimum delay, and there is no hedge if the read would time out
+     * first.
+     */
+    @Test
+    public void testHedgeDelay() {
+        final int minDelayMs = AsyncRequestDispatcherImpl.hedgeMinDelayMs;
+        final long remainingNs = TimeUnit.SECONDS.toNanos(10);
+        assertEquals(minDelayMs,
+                     AsyncRequestDispatcherImpl.getHedgeDelayMs(
+                         0, remainingNs));
+        assertEquals(minDelayMs,
+                     AsyncRequestDispatcherImpl.getHedgeDelayMs(
+                         minDelayMs - 1, remainingNs));
+        assertEquals(50,
+                     AsyncRequestDispatcherImpl.getHedgeDelayMs(
+                         50, remainingNs));
+        assertEquals(50,
+                     AsyncRequestDispatcherImpl.getHedgeDelayMs(
+                         50, TimeUnit.MILLISECONDS.toNanos(51)));
+        assertEquals(-1,
+                     AsyncRequestDispatcherImpl.getHedgeDelayMs(
+                         50, TimeUnit.MILLISECONDS.toNanos(50)));
+        assertEquals(-1,
+                     AsyncRequestDispatcherImpl.getHedgeDelayMs(
+                         0, TimeUnit.MILLISECONDS.toNanos(minDelayMs)));
+    }
+
+    /**
+     * At most the budget percentage of reads are hedged, and the credits
+     * saved up are bounded.
+     */
+    @Test
+    public void testHedgeBudget() {
+        HedgeBudget budget = new HedgeBudget();
+        assertFalse(budget.tryAcquire());
+
+        /* 5% allows one hedge per 20 reads */
+        for (int i = 0; i < 19; i++) {
+            budget.addRead(5);
+        }
+        assertFalse(budget.tryAcquire());
+        budget.addRead(5);
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        /* The credits are capped at 10 hedges */
+        budget = new HedgeBudget();
+        for (int i = 0; i < 100; i++) {
+            budget.addRead(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryAcquire());
+        }
+        assertFalse(budget.tryAcquire());
+
+        /* No budget, no hedges */
+        budget = new HedgeBudget();
+        for (int i = 0; i < 100; i++) {
+            budget.addRead(0);
+        }
+        assertFalse(budget.tryAcquire());
+    }
+
+    /* -- Utility methods -- */
+
+    private static Request makeRequest(InternalOperation op,
+                                       boolean write,
+                                       Consistency consistency) {
+        return new Request(op, new PartitionId(1), write,
+                           write ? Durability.COMMIT_NO_SYNC : null,
+                           write ? null : consistency,
+                           1, 100, new ClientId(1), 5000, null);
+    }
+
+    /**
+     * Checks that the read returned the response, and that only the loser,
+     * if it was still running, was cancelled.
+     */
+    private void checkResolved(HedgeState<String, String> state,
+                               String response,
+                               String loser)
+        throws Exception {
+
+        assertEquals(response, state.getFuture().get());
+        assertEquals(1, resolutions.get());
+        checkCancelled(loser);
+
+        /* Late completions are ignored */
+        assertFalse(state.onComplete(primary, "late", null));
+        assertFalse(state.onComplete(hedge, null, HEDGE_FAILURE));
+        assertEquals(response, state.getFuture().get());
+        assertEquals(1, resolutions.get());
+        checkCancelled(loser);
+    }
+
+    private void checkCancelled(String loser) {
+        if (loser == null) {
+            assertTrue(cancelled.isEmpty());
+        } else {
+            assertEquals(1, cancelled.size());
+            assertSame(loser, cancelled.get(0));
+        }
+    }
+
+    private void checkFailed(HedgeState<String, String> state)
+        throws InterruptedException {
+
+        try {
+            state.getFuture().get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertSame(PRIMARY_FAILURE, e.getCause());
+        }
+        assertEquals(1, resolutions.get());
+        assertTrue(cancelled.isEmpty());
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
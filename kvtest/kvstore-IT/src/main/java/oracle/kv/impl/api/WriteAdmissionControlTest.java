@@ -0,0 +1,196 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api;
+
+import static com.sleepycat.je.utilint.VLSN.NULL_VLSN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import oracle.kv.ServerResourceLimitException;
+import oracle.kv.TestBase;
+
+import com.sleepycat.je.Durability.ReplicaAckPolicy;
+import com.sleepycat.je.rep.impl.node.FeederManager;
+
+import org.junit.Test;
+
+/**
+ * Tests the write shedding done by {@link WriteAdmissionControl}, and the
+ * ack quorum lag computed by {@link FeederManager}.
+ */
+public class WriteAdmissionControlTest extends TestBase {
+
+    private static final String NODE = "rg1-rn1";
+
+    @Test
+    public void testDisabled() {
+        final WriteAdmissionControl control = new WriteAdmissionControl();
+        control.checkAckLag(Long.MAX_VALUE, NODE);
+        control.checkPendingAcks(Integer.MAX_VALUE, NODE);
+
+        /* No environment is needed when the checks are disabled */
+        control.checkWrite(null, ReplicaAckPolicy.SIMPLE_MAJORITY);
+
+        final Map<String, AtomicInteger> counts = new HashMap<>();
+        control.addAndResetRejections(counts);
+        assertTrue(counts.isEmpty());
+    }
+
+    @Test
+    public void testPendingAcks() {
+        final WriteAdmissionControl control = new WriteAdmissionControl();
+        control.setLimits(0, 0, 10);
+        control.checkPendingAcks(9, NODE);
+        for (int i = 0; i < 3; i++) {
+            checkRejected(() -> control.checkPendingAcks(10, NODE));
+        }
+        checkRejected(() -> control.checkPendingAcks(11, NODE));
+
+        /* The lag check is still disabled */
+        control.checkAckLag(Long.MAX_VALUE, NODE);
+
+        final Map<String, AtomicInteger> counts = new HashMap<>();
+        control.addAndResetRejections(counts);
+        assertEquals(4, getCount(counts,
+                                 WriteAdmissionControl.PENDING_ACKS_REJECTIONS));
+        assertNull(counts.get(WriteAdmissionControl.ACK_LAG_REJECTIONS));
+
+        /* The counts were reset */
+        counts.clear();
+        control.addAndResetRejections(counts);
+        assertTrue(counts.isEmpty());
+    }
+
+    @Test
+    public void testAckLagBand() {
+        final WriteAdmissionControl control = new WriteAdmissionControl();
+        control.setLimits(1000, 2000, 0);
+
+        /* Nothing is rejected at or below the soft limit */
+        assertEquals(0, countRejected(control, 0, 1000));
+        assertEquals(0, countRejected(control, 1000, 1000));
+
+        /* Everything is rejected at or above the hard limit */
+        assertEquals(1000, countRejected(control, 2000, 1000));
+        assertEquals(1000, countRejected(control, 5000, 1000));
+
+        /*
+         * Within the band the rejection rate rises linearly. With 10000
+         * trials the count is within 5% of the expected value with
+         * overwhelming probability.
+         */
+        final int quarter = countRejected(control, 1250, 10000);
+        assertTrue("quarter: " + quarter,
+                   (quarter > 2000) && (quarter < 3000));
+        final int half = countRejected(control, 1500, 10000);
+        assertTrue("half: " + half, (half > 4500) && (half < 5500));
+        final int most = countRejected(control, 1900, 10000);
+        assertTrue("most: " + most, (most > 8500) && (most < 9500));
+
+        final Map<String, AtomicInteger> counts = new HashMap<>();
+        control.addAndResetRejections(counts);
+        assertEquals(2000 + quarter + half + most,
+                     getCount(counts,
+                              WriteAdmissionControl.ACK_LAG_REJECTIONS));
+        assertNull(counts.get(WriteAdmissionControl.PENDING_ACKS_REJECTIONS));
+    }
+
+    @Test
+    public void testAckLagDefaultHardLimit() {
+        final WriteAdmissionControl control = new WriteAdmissionControl();
+
+        /* A hard limit not above the soft limit means four times soft */
+        control.setLimits(100, 50, 0);
+        assertEquals(1000, countRejected(control, 400, 1000));
+        final int half = countRejected(control, 250, 10000);
+        assertTrue("half: " + half, (half > 4500) && (half < 5500));
+
+        control.setLimits(100, 0, 0);
+        assertEquals(1000, countRejected(control, 400, 1000));
+    }
+
+    @Test
+    public void testQuorumVLSNLag() {
+
+        /* No acks required */
+        assertEquals(0, quorumLag(100, 0, 10, 20));
+
+        /* Too few replicas */
+        assertEquals(0, quorumLag(100, 3, 10, 20));
+
+        /* The n'th smallest lag is returned */
+        assertEquals(10, quorumLag(100, 1, 50, 90, 80));
+        assertEquals(20, quorumLag(100, 2, 50, 90, 80));
+        assertEquals(50, quorumLag(100, 3, 50, 90, 80));
+
+        /* A replica ahead of the sampled master VLSN has no lag */
+        assertEquals(0, quorumLag(100, 1, 101, 90));
+    }
+
+    /**
+     * A replica whose feeder has not received any acks yet has no known
+     * position, and must not make the quorum appear to lag by the whole
+     * stream.
+     */
+    @Test
+    public void testQuorumVLSNLagNoAcks() {
+        assertEquals(0, quorumLag(1_000_000, 1, NULL_VLSN));
+        assertEquals(10, quorumLag(1_000_000, 1, NULL_VLSN, 999_990));
+        assertEquals(10, quorumLag(1_000_000, 1, 999_990, NULL_VLSN));
+
+        /* Too few replicas with a known position */
+        assertEquals(0, quorumLag(1_000_000, 2, NULL_VLSN, 999_990));
+        assertEquals(30, quorumLag(1_000_000, 2,
+                                   999_990, NULL_VLSN, 999_970));
+    }
+
+    /* -- Utility methods -- */
+
+    private static long quorumLag(long txnEndVLSN,
+                                  int requiredAcks,
+                                  long... replicaVLSNs) {
+        return FeederManager.getQuorumVLSNLag(
+            txnEndVLSN, replicaVLSNs.clone(), replicaVLSNs.length,
+            requiredAcks);
+    }
+
+    private static int countRejected(WriteAdmissionControl control,
+                                     long lag,
+                                     int trials) {
+        int rejected = 0;
+        for (int i = 0; i < trials; i++) {
+            try {
+                control.checkAckLag(lag, NODE);
+            } catch (ServerResourceLimitException e) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private static void checkRejected(Runnable check) {
+        try {
+            check.run();
+            fail("Expected ServerResourceLimitException");
+        } catch (ServerResourceLimitException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(NODE));
+        }
+    }
+
+    private static int getCount(Map<String, AtomicInteger> counts,
+                                String key) {
+        final AtomicInteger count = counts.get(key);
+        return (count == null) ? 0 : count.get();
+    }
+}
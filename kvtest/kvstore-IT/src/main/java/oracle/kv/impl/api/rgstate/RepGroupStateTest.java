@@ -200,6 +200,59 @@ public class RepGroupStateTest extends UncaughtExceptionTestBase {
         assertEquals(0, randomRNs.size());
     }
 
+    /**
+     * Test that the power of two choices policy never selects the RN with the
+     * highest cost, and selects each of the others, when all are eligible.
+     */
+    @Test
+    public void testPowerOfTwoChoices() {
+
+        final ReplicaSelectionPolicy policy =
+            ReplicaSelectionPolicy.create(PowerOfTwoChoicesPolicy.NAME);
+        final RepGroupState rgs =
+            new RepGroupState(rg1Id, null /* trackerId */, async, logger,
+                              policy);
+        rgs.update(rg1, topology);
+
+        /*
+         * Give the RNs increasing response times and a single outstanding
+         * request each, so the last one has the highest cost.
+         */
+        RepNodeState slowest = null;
+        int respTimeMs = 0;
+        for (RepNodeState rns : rgs.getRepNodeStates()) {
+            respTimeMs += 10;
+            for (int i = 0; i < RepNodeState.SAMPLE_SIZE; i++) {
+                rns.accumRespTime(false, respTimeMs);
+            }
+            rns.requestStart();
+            slowest = rns;
+        }
+        assertNotNull(slowest);
+
+        final Set<RepNodeId> selected = new HashSet<RepNodeId>();
+        final Request dummyRequest = new Request();
+        final int nSelections = 1000;
+        for (int i = 0; i < nSelections; i++) {
+            final RepNodeState rn = rgs.getLoadBalancedRN(dummyRequest, null);
+            assertNotNull(rn);
+            selected.add(rn.getRepNodeId());
+        }
+        assertTrue(!selected.contains(slowest.getRepNodeId()));
+        assertEquals(repFactor - 1, selected.size());
+
+        /* Exclude all RNs */
+        final Set<RepNodeId> excludeRNs = new HashSet<RepNodeId>();
+        for (RepNodeState rns : rgs.getRepNodeStates()) {
+            excludeRNs.add(rns.getRepNodeId());
+        }
+        assertNull(rgs.getLoadBalancedRN(dummyRequest, excludeRNs));
+
+        assertEquals(nSelections, policy.getSelectionCount("test", false));
+        assertEquals(nSelections, policy.getChoiceCount("test", false));
+        assertEquals(1, policy.getNoCandidateCount("test", false));
+    }
+
     @Test
     public void testConsistencyScreening() throws InterruptedException {
 
@@ -99,6 +99,49 @@ public class RepNodeStateTest extends UncaughtExceptionTestBase {
         assertEquals(Short.MAX_VALUE, rns.getAvReadRespTimeMs());
     }
 
+    /**
+     * Test read response time percentiles, which use a larger window than
+     * the average.
+     */
+    @Test
+    public void testReadRespTimePercentile() {
+        assertEquals(0, rns.getReadRespTimePercentileMs(95));
+
+        /* Only the samples that have been filled in are used */
+        rns.accumRespTime(false, 40);
+        assertEquals(40, rns.getReadRespTimePercentileMs(50));
+        assertEquals(40, rns.getReadRespTimePercentileMs(95));
+
+        /* Writes are not included */
+        rns.accumRespTime(true, 1000);
+        assertEquals(40, rns.getReadRespTimePercentileMs(95));
+
+        /*
+         * A few slow reads only raise the highest percentiles, which a window
+         * of SAMPLE_SIZE reads could not resolve
+         */
+        final int size = RepNodeState.PERCENTILE_SAMPLE_SIZE;
+        assertTrue(size > RepNodeState.SAMPLE_SIZE);
+        for (int i = 0; i < size; i++) {
+            rns.accumRespTime(false, ((i % 20) == 0) ? 500 : 10);
+        }
+        assertEquals(10, rns.getReadRespTimePercentileMs(90));
+        assertEquals(500, rns.getReadRespTimePercentileMs(100));
+
+        /* More slow reads raise lower percentiles */
+        for (int i = 0; i < size; i++) {
+            rns.accumRespTime(false, ((i % 10) == 0) ? 500 : 10);
+        }
+        assertEquals(10, rns.getReadRespTimePercentileMs(85));
+        assertEquals(500, rns.getReadRespTimePercentileMs(95));
+
+        /* Old samples leave the window */
+        for (int i = 0; i < size; i++) {
+            rns.accumRespTime(false, 20);
+        }
+        assertEquals(20, rns.getReadRespTimePercentileMs(100));
+    }
+
     @Test
     public void testVLSNState() {
         /* Must be null at startup. */
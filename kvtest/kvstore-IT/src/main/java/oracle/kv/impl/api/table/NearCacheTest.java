@@ -0,0 +1,179 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import oracle.kv.NearCacheConfig;
+import oracle.kv.Version;
+import oracle.kv.impl.api.ops.InternalOperation.OpCode;
+import oracle.kv.impl.api.ops.Result;
+import oracle.kv.impl.api.ops.ResultValueVersion;
+
+import org.junit.Test;
+
+/**
+ * Test the near cache of table rows.
+ */
+public class NearCacheTest {
+
+    private static final UUID GROUP_UUID = UUID.randomUUID();
+
+    private static final byte[] KEY1 = { 1, 2, 3 };
+    private static final byte[] KEY2 = { 4, 5, 6 };
+
+    @Test
+    public void testGetAndUpdate() {
+        final NearCache cache = makeCache(10, 0);
+
+        assertNull(cache.get(KEY1));
+
+        final Result r1 = makeResult(10, 0);
+        cache.update(KEY1, r1, cache.getGeneration());
+
+        /* Lookups are by content, not by array identity */
+        assertSame(r1, cache.get(KEY1.clone()));
+        assertNull(cache.get(KEY2));
+
+        /* An older version does not replace a newer one */
+        cache.update(KEY1, makeResult(5, 0), cache.getGeneration());
+        assertSame(r1, cache.get(KEY1));
+
+        /* A newer version does */
+        final Result r2 = makeResult(20, 0);
+        cache.update(KEY1, r2, cache.getGeneration());
+        assertSame(r2, cache.get(KEY1));
+
+        /* A read that did not find the row removes it */
+        cache.update(KEY1, makeResult(-1, 0), cache.getGeneration());
+        assertNull(cache.get(KEY1));
+
+        final NearCacheStats stats = cache.getStats("test", true);
+        assertEquals(3, stats.getHitCount());
+        assertEquals(3, stats.getMissCount());
+        assertEquals(0, stats.getSize());
+        assertEquals(10, stats.getCapacity());
+    }
+
+    @Test
+    public void testInvalidate() {
+        final NearCache cache = makeCache(10, 0);
+
+        cache.update(KEY1, makeResult(10, 0), cache.getGeneration());
+        cache.update(KEY2, makeResult(10, 0), cache.getGeneration());
+
+        /* A read issued before an invalidation is not cached */
+        final long generation = cache.getGeneration();
+        cache.invalidate(KEY1);
+        assertNull(cache.get(KEY1));
+        assertNotNull(cache.get(KEY2));
+        cache.update(KEY1, makeResult(10, 0), generation);
+        assertNull(cache.get(KEY1));
+
+        cache.clear();
+        assertNull(cache.get(KEY2));
+        assertEquals(2, cache.getStats("test", true).getInvalidationCount());
+    }
+
+    /**
+     * A read issued after a write is issued, but served before the write is
+     * applied, returns the old row. The row must not stay cached once the
+     * write completes.
+     */
+    @Test
+    public void testWriteRace() {
+        final NearCache cache = makeCache(10, 0);
+        cache.update(KEY1, makeResult(10, 0), cache.getGeneration());
+        cache.update(KEY2, makeResult(10, 0), cache.getGeneration());
+
+        /* The write is issued */
+        cache.invalidate(KEY1);
+
+        /* A read of the old row is issued and returns before the write */
+        cache.update(KEY1, makeResult(10, 0), cache.getGeneration());
+        assertNotNull(cache.get(KEY1));
+
+        /* The write completes and removes the old row */
+        cache.invalidateDone(KEY1);
+        assertNull(cache.get(KEY1));
+        assertNotNull(cache.get(KEY2));
+
+        /* A read of the old row that returns after the write completes */
+        cache.invalidate(KEY1);
+        final long generation = cache.getGeneration();
+        cache.invalidateDone(KEY1);
+        cache.update(KEY1, makeResult(10, 0), generation);
+        assertNull(cache.get(KEY1));
+
+        /* The same for a multiDelete, which clears the cache */
+        cache.clear();
+        cache.update(KEY2, makeResult(10, 0), cache.getGeneration());
+        assertNotNull(cache.get(KEY2));
+        cache.clearDone();
+        assertNull(cache.get(KEY2));
+
+        /* Completions are not counted as invalidations */
+        assertEquals(3, cache.getStats("test", true).getInvalidationCount());
+    }
+
+    @Test
+    public void testExpiration() {
+        final NearCache cache = makeCache(10, 0);
+
+        /* The row expired */
+        cache.update(KEY1,
+                     makeResult(10, System.currentTimeMillis() - 1000),
+                     cache.getGeneration());
+        assertNull(cache.get(KEY1));
+
+        /* The row has not expired */
+        cache.update(KEY1,
+                     makeResult(10, System.currentTimeMillis() + 60000),
+                     cache.getGeneration());
+        assertNotNull(cache.get(KEY1));
+    }
+
+    @Test
+    public void testEviction() {
+        final NearCache cache = makeCache(1, 0);
+
+        cache.update(KEY1, makeResult(10, 0), cache.getGeneration());
+        cache.update(KEY2, makeResult(10, 0), cache.getGeneration());
+        assertNull(cache.get(KEY1));
+        assertNotNull(cache.get(KEY2));
+        assertEquals(1, cache.getStats("test", true).getEvictionCount());
+    }
+
+    private static NearCache makeCache(int capacity, long lifetimeMs) {
+        return new NearCache(
+            "test",
+            new NearCacheConfig(capacity, lifetimeMs, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Returns the result of a get, or of a get that did not find the row if
+     * vlsn is negative.
+     */
+    private static Result makeResult(long vlsn, long expirationTime) {
+        if (vlsn < 0) {
+            return new Result.GetResult(OpCode.GET, 1, 0, null);
+        }
+        return new Result.GetResult(
+            OpCode.GET, 1, 0,
+            new ResultValueVersion(new byte[] { 0 },
+                                   new Version(GROUP_UUID, vlsn),
+                                   expirationTime,
+                                   0 /* modificationTime */,
+                                   1 /* storageSize */));
+    }
+}
@@ -0,0 +1,114 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.api.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import oracle.kv.table.PrimaryKey;
+import oracle.kv.table.Row;
+import oracle.kv.table.Table;
+import oracle.kv.table.TableAPI;
+
+import org.junit.Test;
+
+/**
+ * Test TableAPI.multiGetAsync(List<PrimaryKey>, ReadOptions).
+ */
+public class TableMultiKeyGetTest extends TableTestBase {
+
+    private static final int NUM_ROWS = 100;
+
+    @Test
+    public void testMultiKeyGet() throws Exception {
+        executeDdl("create table users(id INTEGER, name STRING, " +
+                   "primary key (id))");
+        executeDdl("create table other(id INTEGER, primary key (id))");
+
+        final TableAPI api = store.getTableAPI();
+        final Table table = api.getTable("users");
+        for (int i = 0; i < NUM_ROWS; i++) {
+            final Row row = table.createRow();
+            row.put("id", i);
+            row.put("name", "name" + i);
+            api.put(row, null, null);
+        }
+
+        /* Keys spread over the partitions, some missing and one repeated */
+        final List<PrimaryKey> keys = new ArrayList<>();
+        for (int i = NUM_ROWS + 10; i >= 0; i -= 3) {
+            keys.add(makeKey(table, i));
+        }
+        keys.add(makeKey(table, 5));
+
+        final List<Row> rows = api.multiGetAsync(keys, null).get();
+        assertEquals(keys.size(), rows.size());
+        for (int i = 0; i < keys.size(); i++) {
+            final int id = keys.get(i).get("id").asInteger().get();
+            final Row row = rows.get(i);
+            if (id >= NUM_ROWS) {
+                assertNull(row);
+            } else {
+                assertEquals(id, row.get("id").asInteger().get());
+                assertEquals("name" + id, row.get("name").asString().get());
+            }
+        }
+
+        /* The repeated key gets a separate row for each position */
+        final Row first = rows.get(keys.size() - 1);
+        Row repeated = null;
+        for (int i = 0; i < keys.size() - 1; i++) {
+            if (keys.get(i).get("id").asInteger().get() == 5) {
+                repeated = rows.get(i);
+            }
+        }
+        assertNotNull(repeated);
+        assertNotSame(first, repeated);
+        assertEquals(first, repeated);
+        repeated.put("name", "changed");
+        assertEquals("name5", first.get("name").asString().get());
+
+        assertTrue(api.multiGetAsync(Collections.emptyList(), null).
+                   get().isEmpty());
+
+        /* Keys must be non-null, complete, and for the same table */
+        checkIAE(api, null);
+        checkIAE(api, Arrays.asList(makeKey(table, 1), null));
+        checkIAE(api, Arrays.asList(table.createPrimaryKey()));
+        checkIAE(api, Arrays.asList(makeKey(table, 1),
+                                    makeKey(api.getTable("other"), 1)));
+    }
+
+    private static PrimaryKey makeKey(Table table, int id) {
+        final PrimaryKey key = table.createPrimaryKey();
+        key.put("id", id);
+        return key;
+    }
+
+    private static void checkIAE(TableAPI api, List<PrimaryKey> keys)
+        throws InterruptedException {
+
+        try {
+            api.multiGetAsync(keys, null).get();
+            fail("Expected IllegalArgumentException");
+        } catch (ExecutionException e) {
+            assertTrue("Unexpected exception: " + e.getCause(),
+                       e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+}
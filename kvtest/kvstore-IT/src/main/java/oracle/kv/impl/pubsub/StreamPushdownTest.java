@@ -0,0 +1,485 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+
+package oracle.kv.impl.pubsub;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import oracle.kv.TestBase;
+import oracle.kv.impl.api.table.FieldDefFactory;
+import oracle.kv.impl.api.table.Region;
+import oracle.kv.impl.api.table.RowImpl;
+import oracle.kv.impl.api.table.TableBuilder;
+import oracle.kv.impl.api.table.TableEvolver;
+import oracle.kv.impl.api.table.TableImpl;
+import oracle.kv.impl.api.table.TimestampDefImpl;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of the conditions, the projection and the binding of
+ * {@link StreamPushdown}, and of their application by the feeder filter.
+ */
+public class StreamPushdownTest extends TestBase {
+
+    private static final String[] ENUM_VALUES = {"C", "A", "B"};
+
+    private final TableImpl table = buildTable();
+
+    @Test
+    public void testPrecedence() {
+        /* NOT binds tighter than AND, and AND tighter than OR */
+        final String cond = "NOT i = 1 AND l = 2 OR s = 'x'";
+        assertTrue(test(cond, row(2, 2, "y")));
+        assertFalse(test(cond, row(1, 2, "y")));
+        assertTrue(test(cond, row(1, 2, "x")));
+        assertFalse(test(cond, row(2, 3, "y")));
+
+        /* parentheses */
+        final String paren = "NOT (i = 1 AND (l = 2 OR s = 'x'))";
+        assertFalse(test(paren, row(1, 2, "y")));
+        assertFalse(test(paren, row(1, 3, "x")));
+        assertTrue(test(paren, row(1, 3, "y")));
+        assertTrue(test(paren, row(2, 2, "x")));
+
+        /* keywords are case insensitive */
+        assertTrue(test("not i = 1 and l = 2 or s = 'x'", row(2, 2, "y")));
+    }
+
+    @Test
+    public void testDoubledQuotes() {
+        assertTrue(test("s = 'it''s'", row(1, 1, "it's")));
+        assertTrue(test("s = \"say \"\"hi\"\"\"", row(1, 1, "say \"hi\"")));
+        assertTrue(test("s = ''''", row(1, 1, "'")));
+        assertTrue(test("s = ''", row(1, 1, "")));
+        assertFalse(test("s = 'it''s'", row(1, 1, "its")));
+        checkInvalid("s = 'it''s");
+    }
+
+    @Test
+    public void testNumbers() {
+        final RowImpl row = row(1, 2, "x");
+        assertTrue(test("d = 1e-3", row));
+        assertTrue(test("d = 1E-3", row));
+        assertTrue(test("d = 0.001", row));
+        assertTrue(test("d < 1e+3", row));
+        assertTrue(test("d > -1e-3", row));
+        assertTrue(test("i > -1", row));
+        assertTrue(test("i>-1", row));
+        assertTrue(test("l = +2", row));
+        assertTrue(test("1e-3 = d", row));
+
+        /* a sign after a name is not part of the name nor an exponent */
+        checkInvalid("i-1 = 0");
+        checkInvalid("e-1 = 0");
+        checkInvalid("i = 1-1");
+        checkInvalid("i = 1e");
+    }
+
+    @Test
+    public void testNullMissingAndJsonNull() {
+        /* SQL NULL makes comparisons unknown */
+        final RowImpl nullRow = row(1, 2, null);
+        assertFalse(test("s = 'x'", nullRow));
+        assertFalse(test("s != 'x'", nullRow));
+        assertFalse(test("NOT s = 'x'", nullRow));
+        assertTrue(test("s IS NULL", nullRow));
+        assertFalse(test("s IS NOT NULL", nullRow));
+        assertTrue(test("s = 'x' OR i = 1", nullRow));
+        assertFalse(test("s = 'x' AND i = 1", nullRow));
+        assertTrue(test("j IS NULL", nullRow));
+        assertTrue(test("j.a IS NULL", nullRow));
+        assertFalse(test("j.a != 1", nullRow));
+
+        /* JSON null is only equal to JSON null, and is not SQL NULL */
+        final RowImpl jsonNull = row(1, 2, "x");
+        jsonNull.putJsonNull("j");
+        assertFalse(test("j IS NULL", jsonNull));
+        assertTrue(test("j IS NOT NULL", jsonNull));
+        assertFalse(test("j = 1", jsonNull));
+        assertTrue(test("j != 1", jsonNull));
+        assertFalse(test("j < 1", jsonNull));
+        assertFalse(test("j = NULL", jsonNull));
+        assertFalse(test("j.a = 1", jsonNull));
+        assertTrue(test("j.a != 1", jsonNull));
+        assertFalse(test("j.a IS NULL", jsonNull));
+
+        final RowImpl jsonNullField = row(1, 2, "x");
+        jsonNullField.putJson("j", "{\"a\": null, \"b\": null}");
+        assertTrue(test("j.a = j.b", jsonNullField));
+        assertFalse(test("j.a != j.b", jsonNullField));
+        assertFalse(test("j.a = 1", jsonNullField));
+        assertTrue(test("j.a != 1", jsonNullField));
+        assertFalse(test("j.a IS NULL", jsonNullField));
+
+        /* a missing field is not equal to any value, and is not SQL NULL */
+        final RowImpl missing = row(1, 2, "x");
+        missing.putJson("j", "{\"a\": 1}");
+        assertTrue(test("j.a = 1", missing));
+        assertFalse(test("j.b = 1", missing));
+        assertTrue(test("j.b != 1", missing));
+        assertFalse(test("j.b < 1", missing));
+        assertFalse(test("j.b >= 1", missing));
+        assertFalse(test("j.b IS NULL", missing));
+        assertTrue(test("j.b = j.c", missing));
+        assertFalse(test("j.b = j.a", missing));
+        assertFalse(test("j.a.x = 1", missing));
+        assertTrue(test("j.a.x != 1", missing));
+
+        /* a missing map entry */
+        missing.putMap("m").put("k", 1);
+        assertTrue(test("m.k = 1", missing));
+        assertFalse(test("m.x = 1", missing));
+        assertTrue(test("m.x != 1", missing));
+        assertFalse(test("m.x IS NULL", missing));
+    }
+
+    @Test
+    public void testMixedTypes() {
+        final RowImpl row = row(1, 2, "1");
+        row.putJson("j", "{\"a\": \"1\", \"b\": true, \"c\": 1}");
+
+        /* values of different types are neither equal nor not equal */
+        assertFalse(test("s = 1", row));
+        assertFalse(test("s != 1", row));
+        assertFalse(test("j.a != 1", row));
+        assertFalse(test("j.a = 1", row));
+        assertFalse(test("j.b != 'true'", row));
+        assertFalse(test("j.b = 'true'", row));
+        assertFalse(test("b != 1", row));
+
+        /* numbers of different types are compared */
+        assertTrue(test("j.c = i", row));
+        assertTrue(test("j.c != l", row));
+        assertTrue(test("j.c < l", row));
+
+        /* booleans are ordered */
+        assertTrue(test("j.b = true", row));
+        assertTrue(test("j.b != false", row));
+        assertTrue(test("j.b > false", row));
+        assertTrue(test("b < true", row));
+    }
+
+    @Test
+    public void testFloatEquality() {
+        final RowImpl row = row(1, 2, "x");
+        row.put("f", 0.1f);
+        row.put("d", 0.1d);
+        assertTrue(test("f = 0.1", row));
+        assertFalse(test("f != 0.1", row));
+        assertFalse(test("f < 0.1", row));
+        assertTrue(test("d = 0.1", row));
+        assertTrue(test("f = d", row));
+
+        row.put("f", 1.1e-5f);
+        assertTrue(test("f = 1.1e-5", row));
+        assertTrue(test("f = 0.000011", row));
+
+        row.put("f", Float.NaN);
+        assertFalse(test("f = 0", row));
+        assertFalse(test("f != 0", row));
+    }
+
+    @Test
+    public void testKeyOnly() {
+        assertTrue(pushdown("i = 1").isKeyOnlyCondition());
+        assertTrue(pushdown("i = 1 AND (l < 2 OR NOT i = 3)")
+                   .isKeyOnlyCondition());
+        assertTrue(pushdown("i IS NOT NULL").isKeyOnlyCondition());
+        assertTrue(pushdown(null).isKeyOnlyCondition());
+        assertFalse(pushdown("i = 1 AND s = 'x'").isKeyOnlyCondition());
+        assertFalse(pushdown("i = 1 OR j.a = 1").isKeyOnlyCondition());
+        assertFalse(pushdown("NOT s IS NULL").isKeyOnlyCondition());
+
+        /* a deleted row only has its primary key */
+        final RowImpl deleted = table.createRow();
+        deleted.put("i", 1);
+        deleted.put("l", 2L);
+        assertTrue(test("i = 1 AND l = 2", deleted));
+        assertFalse(test("i = 1 AND l = 3", deleted));
+    }
+
+    @Test
+    public void testTimestamp() {
+        final RowImpl row = row(1, 2, "x");
+        row.put("ts", ((TimestampDefImpl) table.getField("ts"))
+                      .fromString("2025-01-01T10:00:00.123"));
+        assertTrue(test("ts = '2025-01-01T10:00:00.123'", row));
+        assertTrue(test("'2025-01-01T10:00:00.123' = ts", row));
+        assertTrue(test("ts > '2025-01-01T10:00:00'", row));
+        assertTrue(test("ts < '2025-01-02T00:00:00'", row));
+        assertFalse(test("ts != '2025-01-01T10:00:00.123'", row));
+
+        /* a string that is not a timestamp is rejected */
+        checkInvalid("ts = 'tomorrow'");
+        checkInvalid("'2025-13-01T00:00:00' < ts");
+
+        /* timestamps are not compared with numbers */
+        assertFalse(test("ts != 1", row));
+    }
+
+    @Test
+    public void testEnum() {
+        final RowImpl row = row(1, 2, "x");
+        row.putEnum("e", "A");
+
+        /* enum values are ordered as declared, not as strings */
+        assertTrue(test("e = 'A'", row));
+        assertTrue(test("e > 'C'", row));
+        assertTrue(test("e < 'B'", row));
+        assertTrue(test("'C' < e", row));
+
+        /* a string that is not a symbol is not comparable */
+        assertFalse(test("e = 'Z'", row));
+        assertFalse(test("e != 'Z'", row));
+    }
+
+    @Test
+    public void testInvalid() {
+        checkInvalid("");
+        checkInvalid("x = 1");
+        checkInvalid("i = ");
+        checkInvalid("i 1");
+        checkInvalid("(i = 1");
+        checkInvalid("i = 1)");
+        checkInvalid("i IS 1");
+        checkInvalid("m.k.x = 1");
+        checkInvalid("s.x = 1");
+        checkInvalid("i = 1 AND");
+    }
+
+    @Test
+    public void testBind() throws Exception {
+        final StreamPushdown pushdown = new StreamPushdown(
+            table, null, "s = 'x' AND i = 1");
+        assertEquals(table.getTableVersion(), pushdown.getTableVersion());
+        assertEquals(table.getId(), pushdown.getTableId());
+
+        /* only the id and version of the table are serialized */
+        final StreamPushdown copy = serialize(pushdown);
+        assertNull(copy.getTable());
+        assertEquals(table.getTableVersion(), copy.getTableVersion());
+
+        /* a new column does not affect the pushdown */
+        final TableEvolver evolver = TableEvolver.createTableEvolver(table);
+        evolver.addInteger("n");
+        final TableImpl evolved = evolver.evolveTable();
+        final StreamPushdown bound = copy.bind(evolved);
+        assertNotNull(bound.getTable());
+        assertEquals(evolved.getTableVersion(), bound.getTableVersion());
+        assertTrue(bound.getTableVersion() > table.getTableVersion());
+        final RowImpl row = evolved.createRow();
+        row.put("i", 1);
+        row.put("l", 2L);
+        row.put("s", "x");
+        row.put("n", 3);
+        assertTrue(bound.test(row));
+
+        /* the pushdown is no longer valid if its column is dropped */
+        final TableEvolver dropper = TableEvolver.createTableEvolver(evolved);
+        dropper.removeField("s");
+        final TableImpl dropped = dropper.evolveTable();
+        try {
+            copy.bind(dropped);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException iae) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testProject() {
+        final StreamPushdown pushdown = new StreamPushdown(
+            table, Arrays.asList("s"), null);
+        final RowImpl row = row(1, 2, "x");
+        final byte[] val = valueBytes(row);
+
+        /* the columns not projected are replaced by null */
+        final byte[] projected = pushdown.project(row.clone(), val);
+        assertNotNull(projected);
+        assertTrue(projected.length < val.length);
+        final RowImpl read = readRow(row, projected);
+        assertEquals(1, read.get("i").asInteger().get());
+        assertEquals(2L, read.get("l").asLong().get());
+        assertEquals("x", read.get("s").asString().get());
+        assertTrue(read.get("d").isNull());
+        assertTrue(read.get("b").isNull());
+
+        /* nothing to replace */
+        final RowImpl keyOnly = table.createRow();
+        keyOnly.put("i", 1);
+        keyOnly.put("l", 2L);
+        keyOnly.put("s", "x");
+        assertNull(pushdown.project(keyOnly, valueBytes(keyOnly)));
+
+        /* no projection */
+        assertNull(pushdown("s = 'x'").project(row.clone(), val));
+
+        /* a primary key column in the projection changes nothing */
+        final StreamPushdown withKey = new StreamPushdown(
+            table, Arrays.asList("i", "s"), null);
+        assertEquals(Arrays.toString(projected),
+                     Arrays.toString(withKey.project(row.clone(), val)));
+    }
+
+    @Test
+    public void testFilterApplyPushdown() {
+        final TableImpl other = TableBuilder.createTableBuilder("U")
+            .addInteger("i")
+            .addString("s")
+            .primaryKey("i")
+            .buildTable();
+        table.setId(10);
+        other.setId(11);
+
+        final StreamPushdown pushdown = new StreamPushdown(
+            table, Arrays.asList("s"), "i > 1");
+        final Map<String, StreamPushdown> pushdowns =
+            Collections.singletonMap(table.getIdString(), pushdown);
+        final NoSQLStreamFeederFilter filter = NoSQLStreamFeederFilter
+            .getFilter(new HashSet<>(Arrays.asList(table, other)),
+                       pushdowns, 1, false, Region.LOCAL_REGION_ID);
+        filter.bindPushdown(table);
+
+        /* a row that satisfies the condition is projected */
+        final RowImpl pass = row(2, 2, "x");
+        final byte[] passKey = keyBytes(pass);
+        final byte[] passVal = valueBytes(pass);
+        final byte[] projected = filter.applyPushdown(
+            passKey, passVal, false, true, null);
+        assertTrue(projected.length < passVal.length);
+        final RowImpl read = readRow(pass, projected);
+        assertEquals("x", read.get("s").asString().get());
+        assertTrue(read.get("d").isNull());
+        assertEquals(1, filter.getNumRowsProjected());
+        assertEquals(passVal.length - projected.length,
+                     filter.getNumBytesProjected());
+
+        /* unless the entry cannot be projected */
+        assertSame(passVal, filter.applyPushdown(
+            passKey, passVal, false, false, null));
+
+        /* a row that fails the condition is filtered */
+        final RowImpl fail = row(1, 2, "x");
+        assertSame(NoSQLStreamFeederFilter.FILTERED,
+                   filter.applyPushdown(keyBytes(fail), valueBytes(fail),
+                                        false, true, null));
+
+        /* as is the deletion of such a row, the condition is on the key */
+        assertSame(NoSQLStreamFeederFilter.FILTERED,
+                   filter.applyPushdown(keyBytes(fail), null, true, true,
+                                        null));
+        assertNull(filter.applyPushdown(keyBytes(pass), null, true, true,
+                                        null));
+
+        /* a row of a table without pushdown passes as it is */
+        final RowImpl otherRow = other.createRow();
+        otherRow.put("i", 1);
+        otherRow.put("s", "x");
+        final byte[] otherVal =
+            other.createValueInternal(otherRow).toByteArray();
+        assertSame(otherVal, filter.applyPushdown(
+            other.createKeyInternal(otherRow, false).toByteArray(),
+            otherVal, false, true, null));
+
+        assertEquals(1, filter.getNumRowsProjected());
+        assertEquals(0, filter.getNumRowsPushdownBypassed());
+    }
+
+    /* -- Utility methods -- */
+
+    private static TableImpl buildTable() {
+        final TableBuilder builder = TableBuilder.createTableBuilder("T");
+        builder.addInteger("i")
+               .addLong("l")
+               .addString("s")
+               .addFloat("f")
+               .addDouble("d")
+               .addBoolean("b")
+               .addTimestamp("ts", 3)
+               .addEnum("e", ENUM_VALUES, null)
+               .addJson("j", null)
+               .addField("m", FieldDefFactory.createMapDef(
+                   FieldDefFactory.createIntegerDef()))
+               .primaryKey("i", "l");
+        return builder.buildTable();
+    }
+
+    private RowImpl row(int i, long l, String s) {
+        final RowImpl row = table.createRow();
+        row.put("i", i);
+        row.put("l", l);
+        if (s == null) {
+            row.putNull("s");
+        } else {
+            row.put("s", s);
+        }
+        row.put("d", 0.001d);
+        row.put("b", false);
+        return row;
+    }
+
+    private byte[] keyBytes(RowImpl row) {
+        return table.createKeyInternal(row, false).toByteArray();
+    }
+
+    private byte[] valueBytes(RowImpl row) {
+        return table.createValueInternal(row).toByteArray();
+    }
+
+    /* reads the row with the key of the given row and the value bytes */
+    private RowImpl readRow(RowImpl row, byte[] val) {
+        return table.createRowFromBytes(keyBytes(row), val,
+                                        false /* keyOnly */,
+                                        true /* addMissingCol */);
+    }
+
+    private StreamPushdown pushdown(String cond) {
+        return new StreamPushdown(table, null, cond);
+    }
+
+    private boolean test(String cond, RowImpl row) {
+        return pushdown(cond).test(row);
+    }
+
+    private void checkInvalid(String cond) {
+        try {
+            pushdown(cond);
+            fail("Expected IllegalArgumentException for " + cond);
+        } catch (IllegalArgumentException iae) {
+            /* expected */
+        }
+    }
+
+    private static StreamPushdown serialize(StreamPushdown pushdown)
+        throws Exception {
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(pushdown);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(
+                 new ByteArrayInputStream(baos.toByteArray()))) {
+            return (StreamPushdown) ois.readObject();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*-
+ * See the file LICENSE for redistribution information.
+ *
+ * Copyright (c) 2011, 2025 Oracle and/or its affiliates.  All rights reserved.
+ *
+ */
+package oracle.nosql.common.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import oracle.kv.TestBase;
+
+import oracle.nosql.common.cache.CacheBuilder.CacheConfig;
+import oracle.nosql.common.cache.CacheBuilder.EvictionPolicy;
+
+import org.junit.Test;
+
+/**
+ * Test the TinyLfuCache class.
+ */
+public class TinyLfuCacheTest extends TestBase {
+
+    @Test
+    public void testBasic() {
+        final Cache<Integer, String> cache = build(10, 0);
+        assertTrue(cache instanceof TinyLfuCache);
+        assertEquals(10, cache.getCapacity());
+
+        assertNull(cache.get(1));
+        assertNull(cache.put(1, "one"));
+        assertEquals("one", cache.get(1));
+        assertEquals("one", cache.put(1, "uno"));
+        assertEquals("uno", cache.get(1));
+        assertEquals(1, cache.getSize());
+
+        assertEquals("uno", cache.remove(1));
+        assertNull(cache.get(1));
+        assertEquals(0, cache.getSize());
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+
+        for (int i = 0; i < 20; i++) {
+            cache.put(i, "v");
+        }
+        assertEquals(10, cache.getSize());
+        assertEquals(10, cache.getEvictionCount());
+
+        cache.setCapacity(5);
+        assertEquals(5, cache.getSize());
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+    }
+
+    /**
+     * Entries that are read often survive a scan of entries that are only
+     * read once, which would flush them from an LRU cache.
+     */
+    @Test
+    public void testScanResistance() {
+        final Cache<Integer, Integer> cache = build(100, 0);
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 50; i++) {
+                if (cache.get(i) == null) {
+                    cache.put(i, i);
+                }
+            }
+        }
+        for (int i = 1000; i < 20000; i++) {
+            if (cache.get(i) == null) {
+                cache.put(i, i);
+            }
+        }
+        int retained = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get(i) != null) {
+                retained++;
+            }
+        }
+        assertTrue("Only " + retained + " hot entries retained",
+                   retained >= 45);
+        assertEquals(100, cache.getSize());
+    }
+
+    @Test
+    public void testLifetime() throws Exception {
+        final Cache<Integer, Integer> cache = build(10, 50);
+        cache.put(1, 1);
+        assertEquals(Integer.valueOf(1), cache.get(1));
+        Thread.sleep(100);
+        assertNull(cache.get(1));
+        assertEquals(0, cache.getSize());
+
+        cache.put(2, 2);
+        Thread.sleep(100);
+        cache.cleanup();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getEvictionCount());
+        cache.stop(true);
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final Cache<Integer, Integer> cache = build(100, 0);
+        final List<Thread> threads = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    final ThreadLocalRandom random =
+                        ThreadLocalRandom.current();
+                    for (int i = 0; i < 100000; i++) {
+                        final int key = random.nextInt(300);
+                        final Integer value = cache.get(key);
+                        if (value == null) {
+                            cache.put(key, key);
+                        } else {
+                            assertEquals(key, value.intValue());
+                        }
+                        if (i % 100 == 0) {
+                            cache.remove(key);
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue("Failures: " + failures, failures.isEmpty());
+        assertTrue("Size: " + cache.getSize(), cache.getSize() <= 100);
+    }
+
+    private static <K, V> Cache<K, V> build(int capacity, long lifetime) {
+        return CacheBuilder.build(
+            new CacheConfig().setCapacity(capacity).
+            setLifetime(lifetime).
+            setEvictionPolicy(EvictionPolicy.TINY_LFU));
+    }
+}